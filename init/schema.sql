@@ -15,7 +15,8 @@ CREATE TABLE IF NOT EXISTS users (
     accountStatus ENUM('ACTIVE','TEMPORARILY_BLOCKED','BLOCKED','PERMANENTLY_SUSPENDED') NOT NULL,
     PRIMARY KEY (idUser),
     UNIQUE KEY username_UNIQUE (username), 
-    UNIQUE KEY email_UNIQUE (email)
+    UNIQUE KEY email_UNIQUE (email),
+    KEY accountStatus_idx (accountStatus)
 );
 
 CREATE TABLE IF NOT EXISTS user_roles (
@@ -31,9 +32,29 @@ CREATE TABLE IF NOT EXISTS login_attempts (
     timestamp DATETIME(6) NOT NULL, 
     successful BIT(1) NOT NULL, 
     ipAddress VARCHAR(45) NOT NULL, 
-    loginFailureReason ENUM('INCORRECT_PASSWORD','USER_NOT_FOUND','MISSING_FIELD','ACCOUNT_LOCKED','OTHER') DEFAULT NULL,
+    loginFailureReason ENUM('INCORRECT_PASSWORD','USER_NOT_FOUND','MISSING_FIELD','ACCOUNT_LOCKED','THROTTLED','OTHER') DEFAULT NULL,
     idUser INT DEFAULT NULL,
+    attemptedUsername VARCHAR(100) DEFAULT NULL,
     PRIMARY KEY (idLoginAttempt),
     KEY idUser_idx (idUser), 
+    KEY timestamp_idx (timestamp), 
     CONSTRAINT fk_idUser FOREIGN KEY (idUser) REFERENCES users(idUser) ON DELETE SET NULL 
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    idEmail BIGINT NOT NULL AUTO_INCREMENT,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    notificationType ENUM('VERIFY_EMAIL','CREATE_ACCOUNT','FORGOT_PASSWORD','RESET_PASSWORD','CHANGE_PASSWORD','UPDATE_ACCOUNT_STATUS','BROADCAST') NOT NULL,
+    priority TINYINT NOT NULL,
+    status ENUM('PENDING','SENT','FAILED') NOT NULL,
+    attempts INT NOT NULL,
+    nextAttemptAt DATETIME(6) NOT NULL,
+    createdAt DATETIME(6) NOT NULL,
+    sentAt DATETIME(6) DEFAULT NULL,
+    lastError VARCHAR(500) DEFAULT NULL,
+    PRIMARY KEY (idEmail),
+    KEY status_priority_nextAttemptAt_idx (status, priority, nextAttemptAt),
+    KEY recipient_notificationType_idx (recipient, notificationType)
+);
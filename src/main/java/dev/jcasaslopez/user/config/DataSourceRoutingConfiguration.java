@@ -0,0 +1,77 @@
+package dev.jcasaslopez.user.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import dev.jcasaslopez.user.datasource.ReadWriteRoutingDataSource;
+
+// Only active when 'datasource.replica.enabled' is true. Otherwise Spring Boot creates its usual 
+// single data source from the spring.datasource.* properties.
+//
+// The primary pool is still configured with spring.datasource.* (and spring.datasource.hikari.*). 
+// Replicas share its credentials unless they are set explicitly, and always share its driver properties
+// (spring.datasource.hikari.data-source-properties.*).
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+	
+	private static final Logger logger = LoggerFactory.getLogger(DataSourceRoutingConfiguration.class);
+	
+	@Value("${datasource.replica.urls}")
+	private List<String> replicaUrls;
+	@Value("${datasource.replica.username:${spring.datasource.username}}")
+	private String replicaUsername;
+	@Value("${datasource.replica.password:${spring.datasource.password}}")
+	private String replicaPassword;
+	@Value("${datasource.replica.maximum-pool-size:10}")
+	private int replicaMaximumPoolSize;
+	
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primary.setPoolName("primary");
+		return primary;
+	}
+	
+	@Bean
+	ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+		List<DataSource> replicas = new ArrayList<>();
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			HikariDataSource replica = new HikariDataSource();
+			replica.setPoolName("replica-" + i);
+			replica.setJdbcUrl(replicaUrls.get(i));
+			replica.setUsername(replicaUsername);
+			replica.setPassword(replicaPassword);
+			replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+			replica.setMaximumPoolSize(replicaMaximumPoolSize);
+			replica.setReadOnly(true);
+			replicas.add(replica);
+		}
+		logger.info("Read-only transactions routed to {} replica(s)", replicas.size());
+		return new ReadWriteRoutingDataSource(primaryDataSource, replicas);
+	}
+	
+	// The data source used by JPA. See ReadWriteRoutingDataSource for why the proxy is needed.
+	@Bean
+	@Primary
+	DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+}
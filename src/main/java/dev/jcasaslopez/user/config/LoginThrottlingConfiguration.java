@@ -0,0 +1,21 @@
+package dev.jcasaslopez.user.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// Loads the Lua script used by AccountLockingServiceImpl to register failed login attempts.
+// Spring caches the SHA1 of the script, so after the first call Redis receives EVALSHA instead of the full source.
+@Configuration
+public class LoginThrottlingConfiguration {
+	
+	@SuppressWarnings("rawtypes")
+	@Bean
+	RedisScript<List> loginThrottleScript() {
+		return RedisScript.of(new ClassPathResource("scripts/login_throttle.lua"), List.class);
+	}
+
+}
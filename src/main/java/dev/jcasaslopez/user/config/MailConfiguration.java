@@ -0,0 +1,53 @@
+package dev.jcasaslopez.user.config;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.jcasaslopez.user.mail.PooledJavaMailSender;
+import dev.jcasaslopez.user.mail.SendRateLimiter;
+
+// Replaces the JavaMailSender created by Spring Boot with a PooledJavaMailSender, configured from the
+// same spring.mail.* properties. The pool itself is configured with the mail.pool.* properties,
+// and the provider's send limit with the mail.rate.* properties.
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfiguration {
+
+	@Bean
+	PooledJavaMailSender mailSender(MailProperties properties,
+			@Value("${mail.pool.max-connections}") int maxConnections,
+			@Value("${mail.pool.idle-timeout-seconds}") long idleTimeoutSeconds,
+			@Value("${mail.pool.borrow-timeout-ms}") long borrowTimeoutMillis) {
+		PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections,
+				Duration.ofSeconds(idleTimeoutSeconds), Duration.ofMillis(borrowTimeoutMillis));
+		sender.setHost(properties.getHost());
+		if (properties.getPort() != null) {
+			sender.setPort(properties.getPort());
+		}
+		sender.setUsername(properties.getUsername());
+		sender.setPassword(properties.getPassword());
+		sender.setProtocol(properties.getProtocol());
+		if (properties.getDefaultEncoding() != null) {
+			sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+		}
+		if (!properties.getProperties().isEmpty()) {
+			Properties javaMailProperties = new Properties();
+			javaMailProperties.putAll(properties.getProperties());
+			sender.setJavaMailProperties(javaMailProperties);
+		}
+		return sender;
+	}
+	
+	@Bean
+	SendRateLimiter mailSendRateLimiter(@Value("${mail.rate.per-second}") double permitsPerSecond,
+			@Value("${mail.rate.burst}") int burst) {
+		return new SendRateLimiter(permitsPerSecond, burst);
+	}
+
+}
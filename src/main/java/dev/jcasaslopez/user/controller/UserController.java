@@ -1,13 +1,19 @@
 package dev.jcasaslopez.user.controller;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,9 +23,24 @@ import org.springframework.web.bind.annotation.RestController;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.dto.BulkUserSelection;
 import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.dto.UserDto;
+import dev.jcasaslopez.user.dto.UserLookupRequest;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.BroadcastJob;
+import dev.jcasaslopez.user.model.BulkUpdateResult;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginStats;
+import dev.jcasaslopez.user.model.UserImportResult;
+import dev.jcasaslopez.user.model.UserPage;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
 import dev.jcasaslopez.user.service.AccountOrchestrationService;
 import dev.jcasaslopez.user.utilities.Constants;
 import dev.jcasaslopez.user.utilities.MessageNotificationValidation;
@@ -31,6 +52,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -259,7 +281,7 @@ public class UserController {
 
 	    if (oldPassword == null || oldPassword.isBlank() || 
 	    	    newPassword == null || newPassword.isBlank()) {
-	    	    throw new IllegalArgumentException("Both oldPassword and newPassword are required");
+	    	    throw new InvalidRequestException("Both oldPassword and newPassword are required");
 	    	}
 	    
 		accountOrchestrationService.changePassword(oldPassword, newPassword);
@@ -454,4 +476,378 @@ public class UserController {
 		return ResponseEntity.status(HttpStatus.OK).body(response);
 	}
 	
+	@Operation(
+		    summary = "Sends a notification to a segment of users",
+		    description = """
+		    	Queues a notification email for every user matching the segment (roles, account statuses and/or user ids) 
+		    	and returns immediately with the job id. The progress can be followed with /broadcastStatus. 
+		    	Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "202",
+		        description = "Broadcast accepted. The details contain the job id and the number of recipients",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Missing subject or message, or no segment criterion",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@PostMapping(value = Constants.BROADCAST_NOTIFICATION_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StandardResponse> broadcastNotification(@Valid @RequestBody BroadcastRequest request) {
+		BroadcastJob job = accountOrchestrationService.broadcastNotification(request);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				"Broadcast accepted for " + job.getTotal() + " recipients", job, HttpStatus.ACCEPTED);
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+	}
+	
+	@Operation(
+		    summary = "Returns the progress of a broadcast",
+		    description = "Returns the status of the broadcast and the number of emails queued so far. Requires ADMIN or SUPERADMIN role."
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "Broadcast found. The details contain its progress",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "404",
+		        description = "Broadcast not found (or finished long enough ago to have expired)",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@GetMapping(value = Constants.BROADCAST_STATUS_PATH)
+	public ResponseEntity<StandardResponse> broadcastStatus(@RequestParam @NotBlank String jobId) {
+		BroadcastJob job = accountOrchestrationService.getBroadcastStatus(jobId);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				"Broadcast " + job.getStatus(), job, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Exports login attempts as NDJSON or CSV",
+		    description = """
+		    	Streams the login attempts matching the filters (time range, username, IP address and failure reason), 
+		    	oldest first, as NDJSON (default) or CSV. Rows are written as they are read from the database, so the 
+		    	export can cover any time range. Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "Login attempts streamed as an attachment (application/x-ndjson or text/csv)"
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid filter: unknown format or failure reason, malformed date, or 'from' after 'to'",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@GetMapping(value = Constants.EXPORT_LOGIN_ATTEMPTS_PATH)
+	public void exportLoginAttempts(
+			@Parameter(description = "Inclusive lower bound, e.g. 2025-01-01T00:00:00") 
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@Parameter(description = "Exclusive upper bound") 
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) String username,
+			@RequestParam(required = false) String ipAddress,
+			@RequestParam(required = false) LoginFailureReason loginFailureReason,
+			@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+			HttpServletResponse response) throws IOException {
+		if (from != null && to != null && from.isAfter(to)) {
+			throw new InvalidRequestException("'from' must not be after 'to'");
+		}
+		LoginAttemptExportFilter filter = new LoginAttemptExportFilter(from, to, username, ipAddress, loginFailureReason);
+		accountOrchestrationService.exportLoginAttempts(filter, format, response);
+	}
+	
+	@Operation(
+		    summary = "Returns login analytics",
+		    description = """
+		    	Returns the login attempts per hour (successful, and failed by reason), the lock rate and the IP addresses 
+		    	with the most failed logins, from pre-aggregated hourly counters. The period is rounded out to whole hours 
+		    	and defaults to the last 24 hours, the current one included. The latest attempts may take a few seconds to be counted. 
+		    	Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "The details contain the login stats",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid period or number of IP addresses",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@GetMapping(value = Constants.LOGIN_STATS_PATH)
+	public ResponseEntity<StandardResponse> loginStats(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(defaultValue = "10") int topIps) {
+		LocalDateTime periodEnd = to == null ? LocalDateTime.now() : to;
+		LocalDateTime periodStart = from == null ? periodEnd.truncatedTo(ChronoUnit.HOURS).minusHours(23) : from;
+		LoginStats stats = accountOrchestrationService.getLoginStats(periodStart, periodEnd, topIps);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				"Login stats from " + stats.getFrom() + " to " + stats.getTo(), stats, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Lists and searches users",
+		    description = """
+		    	Returns a page of users (id, username, email, full name, account status and roles), optionally filtered 
+		    	by account status, role, and username or email prefix. Pages are requested with the 'nextAfter' value of 
+		    	the previous page: users are sorted by id, or by the searched column for prefix searches, and each page 
+		    	costs the same however far into the listing it is. Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "The details contain the users and the 'nextAfter' value of the next page (null on the last page)",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid filter, 'after' value or limit",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@GetMapping(value = Constants.LIST_USERS_PATH)
+	public ResponseEntity<StandardResponse> listUsers(
+			@RequestParam(required = false) Set<AccountStatus> accountStatus,
+			@RequestParam(required = false) Set<RoleName> role,
+			@RequestParam(required = false) String usernamePrefix,
+			@RequestParam(required = false) String emailPrefix,
+			@Parameter(description = "The 'nextAfter' value of the previous page") 
+			@RequestParam(required = false) String after,
+			@RequestParam(required = false) Integer limit) {
+		UserSearchFilter filter = new UserSearchFilter(accountStatus, role, usernamePrefix, emailPrefix);
+		UserPage page = accountOrchestrationService.listUsers(filter, after, limit);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				page.getUsers().size() + " users found", page, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Looks up many users at once",
+		    description = """
+		    	Returns the id, username, email, full name, account status and roles of every user in the lists of ids 
+		    	and usernames (up to 1000 in total by default), in one call. Unknown ids and usernames are left out, so 
+		    	the response may have fewer users than requested. Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "The details contain the users found",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "No ids or usernames, too many of them, or null or blank ones",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@PostMapping(value = Constants.LOOKUP_USERS_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StandardResponse> lookupUsers(@RequestBody @NotNull UserLookupRequest request) {
+		List<UserSummary> users = accountOrchestrationService.lookupUsers(request);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				users.size() + " users found", users, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Imports users in bulk",
+		    description = """
+		    	Imports the users of the request body, sent as NDJSON (one user per line) or CSV (with a header row), 
+		    	e.g., accounts migrated from another system. Fields: username, password or passwordHash (BCrypt), 
+		    	fullName, email and dateOfBirth, validated as in registration. Users are created ACTIVE with the USER 
+		    	role, without email verification. Invalid rows, and users whose username or email already exists, 
+		    	are reported and skipped. Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "Import finished. The details contain the counts and the rejected rows",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid CSV header",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@PostMapping(value = Constants.IMPORT_USERS_PATH)
+	public ResponseEntity<StandardResponse> importUsers(
+			@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+			HttpServletRequest request) throws IOException {
+		UserImportResult result = accountOrchestrationService.importUsers(request.getInputStream(), format);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				result.getImported() + " users imported, " + result.getFailed() + " rejected", result, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Updates the account status of many users at once",
+		    description = """
+		    	Updates the account status of the users listed by id and/or email, or of the users matching the 
+		    	selection criteria (at most bulk.users.max-users of them), e.g., to block abusive accounts. Lists and 
+		    	criteria cannot be combined. Permanently suspended users, and users already in the new status, are 
+		    	skipped. Users whose status changes to anything but ACTIVE lose their sessions. Each user is notified 
+		    	by email. Requires ADMIN or SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "Account statuses updated. The details contain the counts of selected, updated, skipped and not found users",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid selection, e.g., no users listed and no criteria, or criteria selecting too many users",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@PutMapping(value = Constants.BULK_UPDATE_ACCOUNT_STATUS_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StandardResponse> bulkUpdateAccountStatus(@RequestBody @NotNull BulkUserSelection selection,
+			@RequestParam @NotNull AccountStatus newAccountStatus) {
+		BulkUpdateResult result = accountOrchestrationService.bulkUpdateAccountStatus(selection, newAccountStatus);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				result.getUpdated() + " account statuses updated to " + newAccountStatus.getDisplayName(), result, 
+				HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
+	@Operation(
+		    summary = "Upgrades many users to admin at once",
+		    description = """
+		    	Grants the ADMIN role to the users listed by id and/or email, or to the users matching the selection 
+		    	criteria (at most bulk.users.max-users of them). Lists and criteria cannot be combined. Users who are 
+		    	already admins are skipped. Requires SUPERADMIN role.
+		    	"""
+		)
+		@ApiResponses({
+		    @ApiResponse(
+		        responseCode = "200",
+		        description = "Users upgraded. The details contain the counts of selected, upgraded, skipped and not found users",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "400",
+		        description = "Invalid selection, e.g., no users listed and no criteria, or criteria selecting too many users",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "401",
+		        description = "Unauthorized – token is missing, expired, or invalid",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    ),
+		    @ApiResponse(
+		        responseCode = "403",
+		        description = "Forbidden – insufficient permissions",
+		        content = @Content(schema = @Schema(implementation = StandardResponse.class))
+		    )
+		})
+	@SecurityRequirement(name = "bearerAuth")
+	@PutMapping(value = Constants.BULK_UPGRADE_USERS_PATH, consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StandardResponse> bulkUpgradeUsers(@RequestBody @NotNull BulkUserSelection selection) {
+		BulkUpdateResult result = accountOrchestrationService.bulkUpgradeUsers(selection);
+		StandardResponse response = new StandardResponse(LocalDateTime.now(),
+				result.getUpdated() + " users upgraded to ADMIN", result, HttpStatus.OK);
+		return ResponseEntity.status(HttpStatus.OK).body(response);
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package dev.jcasaslopez.user.datasource;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends @Transactional(readOnly = true) work to the replica pools (round robin) and everything else 
+// to the primary: read-write transactions, code running outside a transaction, and reads pinned with 
+// onPrimary().
+//
+// The routing decision is made when a connection is requested, so this data source must be wrapped 
+// in a LazyConnectionDataSourceProxy (see DataSourceRoutingConfiguration). Otherwise the transaction 
+// manager would fetch the connection before the read-only flag of the transaction is set.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+	
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA = "replica-";
+	
+	// A counter rather than a boolean, so nested onPrimary() calls do not unpin each other.
+	private static final ThreadLocal<Integer> primaryPins = ThreadLocal.withInitial(() -> 0);
+	
+	private final List<String> replicaKeys = new ArrayList<>();
+	private final List<DataSource> replicas;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+		this.replicas = replicas;
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < replicas.size(); i++) {
+			replicaKeys.add(REPLICA + i);
+			targets.put(REPLICA + i, replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+	
+	// Runs the given query against the primary even inside a read-only transaction.
+	public static <T> T onPrimary(Supplier<T> query) {
+		primaryPins.set(primaryPins.get() + 1);
+		try {
+			return query.get();
+		} finally {
+			int pins = primaryPins.get() - 1;
+			if (pins == 0) {
+				primaryPins.remove();
+			} else {
+				primaryPins.set(pins);
+			}
+		}
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicaKeys.isEmpty() || primaryPins.get() > 0 
+				|| !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return PRIMARY;
+		}
+		return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+	}
+
+	// The primary pool is a bean of its own and is closed by Spring. The replica pools are created 
+	// together with this data source, so they are closed with it.
+	@Override
+	public void close() {
+		for (DataSource replica : replicas) {
+			if (replica instanceof Closeable closeable) {
+				try {
+					closeable.close();
+				} catch (Exception e) {
+					logger.warn("Could not close replica pool", e);
+				}
+			}
+		}
+	}
+
+}
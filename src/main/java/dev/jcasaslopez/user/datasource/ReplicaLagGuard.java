@@ -0,0 +1,80 @@
+package dev.jcasaslopez.user.datasource;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Replicas apply the writes of the primary with some delay. A read that closely follows a write of the 
+// same row (e.g., logging in right after userRegistration(), or after a password reset) could therefore 
+// miss it, and the stale row would also end up in the second-level cache.
+// 
+// After a write is recorded for a key (the username), reads for that key are sent to the primary 
+// for the configured maximum replica lag. 
+// 
+// Writes are recorded once their transaction has committed (see UserRepositoryCustomImpl.registerChange()).
+//
+// Writes are only known to the instance that made them, so read-your-writes only holds on the instance 
+// that served the write: another instance may still read the old row from a replica within the lag. 
+// Other instances also rely on the expiration of their second-level cache entries, as they already do 
+// for any change made elsewhere.
+@Component
+public class ReplicaLagGuard {
+	
+	// Expired entries are only removed when they are read again, or in bulk once the map reaches this size.
+	private static final int PURGE_THRESHOLD = 10_000;
+	
+	private final long maxLagMillis;
+	private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+	
+	public ReplicaLagGuard(@Value("${datasource.replica.max-lag-ms}") long maxLagMillis) {
+		this.maxLagMillis = maxLagMillis;
+	}
+	
+	public void recordWrite(String key) {
+		long now = System.currentTimeMillis();
+		if (pinnedUntil.size() >= PURGE_THRESHOLD) {
+			pinnedUntil.values().removeIf(until -> until <= now);
+		}
+		pinnedUntil.put(key, now + maxLagMillis);
+	}
+	
+	// Batch version of recordWrite(), which purges expired entries once for all the keys.
+	public void recordWrites(Collection<String> keys) {
+		long now = System.currentTimeMillis();
+		if (pinnedUntil.size() + keys.size() >= PURGE_THRESHOLD) {
+			pinnedUntil.values().removeIf(until -> until <= now);
+		}
+		for (String key : keys) {
+			pinnedUntil.put(key, now + maxLagMillis);
+		}
+	}
+	
+	public <T> T read(String key, Supplier<T> query) {
+		Long until = pinnedUntil.get(key);
+		if (until == null) {
+			return query.get();
+		}
+		if (until <= System.currentTimeMillis()) {
+			pinnedUntil.remove(key, until);
+			return query.get();
+		}
+		return ReadWriteRoutingDataSource.onPrimary(query);
+	}
+	
+	// Batch version of read(): the query is sent to the primary if any of the keys has been written recently.
+	public <T> T readAll(Collection<String> keys, Supplier<T> query) {
+		long now = System.currentTimeMillis();
+		for (String key : keys) {
+			Long until = pinnedUntil.get(key);
+			if (until != null && until > now) {
+				return ReadWriteRoutingDataSource.onPrimary(query);
+			}
+		}
+		return query.get();
+	}
+
+}
@@ -0,0 +1,91 @@
+package dev.jcasaslopez.user.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Wraps a data source so that its connections hand out statements whose execute methods are reported
+// to a StatementListener, with the SQL (the one passed to execute, or else the one the statement was
+// prepared with) and the time the call took. Reading the rows of a result set is not included.
+//
+// Shared by the instrumentation that needs to see every statement (e.g., ServerTimingInstrumentation),
+// so the JDBC proxies are written once.
+public class StatementInterceptingDataSource extends DelegatingDataSource {
+
+	@FunctionalInterface
+	public interface StatementListener {
+
+		// Called on the thread that ran the statement, also when it failed. A batch is reported
+		// once, since it is sent in one round trip. The SQL may be null (e.g., for a plain batch).
+		void statementExecuted(String sql, boolean batch, long nanos);
+	}
+
+	private final StatementListener listener;
+
+	public StatementInterceptingDataSource(DataSource targetDataSource, StatementListener listener) {
+		super(targetDataSource);
+		this.listener = listener;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return interceptingConnection(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return interceptingConnection(super.getConnection(username, password));
+	}
+
+	private Connection interceptingConnection(Connection connection) {
+		return proxy(Connection.class, connection, (proxy, method, args) -> {
+			Object result = invoke(connection, method, args);
+			if (result instanceof Statement statement) {
+				return proxy(method.getReturnType(), statement, interceptingStatement(statement, sqlArgument(args)));
+			}
+			return result;
+		});
+	}
+
+	private InvocationHandler interceptingStatement(Statement statement, String preparedSql) {
+		return (proxy, method, args) -> {
+			String name = method.getName();
+			if (!name.startsWith("execute")) {
+				return invoke(statement, method, args);
+			}
+			long start = System.nanoTime();
+			try {
+				return invoke(statement, method, args);
+			} finally {
+				String sql = sqlArgument(args);
+				listener.statementExecuted(sql != null ? sql : preparedSql, name.contains("Batch"), System.nanoTime() - start);
+			}
+		};
+	}
+
+	private static String sqlArgument(Object[] args) {
+		return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(StatementInterceptingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package dev.jcasaslopez.user.dto;
+
+import java.util.List;
+import java.util.Set;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+// Message and segment of a broadcast notification. The segment criteria are combined (AND): 
+// e.g., roles = [ROLE_USER] and accountStatuses = [ACTIVE] targets active users with the USER role. 
+// At least one criterion is required, so a broadcast never reaches every user by accident.
+@Schema(
+	    name = "BroadcastRequest",
+	    description = "Notification to send to every user in a segment"
+	)
+public class BroadcastRequest {
+	
+	@Schema(description = "Email subject", example = "Scheduled maintenance")
+	@NotBlank(message = "Subject field is required")
+	@Size(max=255, message="Subject must be shorter than 255 characters")
+	private String subject;
+	
+	@Schema(description = "HTML message. {username} is replaced by each recipient's username", 
+			example = "<p>Hi {username}, the platform will be down on Sunday from 2 to 4 a.m.</p>")
+	@NotBlank(message = "Message field is required")
+	private String message;
+	
+	@Schema(description = "Users with any of these roles", example = "[\"ROLE_USER\"]")
+	private Set<RoleName> roles;
+	
+	@Schema(description = "Users with any of these account statuses", example = "[\"ACTIVE\"]")
+	private Set<AccountStatus> accountStatuses;
+	
+	@Schema(description = "Users with any of these ids", example = "[12, 15, 27]")
+	@Size(max=10000, message="No more than 10000 user ids can be listed")
+	private List<Integer> userIds;
+	
+	public BroadcastRequest() {
+		
+	}
+
+	public BroadcastRequest(String subject, String message, Set<RoleName> roles, Set<AccountStatus> accountStatuses,
+			List<Integer> userIds) {
+		this.subject = subject;
+		this.message = message;
+		this.roles = roles;
+		this.accountStatuses = accountStatuses;
+		this.userIds = userIds;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Set<RoleName> getRoles() {
+		return roles;
+	}
+
+	public void setRoles(Set<RoleName> roles) {
+		this.roles = roles;
+	}
+
+	public Set<AccountStatus> getAccountStatuses() {
+		return accountStatuses;
+	}
+
+	public void setAccountStatuses(Set<AccountStatus> accountStatuses) {
+		this.accountStatuses = accountStatuses;
+	}
+
+	public List<Integer> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<Integer> userIds) {
+		this.userIds = userIds;
+	}
+
+}
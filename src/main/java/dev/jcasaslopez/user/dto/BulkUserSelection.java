@@ -0,0 +1,90 @@
+package dev.jcasaslopez.user.dto;
+
+import java.util.List;
+import java.util.Set;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+// Users affected by a bulk operation: either listed by id and/or email (at most bulk.users.max-keys
+// entries), or selected with the criteria of the admin user listing, combined with AND. Lists and 
+// criteria cannot be mixed, and at least one of them is required, so an operation never reaches 
+// every user by accident.
+@Schema(
+	    name = "BulkUserSelection",
+	    description = "Users affected by a bulk operation: listed by id and/or email, or selected by criteria"
+	)
+public class BulkUserSelection {
+	
+	@Schema(description = "Ids of the users", example = "[12, 15, 27]")
+	private List<Integer> userIds;
+	
+	@Schema(description = "Emails of the users", example = "[\"spammer1@example.com\", \"spammer2@example.com\"]")
+	private List<String> emails;
+	
+	@Schema(description = "Users with any of these account statuses", example = "[\"ACTIVE\"]")
+	private Set<AccountStatus> accountStatuses;
+	
+	@Schema(description = "Users with any of these roles", example = "[\"ROLE_USER\"]")
+	private Set<RoleName> roles;
+	
+	@Schema(description = "Users whose username starts with this prefix", example = "bot_")
+	private String usernamePrefix;
+	
+	@Schema(description = "Users whose email starts with this prefix", example = "spam")
+	private String emailPrefix;
+	
+	public BulkUserSelection() {
+		
+	}
+
+	public List<Integer> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<Integer> userIds) {
+		this.userIds = userIds;
+	}
+
+	public List<String> getEmails() {
+		return emails;
+	}
+
+	public void setEmails(List<String> emails) {
+		this.emails = emails;
+	}
+
+	public Set<AccountStatus> getAccountStatuses() {
+		return accountStatuses;
+	}
+
+	public void setAccountStatuses(Set<AccountStatus> accountStatuses) {
+		this.accountStatuses = accountStatuses;
+	}
+
+	public Set<RoleName> getRoles() {
+		return roles;
+	}
+
+	public void setRoles(Set<RoleName> roles) {
+		this.roles = roles;
+	}
+
+	public String getUsernamePrefix() {
+		return usernamePrefix;
+	}
+
+	public void setUsernamePrefix(String usernamePrefix) {
+		this.usernamePrefix = usernamePrefix;
+	}
+
+	public String getEmailPrefix() {
+		return emailPrefix;
+	}
+
+	public void setEmailPrefix(String emailPrefix) {
+		this.emailPrefix = emailPrefix;
+	}
+
+}
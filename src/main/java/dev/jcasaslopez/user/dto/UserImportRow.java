@@ -0,0 +1,96 @@
+package dev.jcasaslopez.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+// One user of a bulk import, as read from a CSV row or an NDJSON line. Either 'password' (plain text, 
+// hashed during the import) or 'passwordHash' (already hashed with BCrypt, e.g., by the legacy system) 
+// is required. The date of birth is kept as text, so that a malformed date is reported as a row error 
+// like any other invalid field.
+@Schema(
+	    name = "UserImportRow",
+	    description = "User to import"
+	)
+public class UserImportRow {
+	
+	@Schema(example = "john_doe")
+	private String username;
+	
+	@Schema(description = "Plain password, validated like in registration", example = "Secure@123")
+	private String password;
+	
+	@Schema(description = "BCrypt hash of the password, stored as is", 
+			example = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5dS3qXn0H0gSg0rOt5n1r5a")
+	private String passwordHash;
+	
+	@Schema(example = "John Doe")
+	private String fullName;
+	
+	@Schema(example = "john@example.com")
+	private String email;
+	
+	@Schema(description = "ISO format (yyyy-MM-dd)", example = "1990-05-20")
+	private String dateOfBirth;
+	
+	public UserImportRow() {
+		
+	}
+
+	public UserImportRow(String username, String password, String passwordHash, String fullName, String email,
+			String dateOfBirth) {
+		this.username = username;
+		this.password = password;
+		this.passwordHash = passwordHash;
+		this.fullName = fullName;
+		this.email = email;
+		this.dateOfBirth = dateOfBirth;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public String getPasswordHash() {
+		return passwordHash;
+	}
+
+	public void setPasswordHash(String passwordHash) {
+		this.passwordHash = passwordHash;
+	}
+
+	public String getFullName() {
+		return fullName;
+	}
+
+	public void setFullName(String fullName) {
+		this.fullName = fullName;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public String getDateOfBirth() {
+		return dateOfBirth;
+	}
+
+	public void setDateOfBirth(String dateOfBirth) {
+		this.dateOfBirth = dateOfBirth;
+	}
+
+}
@@ -0,0 +1,46 @@
+package dev.jcasaslopez.user.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+// Users to resolve in a single call to /lookupUsers, by id and/or by username. Both lists can be 
+// combined; together they cannot exceed lookup.users.max-keys entries.
+@Schema(
+	    name = "UserLookupRequest",
+	    description = "Ids and/or usernames of the users to look up"
+	)
+public class UserLookupRequest {
+	
+	@Schema(description = "Ids of the users", example = "[12, 15, 27]")
+	private List<Integer> userIds;
+	
+	@Schema(description = "Usernames of the users", example = "[\"Yorch22\", \"userAdmin\"]")
+	private List<String> usernames;
+	
+	public UserLookupRequest() {
+		
+	}
+
+	public UserLookupRequest(List<Integer> userIds, List<String> usernames) {
+		this.userIds = userIds;
+		this.usernames = usernames;
+	}
+
+	public List<Integer> getUserIds() {
+		return userIds;
+	}
+
+	public void setUserIds(List<Integer> userIds) {
+		this.userIds = userIds;
+	}
+
+	public List<String> getUsernames() {
+		return usernames;
+	}
+
+	public void setUsernames(List<String> usernames) {
+		this.usernames = usernames;
+	}
+
+}
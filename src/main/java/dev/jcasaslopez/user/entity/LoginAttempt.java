@@ -32,6 +32,10 @@ public class LoginAttempt {
 	// This preserves their statistical/audit value independently of the user lifecycle.
 	@JoinColumn(name = "idUser", referencedColumnName = "idUser", nullable = true)
 	private User user;
+	
+	// The username sent with the attempt, kept even when no user has it (USER_NOT_FOUND) or the user
+	// is deleted later, so the attempts against a username can always be found.
+	private String attemptedUsername;
 
 	public LoginAttempt(LocalDateTime timestamp, boolean successful, String ipAddress,
 			LoginFailureReason loginFailureReason, User user) {
@@ -42,6 +46,12 @@ public class LoginAttempt {
 		this.user = user;
 	}
 
+	public LoginAttempt(LocalDateTime timestamp, boolean successful, String ipAddress,
+			LoginFailureReason loginFailureReason, User user, String attemptedUsername) {
+		this(timestamp, successful, ipAddress, loginFailureReason, user);
+		this.attemptedUsername = attemptedUsername;
+	}
+
 	public LoginAttempt() {
 		super();
 	}
@@ -93,5 +103,13 @@ public class LoginAttempt {
 	public void setUser(User user) {
 		this.user = user;
 	}
+
+	public String getAttemptedUsername() {
+		return attemptedUsername;
+	}
+
+	public void setAttemptedUsername(String attemptedUsername) {
+		this.attemptedUsername = attemptedUsername;
+	}
 	
 }
@@ -0,0 +1,166 @@
+package dev.jcasaslopez.user.entity;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.EmailPriority;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.OutboxStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Email waiting to be sent (or already sent) by EmailOutboxWorker. Rows are inserted in the same 
+// transaction as the change that triggers the notification, so an email is queued if and only if 
+// the change is committed.
+@Entity
+@Table(name="email_outbox")
+public class OutboxEmail {
+	
+	@Id
+	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	private long idEmail;
+	private String recipient;
+	private String subject;
+	
+	@Column(columnDefinition = "TEXT")
+	private String body;
+	
+	@Enumerated(EnumType.STRING)
+	private NotificationType notificationType;
+	
+	// Lane the email is sent from, taken from its NotificationType. Stored as the ordinal so that
+	// HIGH sorts first.
+	@Enumerated(EnumType.ORDINAL)
+	private EmailPriority priority;
+	
+	@Enumerated(EnumType.STRING)
+	private OutboxStatus status;
+	
+	// Number of times the email has been claimed by a worker.
+	private int attempts;
+	
+	// A pending email is not claimed before this instant. Claiming it pushes the value forward, 
+	// so that if the worker dies while sending, the email is retried once this lease expires.
+	private LocalDateTime nextAttemptAt;
+	private LocalDateTime createdAt;
+	private LocalDateTime sentAt;
+	private String lastError;
+
+	public OutboxEmail(String recipient, String subject, String body, NotificationType notificationType,
+			LocalDateTime createdAt) {
+		this.recipient = recipient;
+		this.subject = subject;
+		this.body = body;
+		this.notificationType = notificationType;
+		this.priority = notificationType.getPriority();
+		this.status = OutboxStatus.PENDING;
+		this.nextAttemptAt = createdAt;
+		this.createdAt = createdAt;
+	}
+
+	public OutboxEmail() {
+		super();
+	}
+
+	public long getIdEmail() {
+		return idEmail;
+	}
+
+	public void setIdEmail(long idEmail) {
+		this.idEmail = idEmail;
+	}
+
+	public String getRecipient() {
+		return recipient;
+	}
+
+	public void setRecipient(String recipient) {
+		this.recipient = recipient;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+	public void setBody(String body) {
+		this.body = body;
+	}
+
+	public NotificationType getNotificationType() {
+		return notificationType;
+	}
+
+	public void setNotificationType(NotificationType notificationType) {
+		this.notificationType = notificationType;
+	}
+
+	public EmailPriority getPriority() {
+		return priority;
+	}
+
+	public void setPriority(EmailPriority priority) {
+		this.priority = priority;
+	}
+
+	public OutboxStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(OutboxStatus status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getSentAt() {
+		return sentAt;
+	}
+
+	public void setSentAt(LocalDateTime sentAt) {
+		this.sentAt = sentAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+}
@@ -4,6 +4,10 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
 import dev.jcasaslopez.user.enums.RoleName;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,8 +19,11 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 
+// Role rows are seeded in init/schema.sql and never change at runtime.
 @Table(name="roles")
 @Entity
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 public class Role {
 	
 	@Id
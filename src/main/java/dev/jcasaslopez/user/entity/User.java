@@ -7,6 +7,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import dev.jcasaslopez.user.enums.AccountStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -22,14 +27,20 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+// Users are held in the second-level cache (regions configured in application.conf) and can be
+// resolved by their natural id, username, without touching MySQL once the cache is warm. 
+// See UserRepositoryCustomImpl.
 @Entity
 @Table(name="users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
 	
 		@Id
 		@GeneratedValue(strategy=GenerationType.IDENTITY)
 		private int idUser;
 		
+		@NaturalId
 		@Column(unique=true)
 		private String username;
 		
@@ -41,6 +52,7 @@ public class User {
 		private LocalDate dateOfBirth;
 	
 		@ManyToMany(fetch = FetchType.EAGER) 
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users-roles")
 	    @JoinTable(name="user_roles",
 	        joinColumns=@JoinColumn(name="user_id", referencedColumnName="idUser"),
 	        inverseJoinColumns=@JoinColumn(name="role_id", referencedColumnName="idRole"))
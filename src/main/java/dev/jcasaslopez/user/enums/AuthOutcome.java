@@ -0,0 +1,25 @@
+package dev.jcasaslopez.user.enums;
+
+// Value of the 'outcome' tag of the auth.stage timer (see AuthStage).
+public enum AuthOutcome {
+	SUCCESS("success"),
+	FAILURE("failure"),
+	MISSING("missing"),
+	EXPIRED("expired"),
+	MALFORMED("malformed"),
+	INVALID_SIGNATURE("invalid_signature"),
+	NOT_FOUND("not_found"),
+	MISMATCH("mismatch"),
+	LOCKED("locked"),
+	BLACKLISTED("blacklisted");
+
+	private final String tagValue;
+
+	AuthOutcome(String tagValue) {
+		this.tagValue = tagValue;
+	}
+
+	public String tagValue() {
+		return tagValue;
+	}
+}
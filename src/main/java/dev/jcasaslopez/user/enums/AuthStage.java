@@ -0,0 +1,36 @@
+package dev.jcasaslopez.user.enums;
+
+// Stages of the authentication pipeline timed by AuthMetrics, with the outcomes each of them reports.
+// The value is the 'stage' tag of the auth.stage timer.
+public enum AuthStage {
+	HEADER_CHECK("header_check", AuthOutcome.SUCCESS, AuthOutcome.MISSING),
+	TOKEN_PARSE("token_parse", AuthOutcome.SUCCESS, AuthOutcome.EXPIRED, AuthOutcome.MALFORMED,
+			AuthOutcome.INVALID_SIGNATURE, AuthOutcome.MISSING),
+	TOKEN_SIGN("token_sign", AuthOutcome.SUCCESS),
+	USER_LOOKUP("user_lookup", AuthOutcome.SUCCESS, AuthOutcome.NOT_FOUND),
+	CREDENTIALS_LOOKUP("credentials_lookup", AuthOutcome.SUCCESS, AuthOutcome.NOT_FOUND, AuthOutcome.LOCKED),
+	PASSWORD_MATCH("password_match", AuthOutcome.SUCCESS, AuthOutcome.MISMATCH),
+	LOCK_CHECK("lock_check", AuthOutcome.SUCCESS, AuthOutcome.LOCKED),
+	FAILED_ATTEMPT_REGISTER("failed_attempt_register", AuthOutcome.SUCCESS, AuthOutcome.LOCKED),
+	FAILED_ATTEMPTS_RESET("failed_attempts_reset", AuthOutcome.SUCCESS),
+	BLACKLIST_CHECK("blacklist_check", AuthOutcome.SUCCESS, AuthOutcome.BLACKLISTED),
+	BLACKLIST_WRITE("blacklist_write", AuthOutcome.SUCCESS),
+	AUDIT_INSERT("audit_insert", AuthOutcome.SUCCESS, AuthOutcome.FAILURE),
+	EMAIL_SEND("email_send", AuthOutcome.SUCCESS, AuthOutcome.FAILURE);
+
+	private final String tagValue;
+	private final AuthOutcome[] outcomes;
+
+	AuthStage(String tagValue, AuthOutcome... outcomes) {
+		this.tagValue = tagValue;
+		this.outcomes = outcomes;
+	}
+
+	public String tagValue() {
+		return tagValue;
+	}
+
+	public AuthOutcome[] outcomes() {
+		return outcomes.clone();
+	}
+}
@@ -0,0 +1,13 @@
+package dev.jcasaslopez.user.enums;
+
+public enum BroadcastStatus {
+	// Waiting for a free broadcast thread.
+	QUEUED,
+	RUNNING,
+	// Every recipient's email is in the outbox (not necessarily sent yet).
+	COMPLETED,
+	FAILED,
+	// Still QUEUED or RUNNING in Redis, but the instance that accepted it stopped sending heartbeats
+	// (see BroadcastServiceImpl). Only reported, never written.
+	ABANDONED
+}
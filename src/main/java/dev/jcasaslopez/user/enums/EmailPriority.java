@@ -0,0 +1,9 @@
+package dev.jcasaslopez.user.enums;
+
+// Lanes of the email outbox, in the order workers serve them. The ordinal is stored in
+// email_outbox.priority, so HIGH sorts first.
+public enum EmailPriority {
+	HIGH,
+	NORMAL,
+	LOW
+}
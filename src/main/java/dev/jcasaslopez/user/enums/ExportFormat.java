@@ -0,0 +1,27 @@
+package dev.jcasaslopez.user.enums;
+
+// Formats of the login attempts export and of the bulk user import.
+public enum ExportFormat {
+	
+	// One JSON object per line.
+	NDJSON("application/x-ndjson", "ndjson"),
+	
+	// A header line followed by one line per record (RFC 4180).
+	CSV("text/csv", "csv");
+	
+	private final String contentType;
+	private final String fileExtension;
+
+	ExportFormat(String contentType, String fileExtension) {
+		this.contentType = contentType;
+		this.fileExtension = fileExtension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+}
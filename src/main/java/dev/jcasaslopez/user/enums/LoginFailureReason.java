@@ -5,5 +5,8 @@ public enum LoginFailureReason {
     USER_NOT_FOUND,
     MISSING_FIELD,
     ACCOUNT_LOCKED,
+    // Rejected while the username or the IP address was inside its backoff delay, before the 
+    // credentials were checked (see AccountLockingService).
+    THROTTLED,
     OTHER
 }
@@ -2,84 +2,48 @@ package dev.jcasaslopez.user.enums;
 
 public enum NotificationType {
 	
-	// Enum fields represent:
-	// 1. Email subject line
-	// 2. Log message template
-	// 3. Core HTML message content (excluding greeting and farewell)
+	// The enum fields are the log message template and the outbox lane (see EmailOutboxServiceImpl).
+	// Email subjects and bodies are in i18n/email-templates*.properties (see EmailTemplateRegistryImpl).
 	
-	VERIFY_EMAIL(
-	        "Email verification",
-	        "Starting email verification flow for user {}",
-	        """
-	        <p>Thank you for registering. To complete your account setup, 
-	        please verify your email address by clicking on the following link:</p>
-	        <p><a href="%s/verifyEmail?token=%s">Verify my email</a></p>
-	        """
-	    ),
+	VERIFY_EMAIL("Starting email verification flow for user {}", EmailPriority.HIGH),
 	
-	CREATE_ACCOUNT(
-	        "Welcome to the platform!",
-	        "Starting account creation flow for user {}",
-	        """
-	        <p>Your account has been created successfully.</p>
-	        """
-	    ),
+	CREATE_ACCOUNT("Starting account creation flow for user {}", EmailPriority.NORMAL),
 	
-	FORGOT_PASSWORD(
-	        "Password reset verification email",
-	        "Starting password reset flow for user {}",
-	        """
-	        <p>Click on the following link to reset your password:</p>
-	        <p><a href="%s/resetPassword?token=%s">Reset my password</a></p>
-	        """
-	    ),
+	FORGOT_PASSWORD("Starting password reset flow for user {}", EmailPriority.HIGH),
 	
-	RESET_PASSWORD(
-			"Password reset successfully",
-	        "Starting reset password flow for user {}",
-	        """
-	        <p>Your password has been reset successfully.</p>
-	        """
-		),
+	RESET_PASSWORD("Starting reset password flow for user {}", EmailPriority.NORMAL),
 	
-	CHANGE_PASSWORD(
-			"Password changed successfully",
-			"Starting change password flow for user {}",
-			"""
-	        <p>Your password has been changed successfully.</p>
-	        """
-		),
+	CHANGE_PASSWORD("Starting change password flow for user {}", EmailPriority.NORMAL),
 	
-	UPDATE_ACCOUNT_STATUS(
-			"Change in account status",
-			"Informing user {} of change in account status",
-			// The message core is defined in NotificationService and its content depends on 
-			// the status the user account has changed to
-			"""
-	        <p>%s</p>
-	        """
-		);
+	UPDATE_ACCOUNT_STATUS("Informing user {} of change in account status", EmailPriority.NORMAL),
+	
+	// Message written by an administrator and sent to a segment of users (see BroadcastService).
+	// It is sent as it is, so it has no template.
+	BROADCAST("Queuing broadcast notification {}", EmailPriority.LOW);
 	
-	private final String subject;
     private final String logText;
-    private final String messageText;
+    private final EmailPriority priority;
     
-	private NotificationType(String subject, String logText, String messageText) {
-		this.subject = subject;
+	private NotificationType(String logText, EmailPriority priority) {
 		this.logText = logText;
-		this.messageText = messageText;
-	}
-
-	public String getSubject() {
-		return subject;
+		this.priority = priority;
 	}
 
 	public String getLogText() {
 		return logText;
 	}
-
-	public String getMessageText() {
-		return messageText;
+	
+	public EmailPriority getPriority() {
+		return priority;
+	}
+	
+	public boolean hasTemplate() {
+		return this != BROADCAST;
+	}
+	
+	// Emails with a link that includes a verification token.
+	public boolean carriesToken() {
+		return this == VERIFY_EMAIL || this == FORGOT_PASSWORD;
 	}
     
 }
\ No newline at end of file
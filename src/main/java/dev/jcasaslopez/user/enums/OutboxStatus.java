@@ -0,0 +1,7 @@
+package dev.jcasaslopez.user.enums;
+
+public enum OutboxStatus {
+	PENDING,
+	SENT,
+	FAILED
+}
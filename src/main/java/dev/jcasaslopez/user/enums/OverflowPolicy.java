@@ -0,0 +1,18 @@
+package dev.jcasaslopez.user.enums;
+
+// What AsyncEventBus does with an event when the queue of its listener is full.
+public enum OverflowPolicy {
+	
+	// The event is handled on the publishing thread: the publisher slows down to the listener's pace.
+	CALLER_RUNS,
+	
+	// The publisher waits for room in the queue (up to 'events.async.block-timeout-ms'), and then 
+	// handles the event itself.
+	BLOCK,
+	
+	// The new event is dropped.
+	DROP_NEWEST,
+	
+	// The oldest queued event is dropped to make room for the new one.
+	DROP_OLDEST
+}
@@ -0,0 +1,10 @@
+package dev.jcasaslopez.user.event;
+
+// Events handled by AsyncEventBus: their listeners run on the bus threads once the publisher's 
+// transaction has committed, so the publisher does not wait for them. Queued events are only kept in
+// memory and are lost if the instance dies: work that must happen if and only if the transaction commits
+// (e.g., queuing a notification email) belongs in the transaction instead.
+// Implementations must be immutable snapshots (no JPA entities), since they are read by other threads
+// after the persistence context they come from is closed.
+public interface AsyncEvent {
+}
@@ -0,0 +1,185 @@
+package dev.jcasaslopez.user.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.jcasaslopez.user.enums.OverflowPolicy;
+import dev.jcasaslopez.user.metrics.ServerTiming;
+import dev.jcasaslopez.user.utilities.ThreadFactories;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Delivers AsyncEvents to their AsyncEventListeners on background threads. Events are still published
+// with ApplicationEventPublisher; the bus receives them once the publisher's transaction has committed
+// (right away if there is none) and puts them in the queue of every listener of that type. Events of
+// rolled back transactions are never delivered.
+//
+// Each listener has its own executor with 'events.async.threads' threads and a queue bounded to
+// 'events.async.queue-capacity' events. When the queue is full, the listener's OverflowPolicy applies.
+// With 'spring.threads.virtual.enabled', the threads are virtual (the queue bounds still apply).
+//
+// Metrics per listener: events.async.queue.size, events.async.lag (time queued), events.async.handled
+// (handling time, by outcome) and events.async.overflow (by policy).
+@Component
+public class AsyncEventBus implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncEventBus.class);
+
+	private final List<ListenerChannel> channels = new ArrayList<>();
+	private final TransactionTemplate requiresNewTemplate;
+	private final long blockTimeoutMillis;
+	private final long shutdownTimeoutSeconds;
+
+	public AsyncEventBus(List<AsyncEventListener<?>> listeners, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${events.async.threads}") int threads,
+			@Value("${events.async.queue-capacity}") int queueCapacity,
+			@Value("${events.async.block-timeout-ms}") long blockTimeoutMillis,
+			@Value("${events.async.shutdown-timeout-seconds}") long shutdownTimeoutSeconds,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		// The bus receives events in the afterCommit phase, where the committed transaction's resources
+		// are still bound to the thread: a listener run there would join that transaction, and its writes
+		// would never be committed. Listeners run on the publishing thread get a transaction of their own.
+		this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+		this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockTimeoutMillis = blockTimeoutMillis;
+		this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+		for (AsyncEventListener<?> listener : listeners) {
+			channels.add(new ListenerChannel(listener, threads, queueCapacity, virtualThreads, meterRegistry));
+		}
+		logger.info("Async event bus started with {} listeners", channels.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onAsyncEvent(AsyncEvent event) {
+		long start = System.nanoTime();
+		for (ListenerChannel channel : channels) {
+			if (channel.listener.getEventType().isInstance(event)) {
+				channel.submit(event);
+			}
+		}
+		// Includes the listeners run on the publishing thread when a queue is full.
+		ServerTiming.record("events", start);
+	}
+
+	// Events already queued are handled before the application stops, within the shutdown timeout.
+	@Override
+	public void destroy() throws InterruptedException {
+		for (ListenerChannel channel : channels) {
+			channel.executor.shutdown();
+		}
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+		for (ListenerChannel channel : channels) {
+			if (!channel.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+				int lost = channel.executor.shutdownNow().size();
+				logger.warn("{} events for {} not handled before shutdown", lost, channel.name);
+			}
+		}
+	}
+
+	private class ListenerChannel {
+
+		private final AsyncEventListener<?> listener;
+		private final String name;
+		private final ThreadPoolExecutor executor;
+		private final Timer lagTimer;
+		private final Timer successTimer;
+		private final Timer failureTimer;
+		private final Counter overflowCounter;
+
+		ListenerChannel(AsyncEventListener<?> listener, int threads, int queueCapacity, boolean virtualThreads,
+				MeterRegistry meterRegistry) {
+			this.listener = listener;
+			this.name = listener.getClass().getSimpleName();
+			OverflowPolicy overflowPolicy = listener.getOverflowPolicy();
+			this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(queueCapacity), 
+					ThreadFactories.newThreadFactory("events-" + name + "-", virtualThreads),
+					rejectedExecutionHandler(overflowPolicy));
+
+			Gauge.builder("events.async.queue.size", executor, e -> e.getQueue().size())
+				.description("Events waiting to be handled").tag("listener", name).register(meterRegistry);
+			this.lagTimer = Timer.builder("events.async.lag")
+				.description("Time between publishing an event and handling it").tag("listener", name).register(meterRegistry);
+			this.successTimer = Timer.builder("events.async.handled").tag("listener", name)
+				.tag("outcome", "success").register(meterRegistry);
+			this.failureTimer = Timer.builder("events.async.handled").tag("listener", name)
+				.tag("outcome", "failure").register(meterRegistry);
+			this.overflowCounter = Counter.builder("events.async.overflow")
+				.description("Events that found the queue full").tag("listener", name)
+				.tag("policy", overflowPolicy.name()).register(meterRegistry);
+		}
+
+		void submit(AsyncEvent event) {
+			long queuedAt = System.nanoTime();
+			executor.execute(() -> handle(event, queuedAt));
+		}
+
+		@SuppressWarnings("unchecked")
+		private void handle(AsyncEvent event, long queuedAt) {
+			long start = System.nanoTime();
+			lagTimer.record(start - queuedAt, TimeUnit.NANOSECONDS);
+			try {
+				((AsyncEventListener<AsyncEvent>) listener).onEvent(event);
+				successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			} catch (RuntimeException ex) {
+				failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				logger.error("{} failed to handle {}: {}", name, event.getClass().getSimpleName(), ex.getMessage(), ex);
+			}
+		}
+
+		private void runOnCaller(Runnable task) {
+			requiresNewTemplate.executeWithoutResult(status -> task.run());
+		}
+
+		private RejectedExecutionHandler rejectedExecutionHandler(OverflowPolicy overflowPolicy) {
+			return (task, executor) -> {
+				if (executor.isShutdown()) {
+					logger.warn("Event for {} discarded: the application is stopping", name);
+					return;
+				}
+				overflowCounter.increment();
+				switch (overflowPolicy) {
+					case CALLER_RUNS -> runOnCaller(task);
+					case BLOCK -> {
+						try {
+							if (!executor.getQueue().offer(task, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+								runOnCaller(task);
+							}
+						} catch (InterruptedException ex) {
+							Thread.currentThread().interrupt();
+							runOnCaller(task);
+						}
+					}
+					case DROP_NEWEST -> logger.warn("Event queue of {} full: new event dropped", name);
+					case DROP_OLDEST -> {
+						// Straight into the queue: execute() could be rejected again and re-enter this handler.
+						executor.getQueue().poll();
+						if (executor.getQueue().offer(task)) {
+							logger.warn("Event queue of {} full: oldest event dropped", name);
+						} else {
+							logger.warn("Event queue of {} full: oldest and new events dropped", name);
+						}
+					}
+				}
+			};
+		}
+	}
+
+}
@@ -0,0 +1,18 @@
+package dev.jcasaslopez.user.event;
+
+import dev.jcasaslopez.user.enums.OverflowPolicy;
+
+// Listener registered in AsyncEventBus. Each listener gets its own bounded queue and threads, 
+// so a slow listener does not hold up the others.
+public interface AsyncEventListener<E extends AsyncEvent> {
+	
+	Class<E> getEventType();
+	
+	void onEvent(E event);
+	
+	// Listeners whose events must not be lost keep the default.
+	default OverflowPolicy getOverflowPolicy() {
+		return OverflowPolicy.CALLER_RUNS;
+	}
+
+}
@@ -0,0 +1,35 @@
+package dev.jcasaslopez.user.event;
+
+import java.util.List;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.model.UserSummary;
+
+// The same notification for many users at once (see BulkUserService): a single event, handled as one job
+// by BulkNotificationService, instead of one NotifyingEvent per user.
+public final class BulkNotifyingEvent {
+	
+	private final List<UserSummary> users;
+	private final AccountStatus accountStatus;
+	private final NotificationType notificationType;
+
+	public BulkNotifyingEvent(List<UserSummary> users, AccountStatus accountStatus, NotificationType notificationType) {
+		this.users = List.copyOf(users);
+		this.accountStatus = accountStatus;
+		this.notificationType = notificationType;
+	}
+
+	public List<UserSummary> getUsers() {
+		return users;
+	}
+
+	public AccountStatus getAccountStatus() {
+		return accountStatus;
+	}
+
+	public NotificationType getNotificationType() {
+		return notificationType;
+	}
+
+}
@@ -0,0 +1,25 @@
+package dev.jcasaslopez.user.event;
+
+import dev.jcasaslopez.user.enums.NotificationType;
+
+// Published when emails are written to the outbox, so the workers can pick them up right after 
+// the transaction commits instead of waiting for their next poll.
+public class EmailQueuedEvent {
+	
+	private final NotificationType notificationType;
+	private final int emails;
+
+	public EmailQueuedEvent(NotificationType notificationType, int emails) {
+		this.notificationType = notificationType;
+		this.emails = emails;
+	}
+
+	public NotificationType getNotificationType() {
+		return notificationType;
+	}
+
+	public int getEmails() {
+		return emails;
+	}
+
+}
@@ -4,12 +4,16 @@ import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.NotificationType;
 
-public class NotifyingEvent {
+// Only the user fields needed by the notification are copied, when the event is created, so that 
+// listeners never hold on to a live JPA entity.
+public final class NotifyingEvent {
 	
-	private User user;
-	private String token;
-	private AccountStatus accountStatus;
-	private NotificationType notificationType;
+	private final int idUser;
+	private final String username;
+	private final String email;
+	private final String token;
+	private final AccountStatus accountStatus;
+	private final NotificationType notificationType;
 	
 	// Overloaded constructors accommodate varying data needs for events:
 	// - User-only events: ChangePassword, CreateAccount, ResetPassword
@@ -17,24 +21,37 @@ public class NotifyingEvent {
 	// - User + token: ForgotPassword, VerifyEmail
 	
 	public NotifyingEvent(User user, NotificationType notificationType) {
-		this.user = user;
-		this.notificationType = notificationType;
+		this(user, null, null, notificationType);
 	}
 
 	public NotifyingEvent(User user, String token, NotificationType notificationType) {
-		this.user = user;
-		this.token = token;
-		this.notificationType = notificationType;
+		this(user, token, null, notificationType);
 	}
 
 	public NotifyingEvent(User user, AccountStatus accountStatus, NotificationType notificationType) {
-		this.user = user;
+		this(user, null, accountStatus, notificationType);
+	}
+	
+	private NotifyingEvent(User user, String token, AccountStatus accountStatus, NotificationType notificationType) {
+		this.idUser = user.getIdUser();
+		this.username = user.getUsername();
+		this.email = user.getEmail();
+		this.token = token;
 		this.accountStatus = accountStatus;
 		this.notificationType = notificationType;
 	}
 
-	public User getUser() {
-		return user;
+	// 0 if the user has not been persisted yet (e.g., email verification before registration).
+	public int getIdUser() {
+		return idUser;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getEmail() {
+		return email;
 	}
 
 	public String getToken() {
@@ -49,4 +66,4 @@ public class NotifyingEvent {
 		return notificationType;
 	}
 	
-}
\ No newline at end of file
+}
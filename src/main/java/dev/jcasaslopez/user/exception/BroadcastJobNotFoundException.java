@@ -0,0 +1,7 @@
+package dev.jcasaslopez.user.exception;
+
+public class BroadcastJobNotFoundException extends DomainException {
+	public BroadcastJobNotFoundException(String message) {
+		super(message);
+	}
+}
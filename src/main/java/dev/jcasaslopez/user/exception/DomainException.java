@@ -0,0 +1,14 @@
+package dev.jcasaslopez.user.exception;
+
+// Base class of the exceptions that report an expected business failure (a status that cannot be changed,
+// a job that does not exist...), answered with a 4xx response by GlobalExceptionHandler.
+//
+// They are created without a stack trace: it is the most expensive part of creating an exception (every 
+// frame of a request runs over a hundred deep) and, for an expected outcome, nobody reads it. They are 
+// logged as one line with the message instead.
+public abstract class DomainException extends RuntimeException {
+
+	protected DomainException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -0,0 +1,18 @@
+package dev.jcasaslopez.user.exception;
+
+// A request rejected by a business rule, e.g., a wrong old password, a password that does not meet the 
+// requirements or upgrading a user that is already ADMIN. Extends IllegalArgumentException, which is how 
+// these failures were reported before (400), but without a stack trace (see DomainException).
+//
+// IllegalArgumentExceptions thrown for any other reason are unexpected, and keep their stack trace.
+public class InvalidRequestException extends IllegalArgumentException {
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
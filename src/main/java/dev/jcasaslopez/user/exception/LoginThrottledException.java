@@ -0,0 +1,19 @@
+package dev.jcasaslopez.user.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+// Thrown when a login attempt arrives while the username or the IP address is still inside
+// its backoff delay. By extending AuthenticationException, we can handle it in the AuthenticationFailureHandler.
+public class LoginThrottledException extends AuthenticationException {
+	
+	private final long retryAfterSeconds;
+	
+	public LoginThrottledException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -1,6 +1,6 @@
 package dev.jcasaslopez.user.exception;
 
-public class MalformedMessageException extends RuntimeException {
+public class MalformedMessageException extends DomainException {
 	public MalformedMessageException(String message) {
 		super(message);
 	}
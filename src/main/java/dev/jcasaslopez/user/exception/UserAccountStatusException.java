@@ -1,6 +1,6 @@
 package dev.jcasaslopez.user.exception;
 
-public class UserAccountStatusException extends RuntimeException {
+public class UserAccountStatusException extends DomainException {
 	public UserAccountStatusException(String message) {
 		super(message);
 	}
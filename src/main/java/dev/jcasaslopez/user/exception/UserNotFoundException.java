@@ -0,0 +1,18 @@
+package dev.jcasaslopez.user.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+// A user that does not exist, e.g., an unknown email in forgotPassword(). Extends UsernameNotFoundException 
+// so that Spring Security and the handlers that catch it keep working, but without a stack trace
+// (see DomainException).
+public class UserNotFoundException extends UsernameNotFoundException {
+
+	public UserNotFoundException(String message) {
+		super(message);
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -39,7 +39,7 @@ public class AuthenticationFlowHandler {
 
 		if(purpose != TokenType.REFRESH) {
 			logger.warn("Expected REFRESH token, but received {}", purpose.name());
-			standardResponseHandler.handleResponse(response, 401, "Access denied: invalid or missing token", null);
+			standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
 			return;
 		}
 		
@@ -59,7 +59,7 @@ public class AuthenticationFlowHandler {
 		}
 
 		logger.warn("Expected VERIFICATION token, but received {}", purpose.name());
-		standardResponseHandler.handleResponse(response, 401, "Access denied: invalid or missing token", null);
+		standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
 	}
 
 	// Refresh token
@@ -82,7 +82,7 @@ public class AuthenticationFlowHandler {
 		} else if (isTokenBlacklisted){
 			logger.warn("Refresh token is blacklisted for user: {}", username);
 		}
-		standardResponseHandler.handleResponse(response, 401, "Access denied: invalid or missing token", null);
+		standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
 	}
 
 	// Access token
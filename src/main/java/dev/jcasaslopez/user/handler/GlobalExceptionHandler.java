@@ -22,14 +22,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
 import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.exception.BroadcastJobNotFoundException;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
 import dev.jcasaslopez.user.exception.MalformedMessageException;
 import dev.jcasaslopez.user.exception.MissingCredentialException;
 import dev.jcasaslopez.user.exception.UserAccountStatusException;
+import dev.jcasaslopez.user.exception.UserNotFoundException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.validation.ConstraintViolationException;
 
+// Expected failures are logged as one line by logRejection(): business failures (DomainException and its 
+// stackless siblings, InvalidRequestException and UserNotFoundException), and the client errors of the 
+// authentication path (missing credentials, restricted accounts and rejected tokens). Any other exception 
+// is unexpected and is logged at ERROR level with its stack trace.
 @ControllerAdvice
 public class GlobalExceptionHandler {
 	
@@ -37,7 +44,7 @@ public class GlobalExceptionHandler {
 	
 	@ExceptionHandler(UserAccountStatusException.class)
 	public ResponseEntity<StandardResponse> handleAccountStatusException(UserAccountStatusException ex){
-        log.error("AccountStatusException: {}", ex.getMessage(), ex);
+        logRejection(HttpStatus.CONFLICT, ex);
         StandardResponse response = new StandardResponse (LocalDateTime.now(), 
 				ex.getMessage() , null, HttpStatus.CONFLICT);
 		return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
@@ -45,12 +52,20 @@ public class GlobalExceptionHandler {
 	
 	@ExceptionHandler(AccountStatusException.class)
 	public ResponseEntity<StandardResponse> handleSpringAccountStatusException(AccountStatusException ex){
-	    log.error("Spring AccountStatusException: {}", ex.getMessage(), ex);
+	    logRejection(HttpStatus.FORBIDDEN, ex);
 	    StandardResponse response = new StandardResponse(LocalDateTime.now(),
 	            "Account access restricted", null, HttpStatus.FORBIDDEN);
 	    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
 	}
 	
+	@ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<StandardResponse> handleInvalidRequestException(InvalidRequestException ex){
+		logRejection(HttpStatus.BAD_REQUEST, ex);
+		StandardResponse response = new StandardResponse (LocalDateTime.now(), 
+				ex.getMessage() , null, HttpStatus.BAD_REQUEST);
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+	}
+	
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<StandardResponse> handleIllegalArgumentException(IllegalArgumentException ex){
         log.error("IllegalArgumentException: {}", ex.getMessage(), ex);
@@ -67,6 +82,14 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(response);
 	}
 	
+	@ExceptionHandler(UserNotFoundException.class)
+	public ResponseEntity<StandardResponse> handleUserNotFoundException(UserNotFoundException ex){
+		logRejection(HttpStatus.NOT_FOUND, ex);
+		StandardResponse response = new StandardResponse (LocalDateTime.now(), 
+				ex.getMessage() , null, HttpStatus.NOT_FOUND);
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+	}
+	
 	@ExceptionHandler(UsernameNotFoundException.class)
 	public ResponseEntity<StandardResponse> handleUsernameNotFoundException(UsernameNotFoundException ex){
 		log.error("UsernameNotFoundException: {}", ex.getMessage(), ex);
@@ -75,9 +98,17 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
 	}
 	
+	@ExceptionHandler(BroadcastJobNotFoundException.class)
+	public ResponseEntity<StandardResponse> handleBroadcastJobNotFoundException(BroadcastJobNotFoundException ex){
+		logRejection(HttpStatus.NOT_FOUND, ex);
+		StandardResponse response = new StandardResponse (LocalDateTime.now(), 
+				ex.getMessage() , null, HttpStatus.NOT_FOUND);
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+	}
+	
 	@ExceptionHandler(MissingCredentialException.class)
 	public ResponseEntity<StandardResponse> handleMissingCredentialException(MissingCredentialException ex){
-        log.error("MissingCredentialException: {}", ex.getMessage(), ex);
+        logRejection(HttpStatus.BAD_REQUEST, ex);
         StandardResponse response = new StandardResponse (LocalDateTime.now(), 
 				ex.getMessage() , null, HttpStatus.BAD_REQUEST);
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
@@ -141,7 +172,7 @@ public class GlobalExceptionHandler {
 
 	@ExceptionHandler(ExpiredJwtException.class)
     public ResponseEntity<StandardResponse> handleExpiredJwtException(ExpiredJwtException ex) {
-		log.error("ExpiredJwtException: {}", ex.getMessage(), ex);
+		logRejection(HttpStatus.UNAUTHORIZED, ex);
 		StandardResponse response = new StandardResponse (LocalDateTime.now(), ex.getMessage(), null,
 				HttpStatus.UNAUTHORIZED);
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
@@ -149,7 +180,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MalformedJwtException.class)
     public ResponseEntity<StandardResponse> handleMalformedJwtException(MalformedJwtException ex) {
-		log.error("MalformedJwtException: {}", ex.getMessage(), ex);
+		logRejection(HttpStatus.UNAUTHORIZED, ex);
 		StandardResponse response = new StandardResponse (LocalDateTime.now(), ex.getMessage(), null,
 				HttpStatus.UNAUTHORIZED);
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
@@ -157,7 +188,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(JwtException.class)
     public ResponseEntity<StandardResponse> handleJwtException(JwtException ex) {
-		log.error("JwtException: {}", ex.getMessage(), ex);
+		logRejection(HttpStatus.UNAUTHORIZED, ex);
     	StandardResponse response = new StandardResponse (LocalDateTime.now(), ex.getMessage(), null,
 				HttpStatus.UNAUTHORIZED);
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
@@ -195,9 +226,15 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(MalformedMessageException.class)
     public ResponseEntity<StandardResponse> handleMalformedMessageException(MalformedMessageException ex) {
-    	log.error("MalformedMessageException: {}", ex.getMessage(), ex);
+    	logRejection(HttpStatus.BAD_REQUEST, ex);
     	StandardResponse response = new StandardResponse (LocalDateTime.now(), ex.getMessage(), null,
 				HttpStatus.BAD_REQUEST);
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
+    
+    // One line per expected failure, in key=value form so that log pipelines can parse it.
+    private static void logRejection(HttpStatus status, RuntimeException ex) {
+    	log.info("Request rejected: status={} exception={} message=\"{}\"", status.value(), 
+    			ex.getClass().getSimpleName(), ex.getMessage());
+    }
 }
\ No newline at end of file
@@ -1,54 +1,133 @@
 package dev.jcasaslopez.user.handler;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.metrics.ServerTiming;
 import jakarta.servlet.http.HttpServletResponse;
 
 // StandardResponseHandler converts a StandardResponse into a standard HTTP response.
-// It is necessary in classes like AuthenticationFilter, where StandardResponse cannot be used 
+// It is necessary in classes like AuthenticationFilter, where StandardResponse cannot be used
 // directly, as exceptions thrown in a filter are not handled by GlobalExceptionHandler.
+//
+// Uses the application's ObjectMapper, so the JSON is the same as the controllers' (dates as ISO-8601
+// strings, etc.), and writes UTF-8 bytes straight to the output stream, with their Content-Length.
+// The body is serialized before the stream is opened, so that it is timed in the Server-Timing header.
+//
+// The most frequent responses (see TEMPLATE_MESSAGES) are 401s with a fixed message, answered to every
+// request with a missing or invalid token and every wrong password. Their JSON is encoded once, at startup,
+// and only the timestamp is spliced into it.
 @Component
 public class StandardResponseHandler {
 
-	ObjectMapper objectMapper;
+	public static final String INVALID_TOKEN_MESSAGE = "Access denied: invalid or missing token";
+	public static final String BAD_CREDENTIALS_MESSAGE = "Bad credentials";
 
-	public StandardResponseHandler() {
-		this.objectMapper = new ObjectMapper();
-		
-	    // Add support for Java 8 date/time classes (LocalDate, LocalDateTime, etc.)
-		objectMapper.registerModule(new JavaTimeModule());
-		
-	    // Write dates as ISO-8601 strings instead of numeric timestamps
-		objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	private static final String[] TEMPLATE_MESSAGES = { INVALID_TOKEN_MESSAGE, BAD_CREDENTIALS_MESSAGE };
+	private static final int TEMPLATE_STATUS = 401;
+
+	// Any timestamp works: it only marks where the timestamp goes in the templates.
+	private static final LocalDateTime TEMPLATE_TIMESTAMP = LocalDateTime.of(2000, 1, 1, 0, 0, 0, 1);
+
+	private final ObjectWriter responseWriter;
+	private final ObjectWriter timestampWriter;
+	private final Map<String, ResponseTemplate> templates = new HashMap<>();
+
+	public StandardResponseHandler(ObjectMapper objectMapper) {
+		this.responseWriter = objectMapper.writerFor(StandardResponse.class);
+		this.timestampWriter = objectMapper.writerFor(LocalDateTime.class);
+		for (String message : TEMPLATE_MESSAGES) {
+			templates.put(message, buildTemplate(message));
+		}
 	}
 
-	public HttpServletResponse handleResponse(HttpServletResponse response, int status, 
+	public HttpServletResponse handleResponse(HttpServletResponse response, int status,
 			String message, Object details) throws IOException {
-		
+
 	    // Configure response headers
-		response.setContentType("application/json");
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
 		response.setCharacterEncoding("UTF-8");
 		response.setStatus(status);
-		
-	    // Create a StandardResponse with timestamp, message, details and status
-		StandardResponse standardResponse = new StandardResponse (LocalDateTime.now(), message, details, 
-				HttpStatus.resolve(status));
-		
-	    // Serialize StandardResponse to JSON
-		String jsonResponse = objectMapper.writeValueAsString(standardResponse);
-		
+
+		long start = System.nanoTime();
+		ResponseTemplate template = status == TEMPLATE_STATUS && details == null ? templates.get(message) : null;
+		byte[] timestamp = null;
+		byte[] jsonResponse = null;
+		int contentLength;
+		if (template != null) {
+			timestamp = timestampWriter.writeValueAsBytes(LocalDateTime.now());
+			contentLength = template.prefix.length + timestamp.length + template.suffix.length;
+		} else {
+		    // Create a StandardResponse with timestamp, message, details and status
+			jsonResponse = responseWriter.writeValueAsBytes(new StandardResponse(LocalDateTime.now(), message,
+					details, HttpStatus.resolve(status)));
+			contentLength = jsonResponse.length;
+		}
+		ServerTiming.record("serialize", start);
+
 	    // Write JSON into the HttpServletResponse
-		response.getWriter().write(jsonResponse);
+		response.setContentLength(contentLength);
+		OutputStream outputStream = response.getOutputStream();
+		if (template != null) {
+			outputStream.write(template.prefix);
+			outputStream.write(timestamp);
+			outputStream.write(template.suffix);
+		} else {
+			outputStream.write(jsonResponse);
+		}
 		return response;
 	}
 
-}
\ No newline at end of file
+	// Serializes the response with a known timestamp and splits it around it. The timestamp is written by
+	// the same ObjectMapper at runtime, so the result is byte for byte what serializing the whole response
+	// would produce.
+	private ResponseTemplate buildTemplate(String message) {
+		try {
+			byte[] json = responseWriter.writeValueAsBytes(new StandardResponse(TEMPLATE_TIMESTAMP, message, null,
+					HttpStatus.resolve(TEMPLATE_STATUS)));
+			byte[] timestamp = timestampWriter.writeValueAsBytes(TEMPLATE_TIMESTAMP);
+			int index = indexOf(json, timestamp);
+			if (index < 0) {
+				throw new IllegalStateException("Timestamp not found in the response '" + message + "'");
+			}
+			return new ResponseTemplate(Arrays.copyOfRange(json, 0, index),
+					Arrays.copyOfRange(json, index + timestamp.length, json.length));
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Cannot serialize the response '" + message + "'", ex);
+		}
+	}
+
+	private static int indexOf(byte[] array, byte[] target) {
+		for (int i = 0; i <= array.length - target.length; i++) {
+			if (Arrays.equals(array, i, i + target.length, target, 0, target.length)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static class ResponseTemplate {
+
+		private final byte[] prefix;
+		private final byte[] suffix;
+
+		ResponseTemplate(byte[] prefix, byte[] suffix) {
+			this.prefix = prefix;
+			this.suffix = suffix;
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package dev.jcasaslopez.user.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Authenticating a request: loading the credentials of an access token's user (AuthenticationServiceImpl),
+// or handling a failed login, from the lockout engine to the response (CustomAuthenticationFailureHandler).
+//
+// Usage:
+// AuthenticationEvent event = new AuthenticationEvent();
+// event.begin();
+// (authenticate)
+// event.complete(AuthenticationEvent.ACCESS_TOKEN, "success", username);
+@Name("dev.jcasaslopez.user.Authentication")
+@Label("Authentication")
+@Category({ "User Service", "Authentication" })
+@Description("Authentication of access tokens and handling of failed logins")
+@StackTrace(false)
+@Threshold("5 ms")
+public class AuthenticationEvent extends Event {
+
+	public static final String ACCESS_TOKEN = "access_token";
+	public static final String LOGIN_FAILURE = "login_failure";
+
+	@Label("Stage")
+	String stage;
+
+	@Label("Outcome")
+	@Description("AuthOutcome of access tokens; LoginFailureReason of failed logins")
+	String outcome;
+
+	@Label("Throttled")
+	@Description("Whether the failed login was answered with a delay (429)")
+	boolean throttled;
+
+	@Label("Username Hash")
+	@Description("Salted hash of the username, only valid within this recording")
+	String usernameHash;
+
+	public void complete(String stage, String outcome, String username) {
+		complete(stage, outcome, false, username);
+	}
+
+	public void complete(String stage, String outcome, boolean throttled, String username) {
+		end();
+		if (shouldCommit()) {
+			this.stage = stage;
+			this.outcome = outcome;
+			this.throttled = throttled;
+			this.usernameHash = UsernameHash.of(username);
+			commit();
+		}
+	}
+
+}
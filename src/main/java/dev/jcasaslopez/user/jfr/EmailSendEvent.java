@@ -0,0 +1,41 @@
+package dev.jcasaslopez.user.jfr;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// One SMTP session, whether it sent a single email or a batch from the outbox (see EmailServiceImpl).
+// Recipients are not recorded.
+@Name("dev.jcasaslopez.user.EmailSend")
+@Label("Email Send")
+@Category({ "User Service", "Email" })
+@Description("Emails sent over one SMTP session")
+@StackTrace(false)
+@Threshold("0 ms")
+public class EmailSendEvent extends Event {
+
+	@Label("Emails")
+	int emails;
+
+	@Label("Failed Emails")
+	int failedEmails;
+
+	@Label("Outcome")
+	String outcome;
+
+	public void complete(int emails, int failedEmails) {
+		end();
+		if (shouldCommit()) {
+			this.emails = emails;
+			this.failedEmails = failedEmails;
+			this.outcome = (failedEmails == 0 ? AuthOutcome.SUCCESS : AuthOutcome.FAILURE).tagValue();
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package dev.jcasaslopez.user.jfr;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Inserting a row in login_attempts (see LoginAttemptServiceImpl).
+@Name("dev.jcasaslopez.user.LoginAttempt")
+@Label("Login Attempt Insert")
+@Category({ "User Service", "Persistence" })
+@Description("Insert of the audit record of a login attempt")
+@StackTrace(false)
+@Threshold("5 ms")
+public class LoginAttemptEvent extends Event {
+
+	@Label("Successful Login")
+	boolean successful;
+
+	@Label("Failure Reason")
+	String failureReason;
+
+	@Label("Outcome")
+	@Description("Whether the row was inserted")
+	String outcome;
+
+	@Label("Username Hash")
+	@Description("Salted hash of the username, only valid within this recording")
+	String usernameHash;
+
+	// 'username' is null when the login did not match a user (e.g., unknown username or throttled login).
+	public void complete(boolean successful, LoginFailureReason failureReason, AuthOutcome outcome, String username) {
+		end();
+		if (shouldCommit()) {
+			this.successful = successful;
+			this.failureReason = failureReason == null ? null : failureReason.name().toLowerCase();
+			this.outcome = outcome.tagValue();
+			this.usernameHash = UsernameHash.of(username);
+			commit();
+		}
+	}
+
+}
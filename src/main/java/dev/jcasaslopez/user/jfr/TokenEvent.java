@@ -0,0 +1,58 @@
+package dev.jcasaslopez.user.jfr;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.TokenType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Signing or parsing a JWT, or checking or adding its JTI to the Redis blacklist (see TokenServiceImpl).
+//
+// Usage:
+// TokenEvent event = new TokenEvent();
+// event.begin();
+// (run the operation)
+// event.complete(TokenEvent.PARSE, tokenType, outcome, username);
+@Name("dev.jcasaslopez.user.Token")
+@Label("Token Operation")
+@Category({ "User Service", "Authentication" })
+@Description("JWT signing and parsing, and Redis blacklist checks and writes")
+@StackTrace(false)
+@Threshold("1 ms")
+public class TokenEvent extends Event {
+
+	public static final String SIGN = "sign";
+	public static final String PARSE = "parse";
+	public static final String BLACKLIST_CHECK = "blacklist_check";
+	public static final String BLACKLIST_WRITE = "blacklist_write";
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Token Type")
+	String tokenType;
+
+	@Label("Outcome")
+	String outcome;
+
+	@Label("Username Hash")
+	@Description("Salted hash of the username, only valid within this recording")
+	String usernameHash;
+
+	// 'tokenType' and 'username' are null when they are unknown (e.g., the token could not be parsed).
+	public void complete(String operation, TokenType tokenType, AuthOutcome outcome, String username) {
+		end();
+		if (shouldCommit()) {
+			this.operation = operation;
+			this.tokenType = tokenType == null ? null : tokenType.prefix();
+			this.outcome = outcome.tagValue();
+			this.usernameHash = UsernameHash.of(username);
+			commit();
+		}
+	}
+
+}
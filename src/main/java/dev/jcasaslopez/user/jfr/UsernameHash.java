@@ -0,0 +1,44 @@
+package dev.jcasaslopez.user.jfr;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+// Pseudonym of a username for JFR events: the first 8 bytes of SHA-256(salt + username), in hex.
+//
+// Recordings are shared (attached to tickets, uploaded to analysis tools), so they must not carry
+// usernames. The salt is random and lives only in this JVM: all the events of one user in a recording
+// share the same hash and can be correlated, but the hash cannot be matched against a list of
+// usernames, nor across restarts.
+final class UsernameHash {
+
+	private static final int HASH_BYTES = 8;
+	private static final byte[] SALT = new byte[16];
+
+	static {
+		new SecureRandom().nextBytes(SALT);
+	}
+
+	private UsernameHash() {
+	}
+
+	// Null (not recorded) for unknown usernames, e.g., a token that could not be parsed.
+	static String of(String username) {
+		if (username == null) {
+			return null;
+		}
+		try {
+			// MessageDigest is not thread-safe, and this only runs for events that are going to be committed.
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(SALT);
+			byte[] hash = digest.digest(username.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash, 0, HASH_BYTES);
+		} catch (NoSuchAlgorithmException ex) {
+			// Every JVM is required to support SHA-256.
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+package dev.jcasaslopez.user.mail;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+// JavaMailSenderImpl opens a new connection (TCP + STARTTLS + AUTH) for every send() call, and closes
+// it right afterwards. This sender keeps the authenticated connections open and reuses them:
+// - At most 'maxConnections' connections are in use at the same time. Callers wait up to 'borrowTimeout'
+//   for one to be free.
+// - Connections that have been idle for longer than 'idleTimeout' are closed by a background task,
+//   well before the SMTP server drops them on its own.
+// - Connections are checked before being reused (SMTP NOOP) and discarded if they fail.
+//
+// send(MimeMessage...) sends all the messages over the same connection, so it can be used to send
+// batches. Messages that fail are reported in the MailSendException, as JavaMailSenderImpl does.
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+	private final Semaphore permits;
+	private final long borrowTimeoutMillis;
+	private final long idleTimeoutMillis;
+	// Idle connections, the most recently used first. Guarded by 'this'.
+	private final Deque<IdleTransport> idleTransports = new ArrayDeque<>();
+	private final ScheduledExecutorService evictor;
+	private volatile boolean closed;
+
+	public PooledJavaMailSender(int maxConnections, Duration idleTimeout, Duration borrowTimeout) {
+		if (maxConnections < 1) {
+			throw new IllegalArgumentException("maxConnections must be at least 1");
+		}
+		this.permits = new Semaphore(maxConnections, true);
+		this.borrowTimeoutMillis = borrowTimeout.toMillis();
+		this.idleTimeoutMillis = idleTimeout.toMillis();
+		this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "smtp-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long evictionPeriodMillis = Math.max(idleTimeoutMillis / 2, 1000);
+		evictor.scheduleWithFixedDelay(this::evictIdleTransports, evictionPeriodMillis, evictionPeriodMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	// Same contract as JavaMailSenderImpl.doSend(), but the connection comes from (and goes back to) the pool.
+	@Override
+	protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+		Transport transport;
+		try {
+			transport = borrowTransport();
+		} catch (AuthenticationFailedException ex) {
+			throw new MailAuthenticationException(ex);
+		} catch (InterruptedException ex) {
+			// Interrupted while waiting for a free connection: the flag is restored for the caller.
+			Thread.currentThread().interrupt();
+			throw connectionFailed(mimeMessages, originalMessages, ex);
+		} catch (Exception ex) {
+			throw connectionFailed(mimeMessages, originalMessages, ex);
+		}
+
+		Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+		try {
+			for (int i = 0; i < mimeMessages.length; i++) {
+				MimeMessage mimeMessage = mimeMessages[i];
+				try {
+					if (mimeMessage.getSentDate() == null) {
+						mimeMessage.setSentDate(new Date());
+					}
+					// saveChanges() generates a new Message-ID: keep the one that was set explicitly, if any.
+					String messageId = mimeMessage.getMessageID();
+					mimeMessage.saveChanges();
+					if (messageId != null) {
+						mimeMessage.setHeader("Message-ID", messageId);
+					}
+					Address[] addresses = mimeMessage.getAllRecipients();
+					transport.sendMessage(mimeMessage, (addresses != null ? addresses : new Address[0]));
+				} catch (Exception ex) {
+					failedMessages.put(originalMessage(mimeMessages, originalMessages, i), ex);
+				}
+			}
+		} finally {
+			releaseTransport(transport, !failedMessages.isEmpty());
+		}
+
+		if (!failedMessages.isEmpty()) {
+			throw new MailSendException(failedMessages);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		closed = true;
+		evictor.shutdownNow();
+		List<IdleTransport> transports;
+		synchronized (this) {
+			transports = new ArrayList<>(idleTransports);
+			idleTransports.clear();
+		}
+		transports.forEach(idle -> close(idle.transport()));
+	}
+
+	public synchronized int getIdleConnections() {
+		return idleTransports.size();
+	}
+
+	public int getAvailablePermits() {
+		return permits.availablePermits();
+	}
+
+	private Transport borrowTransport() throws MessagingException, InterruptedException {
+		if (closed) {
+			throw new IllegalStateException("Mail sender has been closed");
+		}
+		if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+			throw new IllegalStateException("No SMTP connection available after " + borrowTimeoutMillis + " ms");
+		}
+		try {
+			IdleTransport idle;
+			while ((idle = pollIdleTransport()) != null) {
+				// isConnected() sends a NOOP: much cheaper than a new handshake, and it catches
+				// connections closed by the server.
+				if (idle.transport().isConnected()) {
+					return idle.transport();
+				}
+				close(idle.transport());
+			}
+			logger.debug("Opening a new SMTP connection to {}:{}", getHost(), getPort());
+			return connectTransport();
+		} catch (MessagingException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	// After a failed send the connection may be in an unknown state: it is only reused if it still responds.
+	private void releaseTransport(Transport transport, boolean afterFailure) {
+		try {
+			boolean reusable = !closed && (!afterFailure || transport.isConnected());
+			if (reusable) {
+				synchronized (this) {
+					idleTransports.addFirst(new IdleTransport(transport, System.currentTimeMillis()));
+				}
+			} else {
+				close(transport);
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	private synchronized IdleTransport pollIdleTransport() {
+		return idleTransports.pollFirst();
+	}
+
+	// Idle connections are ordered by last use, so the expired ones are at the end of the deque.
+	void evictIdleTransports() {
+		long expiredBefore = System.currentTimeMillis() - idleTimeoutMillis;
+		List<Transport> expired = new ArrayList<>();
+		synchronized (this) {
+			Iterator<IdleTransport> iterator = idleTransports.descendingIterator();
+			while (iterator.hasNext()) {
+				IdleTransport idle = iterator.next();
+				if (idle.lastUsed() > expiredBefore) {
+					break;
+				}
+				iterator.remove();
+				expired.add(idle.transport());
+			}
+		}
+		if (!expired.isEmpty()) {
+			logger.debug("Closing {} idle SMTP connections", expired.size());
+			expired.forEach(this::close);
+		}
+	}
+
+	private void close(Transport transport) {
+		try {
+			transport.close();
+		} catch (MessagingException ex) {
+			logger.debug("Failed to close SMTP connection: {}", ex.getMessage());
+		}
+	}
+
+	// No message could be sent.
+	private static MailSendException connectionFailed(MimeMessage[] mimeMessages, Object[] originalMessages, Exception ex) {
+		Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+		for (int i = 0; i < mimeMessages.length; i++) {
+			failedMessages.put(originalMessage(mimeMessages, originalMessages, i), ex);
+		}
+		return new MailSendException("Mail server connection failed", ex, failedMessages);
+	}
+
+	private static Object originalMessage(MimeMessage[] mimeMessages, Object[] originalMessages, int index) {
+		return (originalMessages != null ? originalMessages[index] : mimeMessages[index]);
+	}
+
+	private static class IdleTransport {
+		
+		private final Transport transport;
+		private final long lastUsed;
+		
+		IdleTransport(Transport transport, long lastUsed) {
+			this.transport = transport;
+			this.lastUsed = lastUsed;
+		}
+		
+		Transport transport() {
+			return transport;
+		}
+		
+		long lastUsed() {
+			return lastUsed;
+		}
+	}
+
+}
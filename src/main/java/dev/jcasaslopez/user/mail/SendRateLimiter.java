@@ -0,0 +1,65 @@
+package dev.jcasaslopez.user.mail;
+
+import java.util.function.LongSupplier;
+
+// Token bucket that keeps the emails sent by this instance within the provider's limit: tokens are
+// refilled at 'permitsPerSecond' up to 'burst', and every email sent takes one.
+//
+// Callers can leave a reserve in the bucket (see tryAcquire), so low priority emails never take the
+// last tokens and an urgent email finds one even while a broadcast is using up the rest.
+// The limit applies per instance: with several instances, each one gets its share of the provider's limit.
+public class SendRateLimiter {
+
+	private final double permitsPerSecond;
+	private final double burst;
+	private final LongSupplier nanoClock;
+
+	private double tokens;
+	private long lastRefillNanos;
+
+	public SendRateLimiter(double permitsPerSecond, int burst) {
+		this(permitsPerSecond, burst, System::nanoTime);
+	}
+
+	SendRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+		if (permitsPerSecond <= 0 || burst <= 0) {
+			throw new IllegalArgumentException("The send rate and burst must be positive");
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+		this.nanoClock = nanoClock;
+		this.tokens = burst;
+		this.lastRefillNanos = nanoClock.getAsLong();
+	}
+
+	// Takes up to 'requested' tokens without waiting, leaving at least 'reserve' in the bucket.
+	// Returns the number of tokens taken, possibly 0.
+	public synchronized int tryAcquire(int requested, int reserve) {
+		refill();
+		int granted = (int) Math.min(requested, Math.floor(tokens - reserve));
+		if (granted <= 0) {
+			return 0;
+		}
+		tokens -= granted;
+		return granted;
+	}
+
+	// Gives back tokens taken but not used (e.g., fewer emails were due than tokens taken).
+	public synchronized void release(int permits) {
+		if (permits > 0) {
+			tokens = Math.min(burst, tokens + permits);
+		}
+	}
+
+	public synchronized double getAvailableTokens() {
+		refill();
+		return tokens;
+	}
+
+	private void refill() {
+		long now = nanoClock.getAsLong();
+		tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / 1_000_000_000d);
+		lastRefillNanos = now;
+	}
+
+}
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Component;
 
 import dev.jcasaslopez.user.dto.UserDto;
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.model.UserCredentials;
+import dev.jcasaslopez.user.security.CredentialsUserDetails;
 import dev.jcasaslopez.user.security.CustomUserDetails;
 
 @Component
@@ -42,6 +44,10 @@ public class UserMapper {
 		return new CustomUserDetails(user);
 	}
 	
+	public CredentialsUserDetails credentialsToUserDetailsMapper(UserCredentials credentials) {
+		return new CredentialsUserDetails(credentials);
+	}
+	
 	public CustomUserDetails userDtoToCustomUserDetailsMapper(UserDto userDto) {
 		User user = userDtoToUserMapper(userDto);
 		return userToCustomUserDetailsMapper(user);
@@ -0,0 +1,106 @@
+package dev.jcasaslopez.user.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Timers for each stage of the authentication pipeline (auth.stage, tagged with 'stage' and 'outcome') 
+// and a counter of login attempts by result (auth.login.attempts, tagged with 'outcome').
+//
+// Every timer and counter is registered up front, so recording one is a couple of EnumMap lookups and 
+// every series is exported (at zero) from startup. Percentile histograms for auth.stage are enabled in 
+// application.properties.
+//
+// The token, hashing and signing stages are also added to the request's Server-Timing header, when it is
+// enabled. Database and Redis stages are not: all statements and commands are already timed there.
+//
+// Usage:
+// long start = System.nanoTime();
+// (run the stage)
+// authMetrics.record(AuthStage.TOKEN_SIGN, AuthOutcome.SUCCESS, start);
+@Component
+public class AuthMetrics {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuthMetrics.class);
+
+	private final Map<AuthStage, Map<AuthOutcome, Timer>> stageTimers = new EnumMap<>(AuthStage.class);
+	private final Map<AuthStage, String> serverTimingMetrics = new EnumMap<>(AuthStage.class);
+	private final Map<LoginFailureReason, Counter> failedLoginCounters = new EnumMap<>(LoginFailureReason.class);
+	private final Counter successfulLoginCounter;
+	// Stage and outcome pairs already reported as unexpected, so each one is only logged once.
+	private final Set<String> unexpectedOutcomes = ConcurrentHashMap.newKeySet();
+
+	public AuthMetrics(MeterRegistry meterRegistry) {
+		for (AuthStage stage : AuthStage.values()) {
+			Map<AuthOutcome, Timer> timers = new EnumMap<>(AuthOutcome.class);
+			for (AuthOutcome outcome : stage.outcomes()) {
+				timers.put(outcome, Timer.builder("auth.stage")
+					.description("Time spent in each stage of the authentication pipeline")
+					.tag("stage", stage.tagValue()).tag("outcome", outcome.tagValue()).register(meterRegistry));
+			}
+			stageTimers.put(stage, timers);
+			String serverTimingMetric = serverTimingMetric(stage);
+			if (serverTimingMetric != null) {
+				serverTimingMetrics.put(stage, serverTimingMetric);
+			}
+		}
+		for (LoginFailureReason reason : LoginFailureReason.values()) {
+			failedLoginCounters.put(reason, Counter.builder("auth.login.attempts")
+				.description("Login attempts by result").tag("outcome", reason.name().toLowerCase())
+				.register(meterRegistry));
+		}
+		this.successfulLoginCounter = Counter.builder("auth.login.attempts")
+			.description("Login attempts by result").tag("outcome", AuthOutcome.SUCCESS.tagValue())
+			.register(meterRegistry);
+	}
+
+	// 'startNanos' is the System.nanoTime() taken when the stage started.
+	//
+	// Called from finally blocks on the request path, so it never throws: an outcome the stage does not 
+	// declare is a bug in the instrumentation, which is logged (once per pair) instead of failing the request.
+	public void record(AuthStage stage, AuthOutcome outcome, long startNanos) {
+		Timer timer = stage == null ? null : stageTimers.get(stage).get(outcome);
+		if (timer == null) {
+			if (unexpectedOutcomes.add(stage + "/" + outcome)) {
+				logger.warn("Authentication stage {} does not report the outcome {}: not recorded", stage, outcome);
+			}
+			return;
+		}
+		long nanos = System.nanoTime() - startNanos;
+		timer.record(nanos, TimeUnit.NANOSECONDS);
+		
+		String serverTimingMetric = serverTimingMetrics.get(stage);
+		ServerTiming serverTiming = serverTimingMetric == null ? null : ServerTiming.current();
+		if (serverTiming != null) {
+			serverTiming.add(serverTimingMetric, null, nanos);
+		}
+	}
+
+	// 'reason' is null for successful logins.
+	public void countLoginAttempt(LoginFailureReason reason) {
+		(reason == null ? successfulLoginCounter : failedLoginCounters.get(reason)).increment();
+	}
+	
+	private static String serverTimingMetric(AuthStage stage) {
+		return switch (stage) {
+			case HEADER_CHECK, TOKEN_PARSE -> "token";
+			case PASSWORD_MATCH -> "hash";
+			case TOKEN_SIGN -> "sign";
+			default -> null;
+		};
+	}
+
+}
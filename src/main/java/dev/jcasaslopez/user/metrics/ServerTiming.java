@@ -0,0 +1,78 @@
+package dev.jcasaslopez.user.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Durations of the stages of one request, sent back in its Server-Timing header (see ServerTimingFilter).
+// Only exists while 'http.server-timing.enabled' is true: otherwise current() is always null and 
+// recording a stage costs a ThreadLocal lookup.
+//
+// Stages are added from the request thread, except Redis commands, which are completed on a Lettuce 
+// thread, so adding is synchronized. Durations of the same metric are added up.
+public class ServerTiming {
+
+	private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+	private final long startNanos = System.nanoTime();
+	private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+	// Timings of the request being handled on this thread, or null if there are none.
+	public static ServerTiming current() {
+		return CURRENT.get();
+	}
+
+	// Adds the time since 'startNanos' (a System.nanoTime()) to 'metric' for the current request, if any.
+	public static void record(String metric, long startNanos) {
+		ServerTiming serverTiming = CURRENT.get();
+		if (serverTiming != null) {
+			serverTiming.add(metric, null, System.nanoTime() - startNanos);
+		}
+	}
+
+	static ServerTiming start() {
+		ServerTiming serverTiming = new ServerTiming();
+		CURRENT.set(serverTiming);
+		return serverTiming;
+	}
+
+	static void clear() {
+		CURRENT.remove();
+	}
+
+	// 'unit' names what is counted (e.g., "queries") in the description; null for no count.
+	public synchronized void add(String metric, String unit, long nanos) {
+		Stage stage = stages.computeIfAbsent(metric, key -> new Stage(unit));
+		stage.nanos += nanos;
+		stage.count++;
+	}
+
+	// E.g.: token;dur=0.21, db;desc="2 queries";dur=1.87, hash;dur=71.40, total;dur=76.02
+	public synchronized String toHeaderValue() {
+		StringBuilder header = new StringBuilder();
+		for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+			Stage stage = entry.getValue();
+			header.append(entry.getKey());
+			if (stage.unit != null) {
+				header.append(";desc=\"").append(stage.count).append(' ').append(stage.unit).append('"');
+			}
+			appendDuration(header, stage.nanos).append(", ");
+		}
+		return appendDuration(header.append("total"), System.nanoTime() - startNanos).toString();
+	}
+
+	private static StringBuilder appendDuration(StringBuilder header, long nanos) {
+		return header.append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+	}
+
+	private static class Stage {
+		private final String unit;
+		private long nanos;
+		private int count;
+
+		Stage(String unit) {
+			this.unit = unit;
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+package dev.jcasaslopez.user.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Opt-in ('http.server-timing.enabled'): adds a Server-Timing header to every response, so that clients
+// (e.g., the browser's developer tools) can see where the time of a request went. Runs before Spring
+// Security, so the header also covers the login and token filters.
+//
+// Headers cannot be added once the body is being written, so the header is set when the body is first 
+// requested: it covers everything done before, including the serialization done by StandardResponseHandler, 
+// but not the serialization of the controllers' responses, which is streamed.
+@Component
+@ConditionalOnProperty(name = "http.server-timing.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+	public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ServerTimingResponse timedResponse = new ServerTimingResponse(response, ServerTiming.start());
+		try {
+			filterChain.doFilter(request, timedResponse);
+		} finally {
+			// Responses without a body.
+			timedResponse.setServerTimingHeader();
+			ServerTiming.clear();
+		}
+	}
+
+	private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+		private final ServerTiming serverTiming;
+		private boolean headerSet;
+
+		ServerTimingResponse(HttpServletResponse response, ServerTiming serverTiming) {
+			super(response);
+			this.serverTiming = serverTiming;
+		}
+
+		void setServerTimingHeader() {
+			if (!headerSet && !isCommitted()) {
+				setHeader(SERVER_TIMING_HEADER, serverTiming.toHeaderValue());
+			}
+			headerSet = true;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			setServerTimingHeader();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			setServerTimingHeader();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			setServerTimingHeader();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			setServerTimingHeader();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			setServerTimingHeader();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			setServerTimingHeader();
+			super.sendRedirect(location);
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package dev.jcasaslopez.user.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import dev.jcasaslopez.user.datasource.StatementInterceptingDataSource;
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+
+// Opt-in, together with ServerTimingFilter: adds the time spent in the database ('db') and in Redis 
+// ('redis') to the Server-Timing of the request that ran the statements and commands.
+// - The 'dataSource' bean is wrapped in a StatementInterceptingDataSource, which times the execute 
+//   methods of its statements. Reading the rows of a result set is not included.
+// - A CommandListener is added to the Lettuce client. Commands start on the request thread but complete
+//   on a Lettuce thread, so the request's ServerTiming travels in the command's context.
+@Component
+@ConditionalOnProperty(name = "http.server-timing.enabled", havingValue = "true")
+public class ServerTimingInstrumentation implements BeanPostProcessor {
+
+	private static final String SERVER_TIMING_CONTEXT_KEY = ServerTiming.class.getName();
+	private static final String STARTED_CONTEXT_KEY = ServerTiming.class.getName() + ".started";
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+			return new StatementInterceptingDataSource(dataSource, (sql, batch, nanos) -> {
+				ServerTiming serverTiming = ServerTiming.current();
+				if (serverTiming != null) {
+					serverTiming.add("db", "queries", nanos);
+				}
+			});
+		}
+		if (bean instanceof LettuceConnectionFactory connectionFactory) {
+			// The client is created on start, before any connection is opened.
+			connectionFactory.start();
+			connectionFactory.getRequiredNativeClient().addListener(new RedisTimingListener());
+		}
+		return bean;
+	}
+
+	private static class RedisTimingListener implements CommandListener {
+
+		@Override
+		public void commandStarted(CommandStartedEvent event) {
+			ServerTiming serverTiming = ServerTiming.current();
+			if (serverTiming != null) {
+				event.getContext().put(SERVER_TIMING_CONTEXT_KEY, serverTiming);
+				event.getContext().put(STARTED_CONTEXT_KEY, System.nanoTime());
+			}
+		}
+
+		@Override
+		public void commandSucceeded(CommandSucceededEvent event) {
+			commandCompleted(event.getContext().get(SERVER_TIMING_CONTEXT_KEY), event.getDuration(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		public void commandFailed(CommandFailedEvent event) {
+			Object started = event.getContext().get(STARTED_CONTEXT_KEY);
+			if (started != null) {
+				commandCompleted(event.getContext().get(SERVER_TIMING_CONTEXT_KEY), System.nanoTime() - (Long) started);
+			}
+		}
+
+		private void commandCompleted(Object serverTiming, long nanos) {
+			if (serverTiming != null) {
+				((ServerTiming) serverTiming).add("redis", "commands", nanos);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,58 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.BroadcastStatus;
+
+// Progress of a broadcast, as stored in Redis. 'queued' counts the emails already in the outbox, 
+// out of 'total' recipients (counted when the broadcast was accepted).
+public class BroadcastJob {
+	
+	private final String jobId;
+	private final BroadcastStatus status;
+	private final long total;
+	private final long queued;
+	private final LocalDateTime createdAt;
+	private final LocalDateTime finishedAt;
+	private final String error;
+
+	public BroadcastJob(String jobId, BroadcastStatus status, long total, long queued, LocalDateTime createdAt,
+			LocalDateTime finishedAt, String error) {
+		this.jobId = jobId;
+		this.status = status;
+		this.total = total;
+		this.queued = queued;
+		this.createdAt = createdAt;
+		this.finishedAt = finishedAt;
+		this.error = error;
+	}
+
+	public String getJobId() {
+		return jobId;
+	}
+
+	public BroadcastStatus getStatus() {
+		return status;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public long getQueued() {
+		return queued;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public LocalDateTime getFinishedAt() {
+		return finishedAt;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+}
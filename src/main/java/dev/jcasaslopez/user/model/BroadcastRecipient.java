@@ -0,0 +1,28 @@
+package dev.jcasaslopez.user.model;
+
+// The only user data a broadcast needs. idUser is the keyset pagination key.
+public class BroadcastRecipient {
+	
+	private final int idUser;
+	private final String username;
+	private final String email;
+
+	public BroadcastRecipient(int idUser, String username, String email) {
+		this.idUser = idUser;
+		this.username = username;
+		this.email = email;
+	}
+
+	public int getIdUser() {
+		return idUser;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+}
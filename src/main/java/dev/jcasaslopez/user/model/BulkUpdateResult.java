@@ -0,0 +1,36 @@
+package dev.jcasaslopez.user.model;
+
+// Outcome of a bulk operation. 'skipped' users were selected but left unchanged by the rules of the 
+// operation (e.g., already in the requested status); 'notFound' counts the listed ids and emails 
+// without a user.
+public class BulkUpdateResult {
+	
+	private final int selected;
+	private final int updated;
+	private final int skipped;
+	private final int notFound;
+
+	public BulkUpdateResult(int selected, int updated, int skipped, int notFound) {
+		this.selected = selected;
+		this.updated = updated;
+		this.skipped = skipped;
+		this.notFound = notFound;
+	}
+
+	public int getSelected() {
+		return selected;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public int getSkipped() {
+		return skipped;
+	}
+
+	public int getNotFound() {
+		return notFound;
+	}
+
+}
@@ -0,0 +1,28 @@
+package dev.jcasaslopez.user.model;
+
+// An email ready to be sent by EmailService. The message body is HTML.
+public class EmailMessage {
+	
+	private final String recipient;
+	private final String subject;
+	private final String body;
+
+	public EmailMessage(String recipient, String subject, String body) {
+		this.recipient = recipient;
+		this.subject = subject;
+		this.body = body;
+	}
+
+	public String getRecipient() {
+		return recipient;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public String getBody() {
+		return body;
+	}
+
+}
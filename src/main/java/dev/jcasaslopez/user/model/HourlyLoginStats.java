@@ -0,0 +1,38 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+
+// Login attempts in the hour starting at 'hour'. Failures are counted by reason; ACCOUNT_LOCKED and
+// THROTTLED failures are the attempts rejected because the account was locked or the login was throttled.
+public class HourlyLoginStats {
+	
+	private final LocalDateTime hour;
+	private final long successful;
+	private final Map<LoginFailureReason, Long> failuresByReason;
+
+	public HourlyLoginStats(LocalDateTime hour, long successful, Map<LoginFailureReason, Long> failuresByReason) {
+		this.hour = hour;
+		this.successful = successful;
+		this.failuresByReason = failuresByReason;
+	}
+
+	public LocalDateTime getHour() {
+		return hour;
+	}
+
+	public long getSuccessful() {
+		return successful;
+	}
+
+	public long getFailed() {
+		return failuresByReason.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	public Map<LoginFailureReason, Long> getFailuresByReason() {
+		return failuresByReason;
+	}
+
+}
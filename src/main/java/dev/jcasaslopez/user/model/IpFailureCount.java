@@ -0,0 +1,22 @@
+package dev.jcasaslopez.user.model;
+
+// Failed logins from one IP address over a period. Approximate: see HeavyHitters.
+public class IpFailureCount {
+	
+	private final String ipAddress;
+	private final long failures;
+
+	public IpFailureCount(String ipAddress, long failures) {
+		this.ipAddress = ipAddress;
+		this.failures = failures;
+	}
+
+	public String getIpAddress() {
+		return ipAddress;
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+}
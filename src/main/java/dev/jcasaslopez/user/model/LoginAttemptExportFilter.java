@@ -0,0 +1,45 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+
+// Criteria of a login attempts export. Null criteria are not applied. 'from' is inclusive and 'to' exclusive.
+public class LoginAttemptExportFilter {
+	
+	private final LocalDateTime from;
+	private final LocalDateTime to;
+	private final String username;
+	private final String ipAddress;
+	private final LoginFailureReason loginFailureReason;
+
+	public LoginAttemptExportFilter(LocalDateTime from, LocalDateTime to, String username, String ipAddress,
+			LoginFailureReason loginFailureReason) {
+		this.from = from;
+		this.to = to;
+		this.username = username;
+		this.ipAddress = ipAddress;
+		this.loginFailureReason = loginFailureReason;
+	}
+
+	public LocalDateTime getFrom() {
+		return from;
+	}
+
+	public LocalDateTime getTo() {
+		return to;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getIpAddress() {
+		return ipAddress;
+	}
+
+	public LoginFailureReason getLoginFailureReason() {
+		return loginFailureReason;
+	}
+
+}
@@ -0,0 +1,65 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+
+// One row of the login attempts export. idUser and username are null when the attempt was not
+// linked to a user (unknown username) or the user has been deleted since; attemptedUsername is the
+// username sent with the attempt, and is null only if it was missing or the attempt predates the column.
+public class LoginAttemptRecord {
+	
+	private final long idLoginAttempt;
+	private final LocalDateTime timestamp;
+	private final boolean successful;
+	private final String ipAddress;
+	private final LoginFailureReason loginFailureReason;
+	private final Integer idUser;
+	private final String username;
+	private final String attemptedUsername;
+
+	public LoginAttemptRecord(long idLoginAttempt, LocalDateTime timestamp, boolean successful, String ipAddress,
+			LoginFailureReason loginFailureReason, Integer idUser, String username, String attemptedUsername) {
+		this.idLoginAttempt = idLoginAttempt;
+		this.timestamp = timestamp;
+		this.successful = successful;
+		this.ipAddress = ipAddress;
+		this.loginFailureReason = loginFailureReason;
+		this.idUser = idUser;
+		this.username = username;
+		this.attemptedUsername = attemptedUsername;
+	}
+
+	public long getIdLoginAttempt() {
+		return idLoginAttempt;
+	}
+
+	public LocalDateTime getTimestamp() {
+		return timestamp;
+	}
+
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	public String getIpAddress() {
+		return ipAddress;
+	}
+
+	public LoginFailureReason getLoginFailureReason() {
+		return loginFailureReason;
+	}
+
+	public Integer getIdUser() {
+		return idUser;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getAttemptedUsername() {
+		return attemptedUsername;
+	}
+
+}
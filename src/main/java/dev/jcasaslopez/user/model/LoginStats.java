@@ -0,0 +1,74 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+
+// Login analytics over whole hours, from 'from' (inclusive) to 'to' (exclusive): totals, the hourly
+// breakdown and the IP addresses with the most failed logins. The lock rate is the share of attempts
+// rejected because the account was locked (ACCOUNT_LOCKED) or the login was throttled (THROTTLED).
+public class LoginStats {
+	
+	private final LocalDateTime from;
+	private final LocalDateTime to;
+	private final List<HourlyLoginStats> hourly;
+	private final List<IpFailureCount> topFailingIps;
+
+	public LoginStats(LocalDateTime from, LocalDateTime to, List<HourlyLoginStats> hourly,
+			List<IpFailureCount> topFailingIps) {
+		this.from = from;
+		this.to = to;
+		this.hourly = hourly;
+		this.topFailingIps = topFailingIps;
+	}
+
+	public LocalDateTime getFrom() {
+		return from;
+	}
+
+	public LocalDateTime getTo() {
+		return to;
+	}
+
+	public long getAttempts() {
+		return getSuccessful() + getFailed();
+	}
+
+	public long getSuccessful() {
+		return hourly.stream().mapToLong(HourlyLoginStats::getSuccessful).sum();
+	}
+
+	public long getFailed() {
+		return hourly.stream().mapToLong(HourlyLoginStats::getFailed).sum();
+	}
+
+	public Map<LoginFailureReason, Long> getFailuresByReason() {
+		Map<LoginFailureReason, Long> failuresByReason = new EnumMap<>(LoginFailureReason.class);
+		for (HourlyLoginStats hour : hourly) {
+			hour.getFailuresByReason().forEach((reason, failures) -> failuresByReason.merge(reason, failures, Long::sum));
+		}
+		return failuresByReason;
+	}
+
+	public double getLockRate() {
+		long attempts = getAttempts();
+		if (attempts == 0) {
+			return 0;
+		}
+		Map<LoginFailureReason, Long> failuresByReason = getFailuresByReason();
+		return (double) (failuresByReason.getOrDefault(LoginFailureReason.ACCOUNT_LOCKED, 0L)
+				+ failuresByReason.getOrDefault(LoginFailureReason.THROTTLED, 0L)) / attempts;
+	}
+
+	public List<HourlyLoginStats> getHourly() {
+		return hourly;
+	}
+
+	public List<IpFailureCount> getTopFailingIps() {
+		return topFailingIps;
+	}
+
+}
@@ -0,0 +1,34 @@
+package dev.jcasaslopez.user.model;
+
+// Result of registering a failed login attempt in the sliding-window lockout engine.
+// Failures are counted separately for the username and for the IP address, and each of them
+// may produce its own delay. The caller only needs the longest one to answer the client.
+public class LoginThrottleStatus {
+	
+	private final long userFailures;
+	private final long ipFailures;
+	private final long delayInSeconds;
+
+	public LoginThrottleStatus(long userFailures, long ipFailures, long delayInSeconds) {
+		this.userFailures = userFailures;
+		this.ipFailures = ipFailures;
+		this.delayInSeconds = delayInSeconds;
+	}
+
+	public long getUserFailures() {
+		return userFailures;
+	}
+
+	public long getIpFailures() {
+		return ipFailures;
+	}
+
+	public long getDelayInSeconds() {
+		return delayInSeconds;
+	}
+	
+	public boolean isThrottled() {
+		return delayInSeconds > 0;
+	}
+
+}
@@ -0,0 +1,32 @@
+package dev.jcasaslopez.user.model;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.EmailPriority;
+
+// Pending emails in one lane of the outbox, and when the oldest of them was queued.
+public class OutboxLaneStats {
+	
+	private final EmailPriority priority;
+	private final long pendingEmails;
+	private final LocalDateTime oldestCreatedAt;
+
+	public OutboxLaneStats(EmailPriority priority, long pendingEmails, LocalDateTime oldestCreatedAt) {
+		this.priority = priority;
+		this.pendingEmails = pendingEmails;
+		this.oldestCreatedAt = oldestCreatedAt;
+	}
+
+	public EmailPriority getPriority() {
+		return priority;
+	}
+
+	public long getPendingEmails() {
+		return pendingEmails;
+	}
+
+	public LocalDateTime getOldestCreatedAt() {
+		return oldestCreatedAt;
+	}
+
+}
@@ -0,0 +1,50 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+
+// Read-only view of a user with just what authentication needs. It is copied from the cached User
+// entity (see UserCredentialsRepository), so unlike the entity it carries no persistence context
+// or lazy collections, and can be kept in the security context once the session is closed.
+public class UserCredentials {
+	
+	private final int idUser;
+	private final String username;
+	private final String passwordHash;
+	private final AccountStatus accountStatus;
+	private final Set<RoleName> roles;
+
+	public UserCredentials(int idUser, String username, String passwordHash, AccountStatus accountStatus,
+			Set<RoleName> roles) {
+		this.idUser = idUser;
+		this.username = username;
+		this.passwordHash = passwordHash;
+		this.accountStatus = accountStatus;
+		this.roles = roles.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(roles));
+	}
+
+	public int getIdUser() {
+		return idUser;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getPasswordHash() {
+		return passwordHash;
+	}
+
+	public AccountStatus getAccountStatus() {
+		return accountStatus;
+	}
+
+	public Set<RoleName> getRoles() {
+		return roles;
+	}
+
+}
@@ -0,0 +1,31 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.List;
+
+// A row of a bulk import that was not imported. 'line' is the line of the uploaded file (1-based,
+// the CSV header included), and 'username' is null if the row could not be read.
+public class UserImportError {
+	
+	private final long line;
+	private final String username;
+	private final List<String> errors;
+
+	public UserImportError(long line, String username, List<String> errors) {
+		this.line = line;
+		this.username = username;
+		this.errors = errors;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public List<String> getErrors() {
+		return errors;
+	}
+
+}
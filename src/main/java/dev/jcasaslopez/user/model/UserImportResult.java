@@ -0,0 +1,37 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.List;
+
+// Outcome of a bulk import. 'errors' lists the first rejected rows only (see import.users.max-reported-errors), 
+// while 'failed' counts all of them.
+public class UserImportResult {
+	
+	private final long rows;
+	private final long imported;
+	private final long failed;
+	private final List<UserImportError> errors;
+
+	public UserImportResult(long rows, long imported, long failed, List<UserImportError> errors) {
+		this.rows = rows;
+		this.imported = imported;
+		this.failed = failed;
+		this.errors = errors;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public List<UserImportError> getErrors() {
+		return errors;
+	}
+
+}
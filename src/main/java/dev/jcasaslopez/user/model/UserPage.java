@@ -0,0 +1,25 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.List;
+
+// A page of the admin user listing. 'nextAfter' is the 'after' value that returns the next page, or
+// null on the last page.
+public class UserPage {
+	
+	private final List<UserSummary> users;
+	private final String nextAfter;
+
+	public UserPage(List<UserSummary> users, String nextAfter) {
+		this.users = users;
+		this.nextAfter = nextAfter;
+	}
+
+	public List<UserSummary> getUsers() {
+		return users;
+	}
+
+	public String getNextAfter() {
+		return nextAfter;
+	}
+
+}
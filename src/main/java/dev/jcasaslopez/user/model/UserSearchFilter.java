@@ -0,0 +1,42 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.Set;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+
+// Criteria of the admin user listing. Null or empty criteria are not applied. At most one of the prefixes
+// can be set: the listing is then sorted by that column, so that its unique index serves both the search
+// and the pagination.
+public class UserSearchFilter {
+	
+	private final Set<AccountStatus> accountStatuses;
+	private final Set<RoleName> roles;
+	private final String usernamePrefix;
+	private final String emailPrefix;
+
+	public UserSearchFilter(Set<AccountStatus> accountStatuses, Set<RoleName> roles, String usernamePrefix,
+			String emailPrefix) {
+		this.accountStatuses = accountStatuses;
+		this.roles = roles;
+		this.usernamePrefix = usernamePrefix;
+		this.emailPrefix = emailPrefix;
+	}
+
+	public Set<AccountStatus> getAccountStatuses() {
+		return accountStatuses;
+	}
+
+	public Set<RoleName> getRoles() {
+		return roles;
+	}
+
+	public String getUsernamePrefix() {
+		return usernamePrefix;
+	}
+
+	public String getEmailPrefix() {
+		return emailPrefix;
+	}
+
+}
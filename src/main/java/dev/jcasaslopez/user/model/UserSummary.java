@@ -0,0 +1,65 @@
+package dev.jcasaslopez.user.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+
+// The user data shown by the admin user listing, returned by the batch user lookup and selected by the
+// bulk operations. Unlike User, it has no password, date of birth or login history.
+public class UserSummary {
+	
+	private final int idUser;
+	private final String username;
+	private final String email;
+	private final String fullName;
+	private final AccountStatus accountStatus;
+	private final Set<RoleName> roles;
+
+	public UserSummary(int idUser, String username, String email, String fullName, AccountStatus accountStatus,
+			Set<RoleName> roles) {
+		this.idUser = idUser;
+		this.username = username;
+		this.email = email;
+		this.fullName = fullName;
+		this.accountStatus = accountStatus;
+		this.roles = roles;
+	}
+
+	public static UserSummary of(User user) {
+		Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+		for (Role role : user.getRoles()) {
+			roles.add(role.getRoleName());
+		}
+		return new UserSummary(user.getIdUser(), user.getUsername(), user.getEmail(), user.getFullName(),
+				user.getAccountStatus(), roles);
+	}
+
+	public int getIdUser() {
+		return idUser;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public String getFullName() {
+		return fullName;
+	}
+
+	public AccountStatus getAccountStatus() {
+		return accountStatus;
+	}
+
+	public Set<RoleName> getRoles() {
+		return roles;
+	}
+
+}
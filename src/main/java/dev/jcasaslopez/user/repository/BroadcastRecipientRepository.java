@@ -0,0 +1,79 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.model.BroadcastRecipient;
+
+// Reads the recipients of a broadcast page by page, using keyset pagination on the primary key
+// (WHERE idUser > last id of the previous page) instead of OFFSET. Every page costs the same,
+// however deep into the table it is, and rows inserted or deleted meanwhile do not shift the pages.
+//
+// Only idUser, username and email are read. Queries are read-only, so they go to a replica when
+// replicas are configured.
+@Repository
+public class BroadcastRecipientRepository {
+
+	private static final RowMapper<BroadcastRecipient> RECIPIENT_MAPPER = (rs, rowNum) ->
+		new BroadcastRecipient(rs.getInt("idUser"), rs.getString("username"), rs.getString("email"));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public BroadcastRecipientRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Transactional(readOnly = true)
+	public long countRecipients(Set<RoleName> roles, Set<AccountStatus> accountStatuses, List<Integer> userIds) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		String sql = "SELECT COUNT(*) FROM users u WHERE " + segmentCondition(roles, accountStatuses, userIds, parameters);
+		Long count = jdbcTemplate.queryForObject(sql, parameters, Long.class);
+		return count == null ? 0 : count;
+	}
+
+	@Transactional(readOnly = true)
+	public List<BroadcastRecipient> findRecipientsAfter(Set<RoleName> roles, Set<AccountStatus> accountStatuses,
+			List<Integer> userIds, int afterIdUser, int limit) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource()
+				.addValue("afterIdUser", afterIdUser)
+				.addValue("limit", limit);
+		String sql = "SELECT u.idUser, u.username, u.email FROM users u WHERE u.idUser > :afterIdUser AND "
+				+ segmentCondition(roles, accountStatuses, userIds, parameters)
+				+ " ORDER BY u.idUser LIMIT :limit";
+		return jdbcTemplate.query(sql, parameters, RECIPIENT_MAPPER);
+	}
+
+	// Only the criteria present are added, always as bound parameters.
+	private String segmentCondition(Set<RoleName> roles, Set<AccountStatus> accountStatuses, List<Integer> userIds,
+			MapSqlParameterSource parameters) {
+		StringBuilder condition = new StringBuilder("1 = 1");
+		if (isPresent(roles)) {
+			condition.append(" AND EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.idRole = ur.role_id"
+					+ " WHERE ur.user_id = u.idUser AND r.roleName IN (:roles))");
+			parameters.addValue("roles", roles.stream().map(RoleName::name).toList());
+		}
+		if (isPresent(accountStatuses)) {
+			condition.append(" AND u.accountStatus IN (:accountStatuses)");
+			parameters.addValue("accountStatuses", accountStatuses.stream().map(AccountStatus::name).toList());
+		}
+		if (isPresent(userIds)) {
+			condition.append(" AND u.idUser IN (:userIds)");
+			parameters.addValue("userIds", userIds);
+		}
+		return condition.toString();
+	}
+
+	private static boolean isPresent(Collection<?> criterion) {
+		return criterion != null && !criterion.isEmpty();
+	}
+
+}
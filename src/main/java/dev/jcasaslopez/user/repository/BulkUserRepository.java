@@ -0,0 +1,88 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
+
+// Set-based statements for the bulk operations of BulkUserService: the selected users are locked with
+// one SELECT ... FOR UPDATE, then changed with one UPDATE (or INSERT ... SELECT) per chunk of ids,
+// instead of loading, checking and saving every User entity. Being plain JDBC, they bypass the
+// second-level cache, so the caller evicts the users it changes.
+//
+// Must be called inside a read-write transaction, which keeps the rows locked (and the reads on the primary).
+@Repository
+public class BulkUserRepository {
+
+	// Keeps the IN lists of every statement to a reasonable length.
+	private static final int CHUNK_SIZE = 1000;
+
+	// The status rules of UserAccountServiceImpl.updateAccountStatus(), applied to the whole set.
+	private static final String UPDATE_ACCOUNT_STATUS = """
+			UPDATE users SET accountStatus = :newAccountStatus
+			WHERE idUser IN (:ids) AND accountStatus NOT IN ('PERMANENTLY_SUSPENDED', :newAccountStatus)
+			""";
+
+	// Users are filtered by role before the insert. Any of them granted the role by someone else in the
+	// meantime is skipped by IGNORE (on the primary key), rather than failing the whole operation.
+	private static final String INSERT_ROLE = """
+			INSERT IGNORE INTO user_roles (user_id, role_id)
+			SELECT idUser, :idRole FROM users WHERE idUser IN (:ids)
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public BulkUserRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// Users listed by id and/or email. Either collection can be empty, but not both.
+	public List<UserSummary> lockUsers(Collection<Integer> ids, Collection<String> emails) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource();
+		StringBuilder sql = new StringBuilder(UserSummaryRepository.SELECT_SUMMARIES).append(" AND (");
+		if (!ids.isEmpty()) {
+			sql.append("u.idUser IN (:ids)");
+			parameters.addValue("ids", ids);
+		}
+		if (!emails.isEmpty()) {
+			sql.append(ids.isEmpty() ? "" : " OR ").append("u.email IN (:emails)");
+			parameters.addValue("emails", emails);
+		}
+		sql.append(") ORDER BY u.idUser FOR UPDATE");
+		return jdbcTemplate.query(sql.toString(), parameters, UserSummaryRepository.SUMMARY_MAPPER);
+	}
+
+	// Users matching the criteria of the admin listing, at most 'limit' of them.
+	public List<UserSummary> lockUsers(UserSearchFilter filter, int limit) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource().addValue("limit", limit);
+		String sql = UserSummaryRepository.SELECT_SUMMARIES + UserSummaryRepository.filterCondition(filter, parameters)
+				+ " ORDER BY u.idUser LIMIT :limit FOR UPDATE";
+		return jdbcTemplate.query(sql, parameters, UserSummaryRepository.SUMMARY_MAPPER);
+	}
+
+	public int updateAccountStatus(List<Integer> ids, AccountStatus newAccountStatus) {
+		int updated = 0;
+		for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+			updated += jdbcTemplate.update(UPDATE_ACCOUNT_STATUS, Map.of("newAccountStatus", newAccountStatus.name(),
+					"ids", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+		}
+		return updated;
+	}
+
+	public int addRole(List<Integer> ids, int idRole) {
+		int inserted = 0;
+		for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+			inserted += jdbcTemplate.update(INSERT_ROLE, Map.of("idRole", idRole,
+					"ids", ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+		}
+		return inserted;
+	}
+
+}
@@ -0,0 +1,102 @@
+package dev.jcasaslopez.user.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginAttemptRecord;
+
+// Reads the login attempts of an export through a forward-only, read-only result set, handing each row to
+// the caller as soon as it arrives, so memory use does not depend on how many rows match. A fetch size of
+// Integer.MIN_VALUE is how MySQL Connector/J is told to stream the rows one by one instead of reading the
+// whole result at once. Only this statement streams: the rest of the pool keeps the driver defaults.
+//
+// While the rows are streamed, the connection cannot run any other statement, and it is held until the
+// last row is handed over, so a slow consumer keeps it busy. Queries are read-only, so they go to a
+// replica when replicas are configured.
+@Repository
+public class LoginAttemptExportRepository {
+
+	private static final String SELECT = """
+			SELECT la.idLoginAttempt, la.timestamp, la.successful, la.ipAddress, la.loginFailureReason,
+			la.idUser, u.username, la.attemptedUsername
+			FROM login_attempts la
+			LEFT JOIN users u ON u.idUser = la.idUser
+			WHERE 1 = 1""";
+
+	private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public LoginAttemptExportRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// Returns the number of rows handed to 'action'.
+	@Transactional(readOnly = true)
+	public long forEachLoginAttempt(LoginAttemptExportFilter filter, Consumer<LoginAttemptRecord> action) {
+		List<Object> parameters = new ArrayList<>();
+		String sql = SELECT + filterCondition(filter, parameters) + " ORDER BY la.idLoginAttempt";
+		long[] rows = {0};
+
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(STREAMING_FETCH_SIZE);
+			for (int i = 0; i < parameters.size(); i++) {
+				statement.setObject(i + 1, parameters.get(i));
+			}
+			return statement;
+		}, rs -> {
+			String loginFailureReason = rs.getString("loginFailureReason");
+			int idUser = rs.getInt("idUser");
+			Integer idUserOrNull = rs.wasNull() ? null : idUser;
+			action.accept(new LoginAttemptRecord(rs.getLong("idLoginAttempt"),
+					rs.getTimestamp("timestamp").toLocalDateTime(), rs.getBoolean("successful"),
+					rs.getString("ipAddress"),
+					loginFailureReason == null ? null : LoginFailureReason.valueOf(loginFailureReason),
+					idUserOrNull, rs.getString("username"), rs.getString("attemptedUsername")));
+			rows[0]++;
+		});
+		return rows[0];
+	}
+
+	// Only the criteria present are added, always as bound parameters.
+	private String filterCondition(LoginAttemptExportFilter filter, List<Object> parameters) {
+		StringBuilder condition = new StringBuilder();
+		if (filter.getFrom() != null) {
+			condition.append(" AND la.timestamp >= ?");
+			parameters.add(Timestamp.valueOf(filter.getFrom()));
+		}
+		if (filter.getTo() != null) {
+			condition.append(" AND la.timestamp < ?");
+			parameters.add(Timestamp.valueOf(filter.getTo()));
+		}
+		// The username tried matches attempts against unknown usernames too; the user's current username
+		// covers the attempts recorded before attemptedUsername existed.
+		if (filter.getUsername() != null) {
+			condition.append(" AND (la.attemptedUsername = ? OR u.username = ?)");
+			parameters.add(filter.getUsername());
+			parameters.add(filter.getUsername());
+		}
+		if (filter.getIpAddress() != null) {
+			condition.append(" AND la.ipAddress = ?");
+			parameters.add(filter.getIpAddress());
+		}
+		if (filter.getLoginFailureReason() != null) {
+			condition.append(" AND la.loginFailureReason = ?");
+			parameters.add(filter.getLoginFailureReason().name());
+		}
+		return condition.toString();
+	}
+
+}
@@ -0,0 +1,60 @@
+package dev.jcasaslopez.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.entity.OutboxEmail;
+import dev.jcasaslopez.user.enums.OutboxStatus;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long>, OutboxEmailRepositoryCustom {
+	
+	// Locks the due rows until the calling transaction ends. Rows already locked by another worker 
+	// (on this or another instance) are skipped instead of waited for, so workers never block each other.
+	// Each lane (priority, see EmailPriority) is claimed on its own, so the index on (status, priority, 
+	// nextAttemptAt) returns the due rows of the lane in order.
+	@Query(value = """
+			SELECT * FROM email_outbox 
+			WHERE status = 'PENDING' AND priority = ?1 AND nextAttemptAt <= ?2 
+			ORDER BY nextAttemptAt 
+			LIMIT ?3 
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<OutboxEmail> findDueForUpdate(int priority, LocalDateTime now, int limit);
+	
+	// Replaces the content of the latest email of the same type to the same recipient queued since 
+	// 'queuedSince', as long as no worker has claimed it yet (attempts = 0). A row being claimed is 
+	// locked, so the update waits for the claim to commit and then no longer matches.
+	// Returns 1 if an email was replaced, 0 if the new one must be queued.
+	@Transactional
+	@Modifying
+	@Query(value = """
+			UPDATE email_outbox SET subject = ?4, body = ?5 
+			WHERE recipient = ?1 AND notificationType = ?2 AND status = 'PENDING' AND attempts = 0 AND createdAt >= ?3 
+			ORDER BY idEmail DESC 
+			LIMIT 1
+			""", nativeQuery = true)
+	int replacePending(String recipient, String notificationType, LocalDateTime queuedSince, String subject, String body);
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEmail e SET e.status = dev.jcasaslopez.user.enums.OutboxStatus.SENT, e.sentAt = ?2, "
+			+ "e.lastError = NULL WHERE e.idEmail IN ?1")
+	void markSent(List<Long> idEmails, LocalDateTime sentAt);
+	
+	// PENDING with a later nextAttemptAt to retry, FAILED to give up.
+	@Transactional
+	@Modifying
+	@Query("UPDATE OutboxEmail e SET e.status = ?2, e.nextAttemptAt = ?3, e.lastError = ?4 WHERE e.idEmail = ?1")
+	void markFailedAttempt(long idEmail, OutboxStatus status, LocalDateTime nextAttemptAt, String lastError);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM OutboxEmail e WHERE e.status = dev.jcasaslopez.user.enums.OutboxStatus.SENT AND e.sentAt < ?1")
+	int deleteSentBefore(LocalDateTime sentBefore);
+
+}
@@ -0,0 +1,18 @@
+package dev.jcasaslopez.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.model.OutboxLaneStats;
+
+// Bulk insertion into the outbox and per-lane statistics, implemented with JDBC (see OutboxEmailRepositoryCustomImpl).
+public interface OutboxEmailRepositoryCustom {
+	
+	void insertAll(List<EmailMessage> emails, NotificationType notificationType, LocalDateTime createdAt);
+	
+	// Lanes without pending emails are not returned.
+	List<OutboxLaneStats> findPendingStatsByPriority();
+
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package dev.jcasaslopez.user.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.enums.EmailPriority;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.OutboxStatus;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.model.OutboxLaneStats;
+
+// OutboxEmail ids are generated by MySQL (IDENTITY), which stops Hibernate from batching inserts: 
+// saveAll() would send one INSERT per email. A JDBC batch sends them all at once.
+public class OutboxEmailRepositoryCustomImpl implements OutboxEmailRepositoryCustom {
+	
+	private static final String INSERT = """
+			INSERT INTO email_outbox (recipient, subject, body, notificationType, priority, status, attempts, nextAttemptAt, createdAt)
+			VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)
+			""";
+	
+	private static final String PENDING_STATS = """
+			SELECT priority, COUNT(*) AS pendingEmails, MIN(createdAt) AS oldestCreatedAt
+			FROM email_outbox
+			WHERE status = 'PENDING'
+			GROUP BY priority
+			""";
+	
+	private final JdbcTemplate jdbcTemplate;
+
+	public OutboxEmailRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	@Transactional
+	public void insertAll(List<EmailMessage> emails, NotificationType notificationType, LocalDateTime createdAt) {
+		Timestamp now = Timestamp.valueOf(createdAt);
+		jdbcTemplate.batchUpdate(INSERT, emails, emails.size(), (statement, email) -> {
+			statement.setString(1, email.getRecipient());
+			statement.setString(2, email.getSubject());
+			statement.setString(3, email.getBody());
+			statement.setString(4, notificationType.name());
+			statement.setInt(5, notificationType.getPriority().ordinal());
+			statement.setString(6, OutboxStatus.PENDING.name());
+			statement.setTimestamp(7, now);
+			statement.setTimestamp(8, now);
+		});
+	}
+	
+	@Override
+	public List<OutboxLaneStats> findPendingStatsByPriority() {
+		return jdbcTemplate.query(PENDING_STATS, (rs, rowNum) -> new OutboxLaneStats(
+				EmailPriority.values()[rs.getInt("priority")], rs.getLong("pendingEmails"),
+				rs.getTimestamp("oldestCreatedAt").toLocalDateTime()));
+	}
+
+}
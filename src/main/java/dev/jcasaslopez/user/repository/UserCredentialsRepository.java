@@ -0,0 +1,47 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.model.UserCredentials;
+
+// Narrow read repository for the authentication hot path (login and every request carrying an
+// access token). The credentials are copied from the User entity loaded by its natural id, so they
+// are served from the 'users-by-username', 'users' and 'users-roles' cache regions and evicted with
+// the entity (see UserRepositoryCustomImpl.registerChange()); only a cache miss reaches MySQL.
+//
+// Being read-only, it follows the same routing rules as UserRepository: a replica, unless the
+// user has just been changed (see ReplicaLagGuard).
+@Repository
+public class UserCredentialsRepository {
+
+	private final UserRepository userRepository;
+
+	public UserCredentialsRepository(UserRepository userRepository) {
+		this.userRepository = userRepository;
+	}
+
+	// The read-only transaction keeps the session open while the roles are copied, and spares the
+	// entity its dirty-checking snapshot.
+	@Transactional(readOnly = true)
+	public Optional<UserCredentials> findByUsername(String username) {
+		return userRepository.findByNaturalUsername(username).map(UserCredentialsRepository::toCredentials);
+	}
+
+	private static UserCredentials toCredentials(User user) {
+		Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+		for (Role role : user.getRoles()) {
+			roles.add(role.getRoleName());
+		}
+		return new UserCredentials(user.getIdUser(), user.getUsername(), user.getPassword(),
+				user.getAccountStatus(), roles);
+	}
+
+}
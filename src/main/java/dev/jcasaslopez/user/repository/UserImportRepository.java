@@ -0,0 +1,73 @@
+package dev.jcasaslopez.user.repository;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.entity.User;
+
+// Writes bulk imports with JDBC batches. User ids are generated by MySQL (IDENTITY), which stops Hibernate
+// from batching inserts, and every saved entity would also be kept in the persistence context and the
+// second-level cache. With rewriteBatchedStatements, each batch is sent as multi-row INSERT statements.
+@Repository
+public class UserImportRepository {
+	
+	private static final String INSERT_USER = """
+			INSERT INTO users (username, password, fullName, email, dateOfBirth, accountStatus)
+			VALUES (?, ?, ?, ?, ?, ?)
+			""";
+	
+	// The ids of the new users are not returned by the batch, so the roles are linked by username.
+	private static final String INSERT_USER_ROLES = """
+			INSERT INTO user_roles (user_id, role_id)
+			SELECT idUser, :idRole FROM users WHERE username IN (:usernames)
+			""";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	public UserImportRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+	}
+	
+	// Lower-cased, since usernames and emails are unique regardless of case (MySQL's default collation).
+	public Set<String> findExistingUsernames(Collection<String> usernames) {
+		return findExisting("SELECT username FROM users WHERE username IN (:values)", usernames);
+	}
+	
+	public Set<String> findExistingEmails(Collection<String> emails) {
+		return findExisting("SELECT email FROM users WHERE email IN (:values)", emails);
+	}
+
+	// The users and their role are inserted in one transaction per call: a chunk is imported entirely or not at all.
+	@Transactional
+	public void insertAll(List<User> users, int idRole) {
+		jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+			statement.setString(1, user.getUsername());
+			statement.setString(2, user.getPassword());
+			statement.setString(3, user.getFullName());
+			statement.setString(4, user.getEmail());
+			statement.setDate(5, Date.valueOf(user.getDateOfBirth()));
+			statement.setString(6, user.getAccountStatus().name());
+		});
+		namedParameterJdbcTemplate.update(INSERT_USER_ROLES, Map.of("idRole", idRole, 
+				"usernames", users.stream().map(User::getUsername).toList()));
+	}
+	
+	private Set<String> findExisting(String sql, Collection<String> values) {
+		return namedParameterJdbcTemplate.queryForList(sql, Map.of("values", values), String.class).stream()
+				.map(value -> value.toLowerCase(Locale.ROOT))
+				.collect(Collectors.toSet());
+	}
+
+}
@@ -5,24 +5,30 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, UserRepositoryCustom {
 	
 	// These methods are part of our custom UserDetailsManager implementation (Spring Security):
 	//
 	// Repository 		-> 	UserDetailsManager
 	// ---------------------------------------
-	// findByUsername() -> loadUserByUsername() 
 	// save() -> createUser(), updateUser() 
 	// deleteByUsername() -> deleteUser() 
 	// updatePassword() -> changePassword() 
 	// existsByUsername() -> userExists()
+	//
+	// loadUserByUsername() is served by UserCredentialsRepository instead.
 	
+	// Read-only, so they are sent to a replica when called outside a read-write transaction
+	// (see ReadWriteRoutingDataSource). Inside one, they run on the primary like the rest of it.
+	@Transactional(readOnly = true)
 	Optional<User> findByUsername(String username);
 	
+	@Transactional(readOnly = true)
 	Optional<User> findByEmail(String email);
 	
 	void deleteByUsername(String username);
@@ -31,6 +37,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("UPDATE User u SET u.password = ?2 WHERE u.username = ?1")
     void updatePassword(String username, String newPassword);
 	
+	@Transactional(readOnly = true)
 	boolean existsByUsername(String username);
 	
 	@Modifying
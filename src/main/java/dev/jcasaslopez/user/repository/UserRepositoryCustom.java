@@ -0,0 +1,23 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.model.UserSummary;
+
+// Cache-aware lookups for User, implemented on top of the Hibernate session (see UserRepositoryCustomImpl).
+public interface UserRepositoryCustom {
+	
+	Optional<User> findByNaturalUsername(String username);
+	
+	List<User> findAllByIdCached(List<Integer> ids, int batchSize);
+	
+	List<User> findAllByNaturalUsernames(List<String> usernames, int batchSize);
+	
+	void registerChange(User user);
+	
+	void registerChanges(Collection<UserSummary> users);
+
+}
@@ -0,0 +1,188 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.jcasaslopez.user.datasource.ReplicaLagGuard;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.model.UserSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+	
+	private static final String USER_ROLES_COLLECTION = User.class.getName() + ".roles";
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	private final ReplicaLagGuard replicaLagGuard;
+	
+	public UserRepositoryCustomImpl(ReplicaLagGuard replicaLagGuard) {
+		this.replicaLagGuard = replicaLagGuard;
+	}
+
+	// Unlike the derived findByUsername(), which always runs a JPQL query (plus the user_roles join), 
+	// a natural id load is resolved through the 'users-by-username' and 'users' cache regions, 
+	// so hot reads do not reach MySQL.
+	//
+	// The session is only usable inside a transaction (the shared EntityManager closes it right away
+	// otherwise), and some callers, such as the authentication filter, do not open one. Being read-only, 
+	// cache misses are sent to a replica, unless the user has just been changed (see ReplicaLagGuard).
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<User> findByNaturalUsername(String username) {
+		return replicaLagGuard.read(username, () -> entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(User.class)
+				.loadOptional(username));
+	}
+
+	// Batch lookups. Users found in the second-level cache are not queried; the rest are loaded with 
+	// 'WHERE ... IN' queries of up to batchSize keys each, instead of one query per user. Ids or usernames
+	// without a user are left out of the result.
+	//
+	// As with findByNaturalUsername(), misses go to a replica. Only lookups by username can be checked
+	// against ReplicaLagGuard, which is keyed by username.
+	@Override
+	@Transactional(readOnly = true)
+	public List<User> findAllByIdCached(List<Integer> ids, int batchSize) {
+		return entityManager.unwrap(Session.class)
+				.byMultipleIds(User.class)
+				// Without an explicit cache mode, multiLoad() skips the second-level cache.
+				.with(CacheMode.NORMAL)
+				.withBatchSize(batchSize)
+				.multiLoad(ids)
+				.stream()
+				.filter(Objects::nonNull)
+				.toList();
+	}
+	
+	// Hibernate does not look up multiple natural ids in the 'users-by-username' region, so that is done 
+	// here: usernames found there are loaded by id, through the 'users' region, and only the rest are
+	// queried by username.
+	//
+	// Usernames are compared in lower case: the database collation is case-insensitive, so a request for
+	// 'yorch22' finds 'Yorch22', and the result must be matched back to the username as requested.
+	@Override
+	@Transactional(readOnly = true)
+	public List<User> findAllByNaturalUsernames(List<String> usernames, int batchSize) {
+		Session session = entityManager.unwrap(Session.class);
+		Map<String, User> usersByUsername = new HashMap<>();
+		List<Integer> cachedIds = findCachedIds(session, usernames);
+		if (!cachedIds.isEmpty()) {
+			findAllByIdCached(cachedIds, batchSize).forEach(user -> usersByUsername.put(usernameKey(user.getUsername()), user));
+		}
+		
+		List<String> uncachedUsernames = usernames.stream()
+				.filter(username -> !usersByUsername.containsKey(usernameKey(username)))
+				.toList();
+		if (!uncachedUsernames.isEmpty()) {
+			replicaLagGuard.readAll(uncachedUsernames, () -> session
+					.byMultipleNaturalId(User.class)
+					.withBatchSize(batchSize)
+					.enableOrderedReturn(false)
+					.multiLoad(uncachedUsernames))
+					.stream()
+					.filter(Objects::nonNull)
+					.forEach(user -> usersByUsername.put(usernameKey(user.getUsername()), user));
+		}
+		// Natural id loads are not returned in the order requested.
+		return usernames.stream()
+				.map(username -> usersByUsername.get(usernameKey(username)))
+				.filter(Objects::nonNull)
+				.toList();
+	}
+	
+	private static String usernameKey(String username) {
+		return username.toLowerCase(Locale.ROOT);
+	}
+	
+	private List<Integer> findCachedIds(Session session, List<String> usernames) {
+		SharedSessionContractImplementor sessionImplementor = session.unwrap(SharedSessionContractImplementor.class);
+		EntityPersister persister = sessionImplementor.getFactory().getMappingMetamodel().getEntityDescriptor(User.class);
+		NaturalIdDataAccess naturalIdCache = persister.getNaturalIdCacheAccessStrategy();
+		List<Integer> ids = new ArrayList<>();
+		for (String username : usernames) {
+			Object cacheKey = naturalIdCache.generateCacheKey(username, persister, sessionImplementor);
+			Object idUser = naturalIdCache.get(sessionImplementor, cacheKey);
+			if (idUser != null) {
+				ids.add((Integer) idUser);
+			}
+		}
+		return ids;
+	}
+
+	// Must be called after every change to a user.
+	//
+	// Hibernate keeps the cache in sync for changes made through the entity, but not for rows updated
+	// by other means, so callers that mutate a user evict it explicitly. If a transaction is active, 
+	// the entry is evicted again after commit: a concurrent read between both evictions could 
+	// otherwise put the old row back in the cache.
+	//
+	// The 'users-by-username' entry is kept, since the username never changes.
+	//
+	// The write is also recorded in ReplicaLagGuard, so the user is read from the primary until
+	// the replicas have caught up. It is recorded after commit, when the replicas start applying it:
+	// the lag window then starts at the right time, and a rolled-back change pins nothing.
+	@Override
+	public void registerChange(User user) {
+		int idUser = user.getIdUser();
+		String username = user.getUsername();
+		evict(idUser);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					replicaLagGuard.recordWrite(username);
+					evict(idUser);
+				}
+			});
+		} else {
+			replicaLagGuard.recordWrite(username);
+		}
+	}
+	
+	// Batch version of registerChange(), for users changed with JDBC statements (see BulkUserRepository).
+	// A single synchronization records the writes and evicts all of them again after commit.
+	@Override
+	public void registerChanges(Collection<UserSummary> users) {
+		List<Integer> ids = users.stream().map(UserSummary::getIdUser).toList();
+		List<String> usernames = users.stream().map(UserSummary::getUsername).toList();
+		ids.forEach(this::evict);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					replicaLagGuard.recordWrites(usernames);
+					ids.forEach(UserRepositoryCustomImpl.this::evict);
+				}
+			});
+		} else {
+			replicaLagGuard.recordWrites(usernames);
+		}
+	}
+	
+	private void evict(int idUser) {
+		Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+		cache.evictEntityData(User.class, idUser);
+		cache.evictCollectionData(USER_ROLES_COLLECTION, idUser);
+	}
+
+}
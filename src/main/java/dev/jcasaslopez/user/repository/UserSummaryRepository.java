@@ -0,0 +1,110 @@
+package dev.jcasaslopez.user.repository;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
+
+// Reads the admin user listing page by page with keyset pagination (WHERE key > last key of the previous
+// page) instead of OFFSET, so every page costs the same however deep into the table it is. The key is
+// idUser, or the searched column for prefix searches: username and email have unique indexes, which then
+// serve the LIKE 'prefix%' range, the order and the pagination at once. Listings by account status
+// use accountStatus_idx, whose entries are sorted by idUser within each status.
+//
+// Rows are read as UserSummary projections, roles included, in a single query. Queries are read-only,
+// so they go to a replica when replicas are configured.
+@Repository
+public class UserSummaryRepository {
+
+	// Also used by BulkUserRepository, which selects the users of bulk operations with the same criteria.
+	static final String SELECT_SUMMARIES = """
+			SELECT u.idUser, u.username, u.email, u.fullName, u.accountStatus,
+			(SELECT GROUP_CONCAT(r.roleName) FROM user_roles ur JOIN roles r ON r.idRole = ur.role_id
+			WHERE ur.user_id = u.idUser) AS roleNames
+			FROM users u WHERE 1 = 1""";
+
+	static final RowMapper<UserSummary> SUMMARY_MAPPER = (rs, rowNum) -> {
+		Set<RoleName> roles = EnumSet.noneOf(RoleName.class);
+		String roleNames = rs.getString("roleNames");
+		if (roleNames != null) {
+			for (String roleName : roleNames.split(",")) {
+				roles.add(RoleName.valueOf(roleName));
+			}
+		}
+		return new UserSummary(rs.getInt("idUser"), rs.getString("username"), rs.getString("email"),
+				rs.getString("fullName"), AccountStatus.valueOf(rs.getString("accountStatus")), roles);
+	};
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public UserSummaryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// 'after' is the key of the last user of the previous page (null for the first page): an idUser,
+	// or a username or email for prefix searches.
+	@Transactional(readOnly = true)
+	public List<UserSummary> findUsersAfter(UserSearchFilter filter, String after, int limit) {
+		String sortColumn = sortColumn(filter);
+		MapSqlParameterSource parameters = new MapSqlParameterSource().addValue("limit", limit);
+		StringBuilder sql = new StringBuilder(SELECT_SUMMARIES);
+		if (after != null) {
+			sql.append(" AND u.").append(sortColumn).append(" > :after");
+			parameters.addValue("after", sortColumn.equals("idUser") ? (Object) Integer.valueOf(after) : after);
+		}
+		sql.append(filterCondition(filter, parameters));
+		sql.append(" ORDER BY u.").append(sortColumn).append(" LIMIT :limit");
+		return jdbcTemplate.query(sql.toString(), parameters, SUMMARY_MAPPER);
+	}
+
+	private static String sortColumn(UserSearchFilter filter) {
+		if (filter.getUsernamePrefix() != null) {
+			return "username";
+		}
+		return filter.getEmailPrefix() != null ? "email" : "idUser";
+	}
+
+	// Only the criteria present are added, always as bound parameters.
+	static String filterCondition(UserSearchFilter filter, MapSqlParameterSource parameters) {
+		StringBuilder condition = new StringBuilder();
+		if (filter.getUsernamePrefix() != null) {
+			condition.append(" AND u.username LIKE :usernamePrefix");
+			parameters.addValue("usernamePrefix", likePrefix(filter.getUsernamePrefix()));
+		}
+		if (filter.getEmailPrefix() != null) {
+			condition.append(" AND u.email LIKE :emailPrefix");
+			parameters.addValue("emailPrefix", likePrefix(filter.getEmailPrefix()));
+		}
+		if (isPresent(filter.getAccountStatuses())) {
+			condition.append(" AND u.accountStatus IN (:accountStatuses)");
+			parameters.addValue("accountStatuses", filter.getAccountStatuses().stream().map(AccountStatus::name).toList());
+		}
+		if (isPresent(filter.getRoles())) {
+			condition.append(" AND EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.idRole = ur.role_id"
+					+ " WHERE ur.user_id = u.idUser AND r.roleName IN (:roles))");
+			parameters.addValue("roles", filter.getRoles().stream().map(RoleName::name).toList());
+		}
+		return condition.toString();
+	}
+
+	// Wildcards in the prefix are matched literally (backslash is MySQL's default LIKE escape character).
+	private static String likePrefix(String prefix) {
+		return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+	}
+
+	private static boolean isPresent(Collection<?> criterion) {
+		return criterion != null && !criterion.isEmpty();
+	}
+
+}
@@ -0,0 +1,51 @@
+package dev.jcasaslopez.user.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.model.UserCredentials;
+
+// UserDetails used as the principal on the authentication hot path. Same rules as CustomUserDetails,
+// but built from the UserCredentials projection instead of the User entity.
+public class CredentialsUserDetails implements UserDetails {
+	
+	private final UserCredentials credentials;
+	private final List<GrantedAuthority> authorities;
+	
+	public CredentialsUserDetails(UserCredentials credentials) {
+		this.credentials = credentials;
+		this.authorities = credentials.getRoles().stream()
+				.map(roleName -> (GrantedAuthority) new SimpleGrantedAuthority(roleName.name()))
+				.toList();
+	}
+	
+	public UserCredentials getCredentials() {
+		return credentials;
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return authorities;
+	}
+
+	@Override
+	public String getPassword() {
+		return credentials.getPasswordHash();
+	}
+
+	@Override
+	public String getUsername() {
+		return credentials.getUsername();
+	}
+	
+	@Override
+	public boolean isAccountNonLocked() {
+		return credentials.getAccountStatus() == AccountStatus.ACTIVE;
+	}
+
+}
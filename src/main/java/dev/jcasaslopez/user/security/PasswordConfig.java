@@ -6,12 +6,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+
 @Configuration
 @EnableWebSecurity
 public class PasswordConfig {
 	
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(AuthMetrics authMetrics) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), authMetrics);
     }
 }
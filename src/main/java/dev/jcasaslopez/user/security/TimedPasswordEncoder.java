@@ -0,0 +1,39 @@
+package dev.jcasaslopez.user.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+
+// Times password checks (AuthStage.PASSWORD_MATCH), which with BCrypt are usually the most expensive
+// step of a login. Encoding is not timed: it is not part of authentication.
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+	private final PasswordEncoder delegate;
+	private final AuthMetrics authMetrics;
+
+	public TimedPasswordEncoder(PasswordEncoder delegate, AuthMetrics authMetrics) {
+		this.delegate = delegate;
+		this.authMetrics = authMetrics;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return delegate.encode(rawPassword);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		long start = System.nanoTime();
+		boolean matches = delegate.matches(rawPassword, encodedPassword);
+		authMetrics.record(AuthStage.PASSWORD_MATCH, matches ? AuthOutcome.SUCCESS : AuthOutcome.MISMATCH, start);
+		return matches;
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+}
@@ -62,8 +62,9 @@ public class AuthenticationFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 				
-		// Public → passthrough
-		boolean isPublicEndpoint = Constants.PUBLIC_ENDPOINTS.contains(request.getServletPath());
+		// Public or actuator → passthrough
+		boolean isPublicEndpoint = Constants.PUBLIC_ENDPOINTS.contains(request.getServletPath())
+				|| Constants.ACTUATOR_ENDPOINTS.contains(request.getServletPath());
 		
 		if(isPublicEndpoint) {
 			logger.debug("The endpoint is public. Continues with Security Filter Chain...");
@@ -76,7 +77,7 @@ public class AuthenticationFilter extends OncePerRequestFilter {
 		
 		if (isAuthHeaderInvalid) {
 			logger.debug("Invalid or empty header");
-		    standardResponseHandler.handleResponse(response, 401, "Access denied: invalid or missing token", null);
+		    standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
 		    return;
 		}
 		
@@ -87,8 +88,9 @@ public class AuthenticationFilter extends OncePerRequestFilter {
 		boolean isTokenInvalid = optionalAuthRequest.isEmpty();
 
 		if (isTokenInvalid) {
-		    logger.warn("Token is expired, malformed or the signature is invalid. Continues with Security Filter Chain...");
-		    standardResponseHandler.handleResponse(response, 401, "Access denied: invalid or missing token", null);
+		    // Already counted in TokenServiceImpl's aggregated log of rejected tokens.
+		    logger.debug("Token is expired, malformed or the signature is invalid");
+		    standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
 		    return;
 		}
 				
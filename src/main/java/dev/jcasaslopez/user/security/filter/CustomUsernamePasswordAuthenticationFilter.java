@@ -8,6 +8,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.exception.LoginThrottledException;
 import dev.jcasaslopez.user.exception.MissingCredentialException;
 import dev.jcasaslopez.user.security.handler.CustomAuthenticationFailureHandler;
 import dev.jcasaslopez.user.service.AccountLockingService;
@@ -37,12 +38,18 @@ public class CustomUsernamePasswordAuthenticationFilter extends UsernamePassword
 	        throw new MissingCredentialException("Username and password are required");
 	    }
 	    
+	    // Requests arriving while the username or the IP address is inside its backoff delay are rejected 
+	    // before touching the database or running BCrypt, which is what makes the delay cheap to enforce.
+	    long retryAfterSeconds = accountLockingService.getRemainingLockSeconds(username, request.getRemoteAddr());
+	    if (retryAfterSeconds > 0) {
+	    	throw new LoginThrottledException("Too many failed login attempts", retryAfterSeconds);
+	    }
+	    
 		User user = userAccountService.findUser(username);
 		
-		// If there is no Redis entry for this user (getLoginAttemptsRedisEntry returns 0) and his account is blocked,
+		// If the account is temporarily blocked but there is no active lock for this user (checked above),
 		// then the lock period has expired and the account can be automatically reactivated.
-		if (user.getAccountStatus() == AccountStatus.TEMPORARILY_BLOCKED && 
-						accountLockingService.getLoginAttemptsRedisEntry(username) == 0) {
+		if (user.getAccountStatus() == AccountStatus.TEMPORARILY_BLOCKED) {
 			logger.info("User {} reactivated after lock expiration", username);
 			accountLockingService.unBlockAccount(user);
 		}
@@ -23,6 +23,6 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
     public void commence(HttpServletRequest request, HttpServletResponse response,
     		AuthenticationException authException) throws IOException {
     	standardResponseHandler.handleResponse(response, 401, 
-    			"Access denied: invalid or missing token", null);
+    			StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.AuthenticationException;
@@ -15,8 +16,11 @@ import org.springframework.stereotype.Component;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.exception.LoginThrottledException;
 import dev.jcasaslopez.user.exception.MissingCredentialException;
 import dev.jcasaslopez.user.handler.StandardResponseHandler;
+import dev.jcasaslopez.user.jfr.AuthenticationEvent;
+import dev.jcasaslopez.user.model.LoginThrottleStatus;
 import dev.jcasaslopez.user.service.AccountLockingService;
 import dev.jcasaslopez.user.service.LoginAttemptService;
 import dev.jcasaslopez.user.service.UserAccountService;
@@ -25,38 +29,49 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 // Custom authentication failure handler that centralizes all login failure cases.
-// Distinguishes between: Missing credentials - Invalid username - Locked account - Incorrect password.
+// Distinguishes between: Missing credentials - Throttled login - Invalid username - Locked account - Incorrect password.
 // Responses are neutral to avoid exposing sensitive information to the client.
 // All attempts are logged with their cause via LoginAttemptService.
-// Integrates account locking after multiple failed attempts using Redis and events.
+// Failed attempts feed the sliding-window lockout engine (AccountLockingService), which answers with progressive
+// delays (429 + Retry-After) instead of blocking the account in the database.
 // Avoids using AuthenticationEntryPoint for invalid usernames and missing fields by leveraging custom exceptions.
+// Each failure is reported to JFR as an AuthenticationEvent, with its duration and whether it was throttled.
 @Component
 public class CustomAuthenticationFailureHandler implements AuthenticationFailureHandler {
 	
     private static final Logger logger = LoggerFactory.getLogger(CustomAuthenticationFailureHandler.class);
 	
-	@Value ("${auth.maxFailedAttempts}")
-	int maxNumberFailedAttempts;
-	
-	@Value ("${security.auth.account-lock-duration-seconds}")
-	int accountLockDuration;
-	
 	private final UserAccountService userAccountService;
 	private final StandardResponseHandler standardResponseHandler;
 	private final LoginAttemptService loginAttemptService;
 	private final AccountLockingService accountLockingService;
+	// The longest lock the throttling engine can set, in whole minutes (see AccountLockingServiceImpl).
+	private final long maxLockMinutes;
 
 	public CustomAuthenticationFailureHandler(UserAccountService userAccountService,
 			StandardResponseHandler standardResponseHandler, LoginAttemptService loginAttemptService,
-			AccountLockingService accountLockingService) {
+			AccountLockingService accountLockingService,
+			@Value("${security.auth.throttle.max-delay-seconds}") long maxLockDelayInSeconds) {
 		this.userAccountService = userAccountService;
 		this.standardResponseHandler = standardResponseHandler;
 		this.loginAttemptService = loginAttemptService;
 		this.accountLockingService = accountLockingService;
+		this.maxLockMinutes = (maxLockDelayInSeconds + 59) / 60;
 	}
 
 	@Override
 	public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,AuthenticationException exception) throws IOException, ServletException {
+		AuthenticationEvent event = new AuthenticationEvent();
+		event.begin();
+		try {
+			handleFailure(request, response, exception);
+		} finally {
+			event.complete(AuthenticationEvent.LOGIN_FAILURE, failureReasonOf(exception).name().toLowerCase(), 
+					response.getStatus() == 429, request.getParameter("username"));
+		}
+	}
+	
+	private void handleFailure(HttpServletRequest request, HttpServletResponse response, AuthenticationException exception) throws IOException {
 		
 	    String username = request.getParameter("username");
 	    
@@ -64,18 +79,33 @@ public class CustomAuthenticationFailureHandler implements AuthenticationFailure
 	    // which would be their natural place (i.e., where Spring Security would route them by default),
 	    // so that all login failure cases are grouped together in a single class.
 	    if (exception instanceof MissingCredentialException) {
-			loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.MISSING_FIELD, null);
+			loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.MISSING_FIELD, username, null);
 	        logger.warn("Username or password missing during authentication");
 	        standardResponseHandler.handleResponse(response, 400, "Username and password are required", null);
 	        return;
 	        
+	    } else if (exception instanceof LoginThrottledException throttledException) {
+	    	// The user is not loaded on purpose: throttled requests must not reach the database (apart from the audit record).
+	    	loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.THROTTLED, username, null);
+	    	logger.warn("Login attempt rejected while in backoff delay. Retry after {} seconds", 
+	    			throttledException.getRetryAfterSeconds());
+	    	handleThrottledResponse(response, throttledException.getRetryAfterSeconds());
+	    	return;
+	    	
 	    } else if (exception instanceof UsernameNotFoundException) {
-	    	loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.USER_NOT_FOUND, null);
+	    	loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.USER_NOT_FOUND, username, null);
             logger.warn("Failed login attempt - User not found");
             
+            // Unknown usernames only count against the IP address (see AccountLockingServiceImpl).
+            LoginThrottleStatus throttleStatus = accountLockingService.registerFailedAttempt(null, request.getRemoteAddr());
+            if (throttleStatus.isThrottled()) {
+            	handleThrottledResponse(response, throttleStatus.getDelayInSeconds());
+            	return;
+            }
+            
             // 401 with a neutral message to avoid revealing whether the failure was due to  
             // username or password.
-            standardResponseHandler.handleResponse(response, 401, "Bad credentials", null);
+            standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.BAD_CREDENTIALS_MESSAGE, null);
             return;
 	    }
 	      
@@ -84,16 +114,16 @@ public class CustomAuthenticationFailureHandler implements AuthenticationFailure
 	    // 2. If we called userAccountService.findUser() earlier and the user didn't exist, it would 
 	    // throw an exception outside this flow, preventing it from being properly handled here.	    
         User user = userAccountService.findUser(username);
-        int accountLockDurationInHours = accountLockDuration/3600 >= 1 ? accountLockDuration/3600 : 1;
 	    
 	    if (exception instanceof LockedException) {
-	        loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.ACCOUNT_LOCKED, user);
+	        loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.ACCOUNT_LOCKED, username, user);
 	        
 	        if(user.getAccountStatus() == AccountStatus.BLOCKED) {
 		        standardResponseHandler.handleResponse(response, 403, "Your account has been locked by an administrator. Please contact support if you believe this is a mistake", null);
 		        
 	        } else if (user.getAccountStatus() == AccountStatus.TEMPORARILY_BLOCKED) {
-		        standardResponseHandler.handleResponse(response, 403, "Your account is locked due to too many failed login attempts. It will be reactivated automatically in a few hours", null);
+		        standardResponseHandler.handleResponse(response, 403, "Your account is locked due to too many failed login attempts. It will be reactivated automatically "
+		        		+ "the next time you log in, at most " + maxLockMinutes + " minutes after the last failed attempt", null);
 	        
 	        } else {
 	        	standardResponseHandler.handleResponse(response, 403, "Your account is permanently suspended", null);
@@ -103,24 +133,42 @@ public class CustomAuthenticationFailureHandler implements AuthenticationFailure
 	        
 	    } else if (exception instanceof BadCredentialsException) {
 	    	
-	    	int failedLoginAttempts = accountLockingService.getLoginAttemptsRedisEntry(username);
-	    	failedLoginAttempts++;
-    		accountLockingService.setLoginAttemptsRedisEntry(username, failedLoginAttempts, accountLockDuration);
-    		logger.warn("Number of failed login attempts for user {}: {}", username, failedLoginAttempts);
+	    	LoginThrottleStatus throttleStatus = accountLockingService.registerFailedAttempt(username, request.getRemoteAddr());
+    		logger.warn("Failed login attempts in the current window for user {}: {}", username, throttleStatus.getUserFailures());
+    		loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.INCORRECT_PASSWORD, username, user);
 	    	
-	    	if (failedLoginAttempts < maxNumberFailedAttempts) {
-	    		// "Bad credentials" instead of "Incorrect password" for the reasons discussed above.
-	    		standardResponseHandler.handleResponse(response, 401, "Bad credentials", null);	
+	    	if (throttleStatus.isThrottled()) {
+	    		logger.warn("Login for user {} delayed {} seconds due to too many failed attempts", username, 
+	    				throttleStatus.getDelayInSeconds());
+	    		handleThrottledResponse(response, throttleStatus.getDelayInSeconds());
 	    		
-	    	// Redundant, but improves legibility.
-	    	} else if (failedLoginAttempts >= maxNumberFailedAttempts) {
-	    		accountLockingService.blockAccount(user);
-	    		logger.warn("Account blocked for user {} due to too many login failed attempts", username);
-	    		standardResponseHandler.handleResponse(response, 403, "Your account has been locked due to too many failed "
-	    				+ "login attempts. It will be reactivated automatically in " + accountLockDurationInHours + " hours", null);	
+	    	} else {
+	    		// "Bad credentials" instead of "Incorrect password" for the reasons discussed above.
+	    		standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.BAD_CREDENTIALS_MESSAGE, null);	
 	    	}
-
-	    	loginAttemptService.recordAttempt(false, request.getRemoteAddr(), LoginFailureReason.INCORRECT_PASSWORD,user);
 	    }
 	}
+	
+	// Same reasons recorded by handleFailure() in login_attempts.
+	private static LoginFailureReason failureReasonOf(AuthenticationException exception) {
+		if (exception instanceof MissingCredentialException) {
+			return LoginFailureReason.MISSING_FIELD;
+		} else if (exception instanceof LoginThrottledException) {
+			return LoginFailureReason.THROTTLED;
+		} else if (exception instanceof LockedException) {
+			return LoginFailureReason.ACCOUNT_LOCKED;
+		} else if (exception instanceof UsernameNotFoundException) {
+			return LoginFailureReason.USER_NOT_FOUND;
+		} else if (exception instanceof BadCredentialsException) {
+			return LoginFailureReason.INCORRECT_PASSWORD;
+		}
+		return LoginFailureReason.OTHER;
+	}
+	
+	// 429 with the standard Retry-After header, so that well-behaved clients know how long to wait.
+	private void handleThrottledResponse(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		standardResponseHandler.handleResponse(response, 429, "Too many failed login attempts. Please try again in " 
+				+ retryAfterSeconds + " seconds", null);
+	}
 }
\ No newline at end of file
@@ -53,10 +53,10 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
 		String username = SecurityContextHolder.getContext().getAuthentication().getName();
 		User user = userAccountService.findUser(username);
 		
-		// Reset the failed login attempts counter by deleting its Redis entry.
-		accountLockingService.deleteLoginAttemptsRedisEntry(username);
+		// Reset the failed login attempts window by deleting its Redis entries.
+		accountLockingService.resetFailedAttempts(username);
 		
-		loginAttemptService.recordAttempt(true, request.getRemoteAddr(), null, user);
+		loginAttemptService.recordAttempt(true, request.getRemoteAddr(), null, username, user);
 		
 		String refreshToken = tokenService.createAuthToken(TokenType.REFRESH, username);
 		String accessToken = tokenService.createAuthToken(TokenType.ACCESS, username);
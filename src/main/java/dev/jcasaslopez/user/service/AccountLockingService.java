@@ -1,12 +1,16 @@
 package dev.jcasaslopez.user.service;
 
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.model.LoginThrottleStatus;
 
 public interface AccountLockingService {
 	
-	int getLoginAttemptsRedisEntry(String username);
-	void deleteLoginAttemptsRedisEntry(String username);
-	void setLoginAttemptsRedisEntry(String usermame, int loginAttempts, int accountLockDurationInSeconds);
+	// Sliding-window lockout engine (Redis).
+	long getRemainingLockSeconds(String username, String ipAddress);
+	LoginThrottleStatus registerFailedAttempt(String username, String ipAddress);
+	void resetFailedAttempts(String username);
+	
+	// Account status changes (database).
 	void blockAccount(User user);
 	void unBlockAccount(User user);
 
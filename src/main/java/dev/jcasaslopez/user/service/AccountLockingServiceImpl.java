@@ -1,66 +1,152 @@
 package dev.jcasaslopez.user.service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
 import dev.jcasaslopez.user.enums.NotificationType;
 import dev.jcasaslopez.user.event.NotifyingEvent;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.LoginThrottleStatus;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.utilities.Constants;
 
+// Failed logins are tracked in Redis sorted sets (one per username and one per IP address), where each
+// member is a failed attempt scored by its timestamp. Only the failures inside the sliding window count.
+// Once the number of failures reaches the configured threshold, every further failure sets a lock key whose
+// TTL doubles each time (base delay, 2x, 4x...), capped at a maximum delay. This replaces the old fixed counter 
+// that blocked the account for 24 hours, which allowed anyone to lock a user out with just a few requests.
+//
+// Registering a failure is done by a single Lua script (see resources/scripts/login_throttle.lua), so it costs 
+// one round trip regardless of how many keys are involved. Checking whether a login is allowed is a single MGET.
 @Service
 public class AccountLockingServiceImpl implements AccountLockingService {
 	
+	@Value("${auth.maxFailedAttempts}")
+	private int maxFailedAttemptsPerUser;
+	
+	@Value("${security.auth.throttle.ip-max-failed-attempts}")
+	private int maxFailedAttemptsPerIp;
+	
+	@Value("${security.auth.throttle.window-seconds}")
+	private long windowInSeconds;
+	
+	@Value("${security.auth.throttle.base-delay-seconds}")
+	private long baseDelayInSeconds;
+	
+	@Value("${security.auth.throttle.max-delay-seconds}")
+	private long maxDelayInSeconds;
+	
+	@Value("${security.auth.throttle.max-tracked-attempts}")
+	private int maxTrackedAttempts;
+	
 	private final StringRedisTemplate redisTemplate;
 	private final UserRepository userRepository;
 	private final ApplicationEventPublisher eventPublisher;
+	private final AuthMetrics authMetrics;
+	
+	@SuppressWarnings("rawtypes")
+	private final RedisScript<List> loginThrottleScript;
 	
 	public AccountLockingServiceImpl(StringRedisTemplate redisTemplate, UserRepository userRepository,
-			ApplicationEventPublisher eventPublisher) {
+			ApplicationEventPublisher eventPublisher, @SuppressWarnings("rawtypes") RedisScript<List> loginThrottleScript,
+			AuthMetrics authMetrics) {
 		this.redisTemplate = redisTemplate;
 		this.userRepository = userRepository;
 		this.eventPublisher = eventPublisher;
+		this.loginThrottleScript = loginThrottleScript;
+		this.authMetrics = authMetrics;
 	}
 
+	// Lock keys store the instant (epoch millis) the lock expires, so both of them can be read with
+	// a single MGET instead of one PTTL per key.
 	@Override
-	public int getLoginAttemptsRedisEntry(String username) {
-		String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + username;
-		if(!redisTemplate.hasKey(redisKey)) {
+	public long getRemainingLockSeconds(String username, String ipAddress) {
+		long start = System.nanoTime();
+		List<String> lockedUntil = redisTemplate.opsForValue().multiGet(Arrays.asList(
+				Constants.LOGIN_LOCK_REDIS_KEY + username, 
+				Constants.LOGIN_LOCK_IP_REDIS_KEY + ipAddress));
+		if (lockedUntil == null) {
+			authMetrics.record(AuthStage.LOCK_CHECK, AuthOutcome.SUCCESS, start);
 			return 0;
 		}
-		return Integer.parseInt(redisTemplate.opsForValue().get(redisKey));	
+		
+		long now = System.currentTimeMillis();
+		long remainingMillis = 0;
+		for (String value : lockedUntil) {
+			if (value != null) {
+				remainingMillis = Math.max(remainingMillis, Long.parseLong(value) - now);
+			}
+		}
+		
+		authMetrics.record(AuthStage.LOCK_CHECK, remainingMillis > 0 ? AuthOutcome.LOCKED : AuthOutcome.SUCCESS, start);
+		// Rounds up, so that a client waiting the returned number of seconds is never rejected again.
+		return remainingMillis <= 0 ? 0 : (remainingMillis + 999) / 1000;
 	}
 	
+	// 'username' can be null when the user does not exist: in that case, only the IP address is tracked, 
+	// so that random usernames cannot be used to fill Redis with keys.
+	@SuppressWarnings("unchecked")
 	@Override
-	public void deleteLoginAttemptsRedisEntry(String username) {
-		String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + username;
-		redisTemplate.delete(redisKey);
+	public LoginThrottleStatus registerFailedAttempt(String username, String ipAddress) {
+		String userWindowKey = username == null ? "" : Constants.LOGIN_ATTEMPTS_REDIS_KEY + username;
+		String userLockKey = username == null ? "" : Constants.LOGIN_LOCK_REDIS_KEY + username;
+		
+		List<String> keys = Arrays.asList(userWindowKey, userLockKey,
+				Constants.LOGIN_ATTEMPTS_IP_REDIS_KEY + ipAddress, 
+				Constants.LOGIN_LOCK_IP_REDIS_KEY + ipAddress);
+		
+		long start = System.nanoTime();
+		List<Long> result = redisTemplate.execute(loginThrottleScript, keys,
+				String.valueOf(System.currentTimeMillis()),
+				String.valueOf(windowInSeconds * 1000),
+				String.valueOf(maxFailedAttemptsPerUser),
+				String.valueOf(maxFailedAttemptsPerIp),
+				String.valueOf(baseDelayInSeconds * 1000),
+				String.valueOf(maxDelayInSeconds * 1000),
+				String.valueOf(maxTrackedAttempts),
+				UUID.randomUUID().toString());
+		
+		long delayInMillis = Math.max(result.get(1), result.get(3));
+		authMetrics.record(AuthStage.FAILED_ATTEMPT_REGISTER, delayInMillis > 0 ? AuthOutcome.LOCKED : AuthOutcome.SUCCESS, start);
+		return new LoginThrottleStatus(result.get(0), result.get(2), (delayInMillis + 999) / 1000);
 	}
-
+	
+	// Only the username entries are deleted. The IP entries are kept on purpose: a successful login 
+	// with one account must not reset the throttling of an IP address that is guessing other accounts.
 	@Override
-	public void setLoginAttemptsRedisEntry(String username, int loginAttempts, int accountLockDurationInSeconds) {
-		String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + username;
-		redisTemplate.opsForValue().set(redisKey, String.valueOf(loginAttempts), accountLockDurationInSeconds, TimeUnit.SECONDS);
+	public void resetFailedAttempts(String username) {
+		long start = System.nanoTime();
+		redisTemplate.delete(Arrays.asList(Constants.LOGIN_ATTEMPTS_REDIS_KEY + username, 
+				Constants.LOGIN_LOCK_REDIS_KEY + username));
+		authMetrics.record(AuthStage.FAILED_ATTEMPTS_RESET, AuthOutcome.SUCCESS, start);
 	}
 
 	@Override
 	public void blockAccount(User user) {
-		NotifyingEvent changeAccountStatusEvent = new NotifyingEvent(user, AccountStatus.TEMPORARILY_BLOCKED, NotificationType.UPDATE_ACCOUNT_STATUS);
-		eventPublisher.publishEvent(changeAccountStatusEvent);
     	user.setAccountStatus(AccountStatus.TEMPORARILY_BLOCKED);
         userRepository.save(user);
+        userRepository.registerChange(user);
+		NotifyingEvent changeAccountStatusEvent = new NotifyingEvent(user, AccountStatus.TEMPORARILY_BLOCKED, NotificationType.UPDATE_ACCOUNT_STATUS);
+		eventPublisher.publishEvent(changeAccountStatusEvent);
 	}
 	
 	@Override
 	public void unBlockAccount(User user) {
-		NotifyingEvent changeAccountStatusEvent = new NotifyingEvent(user, AccountStatus.ACTIVE, NotificationType.UPDATE_ACCOUNT_STATUS);
-		eventPublisher.publishEvent(changeAccountStatusEvent);
 		user.setAccountStatus(AccountStatus.ACTIVE);
 		userRepository.save(user);
+		userRepository.registerChange(user);
+		NotifyingEvent changeAccountStatusEvent = new NotifyingEvent(user, AccountStatus.ACTIVE, NotificationType.UPDATE_ACCOUNT_STATUS);
+		eventPublisher.publishEvent(changeAccountStatusEvent);
 	}
 }
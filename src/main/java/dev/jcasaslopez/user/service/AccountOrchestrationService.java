@@ -1,14 +1,30 @@
 package dev.jcasaslopez.user.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.dto.BulkUserSelection;
 import dev.jcasaslopez.user.dto.UserDto;
+import dev.jcasaslopez.user.dto.UserLookupRequest;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.model.BroadcastJob;
+import dev.jcasaslopez.user.model.BulkUpdateResult;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginStats;
+import dev.jcasaslopez.user.model.UserImportResult;
+import dev.jcasaslopez.user.model.UserPage;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 public interface AccountOrchestrationService {
 
@@ -21,6 +37,16 @@ public interface AccountOrchestrationService {
 	void upgradeUser(String email);
 	void updateAccountStatus(String email, AccountStatus newAccountStatus);
 	void sendNotification(Map<String, String> messageAsMap);
+	BroadcastJob broadcastNotification(BroadcastRequest request);
+	BroadcastJob getBroadcastStatus(String jobId);
+	void exportLoginAttempts(LoginAttemptExportFilter filter, ExportFormat format, HttpServletResponse response)
+			throws IOException;
+	LoginStats getLoginStats(LocalDateTime from, LocalDateTime to, int topIps);
+	UserPage listUsers(UserSearchFilter filter, String after, Integer limit);
+	List<UserSummary> lookupUsers(UserLookupRequest request);
+	UserImportResult importUsers(InputStream inputStream, ExportFormat format) throws IOException;
+	BulkUpdateResult bulkUpdateAccountStatus(BulkUserSelection selection, AccountStatus newAccountStatus);
+	BulkUpdateResult bulkUpgradeUsers(BulkUserSelection selection);
 	List<String> refreshToken(String username);
 	
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package dev.jcasaslopez.user.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -9,9 +12,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
@@ -21,18 +24,32 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.dto.BulkUserSelection;
 import dev.jcasaslopez.user.dto.UserDto;
+import dev.jcasaslopez.user.dto.UserLookupRequest;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.ExportFormat;
 import dev.jcasaslopez.user.enums.NotificationType;
 import dev.jcasaslopez.user.enums.TokenType;
 import dev.jcasaslopez.user.event.NotifyingEvent;
+import dev.jcasaslopez.user.exception.UserNotFoundException;
 import dev.jcasaslopez.user.mapper.UserMapper;
+import dev.jcasaslopez.user.model.BroadcastJob;
+import dev.jcasaslopez.user.model.BulkUpdateResult;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginStats;
+import dev.jcasaslopez.user.model.UserImportResult;
+import dev.jcasaslopez.user.model.UserPage;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
 import dev.jcasaslopez.user.model.TokensLifetimes;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.security.CustomUserDetails;
 import dev.jcasaslopez.user.utilities.Constants;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Service
 public class AccountOrchestrationServiceImpl implements AccountOrchestrationService {
@@ -51,12 +68,22 @@ public class AccountOrchestrationServiceImpl implements AccountOrchestrationServ
 	private PasswordService passwordService;
 	private EmailService emailService;
 	private UserRepository userRepository;
+	private BroadcastService broadcastService;
+	private LoginAttemptExportService loginAttemptExportService;
+	private LoginStatsService loginStatsService;
+	private UserSearchService userSearchService;
+	private UserLookupService userLookupService;
+	private UserImportService userImportService;
+	private BulkUserService bulkUserService;
 	
 	public AccountOrchestrationServiceImpl(UserDetailsManager userDetailsManager, TokenService tokenService,
 			ApplicationEventPublisher eventPublisher, StringRedisTemplate redisTemplate,
 			TokensLifetimes tokensLifetimes, ObjectMapper objectMapper, PasswordEncoder passwordEncoder,
 			UserMapper userMapper, UserAccountService userAccountService, PasswordService passwordService,
-			EmailService emailService, UserRepository userRepository) {
+			EmailService emailService, UserRepository userRepository, BroadcastService broadcastService,
+			LoginAttemptExportService loginAttemptExportService, LoginStatsService loginStatsService,
+			UserSearchService userSearchService, UserLookupService userLookupService,
+			UserImportService userImportService, BulkUserService bulkUserService) {
 		this.userDetailsManager = userDetailsManager;
 		this.tokenService = tokenService;
 		this.eventPublisher = eventPublisher;
@@ -69,6 +96,13 @@ public class AccountOrchestrationServiceImpl implements AccountOrchestrationServ
 		this.passwordService = passwordService;
 		this.emailService = emailService;
 		this.userRepository = userRepository;
+		this.broadcastService = broadcastService;
+		this.loginAttemptExportService = loginAttemptExportService;
+		this.loginStatsService = loginStatsService;
+		this.userSearchService = userSearchService;
+		this.userLookupService = userLookupService;
+		this.userImportService = userImportService;
+		this.bulkUserService = bulkUserService;
 	}
 
 	// A Redis entry is added to temporarily store the user's data needed in the next step—after email verification—
@@ -191,6 +225,10 @@ public class AccountOrchestrationServiceImpl implements AccountOrchestrationServ
 		
 		logger.debug("Calling updateAccountStatus() in User Account Service...");
 		userAccountService.updateAccountStatus(user, newAccountStatus);
+		// As in BulkUserService: any status other than ACTIVE ends the user's sessions.
+		if (newAccountStatus != AccountStatus.ACTIVE) {
+			tokenService.revokeSessionsAfterCommit(List.of(user.getUsername()));
+		}
 		
 		NotifyingEvent changeAccountStatusEvent = new NotifyingEvent(user, newAccountStatus, 
 				NotificationType.UPDATE_ACCOUNT_STATUS);
@@ -204,7 +242,7 @@ public class AccountOrchestrationServiceImpl implements AccountOrchestrationServ
         Optional<User> optionalUser = userRepository.findById(idUser);
         if (optionalUser.isEmpty()) {
             logger.warn("User with ID {} not found in the database", idUser);
-            throw new UsernameNotFoundException("User not found in the database");
+            throw new UserNotFoundException("User not found in the database");
         }
 
         String email = optionalUser.get().getEmail();
@@ -213,6 +251,68 @@ public class AccountOrchestrationServiceImpl implements AccountOrchestrationServ
         emailService.sendEmail(email, subject, messageBody);
 	}
 	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public BroadcastJob broadcastNotification(BroadcastRequest request) {
+		logger.debug("Calling startBroadcast() in Broadcast Service...");
+		return broadcastService.startBroadcast(request);
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public BroadcastJob getBroadcastStatus(String jobId) {
+		return broadcastService.getBroadcastJob(jobId);
+	}
+	
+	// Headers are only set once the role check has passed, so a rejected request gets the usual JSON error.
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public void exportLoginAttempts(LoginAttemptExportFilter filter, ExportFormat format, HttpServletResponse response)
+			throws IOException {
+		response.setContentType(format.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"login-attempts." + format.getFileExtension() + "\"");
+		loginAttemptExportService.exportLoginAttempts(filter, format, response.getOutputStream());
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public LoginStats getLoginStats(LocalDateTime from, LocalDateTime to, int topIps) {
+		return loginStatsService.getLoginStats(from, to, topIps);
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public UserPage listUsers(UserSearchFilter filter, String after, Integer limit) {
+		return userSearchService.searchUsers(filter, after, limit);
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public List<UserSummary> lookupUsers(UserLookupRequest request) {
+		return userLookupService.lookupUsers(request);
+	}
+	
+	// The upload is only read once the role check has passed.
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public UserImportResult importUsers(InputStream inputStream, ExportFormat format) throws IOException {
+		return userImportService.importUsers(inputStream, format);
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_SUPERADMIN')")
+	public BulkUpdateResult bulkUpdateAccountStatus(BulkUserSelection selection, AccountStatus newAccountStatus) {
+		return bulkUserService.updateAccountStatus(selection, newAccountStatus);
+	}
+	
+	@Override
+	@PreAuthorize("hasRole('ROLE_SUPERADMIN')")
+	public BulkUpdateResult bulkUpgradeUsers(BulkUserSelection selection) {
+		return bulkUserService.upgradeUsers(selection);
+	}
+	
 	@Override
 	public List<String> refreshToken(String username){
 		logger.debug("Creating refresh token...");
@@ -8,15 +8,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import dev.jcasaslopez.user.dto.AuthenticationRequest;
-import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
 import dev.jcasaslopez.user.enums.TokenType;
+import dev.jcasaslopez.user.exception.UserNotFoundException;
+import dev.jcasaslopez.user.jfr.AuthenticationEvent;
 import dev.jcasaslopez.user.mapper.UserMapper;
-import dev.jcasaslopez.user.repository.UserRepository;
-import dev.jcasaslopez.user.security.CustomUserDetails;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.UserCredentials;
+import dev.jcasaslopez.user.repository.UserCredentialsRepository;
+import dev.jcasaslopez.user.security.CredentialsUserDetails;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -26,20 +31,26 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	
 	private static final Logger logger = LoggerFactory.getLogger(AuthenticationServiceImpl.class);
 	
-	private final UserRepository userRepository;
+	private final UserCredentialsRepository userCredentialsRepository;
 	private final UserMapper userMapper;
 	private final TokenService tokenService;
+	private final AuthMetrics authMetrics;
 	
-	public AuthenticationServiceImpl(UserRepository userRepository, UserMapper userMapper, TokenService tokenService) {
-		this.userRepository = userRepository;
+	public AuthenticationServiceImpl(UserCredentialsRepository userCredentialsRepository, UserMapper userMapper, 
+			TokenService tokenService, AuthMetrics authMetrics) {
+		this.userCredentialsRepository = userCredentialsRepository;
 		this.userMapper = userMapper;
 		this.tokenService = tokenService;
+		this.authMetrics = authMetrics;
 	}
 	
 	@Override
 	public boolean verifyHeaderIsValid(HttpServletRequest request) {
+		long start = System.nanoTime();
 		String authHeader = request.getHeader("Authorization");
-		return !(authHeader == null || !authHeader.startsWith("Bearer "));
+		boolean isValid = !(authHeader == null || !authHeader.startsWith("Bearer "));
+		authMetrics.record(AuthStage.HEADER_CHECK, isValid ? AuthOutcome.SUCCESS : AuthOutcome.MISSING, start);
+		return isValid;
 	}
 
 	// 3 different cases:
@@ -74,13 +85,35 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		
 	}
 
+	// Runs on every request carrying an access token, so it loads the UserCredentials projection,
+	// served from the second-level cache (see UserCredentialsRepository).
+	//
+	// Access tokens cannot be revoked one by one, so the access tokens of accounts blocked or suspended by
+	// an administrator are rejected here, with the status just loaded. TEMPORARILY_BLOCKED accounts keep 
+	// theirs: anyone can cause that status by failing logins with the username.
 	@Override
 	public void authenticateUser(String token, String username) {
-		User userJpa = userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username));
-		CustomUserDetails user = userMapper.userToCustomUserDetailsMapper(userJpa);
+		AuthenticationEvent event = new AuthenticationEvent();
+		event.begin();
+		long start = System.nanoTime();
+		Optional<UserCredentials> optionalCredentials = userCredentialsRepository.findByUsername(username);
+		AuthOutcome outcome = optionalCredentials.isEmpty() ? AuthOutcome.NOT_FOUND
+				: isRevokedStatus(optionalCredentials.get().getAccountStatus()) ? AuthOutcome.LOCKED : AuthOutcome.SUCCESS;
+		authMetrics.record(AuthStage.CREDENTIALS_LOOKUP, outcome, start);
+		event.complete(AuthenticationEvent.ACCESS_TOKEN, outcome.tagValue(), username);
+		UserCredentials credentials = optionalCredentials.orElseThrow(() -> new UserNotFoundException(username));
+		if (outcome == AuthOutcome.LOCKED) {
+			logger.warn("Access token of user {} rejected: account status is {}", username, credentials.getAccountStatus());
+			return;
+		}
+		CredentialsUserDetails user = userMapper.credentialsToUserDetailsMapper(credentials);
 		Authentication authentication = new UsernamePasswordAuthenticationToken(user, token, user.getAuthorities());
 		SecurityContextHolder.getContext().setAuthentication(authentication);
 		logger.info("Valid access token. User {} authenticated successfully", username);
 	}
+	
+	private static boolean isRevokedStatus(AccountStatus accountStatus) {
+		return accountStatus == AccountStatus.BLOCKED || accountStatus == AccountStatus.PERMANENTLY_SUSPENDED;
+	}
 
 }
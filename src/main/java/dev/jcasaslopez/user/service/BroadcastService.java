@@ -0,0 +1,13 @@
+package dev.jcasaslopez.user.service;
+
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.model.BroadcastJob;
+
+public interface BroadcastService {
+	
+	// Accepts the broadcast and returns straight away. The emails are queued in the background.
+	BroadcastJob startBroadcast(BroadcastRequest request);
+	
+	BroadcastJob getBroadcastJob(String jobId);
+
+}
\ No newline at end of file
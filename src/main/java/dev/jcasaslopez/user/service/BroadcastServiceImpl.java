@@ -0,0 +1,253 @@
+package dev.jcasaslopez.user.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.enums.BroadcastStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.exception.BroadcastJobNotFoundException;
+import dev.jcasaslopez.user.exception.MalformedMessageException;
+import dev.jcasaslopez.user.model.BroadcastJob;
+import dev.jcasaslopez.user.model.BroadcastRecipient;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.repository.BroadcastRecipientRepository;
+import dev.jcasaslopez.user.template.EmailTemplate;
+import dev.jcasaslopez.user.utilities.Constants;
+import dev.jcasaslopez.user.utilities.ThreadFactories;
+
+// Sends an administrator's message to a segment of users. The request only counts the recipients
+// and returns a job id; a background thread then reads the recipients page by page (keyset
+// pagination, see BroadcastRecipientRepository) and queues their emails in the outbox, one batch
+// insert per chunk.
+//
+// Queuing is paced to 'notification.broadcast.rate-per-second' emails per second. The outbox is
+// shared with the account emails (verification links, password resets...), so a large broadcast
+// is spread over time instead of filling the outbox in front of them.
+//
+// The job progress is kept in a Redis hash, so it can be queried from any instance. The job itself
+// runs on the instance that accepted it: if that instance stops, the job is marked as FAILED. While
+// the job is queued or running, that instance refreshes its 'heartbeatAt' field every heartbeat-seconds;
+// if the instance dies, the heartbeat stops and the job is reported as ABANDONED once it is older than
+// three heartbeats.
+@Service
+public class BroadcastServiceImpl implements BroadcastService, DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(BroadcastServiceImpl.class);
+	private static final int MISSED_HEARTBEATS = 3;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	private final BroadcastRecipientRepository broadcastRecipientRepository;
+	private final EmailOutboxService emailOutboxService;
+	private final StringRedisTemplate redisTemplate;
+	private final int pageSize;
+	private final int ratePerSecond;
+	private final Duration jobTtl;
+	private final Duration heartbeatTimeout;
+	private final ExecutorService executor;
+	private final ScheduledExecutorService heartbeat;
+	// Jobs accepted by this instance and not finished yet.
+	private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+	public BroadcastServiceImpl(BroadcastRecipientRepository broadcastRecipientRepository,
+			EmailOutboxService emailOutboxService, StringRedisTemplate redisTemplate,
+			@Value("${notification.broadcast.page-size}") int pageSize,
+			@Value("${notification.broadcast.rate-per-second}") int ratePerSecond,
+			@Value("${notification.broadcast.max-concurrent-jobs}") int maxConcurrentJobs,
+			@Value("${notification.broadcast.job-ttl-hours}") long jobTtlHours,
+			@Value("${notification.broadcast.heartbeat-seconds}") long heartbeatSeconds,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.broadcastRecipientRepository = broadcastRecipientRepository;
+		this.emailOutboxService = emailOutboxService;
+		this.redisTemplate = redisTemplate;
+		this.pageSize = pageSize;
+		this.ratePerSecond = ratePerSecond;
+		this.jobTtl = Duration.ofHours(jobTtlHours);
+		this.heartbeatTimeout = Duration.ofSeconds(heartbeatSeconds * MISSED_HEARTBEATS);
+		this.executor = Executors.newFixedThreadPool(maxConcurrentJobs, 
+				ThreadFactories.newThreadFactory("broadcast-", virtualThreads));
+		this.heartbeat = Executors.newSingleThreadScheduledExecutor(
+				ThreadFactories.newThreadFactory("broadcast-heartbeat-", virtualThreads));
+		heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public BroadcastJob startBroadcast(BroadcastRequest request) {
+		if (isEmpty(request.getRoles()) && isEmpty(request.getAccountStatuses()) && isEmpty(request.getUserIds())) {
+			throw new MalformedMessageException("Invalid broadcast: at least one segment criterion "
+					+ "('roles', 'accountStatuses', 'userIds') is required");
+		}
+		EmailTemplate message = EmailTemplate.compileLenient(request.getSubject(), request.getMessage());
+		long total = broadcastRecipientRepository.countRecipients(request.getRoles(), request.getAccountStatuses(),
+				request.getUserIds());
+
+		String jobId = UUID.randomUUID().toString();
+		LocalDateTime createdAt = LocalDateTime.now();
+		Map<String, String> fields = new HashMap<>();
+		fields.put("status", BroadcastStatus.QUEUED.name());
+		fields.put("total", String.valueOf(total));
+		fields.put("queued", "0");
+		fields.put("createdAt", createdAt.toString());
+		fields.put("heartbeatAt", createdAt.toString());
+		String redisKey = Constants.BROADCAST_JOB_REDIS_KEY + jobId;
+		redisTemplate.opsForHash().putAll(redisKey, fields);
+		redisTemplate.expire(redisKey, jobTtl);
+
+		logger.info("Broadcast {} accepted for {} recipients", jobId, total);
+		activeJobs.add(jobId);
+		executor.execute(() -> runBroadcast(jobId, request, message));
+		return new BroadcastJob(jobId, BroadcastStatus.QUEUED, total, 0, createdAt, null, null);
+	}
+
+	@Override
+	public BroadcastJob getBroadcastJob(String jobId) {
+		HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+		Map<String, String> fields = hashOperations.entries(Constants.BROADCAST_JOB_REDIS_KEY + jobId);
+		if (fields.isEmpty()) {
+			throw new BroadcastJobNotFoundException("Broadcast job " + jobId + " not found");
+		}
+		BroadcastStatus status = BroadcastStatus.valueOf(fields.get("status"));
+		String finishedAt = fields.get("finishedAt");
+		String error = fields.get("error");
+		String heartbeatAt = fields.get("heartbeatAt");
+		if ((status == BroadcastStatus.QUEUED || status == BroadcastStatus.RUNNING) && heartbeatAt != null
+				&& LocalDateTime.parse(heartbeatAt).plus(heartbeatTimeout).isBefore(LocalDateTime.now())) {
+			status = BroadcastStatus.ABANDONED;
+			error = "No heartbeat since " + heartbeatAt + ": the instance running the job stopped";
+		}
+		return new BroadcastJob(jobId, status,
+				Long.parseLong(fields.get("total")), Long.parseLong(fields.get("queued")),
+				LocalDateTime.parse(fields.get("createdAt")),
+				finishedAt == null ? null : LocalDateTime.parse(finishedAt), error);
+	}
+
+	// Running jobs are interrupted and mark themselves as FAILED; jobs still waiting for a thread are
+	// marked here. Waits for the running ones, so that their status is written before Redis is closed.
+	@Override
+	public void destroy() throws InterruptedException {
+		heartbeat.shutdownNow();
+		executor.shutdownNow();
+		if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			logger.warn("Broadcast jobs still running {} seconds after shutdown", SHUTDOWN_TIMEOUT_SECONDS);
+		}
+		for (String jobId : activeJobs) {
+			finishQuietly(Constants.BROADCAST_JOB_REDIS_KEY + jobId, BroadcastStatus.FAILED, 
+					"The application stopped before the job finished");
+		}
+	}
+
+	void runBroadcast(String jobId, BroadcastRequest request, EmailTemplate message) {
+		String redisKey = Constants.BROADCAST_JOB_REDIS_KEY + jobId;
+		redisTemplate.opsForHash().put(redisKey, "status", BroadcastStatus.RUNNING.name());
+		// Queuing more than the rate at once would break the cap, so pages are queued in chunks.
+		int chunkSize = Math.min(pageSize, ratePerSecond);
+		StringBuilder body = new StringBuilder(1024);
+		long startNanos = System.nanoTime();
+		long queued = 0;
+		int afterIdUser = 0;
+
+		try {
+			List<BroadcastRecipient> page;
+			do {
+				page = broadcastRecipientRepository.findRecipientsAfter(request.getRoles(),
+						request.getAccountStatuses(), request.getUserIds(), afterIdUser, pageSize);
+				for (int from = 0; from < page.size(); from += chunkSize) {
+					List<BroadcastRecipient> chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+					awaitRate(startNanos, queued);
+					List<EmailMessage> emails = new ArrayList<>(chunk.size());
+					for (BroadcastRecipient recipient : chunk) {
+						body.setLength(0);
+						message.render(body, recipient.getUsername(), null);
+						emails.add(new EmailMessage(recipient.getEmail(), message.getSubject(), body.toString()));
+					}
+					emailOutboxService.enqueueAll(emails, NotificationType.BROADCAST);
+					queued += chunk.size();
+					redisTemplate.opsForHash().increment(redisKey, "queued", chunk.size());
+				}
+				if (!page.isEmpty()) {
+					afterIdUser = page.get(page.size() - 1).getIdUser();
+				}
+			} while (page.size() == pageSize);
+
+			finish(redisKey, BroadcastStatus.COMPLETED, null);
+			logger.info("Broadcast {} completed: {} emails queued", jobId, queued);
+
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			finish(redisKey, BroadcastStatus.FAILED, "Interrupted after queuing " + queued + " emails");
+			logger.warn("Broadcast {} interrupted after queuing {} emails", jobId, queued);
+
+		} catch (RuntimeException ex) {
+			finish(redisKey, BroadcastStatus.FAILED, ex.getMessage());
+			logger.error("Broadcast {} failed after queuing {} emails: {}", jobId, queued, ex.getMessage(), ex);
+
+		} finally {
+			activeJobs.remove(jobId);
+		}
+	}
+	
+	// One write per job still queued or running on this instance. A failed write is retried with the
+	// next heartbeat, well before the job is considered abandoned.
+	private void sendHeartbeats() {
+		String now = LocalDateTime.now().toString();
+		for (String jobId : activeJobs) {
+			try {
+				redisTemplate.opsForHash().put(Constants.BROADCAST_JOB_REDIS_KEY + jobId, "heartbeatAt", now);
+			} catch (RuntimeException ex) {
+				logger.warn("Heartbeat of broadcast {} could not be written: {}", jobId, ex.getMessage());
+			}
+		}
+	}
+
+	// Waits until 'queued' emails are allowed by the rate, counted from the start of the job.
+	private void awaitRate(long startNanos, long queued) throws InterruptedException {
+		long dueNanos = startNanos + queued * TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		long waitNanos = dueNanos - System.nanoTime();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	private void finish(String redisKey, BroadcastStatus status, String error) {
+		Map<String, String> fields = new HashMap<>();
+		fields.put("status", status.name());
+		fields.put("finishedAt", LocalDateTime.now().toString());
+		if (error != null) {
+			fields.put("error", error);
+		}
+		redisTemplate.opsForHash().putAll(redisKey, fields);
+	}
+	
+	private void finishQuietly(String redisKey, BroadcastStatus status, String error) {
+		try {
+			finish(redisKey, status, error);
+		} catch (RuntimeException ex) {
+			logger.warn("Status of broadcast {} could not be written: {}", redisKey, ex.getMessage());
+		}
+	}
+
+	private static boolean isEmpty(Collection<?> criterion) {
+		return criterion == null || criterion.isEmpty();
+	}
+
+}
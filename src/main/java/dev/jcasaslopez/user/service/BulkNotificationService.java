@@ -0,0 +1,54 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.event.BulkNotifyingEvent;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.model.UserSummary;
+import dev.jcasaslopez.user.template.EmailTemplate;
+
+// Queues the emails of a BulkNotifyingEvent in the outbox, with one batch insert per chunk of 
+// 'bulk.users.notification-chunk-size' users. The template is looked up once for the whole event; 
+// as in NotificationService, emails are written in the default locale and queued within the transaction 
+// of the publisher.
+@Service
+public class BulkNotificationService {
+	
+	private static final Logger logger = LoggerFactory.getLogger(BulkNotificationService.class);
+
+	private final EmailOutboxService emailOutboxService;
+	private final EmailTemplateRegistry emailTemplateRegistry;
+	private final int chunkSize;
+
+	public BulkNotificationService(EmailOutboxService emailOutboxService, EmailTemplateRegistry emailTemplateRegistry,
+			@Value("${bulk.users.notification-chunk-size}") int chunkSize) {
+		this.emailOutboxService = emailOutboxService;
+		this.emailTemplateRegistry = emailTemplateRegistry;
+		this.chunkSize = chunkSize;
+	}
+	
+	@EventListener
+	public void onEvent(BulkNotifyingEvent event) {
+		List<UserSummary> users = event.getUsers();
+		EmailTemplate template = emailTemplateRegistry.getTemplate(event.getNotificationType(), 
+				event.getAccountStatus(), emailTemplateRegistry.getDefaultLocale());
+		for (int from = 0; from < users.size(); from += chunkSize) {
+			List<UserSummary> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+			List<EmailMessage> emails = new ArrayList<>(chunk.size());
+			for (UserSummary user : chunk) {
+				emails.add(new EmailMessage(user.getEmail(), template.getSubject(), 
+						emailTemplateRegistry.render(template, user.getUsername(), null)));
+			}
+			emailOutboxService.enqueueAll(emails, event.getNotificationType());
+		}
+		logger.info("{} notification emails queued for {} users", event.getNotificationType(), users.size());
+	}
+
+}
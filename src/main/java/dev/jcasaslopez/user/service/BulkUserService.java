@@ -0,0 +1,16 @@
+package dev.jcasaslopez.user.service;
+
+import dev.jcasaslopez.user.dto.BulkUserSelection;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.model.BulkUpdateResult;
+
+public interface BulkUserService {
+	
+	// Same rules as UserAccountService.updateAccountStatus(), except that users they reject (permanently 
+	// suspended, or already in the new status) are skipped instead of failing the whole operation.
+	BulkUpdateResult updateAccountStatus(BulkUserSelection selection, AccountStatus newAccountStatus);
+	
+	// Grants the ADMIN role. Users who already have it are skipped.
+	BulkUpdateResult upgradeUsers(BulkUserSelection selection);
+
+}
@@ -0,0 +1,190 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.jcasaslopez.user.dto.BulkUserSelection;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.event.BulkNotifyingEvent;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.BulkUpdateResult;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
+import dev.jcasaslopez.user.repository.BulkUserRepository;
+import dev.jcasaslopez.user.repository.UserRepository;
+
+// Bulk versions of updateAccountStatus() and upgradeUser(), e.g., to block thousands of abusive accounts
+// at once. Each operation runs in one transaction, whatever the number of users:
+// - The selected users are locked with a single SELECT ... FOR UPDATE, so the rules are checked against 
+//   rows that cannot change until the commit.
+// - The users the rules let through are changed with set-based statements (see BulkUserRepository), 
+//   then evicted from the second-level cache and pinned to the primary (see UserRepositoryCustomImpl).
+// - Any status other than ACTIVE revokes their sessions once the transaction has committed, with a 
+//   single Redis pipeline (see TokenService.revokeSessionsAfterCommit()).
+// - Status changes are notified with a single BulkNotifyingEvent, queued in the outbox within the same transaction.
+@Service
+public class BulkUserServiceImpl implements BulkUserService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkUserServiceImpl.class);
+
+	private final BulkUserRepository bulkUserRepository;
+	private final UserRepository userRepository;
+	private final RoleRegistry roleRegistry;
+	private final TokenService tokenService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final int maxKeys;
+	private final int maxUsers;
+
+	public BulkUserServiceImpl(BulkUserRepository bulkUserRepository, UserRepository userRepository,
+			RoleRegistry roleRegistry, TokenService tokenService, ApplicationEventPublisher eventPublisher,
+			@Value("${bulk.users.max-keys}") int maxKeys,
+			@Value("${bulk.users.max-users}") int maxUsers) {
+		this.bulkUserRepository = bulkUserRepository;
+		this.userRepository = userRepository;
+		this.roleRegistry = roleRegistry;
+		this.tokenService = tokenService;
+		this.eventPublisher = eventPublisher;
+		this.maxKeys = maxKeys;
+		this.maxUsers = maxUsers;
+	}
+
+	@Override
+	@Transactional
+	public BulkUpdateResult updateAccountStatus(BulkUserSelection selection, AccountStatus newAccountStatus) {
+		if (newAccountStatus == null) {
+			throw new InvalidRequestException("'newAccountStatus' is required");
+		}
+		SelectedUsers selected = lockSelectedUsers(selection);
+		List<UserSummary> changed = selected.users.stream()
+				.filter(user -> user.getAccountStatus() != AccountStatus.PERMANENTLY_SUSPENDED 
+						&& user.getAccountStatus() != newAccountStatus)
+				.toList();
+
+		if (!changed.isEmpty()) {
+			bulkUserRepository.updateAccountStatus(idsOf(changed), newAccountStatus);
+			userRepository.registerChanges(changed);
+			if (newAccountStatus != AccountStatus.ACTIVE) {
+				tokenService.revokeSessionsAfterCommit(changed.stream().map(UserSummary::getUsername).toList());
+			}
+			eventPublisher.publishEvent(new BulkNotifyingEvent(changed, newAccountStatus, 
+					NotificationType.UPDATE_ACCOUNT_STATUS));
+		}
+		logger.info("Bulk account status update to {}: {} users selected, {} updated", newAccountStatus, 
+				selected.users.size(), changed.size());
+		return new BulkUpdateResult(selected.users.size(), changed.size(), selected.users.size() - changed.size(), 
+				selected.notFound);
+	}
+
+	// Roles are read from the database on every request (see AuthenticationServiceImpl), so the new role 
+	// applies to the users' current sessions without issuing new tokens.
+	@Override
+	@Transactional
+	public BulkUpdateResult upgradeUsers(BulkUserSelection selection) {
+		SelectedUsers selected = lockSelectedUsers(selection);
+		List<UserSummary> changed = selected.users.stream()
+				.filter(user -> !user.getRoles().contains(RoleName.ROLE_ADMIN))
+				.toList();
+
+		if (!changed.isEmpty()) {
+			bulkUserRepository.addRole(idsOf(changed), roleRegistry.getRole(RoleName.ROLE_ADMIN).getIdRole());
+			userRepository.registerChanges(changed);
+		}
+		logger.info("Bulk upgrade to ADMIN: {} users selected, {} upgraded", selected.users.size(), changed.size());
+		return new BulkUpdateResult(selected.users.size(), changed.size(), selected.users.size() - changed.size(), 
+				selected.notFound);
+	}
+
+	private SelectedUsers lockSelectedUsers(BulkUserSelection selection) {
+		// Duplicates are removed, so each key counts once towards the limit.
+		List<Integer> ids = distinct(selection.getUserIds());
+		List<String> emails = distinct(selection.getEmails());
+		UserSearchFilter filter = new UserSearchFilter(selection.getAccountStatuses(), selection.getRoles(),
+				selection.getUsernamePrefix(), selection.getEmailPrefix());
+		boolean listed = !ids.isEmpty() || !emails.isEmpty();
+		boolean filtered = isPresent(filter.getAccountStatuses()) || isPresent(filter.getRoles()) 
+				|| filter.getUsernamePrefix() != null || filter.getEmailPrefix() != null;
+		if (listed == filtered) {
+			throw new InvalidRequestException("Either list the users ('userIds', 'emails') or give selection "
+					+ "criteria ('accountStatuses', 'roles', 'usernamePrefix', 'emailPrefix'), not both");
+		}
+
+		if (listed) {
+			if (ids.size() + emails.size() > maxKeys) {
+				throw new InvalidRequestException("No more than " + maxKeys + " user ids and emails can be listed at once");
+			}
+			if (ids.stream().anyMatch(Objects::isNull) || emails.stream().anyMatch(email -> email == null || email.isBlank())) {
+				throw new InvalidRequestException("User ids and emails cannot be null or blank");
+			}
+			List<UserSummary> users = bulkUserRepository.lockUsers(ids, emails);
+			return new SelectedUsers(users, countNotFound(users, ids, emails));
+		}
+
+		// A blank prefix would match every user.
+		if (isBlank(filter.getUsernamePrefix()) || isBlank(filter.getEmailPrefix())) {
+			throw new InvalidRequestException("'usernamePrefix' and 'emailPrefix' cannot be blank");
+		}
+		// One more user than allowed is read, to tell whether the criteria select too many.
+		List<UserSummary> users = bulkUserRepository.lockUsers(filter, maxUsers + 1);
+		if (users.size() > maxUsers) {
+			throw new InvalidRequestException("The criteria select more than " + maxUsers 
+					+ " users; narrow them down or list the users");
+		}
+		return new SelectedUsers(users, 0);
+	}
+
+	// Emails are unique regardless of case (MySQL's default collation), so they are compared lower-cased.
+	private static int countNotFound(List<UserSummary> users, List<Integer> ids, List<String> emails) {
+		Set<Integer> foundIds = new HashSet<>();
+		Set<String> foundEmails = new HashSet<>();
+		for (UserSummary user : users) {
+			foundIds.add(user.getIdUser());
+			foundEmails.add(user.getEmail().toLowerCase(Locale.ROOT));
+		}
+		long notFound = ids.stream().filter(id -> !foundIds.contains(id)).count()
+				+ emails.stream().filter(email -> !foundEmails.contains(email.toLowerCase(Locale.ROOT))).count();
+		return (int) notFound;
+	}
+
+	private static List<Integer> idsOf(List<UserSummary> users) {
+		return users.stream().map(UserSummary::getIdUser).toList();
+	}
+
+	private static <T> List<T> distinct(List<T> keys) {
+		return keys == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(keys));
+	}
+
+	private static boolean isPresent(Collection<?> criterion) {
+		return criterion != null && !criterion.isEmpty();
+	}
+
+	private static boolean isBlank(String prefix) {
+		return prefix != null && prefix.isBlank();
+	}
+
+	private static class SelectedUsers {
+
+		private final List<UserSummary> users;
+		private final int notFound;
+
+		SelectedUsers(List<UserSummary> users, int notFound) {
+			this.users = users;
+			this.notFound = notFound;
+		}
+	}
+
+}
@@ -0,0 +1,24 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.List;
+
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.model.EmailMessage;
+
+public interface EmailOutboxService {
+	
+	void enqueue(String recipient, String subject, String body, NotificationType notificationType);
+	
+	// Queues all the emails with a single batch insert.
+	void enqueueAll(List<EmailMessage> emails, NotificationType notificationType);
+	
+	// Claims a batch of due emails from the highest lane that has any, sends them and records 
+	// the results. Returns the batch size.
+	int dispatchDueEmails();
+	
+	// Updates the queue depth and lag gauges of every lane.
+	void refreshQueueMetrics();
+	
+	int purgeSentEmails();
+
+}
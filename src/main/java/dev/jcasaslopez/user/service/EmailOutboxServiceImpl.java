@@ -0,0 +1,299 @@
+package dev.jcasaslopez.user.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.jcasaslopez.user.entity.OutboxEmail;
+import dev.jcasaslopez.user.enums.EmailPriority;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.OutboxStatus;
+import dev.jcasaslopez.user.event.EmailQueuedEvent;
+import dev.jcasaslopez.user.mail.SendRateLimiter;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.model.OutboxLaneStats;
+import dev.jcasaslopez.user.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+
+// Emails are sent from three lanes (EmailPriority, set per NotificationType): every dispatch serves
+// the highest lane with due emails, so a password reset is not queued behind a broadcast.
+// 
+// Sends are limited by a token bucket matching the provider's limit (SendRateLimiter). HIGH emails
+// can use every token, while the other lanes leave 'notification.outbox.high-priority-reserve' tokens
+// in the bucket, so a broadcast cannot take the whole quota.
+//
+// If an email of the same type to the same recipient, queued less than
+// 'notification.outbox.coalesce-window-seconds' ago, is still waiting, the new email replaces its
+// content instead of being queued too: e.g., a user who asks for a password reset three times in a
+// row only gets the last link.
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+	
+	private static final Logger logger = LoggerFactory.getLogger(EmailOutboxServiceImpl.class);
+	
+	// Size of the email_outbox.lastError column.
+	private static final int MAX_ERROR_LENGTH = 500;
+	
+	private final OutboxEmailRepository outboxEmailRepository;
+	private final EmailService emailService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final long leaseSeconds;
+	private final long retryBaseDelaySeconds;
+	private final long retryMaxDelaySeconds;
+	private final long retentionDays;
+	private final SendRateLimiter sendRateLimiter;
+	private final int highPriorityReserve;
+	private final Duration coalesceWindow;
+	
+	private final Map<EmailPriority, AtomicLong> pendingEmails = new EnumMap<>(EmailPriority.class);
+	private final Map<EmailPriority, AtomicLong> lagSeconds = new EnumMap<>(EmailPriority.class);
+	private final Map<EmailPriority, Counter> sentCounters = new EnumMap<>(EmailPriority.class);
+	private final Counter coalescedCounter;
+
+	public EmailOutboxServiceImpl(OutboxEmailRepository outboxEmailRepository, EmailService emailService,
+			ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+			SendRateLimiter sendRateLimiter, MeterRegistry meterRegistry,
+			@Value("${notification.outbox.batch-size}") int batchSize,
+			@Value("${notification.outbox.max-attempts}") int maxAttempts,
+			@Value("${notification.outbox.lease-seconds}") long leaseSeconds,
+			@Value("${notification.outbox.retry-base-delay-seconds}") long retryBaseDelaySeconds,
+			@Value("${notification.outbox.retry-max-delay-seconds}") long retryMaxDelaySeconds,
+			@Value("${notification.outbox.retention-days}") long retentionDays,
+			@Value("${notification.outbox.high-priority-reserve}") int highPriorityReserve,
+			@Value("${notification.outbox.coalesce-window-seconds}") long coalesceWindowSeconds) {
+		this.outboxEmailRepository = outboxEmailRepository;
+		this.emailService = emailService;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.leaseSeconds = leaseSeconds;
+		this.retryBaseDelaySeconds = retryBaseDelaySeconds;
+		this.retryMaxDelaySeconds = retryMaxDelaySeconds;
+		this.retentionDays = retentionDays;
+		this.sendRateLimiter = sendRateLimiter;
+		this.highPriorityReserve = highPriorityReserve;
+		this.coalesceWindow = Duration.ofSeconds(coalesceWindowSeconds);
+		
+		// Depth and lag are refreshed by refreshQueueMetrics(), not computed on every scrape.
+		for (EmailPriority priority : EmailPriority.values()) {
+			String lane = priority.name();
+			pendingEmails.put(priority, new AtomicLong());
+			lagSeconds.put(priority, new AtomicLong());
+			Gauge.builder("email.outbox.pending", pendingEmails.get(priority), AtomicLong::get)
+				.description("Emails waiting in the outbox").tag("priority", lane).register(meterRegistry);
+			Gauge.builder("email.outbox.lag", lagSeconds.get(priority), AtomicLong::get)
+				.description("Time the oldest pending email has been waiting").baseUnit("seconds")
+				.tag("priority", lane).register(meterRegistry);
+			sentCounters.put(priority, Counter.builder("email.outbox.sent")
+				.description("Emails sent from the outbox").tag("priority", lane).register(meterRegistry));
+		}
+		Gauge.builder("email.outbox.rate.tokens", sendRateLimiter, SendRateLimiter::getAvailableTokens)
+			.description("Sends allowed right now by the provider's rate limit").register(meterRegistry);
+		this.coalescedCounter = Counter.builder("email.outbox.coalesced")
+			.description("Emails that replaced an identical pending one").register(meterRegistry);
+	}
+
+	// Joins the caller's transaction if there is one (save() is transactional), so the email is only 
+	// queued if the change that triggered it is committed.
+	@Override
+	public void enqueue(String recipient, String subject, String body, NotificationType notificationType) {
+		LocalDateTime now = LocalDateTime.now();
+		if (!coalesceWindow.isZero() && outboxEmailRepository.replacePending(recipient, notificationType.name(),
+				now.minus(coalesceWindow), subject, body) > 0) {
+			coalescedCounter.increment();
+			logger.debug("Pending {} email to the same recipient replaced in the outbox", notificationType);
+			return;
+		}
+		OutboxEmail email = outboxEmailRepository.save(
+				new OutboxEmail(recipient, subject, body, notificationType, now));
+		logger.debug("Email {} ({}) queued in the outbox", email.getIdEmail(), notificationType);
+		eventPublisher.publishEvent(new EmailQueuedEvent(notificationType, 1));
+	}
+	
+	@Override
+	public void enqueueAll(List<EmailMessage> emails, NotificationType notificationType) {
+		if (emails.isEmpty()) {
+			return;
+		}
+		outboxEmailRepository.insertAll(emails, notificationType, LocalDateTime.now());
+		logger.debug("{} emails ({}) queued in the outbox", emails.size(), notificationType);
+		eventPublisher.publishEvent(new EmailQueuedEvent(notificationType, emails.size()));
+	}
+	
+	// The rows are claimed in a short transaction: each one gets a lease (nextAttemptAt is pushed 
+	// forward) and the transaction commits before any SMTP traffic, so no row lock is held while sending.
+	// If this instance dies before recording the result, the email is sent again once the lease expires.
+	//
+	// Only as many emails as there are tokens are claimed; the tokens left unused go back to the bucket.
+	@Override
+	public int dispatchDueEmails() {
+		for (EmailPriority priority : EmailPriority.values()) {
+			int reserve = priority == EmailPriority.HIGH ? 0 : highPriorityReserve;
+			int permits = sendRateLimiter.tryAcquire(batchSize, reserve);
+			if (permits == 0) {
+				continue;
+			}
+			List<OutboxEmail> claimedEmails = transactionTemplate.execute(status -> claimDueEmails(priority, permits));
+			int claimed = claimedEmails == null ? 0 : claimedEmails.size();
+			sendRateLimiter.release(permits - claimed);
+			if (claimed == 0) {
+				continue;
+			}
+			if (claimed == 1) {
+				send(claimedEmails.get(0));
+			} else {
+				sendBatch(claimedEmails);
+			}
+			return claimed;
+		}
+		return 0;
+	}
+	
+	@Override
+	public void refreshQueueMetrics() {
+		Map<EmailPriority, OutboxLaneStats> statsByPriority = new EnumMap<>(EmailPriority.class);
+		for (OutboxLaneStats stats : outboxEmailRepository.findPendingStatsByPriority()) {
+			statsByPriority.put(stats.getPriority(), stats);
+		}
+		LocalDateTime now = LocalDateTime.now();
+		for (EmailPriority priority : EmailPriority.values()) {
+			OutboxLaneStats stats = statsByPriority.get(priority);
+			pendingEmails.get(priority).set(stats == null ? 0 : stats.getPendingEmails());
+			lagSeconds.get(priority).set(stats == null ? 0 
+					: Math.max(0, Duration.between(stats.getOldestCreatedAt(), now).toSeconds()));
+		}
+	}
+	
+	@Override
+	public int purgeSentEmails() {
+		int deleted = outboxEmailRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+		if (deleted > 0) {
+			logger.info("{} sent emails older than {} days deleted from the outbox", deleted, retentionDays);
+		}
+		return deleted;
+	}
+	
+	private List<OutboxEmail> claimDueEmails(EmailPriority priority, int limit) {
+		LocalDateTime now = LocalDateTime.now();
+		List<OutboxEmail> dueEmails = outboxEmailRepository.findDueForUpdate(priority.ordinal(), now, limit);
+		for (OutboxEmail email : dueEmails) {
+			email.setAttempts(email.getAttempts() + 1);
+			email.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+		}
+		return dueEmails;
+	}
+	
+	private void send(OutboxEmail email) {
+		try {
+			emailService.sendEmail(email.getRecipient(), email.getSubject(), email.getBody());
+			outboxEmailRepository.markSent(List.of(email.getIdEmail()), LocalDateTime.now());
+			sentCounters.get(email.getPriority()).increment();
+		} catch (RuntimeException ex) {
+			recordFailure(email, ex);
+		}
+	}
+	
+	// The whole batch goes over one SMTP connection, and the sent emails are marked in a single update.
+	private void sendBatch(List<OutboxEmail> emails) {
+		List<EmailMessage> messages = new ArrayList<>(emails.size());
+		for (OutboxEmail email : emails) {
+			messages.add(new EmailMessage(email.getRecipient(), email.getSubject(), email.getBody()));
+		}
+		Map<EmailMessage, MailException> failedMessages = emailService.sendEmails(messages);
+		
+		List<Long> sentIds = new ArrayList<>(emails.size());
+		for (int i = 0; i < emails.size(); i++) {
+			MailException failure = failedMessages.get(messages.get(i));
+			if (failure == null) {
+				sentIds.add(emails.get(i).getIdEmail());
+			} else {
+				recordFailure(emails.get(i), failure);
+			}
+		}
+		if (!sentIds.isEmpty()) {
+			outboxEmailRepository.markSent(sentIds, LocalDateTime.now());
+			// A claim only returns emails from one lane.
+			sentCounters.get(emails.get(0).getPriority()).increment(sentIds.size());
+		}
+	}
+	
+	private void recordFailure(OutboxEmail email, RuntimeException ex) {
+		// The message could not be built (e.g., invalid address), or the server rejected every recipient
+		// for good: retrying would not help.
+		if (ex instanceof MailPreparationException || isRecipientRejected(ex)) {
+			logger.error("Email {} cannot be sent and will not be retried: {}", email.getIdEmail(), ex.getMessage());
+			outboxEmailRepository.markFailedAttempt(email.getIdEmail(), OutboxStatus.FAILED, 
+					email.getNextAttemptAt(), truncate(ex.getMessage()));
+			
+		} else if (email.getAttempts() >= maxAttempts) {
+			logger.error("Email {} failed after {} attempts: {}", email.getIdEmail(), email.getAttempts(), ex.getMessage());
+			outboxEmailRepository.markFailedAttempt(email.getIdEmail(), OutboxStatus.FAILED, 
+					email.getNextAttemptAt(), truncate(ex.getMessage()));
+			
+		} else {
+			long delaySeconds = retryDelaySeconds(email.getAttempts());
+			logger.warn("Email {} failed (attempt {} of {}), retrying in {} seconds: {}", email.getIdEmail(), 
+					email.getAttempts(), maxAttempts, delaySeconds, ex.getMessage());
+			outboxEmailRepository.markFailedAttempt(email.getIdEmail(), OutboxStatus.PENDING, 
+					LocalDateTime.now().plusSeconds(delaySeconds), truncate(ex.getMessage()));
+		}
+	}
+	
+	// Jakarta Mail lists the recipients refused with a permanent (5xx) reply as invalid, and those refused
+	// with a transient (4xx) reply as valid but unsent. Only a failure with no valid recipient at all is
+	// final. The SendFailedException is either in the cause chain (batch sends) or among the failed
+	// messages of a MailSendException (single sends).
+	private static boolean isRecipientRejected(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SendFailedException sendFailed) {
+				return !isEmpty(sendFailed.getInvalidAddresses())
+						&& isEmpty(sendFailed.getValidSentAddresses())
+						&& isEmpty(sendFailed.getValidUnsentAddresses());
+			}
+			if (cause instanceof MailSendException mailSend && mailSend.getFailedMessages().size() == 1) {
+				return isRecipientRejected(mailSend.getFailedMessages().values().iterator().next());
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isEmpty(Object[] addresses) {
+		return addresses == null || addresses.length == 0;
+	}
+	
+	// Exponential backoff: base, 2x, 4x... capped at the maximum delay.
+	private long retryDelaySeconds(int attempts) {
+		int exponent = Math.min(attempts - 1, 30);
+		return Math.min(retryBaseDelaySeconds << exponent, retryMaxDelaySeconds);
+	}
+	
+	private String truncate(String error) {
+		if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+			return error;
+		}
+		return error.substring(0, MAX_ERROR_LENGTH);
+	}
+
+}
@@ -0,0 +1,135 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import dev.jcasaslopez.user.event.EmailQueuedEvent;
+import dev.jcasaslopez.user.utilities.ThreadFactories;
+
+// Pool of workers that send the emails queued in the outbox. Every worker polls the outbox on its own, 
+// and claims rows with SELECT ... FOR UPDATE SKIP LOCKED, so they can run on any number of instances 
+// at the same time. Setting 'notification.outbox.workers' to 0 turns an instance into a producer only.
+//
+// The workers are platform threads even when virtual threads are enabled: Jakarta Mail's SMTPTransport
+// holds a monitor (synchronized) during the whole SMTP conversation, which would pin the carrier thread.
+@Component
+public class EmailOutboxWorker implements SmartLifecycle {
+	
+	private static final Logger logger = LoggerFactory.getLogger(EmailOutboxWorker.class);
+	
+	private final EmailOutboxService emailOutboxService;
+	private final int workers;
+	private final long pollIntervalMillis;
+	private final int batchSize;
+	private final long metricsRefreshSeconds;
+	
+	private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+	private volatile ScheduledExecutorService executor;
+
+	public EmailOutboxWorker(EmailOutboxService emailOutboxService,
+			@Value("${notification.outbox.workers}") int workers,
+			@Value("${notification.outbox.poll-interval-ms}") long pollIntervalMillis,
+			@Value("${notification.outbox.batch-size}") int batchSize,
+			@Value("${notification.outbox.metrics-refresh-seconds}") long metricsRefreshSeconds) {
+		this.emailOutboxService = emailOutboxService;
+		this.workers = workers;
+		this.pollIntervalMillis = pollIntervalMillis;
+		this.batchSize = batchSize;
+		this.metricsRefreshSeconds = metricsRefreshSeconds;
+	}
+	
+	// Emails queued by this instance are sent right after the commit. Without a transaction 
+	// (fallbackExecution), the outbox row has already been committed by save().
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmailQueued(EmailQueuedEvent event) {
+		ScheduledExecutorService currentExecutor = executor;
+		// Several emails queued in a row only trigger one extra run.
+		if (currentExecutor != null && wakeUpPending.compareAndSet(false, true)) {
+			currentExecutor.execute(() -> {
+				wakeUpPending.set(false);
+				drain();
+			});
+		}
+	}
+
+	@Override
+	public void start() {
+		if (workers <= 0) {
+			logger.info("Email outbox workers disabled on this instance");
+			return;
+		}
+		ScheduledExecutorService newExecutor = Executors.newScheduledThreadPool(workers, 
+				ThreadFactories.newThreadFactory("email-outbox-", false));
+		for (int i = 0; i < workers; i++) {
+			newExecutor.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+		}
+		newExecutor.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+		newExecutor.scheduleWithFixedDelay(this::refreshMetrics, 0, metricsRefreshSeconds, TimeUnit.SECONDS);
+		executor = newExecutor;
+		logger.info("{} email outbox workers started", workers);
+	}
+
+	// Emails being sent when the application stops are finished if possible. Otherwise their lease
+	// expires and they are sent again by the next worker that claims them.
+	@Override
+	public void stop() {
+		ScheduledExecutorService currentExecutor = executor;
+		executor = null;
+		if (currentExecutor == null) {
+			return;
+		}
+		currentExecutor.shutdown();
+		try {
+			if (!currentExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+				currentExecutor.shutdownNow();
+			}
+		} catch (InterruptedException ex) {
+			currentExecutor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return executor != null;
+	}
+	
+	// Keeps claiming batches while they come back full, so a backlog is cleared without waiting for the next poll.
+	private void drain() {
+		try {
+			int claimed;
+			do {
+				claimed = emailOutboxService.dispatchDueEmails();
+			} while (claimed == batchSize && executor != null);
+		} catch (RuntimeException ex) {
+			// An exception would cancel the periodic task, so it is logged and the worker polls again later.
+			logger.error("Email outbox worker failed: {}", ex.getMessage(), ex);
+		}
+	}
+	
+	private void purge() {
+		try {
+			emailOutboxService.purgeSentEmails();
+		} catch (RuntimeException ex) {
+			logger.error("Email outbox purge failed: {}", ex.getMessage(), ex);
+		}
+	}
+	
+	private void refreshMetrics() {
+		try {
+			emailOutboxService.refreshQueueMetrics();
+		} catch (RuntimeException ex) {
+			logger.error("Email outbox metrics refresh failed: {}", ex.getMessage(), ex);
+		}
+	}
+
+}
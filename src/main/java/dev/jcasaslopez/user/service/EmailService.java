@@ -1,7 +1,18 @@
 package dev.jcasaslopez.user.service;
 
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.mail.MailException;
+
+import dev.jcasaslopez.user.model.EmailMessage;
+
 public interface EmailService {
 
 	void sendEmail(String recipient, String subject, String message);
+	
+	// Sends all the emails over the same SMTP connection. Returns the emails that could not be sent, 
+	// with the reason, so an empty map means that every email was sent.
+	Map<EmailMessage, MailException> sendEmails(List<EmailMessage> emails);
 
 }
\ No newline at end of file
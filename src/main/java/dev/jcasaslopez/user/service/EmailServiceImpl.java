@@ -1,11 +1,25 @@
 package dev.jcasaslopez.user.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
+import dev.jcasaslopez.user.jfr.EmailSendEvent;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.EmailMessage;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
@@ -15,15 +29,78 @@ public class EmailServiceImpl implements EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
 	private JavaMailSender mailSender;
+	private AuthMetrics authMetrics;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    public EmailServiceImpl(JavaMailSender mailSender, AuthMetrics authMetrics) {
 		this.mailSender = mailSender;
+		this.authMetrics = authMetrics;
 	}
 
     // Message format is HTTP.
+    // Failures are propagated (as MailException) so that the outbox can retry or record them.
 	@Override
 	public void sendEmail(String recipient, String subject, String message) {
-    	
+		EmailSendEvent event = new EmailSendEvent();
+		event.begin();
+		long start = System.nanoTime();
+		try {
+			mailSender.send(buildMimeMessage(recipient, subject, message));
+		} catch (MailException ex) {
+			authMetrics.record(AuthStage.EMAIL_SEND, AuthOutcome.FAILURE, start);
+			event.complete(1, 1);
+			throw ex;
+		}
+		authMetrics.record(AuthStage.EMAIL_SEND, AuthOutcome.SUCCESS, start);
+		event.complete(1, 0);
+		logger.info("Email successfully sent to: {}", recipient);
+    }
+	
+	// JavaMailSender.send(MimeMessage...) sends every message over a single connection, and reports 
+	// the messages that failed (keyed by MimeMessage) in the MailSendException.
+	@Override
+	public Map<EmailMessage, MailException> sendEmails(List<EmailMessage> emails) {
+		Map<EmailMessage, MailException> failedEmails = new HashMap<>();
+		Map<MimeMessage, EmailMessage> emailsByMimeMessage = new IdentityHashMap<>();
+		List<MimeMessage> mimeMessages = new ArrayList<>(emails.size());
+		
+		for (EmailMessage email : emails) {
+			try {
+				MimeMessage mimeMessage = buildMimeMessage(email.getRecipient(), email.getSubject(), email.getBody());
+				emailsByMimeMessage.put(mimeMessage, email);
+				mimeMessages.add(mimeMessage);
+			} catch (MailPreparationException ex) {
+				failedEmails.put(email, ex);
+			}
+		}
+		if (mimeMessages.isEmpty()) {
+			return failedEmails;
+		}
+		
+		EmailSendEvent event = new EmailSendEvent();
+		event.begin();
+		long start = System.nanoTime();
+		try {
+			mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+		} catch (MailSendException ex) {
+			if (ex.getFailedMessages().isEmpty()) {
+				emailsByMimeMessage.values().forEach(email -> failedEmails.put(email, ex));
+			} else {
+				ex.getFailedMessages().forEach((mimeMessage, cause) -> failedEmails.put(
+						emailsByMimeMessage.get(mimeMessage), new MailSendException(cause.getMessage(), cause)));
+			}
+		// E.g., MailAuthenticationException: none of the emails was sent.
+		} catch (MailException ex) {
+			emailsByMimeMessage.values().forEach(email -> failedEmails.put(email, ex));
+		}
+		
+		// One sample per SMTP session, however many emails it carried.
+		authMetrics.record(AuthStage.EMAIL_SEND, failedEmails.isEmpty() ? AuthOutcome.SUCCESS : AuthOutcome.FAILURE, start);
+		event.complete(emails.size(), failedEmails.size());
+		logger.info("{} of {} emails successfully sent", emails.size() - failedEmails.size(), emails.size());
+		return failedEmails;
+	}
+	
+	private MimeMessage buildMimeMessage(String recipient, String subject, String message) {
         try {
             MimeMessage mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
@@ -31,13 +108,11 @@ public class EmailServiceImpl implements EmailService {
             helper.setTo(recipient);
             helper.setSubject(subject);
             helper.setText(message, true); 
-
-            mailSender.send(mimeMessage);
-            
-            logger.info("Email successfully sent to: {}", recipient);
+            return mimeMessage;
             
         } catch (MessagingException ex) {
-            logger.error("Failed to send email to {}: {}", recipient, ex.getMessage(), ex);
+            logger.error("Failed to build email to {}: {}", recipient, ex.getMessage(), ex);
+            throw new MailPreparationException("Failed to build email: " + ex.getMessage(), ex);
         }
-    }
+	}
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.Locale;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.template.EmailTemplate;
+
+public interface EmailTemplateRegistry {
+	
+	// The account status is only used by UPDATE_ACCOUNT_STATUS, which has one template per status.
+	// Locales without templates get the default locale.
+	EmailTemplate getTemplate(NotificationType notificationType, AccountStatus accountStatus, Locale locale);
+	
+	String render(EmailTemplate template, String username, String token);
+	
+	Locale getDefaultLocale();
+
+}
\ No newline at end of file
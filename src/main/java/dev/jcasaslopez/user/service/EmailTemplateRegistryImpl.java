@@ -0,0 +1,127 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.template.EmailTemplate;
+import dev.jcasaslopez.user.template.TemplateVariable;
+
+// Compiles every notification email (one per NotificationType, and one per AccountStatus for
+// UPDATE_ACCOUNT_STATUS) for every configured locale when the application starts. The texts are
+// in i18n/email-templates*.properties. A missing text or an unknown placeholder stops the startup,
+// instead of failing later when the email is sent.
+//
+// Each thread renders into its own StringBuilder, which is reused from one email to the next.
+@Service
+public class EmailTemplateRegistryImpl implements EmailTemplateRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRegistryImpl.class);
+
+	private static final String BUNDLE_NAME = "i18n/email-templates";
+	// Builders that grew beyond this size (an unusually long email) are not kept.
+	private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+	private static final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+	private final Locale defaultLocale;
+	private final Map<Locale, EnumMap<NotificationType, EmailTemplate>> templates = new HashMap<>();
+	private final Map<Locale, EnumMap<AccountStatus, EmailTemplate>> accountStatusTemplates = new HashMap<>();
+
+	// The first locale is the default one. The lockout email states the longest login lock the
+	// throttling engine can set, rounded up to whole minutes.
+	public EmailTemplateRegistryImpl(@Value("${frontend.url.angular}") String urlAngular,
+			@Value("${notification.email.locales}") List<String> locales,
+			@Value("${security.auth.throttle.max-delay-seconds}") long maxLockDelayInSeconds) {
+		Map<String, String> constants = Map.of("frontendUrl", urlAngular,
+				"maxLockMinutes", String.valueOf((maxLockDelayInSeconds + 59) / 60));
+		for (String languageTag : locales) {
+			compileTemplates(Locale.forLanguageTag(languageTag.trim()), constants);
+		}
+		this.defaultLocale = Locale.forLanguageTag(locales.get(0).trim());
+		logger.info("Email templates compiled for locales {}", templates.keySet());
+	}
+
+	@Override
+	public EmailTemplate getTemplate(NotificationType notificationType, AccountStatus accountStatus, Locale locale) {
+		Locale supportedLocale = resolveLocale(locale);
+		if (notificationType == NotificationType.UPDATE_ACCOUNT_STATUS) {
+			return accountStatusTemplates.get(supportedLocale).get(accountStatus);
+		}
+		return templates.get(supportedLocale).get(notificationType);
+	}
+
+	@Override
+	public String render(EmailTemplate template, String username, String token) {
+		StringBuilder builder = builders.get();
+		builder.setLength(0);
+		template.render(builder, username, token);
+		String body = builder.toString();
+		if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+			builders.remove();
+		}
+		return body;
+	}
+
+	@Override
+	public Locale getDefaultLocale() {
+		return defaultLocale;
+	}
+
+	// Exact match first (e.g., es-ES), then the language alone (es), then the default locale.
+	private Locale resolveLocale(Locale locale) {
+		if (locale == null) {
+			return defaultLocale;
+		}
+		if (templates.containsKey(locale)) {
+			return locale;
+		}
+		Locale language = Locale.forLanguageTag(locale.getLanguage());
+		return templates.containsKey(language) ? language : defaultLocale;
+	}
+
+	private void compileTemplates(Locale locale, Map<String, String> constants) {
+		ResourceBundle bundle = ResourceBundle.getBundle(BUNDLE_NAME, locale,
+				ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES));
+		String greeting = bundle.getString("greeting");
+		String farewell = bundle.getString("farewell");
+
+		EnumMap<NotificationType, EmailTemplate> localeTemplates = new EnumMap<>(NotificationType.class);
+		EnumMap<AccountStatus, EmailTemplate> localeAccountStatusTemplates = new EnumMap<>(AccountStatus.class);
+		for (NotificationType notificationType : NotificationType.values()) {
+			if (!notificationType.hasTemplate()) {
+				continue;
+			}
+			String subject = bundle.getString(notificationType.name() + ".subject");
+			if (notificationType == NotificationType.UPDATE_ACCOUNT_STATUS) {
+				for (AccountStatus accountStatus : AccountStatus.values()) {
+					String body = bundle.getString(notificationType.name() + "." + accountStatus.name() + ".body");
+					localeAccountStatusTemplates.put(accountStatus,
+							EmailTemplate.compile(subject, greeting + body + farewell, constants));
+				}
+			} else {
+				String body = bundle.getString(notificationType.name() + ".body");
+				EmailTemplate template = EmailTemplate.compile(subject, greeting + body + farewell, constants);
+				if (notificationType.carriesToken() && !template.uses(TemplateVariable.TOKEN)) {
+					throw new MissingResourceException("Template " + notificationType + " for locale " + locale
+							+ " does not include the {token} placeholder", BUNDLE_NAME, notificationType.name() + ".body");
+				}
+				localeTemplates.put(notificationType, template);
+			}
+		}
+		templates.put(locale, localeTemplates);
+		accountStatusTemplates.put(locale, localeAccountStatusTemplates);
+	}
+
+}
@@ -0,0 +1,15 @@
+package dev.jcasaslopez.user.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+
+public interface LoginAttemptExportService {
+	
+	// Writes the matching login attempts to 'outputStream' as they are read, and returns how many were written.
+	long exportLoginAttempts(LoginAttemptExportFilter filter, ExportFormat format, OutputStream outputStream)
+			throws IOException;
+
+}
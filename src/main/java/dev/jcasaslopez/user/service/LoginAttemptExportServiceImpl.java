@@ -0,0 +1,163 @@
+package dev.jcasaslopez.user.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginAttemptRecord;
+import dev.jcasaslopez.user.repository.LoginAttemptExportRepository;
+
+// Streams login attempts from the database cursor (see LoginAttemptExportRepository) straight to the
+// output stream: each row is written as soon as it is read, and only the writer's buffer is kept in
+// memory. NDJSON is written with Jackson's streaming generator rather than by serializing objects.
+@Service
+public class LoginAttemptExportServiceImpl implements LoginAttemptExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoginAttemptExportServiceImpl.class);
+	
+	static final String CSV_HEADER = "idLoginAttempt,timestamp,successful,ipAddress,loginFailureReason,idUser,username,attemptedUsername";
+
+	private final LoginAttemptExportRepository loginAttemptExportRepository;
+	private final JsonFactory jsonFactory;
+
+	public LoginAttemptExportServiceImpl(LoginAttemptExportRepository loginAttemptExportRepository,
+			ObjectMapper objectMapper) {
+		this.loginAttemptExportRepository = loginAttemptExportRepository;
+		this.jsonFactory = objectMapper.getFactory();
+	}
+
+	@Override
+	public long exportLoginAttempts(LoginAttemptExportFilter filter, ExportFormat format, OutputStream outputStream)
+			throws IOException {
+		long start = System.nanoTime();
+		long rows;
+		// The rows are written from within the repository's row callback, which cannot throw IOException.
+		try {
+			rows = switch (format) {
+				case NDJSON -> writeNdjson(filter, outputStream);
+				case CSV -> writeCsv(filter, outputStream);
+			};
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		logger.info("Exported {} login attempts as {} in {} ms", rows, format,
+				(System.nanoTime() - start) / 1_000_000);
+		return rows;
+	}
+
+	private long writeNdjson(LoginAttemptExportFilter filter, OutputStream outputStream) throws IOException {
+		try (JsonGenerator generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Lines are ended by writeJson(); by default Jackson would also put a space between objects.
+			generator.setRootValueSeparator(null);
+			long rows = loginAttemptExportRepository.forEachLoginAttempt(filter, attempt -> {
+				try {
+					writeJson(generator, attempt);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+			generator.flush();
+			return rows;
+		}
+	}
+
+	private long writeCsv(LoginAttemptExportFilter filter, OutputStream outputStream) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+		writer.write(CSV_HEADER);
+		writer.write("\r\n");
+		long rows = loginAttemptExportRepository.forEachLoginAttempt(filter, attempt -> {
+			try {
+				writeCsvLine(writer, attempt);
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+		writer.flush();
+		return rows;
+	}
+
+	private static void writeJson(JsonGenerator generator, LoginAttemptRecord attempt) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("idLoginAttempt", attempt.getIdLoginAttempt());
+		generator.writeStringField("timestamp", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(attempt.getTimestamp()));
+		generator.writeBooleanField("successful", attempt.isSuccessful());
+		generator.writeStringField("ipAddress", attempt.getIpAddress());
+		generator.writeStringField("loginFailureReason",
+				attempt.getLoginFailureReason() == null ? null : attempt.getLoginFailureReason().name());
+		if (attempt.getIdUser() == null) {
+			generator.writeNullField("idUser");
+		} else {
+			generator.writeNumberField("idUser", attempt.getIdUser());
+		}
+		generator.writeStringField("username", attempt.getUsername());
+		generator.writeStringField("attemptedUsername", attempt.getAttemptedUsername());
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	// Empty fields stand for null values.
+	private static void writeCsvLine(Writer writer, LoginAttemptRecord attempt) throws IOException {
+		writer.write(Long.toString(attempt.getIdLoginAttempt()));
+		writer.write(',');
+		writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(attempt.getTimestamp()));
+		writer.write(',');
+		writer.write(Boolean.toString(attempt.isSuccessful()));
+		writer.write(',');
+		writeCsvField(writer, attempt.getIpAddress());
+		writer.write(',');
+		if (attempt.getLoginFailureReason() != null) {
+			writer.write(attempt.getLoginFailureReason().name());
+		}
+		writer.write(',');
+		if (attempt.getIdUser() != null) {
+			writer.write(attempt.getIdUser().toString());
+		}
+		writer.write(',');
+		writeCsvField(writer, attempt.getUsername());
+		writer.write(',');
+		writeCsvField(writer, attempt.getAttemptedUsername());
+		writer.write("\r\n");
+	}
+
+	// Fields containing a comma, a quote or a line break are quoted, and their quotes doubled (RFC 4180).
+	// Usernames are whatever was typed in the login form, so a field that a spreadsheet would take for a
+	// formula (starting with =, +, - or @) is prefixed with an apostrophe to be shown as text instead.
+	private static void writeCsvField(Writer writer, String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+			value = "'" + value;
+		}
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+}
@@ -5,7 +5,9 @@ import dev.jcasaslopez.user.enums.LoginFailureReason;
 
 public interface LoginAttemptService {
 
+	// 'attemptedUsername' is the username sent with the attempt (null if missing), 'user' the user
+	// it belongs to, if any.
 	void recordAttempt(boolean successful, String ipAddress, LoginFailureReason reason,
-			User user);
+			String attemptedUsername, User user);
 
 }
\ No newline at end of file
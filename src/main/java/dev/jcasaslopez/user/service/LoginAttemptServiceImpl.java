@@ -8,27 +8,57 @@ import org.springframework.stereotype.Service;
 
 import dev.jcasaslopez.user.entity.LoginAttempt;
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
 import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.jfr.LoginAttemptEvent;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
 import dev.jcasaslopez.user.repository.LoginAttemptRepository;
 
 @Service
 public class LoginAttemptServiceImpl implements LoginAttemptService {
 	
     private static final Logger logger = LoggerFactory.getLogger(LoginAttemptServiceImpl.class);
+    
+    // Length of login_attempts.attemptedUsername.
+    private static final int MAX_ATTEMPTED_USERNAME_LENGTH = 100;
 
     private final LoginAttemptRepository loginAttemptRepository;
+    private final AuthMetrics authMetrics;
+    private final LoginStatsService loginStatsService;
 
-    public LoginAttemptServiceImpl(LoginAttemptRepository loginAttemptRepository) {
+    public LoginAttemptServiceImpl(LoginAttemptRepository loginAttemptRepository, AuthMetrics authMetrics,
+    		LoginStatsService loginStatsService) {
         this.loginAttemptRepository = loginAttemptRepository;
+        this.authMetrics = authMetrics;
+        this.loginStatsService = loginStatsService;
     }
 
+    // Every login attempt goes through here, so it is also where they are counted by result
+    // (metrics, and the hourly aggregates of LoginStatsService).
     @Override
-	public void recordAttempt(boolean successful, String ipAddress, LoginFailureReason reason, User user) {
+	public void recordAttempt(boolean successful, String ipAddress, LoginFailureReason reason, String attemptedUsername,
+			User user) {
+        authMetrics.countLoginAttempt(successful ? null : (reason == null ? LoginFailureReason.OTHER : reason));
+        loginStatsService.record(successful, ipAddress, reason);
+        String username = user == null ? null : user.getUsername();
+        LoginAttemptEvent event = new LoginAttemptEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
+            // The username comes straight from the request, so it is cut to fit the column rather than
+            // losing the attempt.
+            if (attemptedUsername != null && attemptedUsername.length() > MAX_ATTEMPTED_USERNAME_LENGTH) {
+            	attemptedUsername = attemptedUsername.substring(0, MAX_ATTEMPTED_USERNAME_LENGTH);
+            }
             LoginAttempt attempt = new LoginAttempt(LocalDateTime.now(), successful, 
-            		ipAddress, reason, user);
+            		ipAddress, reason, user, attemptedUsername);
             loginAttemptRepository.save(attempt);
+            authMetrics.record(AuthStage.AUDIT_INSERT, AuthOutcome.SUCCESS, start);
+            event.complete(successful, reason, AuthOutcome.SUCCESS, username);
         } catch (Exception e) {
+            authMetrics.record(AuthStage.AUDIT_INSERT, AuthOutcome.FAILURE, start);
+            event.complete(successful, reason, AuthOutcome.FAILURE, username);
             logger.warn("Failed to persist login attempt: {}", e.getMessage());
         }
     }
@@ -0,0 +1,19 @@
+package dev.jcasaslopez.user.service;
+
+import java.time.LocalDateTime;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.model.LoginStats;
+
+public interface LoginStatsService {
+	
+	// Only counts the attempt in memory: it is sent to Redis by the next flush.
+	void record(boolean successful, String ipAddress, LoginFailureReason reason);
+	
+	// Sends the counts recorded since the previous flush to Redis. Runs periodically.
+	void flush();
+	
+	// Stats of the whole hours covering [from, to), with the 'topIps' IP addresses with the most failures.
+	LoginStats getLoginStats(LocalDateTime from, LocalDateTime to, int topIps);
+
+}
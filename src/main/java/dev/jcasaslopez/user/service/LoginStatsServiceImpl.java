@@ -0,0 +1,256 @@
+package dev.jcasaslopez.user.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.HourlyLoginStats;
+import dev.jcasaslopez.user.model.IpFailureCount;
+import dev.jcasaslopez.user.model.LoginStats;
+import dev.jcasaslopez.user.utilities.Constants;
+import dev.jcasaslopez.user.utilities.HeavyHitters;
+import dev.jcasaslopez.user.utilities.ThreadFactories;
+
+// Login analytics answered from hourly aggregates instead of GROUP BY queries on login_attempts.
+//
+// Every attempt is counted in memory, in the bucket of its hour: one LongAdder for successes and one per
+// failure reason, plus the IP addresses of failures in a HeavyHitters sketch (only the most frequent
+// ones are kept). Every flush-interval-seconds the counts since the previous flush are added to Redis,
+// in one pipeline: HINCRBY on a hash per hour (login_stats:<hour>) and ZINCRBY on a sorted set per hour
+// (login_stats_ip:<hour>), trimmed to the top-ips-per-hour IP addresses. Every instance adds its own
+// counts, so the aggregates cover the whole cluster.
+//
+// Queries read two small keys per hour in a single pipeline, whatever the number of attempts. Counts recorded
+// since the last flush are not included yet.
+@Service
+public class LoginStatsServiceImpl implements LoginStatsService, DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(LoginStatsServiceImpl.class);
+
+	private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+	private static final String SUCCESSFUL_FIELD = "SUCCESSFUL";
+	// The sketch tracks more IP addresses than are kept in Redis, so that the counts of those kept are exact
+	// unless failures come from a very large number of addresses.
+	private static final int SKETCH_CAPACITY_FACTOR = 4;
+
+	private final StringRedisTemplate redisTemplate;
+	private final int topIpsPerHour;
+	private final int retentionHours;
+	private final ConcurrentMap<LocalDateTime, HourCounters> hours = new ConcurrentHashMap<>();
+	private final ScheduledExecutorService flusher;
+
+	public LoginStatsServiceImpl(StringRedisTemplate redisTemplate,
+			@Value("${analytics.login.flush-interval-seconds}") long flushIntervalSeconds,
+			@Value("${analytics.login.top-ips-per-hour}") int topIpsPerHour,
+			@Value("${analytics.login.retention-hours}") int retentionHours,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+		this.redisTemplate = redisTemplate;
+		this.topIpsPerHour = topIpsPerHour;
+		this.retentionHours = retentionHours;
+		this.flusher = Executors.newSingleThreadScheduledExecutor(
+				ThreadFactories.newThreadFactory("login-stats-flusher-", virtualThreads));
+		flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public void record(boolean successful, String ipAddress, LoginFailureReason reason) {
+		HourCounters counters = hours.computeIfAbsent(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS),
+				hour -> new HourCounters(topIpsPerHour * SKETCH_CAPACITY_FACTOR));
+		if (successful) {
+			counters.successful.increment();
+			return;
+		}
+		counters.failures.get(reason == null ? LoginFailureReason.OTHER : reason).increment();
+		if (ipAddress != null) {
+			counters.failingIps.add(ipAddress, 1);
+		}
+	}
+
+	// The counts are taken out before they are sent. If Redis cannot be reached they are put back,
+	// to be sent with the next flush.
+	@Override
+	public void flush() {
+		LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+		for (Map.Entry<LocalDateTime, HourCounters> entry : hours.entrySet()) {
+			LocalDateTime hour = entry.getKey();
+			HourCounters counters = entry.getValue();
+			// Past hours receive no more attempts, so they are flushed for the last time.
+			if (hour.isBefore(currentHour.minusHours(1))) {
+				hours.remove(hour);
+			}
+			Map<String, Long> counts = counters.drainCounts();
+			Map<String, Long> failingIps = counters.failingIps.drain();
+			if (counts.isEmpty() && failingIps.isEmpty()) {
+				continue;
+			}
+			try {
+				write(hour, counts, failingIps);
+			} catch (RuntimeException ex) {
+				counters.restore(counts, failingIps);
+				hours.putIfAbsent(hour, counters);
+				throw ex;
+			}
+		}
+	}
+
+	@Override
+	public LoginStats getLoginStats(LocalDateTime from, LocalDateTime to, int topIps) {
+		LocalDateTime firstHour = from.truncatedTo(ChronoUnit.HOURS);
+		LocalDateTime endHour = to.truncatedTo(ChronoUnit.HOURS).equals(to) ? to : to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+		long hourCount = ChronoUnit.HOURS.between(firstHour, endHour);
+		if (hourCount <= 0 || hourCount > retentionHours) {
+			throw new InvalidRequestException("The period must be between 1 and " + retentionHours + " hours long");
+		}
+		if (topIps < 1 || topIps > topIpsPerHour) {
+			throw new InvalidRequestException("'topIps' must be between 1 and " + topIpsPerHour);
+		}
+
+		List<LocalDateTime> hourList = new ArrayList<>();
+		for (LocalDateTime hour = firstHour; hour.isBefore(endHour); hour = hour.plusHours(1)) {
+			hourList.add(hour);
+		}
+		List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			StringRedisConnection stringConnection = (StringRedisConnection) connection;
+			for (LocalDateTime hour : hourList) {
+				String suffix = HOUR_FORMAT.format(hour);
+				stringConnection.hGetAll(Constants.LOGIN_STATS_REDIS_KEY + suffix);
+				// The whole set (at most top-ips-per-hour members): an IP address can be among the top ones of the
+				// period without being among the top ones of any hour.
+				stringConnection.zRangeWithScores(Constants.LOGIN_STATS_IP_REDIS_KEY + suffix, 0, -1);
+			}
+			return null;
+		});
+
+		List<HourlyLoginStats> hourly = new ArrayList<>(hourList.size());
+		Map<String, Long> failuresByIp = new HashMap<>();
+		for (int i = 0; i < hourList.size(); i++) {
+			hourly.add(toHourlyStats(hourList.get(i), (Map<?, ?>) results.get(2 * i)));
+			for (Object tuple : (Set<?>) results.get(2 * i + 1)) {
+				TypedTuple<?> ipFailures = (TypedTuple<?>) tuple;
+				failuresByIp.merge((String) ipFailures.getValue(), ipFailures.getScore().longValue(), Long::sum);
+			}
+		}
+		List<IpFailureCount> topFailingIps = failuresByIp.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(topIps)
+				.map(entry -> new IpFailureCount(entry.getKey(), entry.getValue()))
+				.toList();
+		return new LoginStats(firstHour, endHour, hourly, topFailingIps);
+	}
+
+	// Counts not sent yet are sent before stopping.
+	@Override
+	public void destroy() {
+		flusher.shutdownNow();
+		flushQuietly();
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException ex) {
+			logger.warn("Login stats could not be flushed to Redis, they will be retried: {}", ex.getMessage());
+		}
+	}
+
+	private void write(LocalDateTime hour, Map<String, Long> counts, Map<String, Long> failingIps) {
+		String suffix = HOUR_FORMAT.format(hour);
+		String countsKey = Constants.LOGIN_STATS_REDIS_KEY + suffix;
+		String ipsKey = Constants.LOGIN_STATS_IP_REDIS_KEY + suffix;
+		long ttlSeconds = Duration.ofHours(retentionHours + 1).toSeconds();
+		redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			StringRedisConnection stringConnection = (StringRedisConnection) connection;
+			counts.forEach((field, count) -> stringConnection.hIncrBy(countsKey, field, count));
+			stringConnection.expire(countsKey, ttlSeconds);
+			if (!failingIps.isEmpty()) {
+				failingIps.forEach((ipAddress, failures) -> stringConnection.zIncrBy(ipsKey, failures, ipAddress));
+				// Keeps the IP addresses with the highest counts only.
+				stringConnection.zRemRange(ipsKey, 0, -(topIpsPerHour + 1));
+				stringConnection.expire(ipsKey, ttlSeconds);
+			}
+			return null;
+		});
+	}
+
+	private static HourlyLoginStats toHourlyStats(LocalDateTime hour, Map<?, ?> fields) {
+		long successful = 0;
+		Map<LoginFailureReason, Long> failuresByReason = new EnumMap<>(LoginFailureReason.class);
+		for (Map.Entry<?, ?> field : fields.entrySet()) {
+			long count = Long.parseLong((String) field.getValue());
+			if (SUCCESSFUL_FIELD.equals(field.getKey())) {
+				successful = count;
+			} else {
+				failuresByReason.put(LoginFailureReason.valueOf((String) field.getKey()), count);
+			}
+		}
+		return new HourlyLoginStats(hour, successful, failuresByReason);
+	}
+
+	// Striped counters (LongAdder) of one hour, so that concurrent logins do not contend on a single counter.
+	private static class HourCounters {
+
+		private final LongAdder successful = new LongAdder();
+		private final Map<LoginFailureReason, LongAdder> failures = new EnumMap<>(LoginFailureReason.class);
+		private final HeavyHitters failingIps;
+
+		HourCounters(int sketchCapacity) {
+			for (LoginFailureReason reason : LoginFailureReason.values()) {
+				failures.put(reason, new LongAdder());
+			}
+			this.failingIps = new HeavyHitters(sketchCapacity);
+		}
+
+		// Field name -> count since the last drain. Counters at zero are left out.
+		Map<String, Long> drainCounts() {
+			Map<String, Long> counts = new HashMap<>();
+			long successfulCount = successful.sumThenReset();
+			if (successfulCount > 0) {
+				counts.put(SUCCESSFUL_FIELD, successfulCount);
+			}
+			failures.forEach((reason, counter) -> {
+				long count = counter.sumThenReset();
+				if (count > 0) {
+					counts.put(reason.name(), count);
+				}
+			});
+			return counts;
+		}
+
+		void restore(Map<String, Long> counts, Map<String, Long> ips) {
+			counts.forEach((field, count) -> {
+				if (SUCCESSFUL_FIELD.equals(field)) {
+					successful.add(count);
+				} else {
+					failures.get(LoginFailureReason.valueOf(field)).add(count);
+				}
+			});
+			ips.forEach(failingIps::add);
+		}
+	}
+
+}
@@ -2,82 +2,45 @@ package dev.jcasaslopez.user.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-
-import dev.jcasaslopez.user.enums.AccountStatus;
-import dev.jcasaslopez.user.enums.NotificationType;
 import dev.jcasaslopez.user.event.NotifyingEvent;
+import dev.jcasaslopez.user.template.EmailTemplate;
 
 @Service
 public class NotificationService {
 	
 	private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
-    @Value("${frontend.url.angular}") 
-    private String urlAngular;
-	private EmailService emailService;
-	private final String messageGreeting = "<p>Hi %s,</p>";
-	private final String messageFarewell =  """
-											<p>Best regards,<br>
-											The Team</p>
-											""";
+	private EmailOutboxService emailOutboxService;
+	private EmailTemplateRegistry emailTemplateRegistry;
     
-	public NotificationService(EmailService emailService) {
-		this.emailService = emailService;
+	public NotificationService(EmailOutboxService emailOutboxService, EmailTemplateRegistry emailTemplateRegistry) {
+		this.emailOutboxService = emailOutboxService;
+		this.emailTemplateRegistry = emailTemplateRegistry;
 	}
 	
-	// Constructs and sends notification emails based on event data and NotificationType.
-	// Includes user info, optional token or account status, and builds message accordingly.
-	// Different message constructions are applied depending on notification type and event content.
-
+	// Builds notification emails from the template of the event's NotificationType (and, for 
+	// UPDATE_ACCOUNT_STATUS, of the new account status), filled in with the username and the token if any.
+	// Users have no language preference yet, so emails are written in the default locale.
+	//
+	// The email is not sent here but queued in the outbox, within the transaction of the publisher 
+	// (if any), and sent later by EmailOutboxWorker. This keeps the SMTP conversation out of the request,
+	// and the email is queued if and only if the change is committed. It is not handed to AsyncEventBus:
+	// an event still in its queue when the instance dies would be lost.
 	@EventListener
-	public void handleNotificationEvent(NotifyingEvent event) throws JsonProcessingException {
-		String username = event.getUser().getUsername();
-		String email = event.getUser().getEmail();
-		String subject = event.getNotificationType().getSubject();
+	public void onEvent(NotifyingEvent event) {
+		String username = event.getUsername();
 		String logText = event.getNotificationType().getLogText();
 				
 		// Example: "Starting email verification flow for user: Yorch123"
 	    logger.info(logText, username);
 	    
-	    String htmlMessage = composeEmailBody(event.getNotificationType(), event, username);
+	    EmailTemplate template = emailTemplateRegistry.getTemplate(event.getNotificationType(), 
+	    		event.getAccountStatus(), emailTemplateRegistry.getDefaultLocale());
+	    String htmlMessage = emailTemplateRegistry.render(template, username, event.getToken());
 		
-	    emailService.sendEmail(email, subject, htmlMessage);
-	}
-	
-	private String composeEmailBody(NotificationType notificationType, NotifyingEvent event,
-				String username) {
-		// Message text minus the greeting and the farewell, defined above as constants.
-		String messageCore = notificationType.getMessageText();
-
-		if(notificationType == NotificationType.FORGOT_PASSWORD || 
-				notificationType == NotificationType.VERIFY_EMAIL) {
-			String token = event.getToken();
-			return (messageGreeting + messageCore + messageFarewell).formatted(username, urlAngular, token);
-
-		} else if(notificationType == NotificationType.UPDATE_ACCOUNT_STATUS) {
-			AccountStatus newAccountStatus = event.getAccountStatus();
-			if (newAccountStatus == AccountStatus.TEMPORARILY_BLOCKED) {
-				messageCore = "Your account has been temporarily blocked due to too many login failed attempts. "
-						+ "It will become active again automatically within a few hours.";
-			
-			} else if (newAccountStatus == AccountStatus.BLOCKED) {
-				messageCore = "Your account has been blocked by the administration. Please contact us for further information";
-				
-			} else if (newAccountStatus == AccountStatus.ACTIVE) {
-				messageCore = "Your account is active again.";
-			
-			} else if (newAccountStatus == AccountStatus.PERMANENTLY_SUSPENDED) {
-				messageCore = "Your account has been permanently suspended.";
-			}
-			return (messageGreeting + messageCore + messageFarewell).formatted(username, messageCore);
-
-		} else {
-			return (messageGreeting + messageCore + messageFarewell).formatted(username);
-		}
+	    emailOutboxService.enqueue(event.getEmail(), template.getSubject(), htmlMessage, event.getNotificationType());
 	}
-}
\ No newline at end of file
+}
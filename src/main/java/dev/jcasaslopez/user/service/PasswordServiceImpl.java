@@ -8,6 +8,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
 import dev.jcasaslopez.user.repository.UserRepository;
 
 @Service
@@ -43,17 +44,18 @@ public class PasswordServiceImpl implements PasswordService {
 		boolean oldPasswordMatchProvidedOne = passwordEncoder.matches(oldPassword, user.getPassword());
 		if (!oldPasswordMatchProvidedOne) {
 			logger.info("Provided old password does not match the one in the database");
-			throw new IllegalArgumentException
+			throw new InvalidRequestException
 				("The provided password does not match the one in the database");
 		}
 		
 		boolean newPasswordSameAsOldOne = passwordEncoder.matches(newPassword, user.getPassword());
 		if(newPasswordSameAsOldOne) {
-			throw new IllegalArgumentException("The new password has to be different from the old one");
+			throw new InvalidRequestException("The new password has to be different from the old one");
 		}
 		
 		// If it passes all the validations, we update the password in the database.
 		userRepository.updatePassword(user.getUsername(), passwordEncoder.encode(newPassword));
+		userRepository.registerChange(user);
 		logger.info("Password updated successfully");
 	}
 
@@ -66,10 +68,11 @@ public class PasswordServiceImpl implements PasswordService {
 		
 		boolean newPasswordSameAsOldOne = passwordEncoder.matches(newPassword, user.getPassword());
 		if(newPasswordSameAsOldOne) {
-			throw new IllegalArgumentException("Invalid password");
+			throw new InvalidRequestException("Invalid password");
 		}
 		
 		userRepository.updatePassword(user.getUsername(), passwordEncoder.encode(newPassword));
+		userRepository.registerChange(user);
 		logger.info("Password updated successfully");
 	}
 	
@@ -78,7 +81,7 @@ public class PasswordServiceImpl implements PasswordService {
 		boolean isValid = pattern.matcher(password).matches();
         if(!isValid) {
         	logger.warn("The provided password does not meet the requirements");
-        	throw new IllegalArgumentException("The provided password does not meet the requirements");
+        	throw new InvalidRequestException("The provided password does not meet the requirements");
         }
         logger.debug("The provided password meets the requirements");
         return isValid;
@@ -0,0 +1,10 @@
+package dev.jcasaslopez.user.service;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.enums.RoleName;
+
+public interface RoleRegistry {
+	
+	Role getRole(RoleName roleName);
+
+}
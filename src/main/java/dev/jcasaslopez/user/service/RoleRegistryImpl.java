@@ -0,0 +1,70 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.repository.RoleRepository;
+
+// Role rows are seeded with the schema and never change at runtime, so they are loaded once 
+// and kept in memory, keyed by RoleName. This saves a query every time a user is created or upgraded.
+//
+// The registry returns detached Role instances. That is enough to add them to User.roles, since 
+// Hibernate only needs their id to write the user_roles row.
+@Service
+public class RoleRegistryImpl implements RoleRegistry {
+	
+	private static final Logger logger = LoggerFactory.getLogger(RoleRegistryImpl.class);
+	
+	private final RoleRepository roleRepository;
+	private volatile Map<RoleName, Role> roles;
+	// A lock rather than synchronized: the first load queries the database, and blocking inside a monitor
+	// would pin the carrier thread when requests run on virtual threads.
+	private final ReentrantLock loadLock = new ReentrantLock();
+
+	public RoleRegistryImpl(RoleRepository roleRepository) {
+		this.roleRepository = roleRepository;
+	}
+
+	@Override
+	public Role getRole(RoleName roleName) {
+		Role role = loadRoles().get(roleName);
+		if (role == null) {
+			throw new IllegalStateException("Role " + roleName + " not found in database");
+		}
+		return role;
+	}
+	
+	// Loaded on first use rather than at startup, so the application context does not depend 
+	// on the database being reachable while it starts.
+	private Map<RoleName, Role> loadRoles() {
+		Map<RoleName, Role> loadedRoles = roles;
+		if (loadedRoles == null) {
+			loadLock.lock();
+			try {
+				loadedRoles = roles;
+				if (loadedRoles == null) {
+					loadedRoles = new EnumMap<>(RoleName.class);
+					for (Role role : roleRepository.findAll()) {
+						loadedRoles.put(role.getRoleName(), role);
+					}
+					// An empty table is not cached, so it is queried again on the next call.
+					if (!loadedRoles.isEmpty()) {
+						roles = loadedRoles;
+						logger.info("Role registry loaded with {} roles", loadedRoles.size());
+					}
+				}
+			} finally {
+				loadLock.unlock();
+			}
+		}
+		return loadedRoles;
+	}
+
+}
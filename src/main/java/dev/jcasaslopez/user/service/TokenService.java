@@ -1,5 +1,6 @@
 package dev.jcasaslopez.user.service;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import dev.jcasaslopez.user.enums.TokenType;
@@ -22,4 +23,8 @@ public interface TokenService {
 	void blacklistToken(String token);
 	boolean isTokenBlacklisted(String token);
 	
+	// Session revocation
+	void revokeSessions(Collection<String> usernames);
+	void revokeSessionsAfterCommit(Collection<String> usernames);
+	
 }
\ No newline at end of file
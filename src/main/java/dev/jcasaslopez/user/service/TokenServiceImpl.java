@@ -1,7 +1,10 @@
 package dev.jcasaslopez.user.service;
 
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -11,13 +14,22 @@ import javax.crypto.SecretKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
 import dev.jcasaslopez.user.enums.TokenType;
+import dev.jcasaslopez.user.jfr.TokenEvent;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
 import dev.jcasaslopez.user.model.TokensLifetimes;
+import dev.jcasaslopez.user.utilities.AggregatingLog;
 import dev.jcasaslopez.user.utilities.Constants;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -30,22 +42,42 @@ import io.jsonwebtoken.security.Keys;
 public class TokenServiceImpl implements TokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
+    
+    // Our tokens are a few hundred characters long: the header, a handful of claims (roles included) and 
+    // the signature.
+    private static final int MAX_TOKEN_LENGTH = 2048;
 
     private final TokensLifetimes tokensLifetimes;
     private final StringRedisTemplate redisTemplate;
     private final SecretKey key;
     private final UserAccountService accountService;
+    private final AuthMetrics authMetrics;
+    
+    // Invalid tokens are logged as one line per minute with their count by reason (see AggregatingLog).
+    private final AggregatingLog<AuthOutcome> rejectedTokens = 
+    		new AggregatingLog<>(logger, "Rejected tokens", AuthOutcome.class, Duration.ofMinutes(1));
+    
+    // Taken from a token signed at startup (see checkStructure()).
+    private final String expectedHeader;
+    private final int signatureLength;
 
     public TokenServiceImpl(TokensLifetimes tokensLifetimes, 
                             StringRedisTemplate redisTemplate, 
                             @Value("${jwt.secretKey}") String base64SecretKey,
-                            UserAccountService accountService) {
+                            UserAccountService accountService,
+                            AuthMetrics authMetrics) {
         this.tokensLifetimes = tokensLifetimes;
         this.redisTemplate = redisTemplate;
         this.accountService = accountService;
+        this.authMetrics = authMetrics;
 
         byte[] keyBytes = Base64.getDecoder().decode(base64SecretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        
+        String sampleToken = Jwts.builder().header().type("JWT").and().subject("sample")
+        		.signWith(key, Jwts.SIG.HS256).compact();
+        this.expectedHeader = sampleToken.substring(0, sampleToken.indexOf('.'));
+        this.signatureLength = sampleToken.length() - sampleToken.lastIndexOf('.') - 1;
         logger.info("TokenService initialized with decoded secret key");
     }
 
@@ -69,6 +101,9 @@ public class TokenServiceImpl implements TokenService {
 			    .map(r -> r.getRoleName().name())   
 			    .toList();
 		
+		TokenEvent event = new TokenEvent();
+		event.begin();
+		long start = System.nanoTime();
 		String token = Jwts.builder().header().type("JWT").and().subject(username)
 				.id(jti)
 				.claim("roles", roleNames)
@@ -78,6 +113,8 @@ public class TokenServiceImpl implements TokenService {
 				.expiration(new Date(System.currentTimeMillis() + expirationInMilliseconds))
 				.signWith(key, Jwts.SIG.HS256)
 				.compact();
+		authMetrics.record(AuthStage.TOKEN_SIGN, AuthOutcome.SUCCESS, start);
+		event.complete(TokenEvent.SIGN, tokenType, AuthOutcome.SUCCESS, username);
 		
 		logger.info("Token issued successfully for user: {}", username);
 		return token;
@@ -93,6 +130,9 @@ public class TokenServiceImpl implements TokenService {
 		
 		// Verification tokens do not need the idUser, since they are only for verification, not for authentication
 		// purposes, just the username is enough information.
+		TokenEvent event = new TokenEvent();
+		event.begin();
+		long start = System.nanoTime();
 		String token = Jwts.builder().header().type("JWT").and().subject(username)
 				.id(jti)
 				.claim("purpose", TokenType.VERIFICATION)
@@ -100,6 +140,8 @@ public class TokenServiceImpl implements TokenService {
 				.expiration(new Date(System.currentTimeMillis() + expirationInMilliseconds))
 				.signWith(key, Jwts.SIG.HS256)
 				.compact();
+		authMetrics.record(AuthStage.TOKEN_SIGN, AuthOutcome.SUCCESS, start);
+		event.complete(TokenEvent.SIGN, TokenType.VERIFICATION, AuthOutcome.SUCCESS, username);
 		
 		logger.debug("Verification token issued successfully. jti: {}", jti);
 		return token;
@@ -107,9 +149,80 @@ public class TokenServiceImpl implements TokenService {
 	
 	@Override
 	public Claims parseClaims(String token) {
+		AuthOutcome rejection = checkStructure(token);
+		if (rejection != null) {
+			throw new JwtException(rejection == AuthOutcome.MISSING ? "Token is missing or empty" : "Malformed token");
+		}
+		return verifyClaims(token);
+	} 
+	
+	// Parses and validates the token claims (signature, expiration, etc.).
+	// Returns Optional.empty() if the token is not technically valid.
+	// Junk tokens are rejected by checkStructure() without creating any exception.
+	@Override
+	public Optional<Claims> getValidClaims(String token) {
+		if (checkStructure(token) != null) {
+			return Optional.empty();
+		}
+		try {
+			Claims claims = verifyClaims(token);
+			return Optional.of(claims);
+		} catch (JwtException ex) {
+			return Optional.empty();
+		}
+	}
+	
+	// Cheap checks that every token issued by this service passes, so that junk (random strings, tokens 
+	// from other issuers, truncated tokens...) is rejected before any decoding, crypto or exception:
+	// - At most MAX_TOKEN_LENGTH characters.
+	// - The same header as the tokens signed by createAuthToken() and createVerificationToken().
+	// - A non-empty payload and a signature of the length of an HS256 signature.
+	// - Only base64url characters (no padding) besides the two dots.
+	// Returns null if the token passes, or the reason it was rejected (already recorded).
+	private AuthOutcome checkStructure(String token) {
+		long start = System.nanoTime();
+		AuthOutcome rejection = null;
+		if (token == null || token.isBlank()) {
+			rejection = AuthOutcome.MISSING;
+		} else if (token.length() > MAX_TOKEN_LENGTH || !token.startsWith(expectedHeader)
+				|| !hasExpectedStructure(token)) {
+			rejection = AuthOutcome.MALFORMED;
+		}
+		if (rejection != null) {
+			authMetrics.record(AuthStage.TOKEN_PARSE, rejection, start);
+			rejectedTokens.record(rejection);
+		}
+		return rejection;
+	}
+	
+	// Called once the token is known to start with 'expectedHeader'.
+	private boolean hasExpectedStructure(String token) {
+		int headerEnd = expectedHeader.length();
+		int signatureStart = token.length() - signatureLength;
+		if (signatureStart - headerEnd < 3 || token.charAt(headerEnd) != '.' || token.charAt(signatureStart - 1) != '.') {
+			return false;
+		}
+		for (int i = headerEnd + 1; i < token.length(); i++) {
+			if (i != signatureStart - 1 && !isBase64UrlChar(token.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isBase64UrlChar(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+	}
+	
+	private Claims verifyClaims(String token) {
+		TokenEvent event = new TokenEvent();
+		event.begin();
+		long start = System.nanoTime();
+		AuthOutcome outcome = AuthOutcome.SUCCESS;
+		Claims claims = null;
 		try {
 			// Configures how we want to verify the token.
-			return Jwts.parser()
+			claims = Jwts.parser()
 			
 					// Sets the key that will be used to verify the signature.
 					.verifyWith(key) 
@@ -120,39 +233,32 @@ public class TokenServiceImpl implements TokenService {
 					// This is where all verifications happen.
 					.parseSignedClaims(token)
 					.getPayload();
+			return claims;
 
 		} catch (ExpiredJwtException ex) {
-		    logger.warn("Token has expired");
+		    outcome = AuthOutcome.EXPIRED;
 		    throw new JwtException("Expired token");
 		    
 		} catch (MalformedJwtException ex) {
-		    logger.error("Malformed token");
+		    outcome = AuthOutcome.MALFORMED;
 		    throw new JwtException("Malformed token");
 		    
 		} catch (io.jsonwebtoken.security.SecurityException ex) {
-		    logger.error("Invalid token signature");
+		    outcome = AuthOutcome.INVALID_SIGNATURE;
 		    throw new JwtException("Invalid signature");
 		    
 		} catch (Exception ex) {
-		    if (token == null || token.trim().isEmpty()) {
-		        logger.error("Empty or null token");
-		        throw new JwtException("Token is missing or empty");
-		    } else {
-		        logger.error("Invalid or malformed token: {}", ex.getMessage());
-		        throw new JwtException("Invalid token");
-		    }
-		}
-	} 
-	
-	// Parses and validates the token claims (signature, expiration, etc.).
-	// Returns Optional.empty() if the token is not technically valid.
-	@Override
-	public Optional<Claims> getValidClaims(String token) {
-		try {
-			Claims claims = parseClaims(token);
-			return Optional.of(claims);
-		} catch (JwtException ex) {
-			return Optional.empty();
+		    outcome = AuthOutcome.MALFORMED;
+		    logger.debug("Invalid or malformed token: {}", ex.getMessage());
+		    throw new JwtException("Invalid token");
+		    
+		} finally {
+			authMetrics.record(AuthStage.TOKEN_PARSE, outcome, start);
+			if (outcome != AuthOutcome.SUCCESS) {
+				rejectedTokens.record(outcome);
+			}
+			event.complete(TokenEvent.PARSE, claims == null ? null : purposeOf(claims), outcome, 
+					claims == null ? null : claims.getSubject());
 		}
 	}
 	
@@ -192,26 +298,92 @@ public class TokenServiceImpl implements TokenService {
 		String tokenRedisKey = Constants.REFRESH_TOKEN_REDIS_KEY + tokenJti;
 		
         logger.info("Blacklisting token with key: {} for {} seconds", tokenRedisKey, expirationInSeconds);
+        TokenEvent event = new TokenEvent();
+        event.begin();
+        long start = System.nanoTime();
         redisTemplate.opsForValue().set(tokenRedisKey, "blacklisted", expirationInSeconds, TimeUnit.SECONDS);
+        authMetrics.record(AuthStage.BLACKLIST_WRITE, AuthOutcome.SUCCESS, start);
+        event.complete(TokenEvent.BLACKLIST_WRITE, purposeOf(optionalClaims.get()), AuthOutcome.SUCCESS, 
+        		optionalClaims.get().getSubject());
     }		
 	
+	// A token is also rejected if it was issued before its user's sessions were revoked (see revokeSessions()). 
+	// Both keys are read with a single MGET.
 	@Override
 	public boolean isTokenBlacklisted(String token) {
-		String tokenJti = getJtiFromToken(token);
+		Claims claims = parseClaims(token);
+		String tokenJti = claims.getId();
 		String redisKey = Constants.REFRESH_TOKEN_REDIS_KEY + tokenJti;
-		String redisValue = redisTemplate.opsForValue().get(redisKey);
+		TokenEvent event = new TokenEvent();
+		event.begin();
+		long start = System.nanoTime();
+		List<String> redisValues = redisTemplate.opsForValue().multiGet(
+				List.of(redisKey, Constants.REVOKED_SESSIONS_REDIS_KEY + claims.getSubject()));
+		String redisValue = redisValues.get(0);
+		String revokedAt = redisValues.get(1);
 		
 		boolean result;
 		if ("blacklisted".equals(redisValue)) {
 		    result = true;
+		} else if (revokedAt != null) {
+			// 'iat' has a precision of seconds, so a token issued within the same second as the revocation
+			// is rejected too.
+			result = claims.getIssuedAt().getTime() <= Long.parseLong(revokedAt);
 		} else {
 			
 			// Programs flow would reach this point also if no Redis entry is found (redisValue == null).
 		    result = false;
 		}
 		
+		authMetrics.record(AuthStage.BLACKLIST_CHECK, result ? AuthOutcome.BLACKLISTED : AuthOutcome.SUCCESS, start);
+		// Type and username are not recorded: they would take parsing the token again.
+		event.complete(TokenEvent.BLACKLIST_CHECK, null, result ? AuthOutcome.BLACKLISTED : AuthOutcome.SUCCESS, null);
 		logger.debug("Blacklist check for jti {}: {}", tokenJti, result);
 		return result;
 	}
+	
+	// Refresh tokens are not indexed by user, so they are revoked all at once by storing the revocation
+	// time in revoked_sessions:<username>, for the lifetime of a refresh token: tokens issued before are
+	// then rejected by isTokenBlacklisted(). All the keys are written in a single pipeline.
+	@Override
+	public void revokeSessions(Collection<String> usernames) {
+		if (usernames.isEmpty()) {
+			return;
+		}
+		String revokedAt = String.valueOf(System.currentTimeMillis());
+		long ttlSeconds = tokensLifetimes.getTokensLifetimes().get(TokenType.REFRESH) * 60L;
+		redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			StringRedisConnection stringConnection = (StringRedisConnection) connection;
+			for (String username : usernames) {
+				stringConnection.setEx(Constants.REVOKED_SESSIONS_REDIS_KEY + username, ttlSeconds, revokedAt);
+			}
+			return null;
+		});
+		logger.info("Sessions revoked for {} users", usernames.size());
+	}
+	
+	// For account changes that revoke sessions: the revocation time is taken once the change is committed. 
+	// Taken earlier, a token issued between the revocation and the commit (while the database still has 
+	// the old status) would be accepted; and a rolled-back change would still revoke the sessions.
+	@Override
+	public void revokeSessionsAfterCommit(Collection<String> usernames) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			revokeSessions(usernames);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				revokeSessions(usernames);
+			}
+		});
+	}
+	
+	// Every token issued by this service carries its type in the 'purpose' claim. Runs in a finally block
+	// (see parseClaims), so a token without it must not throw.
+	private static TokenType purposeOf(Claims claims) {
+		String purpose = claims.get("purpose", String.class);
+		return purpose == null ? null : TokenType.valueOf(purpose);
+	}
 
 }
\ No newline at end of file
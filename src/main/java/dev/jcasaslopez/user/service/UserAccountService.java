@@ -4,11 +4,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.model.UserCredentials;
 
 public interface UserAccountService {
 
 	User findUser(String username);
 	User findUserByEmail(String email);
+	UserCredentials findUserCredentials(String username);
 	boolean userExists(String username);
 	void createUser(UserDetails user);
 	void deleteUser(String username);
@@ -9,15 +9,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import dev.jcasaslopez.user.entity.Role;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
 import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
 import dev.jcasaslopez.user.exception.UserAccountStatusException;
-import dev.jcasaslopez.user.repository.RoleRepository;
+import dev.jcasaslopez.user.exception.UserNotFoundException;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.UserCredentials;
+import dev.jcasaslopez.user.repository.UserCredentialsRepository;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.security.CustomUserDetails;
 
@@ -27,11 +32,16 @@ public class UserAccountServiceImpl implements UserAccountService {
 	private static final Logger logger = LoggerFactory.getLogger(UserAccountServiceImpl.class);
 	
 	private UserRepository userRepository;
-	private RoleRepository roleRepository;
+	private UserCredentialsRepository userCredentialsRepository;
+	private RoleRegistry roleRegistry;
+	private AuthMetrics authMetrics;
 
-	public UserAccountServiceImpl(UserRepository userRepository, RoleRepository roleRepository) {
+	public UserAccountServiceImpl(UserRepository userRepository, UserCredentialsRepository userCredentialsRepository,
+			RoleRegistry roleRegistry, AuthMetrics authMetrics) {
 		this.userRepository = userRepository;
-		this.roleRepository = roleRepository;
+		this.userCredentialsRepository = userCredentialsRepository;
+		this.roleRegistry = roleRegistry;
+		this.authMetrics = authMetrics;
 	}
 
 	@Override
@@ -41,9 +51,12 @@ public class UserAccountServiceImpl implements UserAccountService {
 		    throw new IllegalArgumentException("Username cannot be null or empty");
 		}
 		
-		Optional<User> userOptional = userRepository.findByUsername(username);
+		// Resolved through the second-level cache (see UserRepositoryCustomImpl).
+		long start = System.nanoTime();
+		Optional<User> userOptional = userRepository.findByNaturalUsername(username);
+		authMetrics.record(AuthStage.USER_LOOKUP, userOptional.isPresent() ? AuthOutcome.SUCCESS : AuthOutcome.NOT_FOUND, start);
 		if (userOptional.isEmpty()) {
-		    throw new UsernameNotFoundException("User " + username + " not found in the database");
+		    throw new UserNotFoundException("User " + username + " not found in the database");
 		}
 		
 		User foundUser = userOptional.get();
@@ -55,13 +68,30 @@ public class UserAccountServiceImpl implements UserAccountService {
 	public User findUserByEmail(String email) {
 		Optional<User> optionalUser = userRepository.findByEmail(email);
 		if(optionalUser.isEmpty()) {
-			throw new UsernameNotFoundException("User not found in the database");
+			throw new UserNotFoundException("User not found in the database");
 		}
 		User user = optionalUser.get();
 		logger.info("User {} retrieved from database successfully", user.getUsername());
 		return user;
 	}
 	
+	// Same checks as findUser(), but only loads what authentication needs (see UserCredentialsRepository).
+	@Override
+	public UserCredentials findUserCredentials(String username) {
+		if (username == null || username.trim().isEmpty()) {
+			logger.warn("Invalid username received: '{}'", username); 
+		    throw new IllegalArgumentException("Username cannot be null or empty");
+		}
+		
+		long start = System.nanoTime();
+		Optional<UserCredentials> optionalCredentials = userCredentialsRepository.findByUsername(username);
+		authMetrics.record(AuthStage.CREDENTIALS_LOOKUP, optionalCredentials.isPresent() ? AuthOutcome.SUCCESS : AuthOutcome.NOT_FOUND, start);
+		UserCredentials credentials = optionalCredentials
+				.orElseThrow(() -> new UserNotFoundException("User " + username + " not found in the database"));
+		logger.debug("Credentials of user {} retrieved from database successfully", username);
+		return credentials;
+	}
+	
 	@Override
 	public boolean userExists(String username) {
 		return userRepository.existsByUsername(username);
@@ -76,8 +106,7 @@ public class UserAccountServiceImpl implements UserAccountService {
 			User userJPA = customUser.getUser();
 
 			// Assigns default role ROLE_USER as per business rules.
-			Role userRole = roleRepository.findByRoleName(RoleName.ROLE_USER)
-					.orElseThrow(() -> new IllegalStateException("Role ROLE_USER not found in database"));
+			Role userRole = roleRegistry.getRole(RoleName.ROLE_USER);
 			Set<Role> roles = new HashSet<>();
 			roles.add(userRole);
 			userJPA.setRoles(roles);
@@ -86,6 +115,7 @@ public class UserAccountServiceImpl implements UserAccountService {
 			userJPA.setAccountStatus(AccountStatus.ACTIVE);
 			
 			userRepository.save(userJPA);
+			userRepository.registerChange(userJPA);
 			logger.info("New user created with username: {}", userJPA.getUsername());
 			
 		} else {
@@ -96,28 +126,29 @@ public class UserAccountServiceImpl implements UserAccountService {
 
 	@Override
 	public void deleteUser(String username) {
-		// Checks if the user is found in the database, but retrieving it from it is not necessary,
-		// that is why the result is not assigned to any variable.
-		findUser(username);
+		// Checks if the user is found in the database. The result is only needed to register 
+		// the change (see UserRepositoryCustomImpl).
+		User user = findUser(username);
 		
 		// The log is recorded in AccountOrchestrationService, so we do not need to do it here again.
 		userRepository.deleteByUsername(username);
+		userRepository.registerChange(user);
 	}
 
 	@Override
 	public void upgradeUser(String email) {
 		User user = findUserByEmail(email);
-		if (user.getRoles().contains(roleRepository.findByRoleName(RoleName.ROLE_ADMIN).get())) {
+		Role adminRole = roleRegistry.getRole(RoleName.ROLE_ADMIN);
+		if (user.getRoles().contains(adminRole)) {
 			logger.warn("User {} is already admin; upgrade user ignored.", user.getUsername());
-			throw new IllegalArgumentException("User is already ADMIN");
+			throw new InvalidRequestException("User is already ADMIN");
 		}
 		
 		Set<Role> roles = user.getRoles();
-		Role userRole = roleRepository.findByRoleName(RoleName.ROLE_ADMIN)
-			    .orElseThrow(() -> new IllegalStateException("Role ROLE_ADMIN not found in database"));
-		roles.add(userRole);
+		roles.add(adminRole);
 		user.setRoles(roles);
 		userRepository.save(user);
+		userRepository.registerChange(user);
 		logger.info("User {} upgraded to ADMIN", user.getUsername());
 	}
 	
@@ -136,8 +167,13 @@ public class UserAccountServiceImpl implements UserAccountService {
 			throw new UserAccountStatusException("The account already has the specified status");
 		}
 		
-		userRepository.updateAccountStatus(username, newAccountStatus);
-		logger.info("Account status updated from {} to {} for user {} ", user.getAccountStatus(), 
+		// Updated through the entity rather than with UserRepository.updateAccountStatus(): a bulk JPQL 
+		// update makes Hibernate clear the whole 'users' cache region, not just this user.
+		AccountStatus previousAccountStatus = user.getAccountStatus();
+		user.setAccountStatus(newAccountStatus);
+		userRepository.save(user);
+		userRepository.registerChange(user);
+		logger.info("Account status updated from {} to {} for user {} ", previousAccountStatus, 
 				newAccountStatus, username);
 	}
 
@@ -52,9 +52,11 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
 	}
 
 	// Internal method used by Spring Security during the authentication process, should not be exposed directly to users.
+	// Spring Security only needs the password hash, the account status and the roles, so the lighter 
+	// UserCredentials projection is loaded instead of the User entity.
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		return userMapper.userToCustomUserDetailsMapper(accountService.findUser(username));
+		return userMapper.credentialsToUserDetailsMapper(accountService.findUserCredentials(username));
 	}
 
 	@Override
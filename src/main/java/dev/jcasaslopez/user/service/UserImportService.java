@@ -0,0 +1,14 @@
+package dev.jcasaslopez.user.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.model.UserImportResult;
+
+public interface UserImportService {
+	
+	// Reads the users from the stream (CSV with a header row, or NDJSON) and imports the valid ones.
+	UserImportResult importUsers(InputStream inputStream, ExportFormat format) throws IOException;
+
+}
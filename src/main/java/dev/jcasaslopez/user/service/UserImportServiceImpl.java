@@ -0,0 +1,382 @@
+package dev.jcasaslopez.user.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.UserDto;
+import dev.jcasaslopez.user.dto.UserImportRow;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.UserImportError;
+import dev.jcasaslopez.user.model.UserImportResult;
+import dev.jcasaslopez.user.repository.UserImportRepository;
+import dev.jcasaslopez.user.utilities.ThreadFactories;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Imports users in bulk (e.g., accounts migrated from another system) without the email verification 
+// of the registration flow. Rows are validated with the rules of UserDto, and imported users get the 
+// same defaults as registered ones: ROLE_USER and ACTIVE. No email is sent.
+//
+// The upload is read line by line and imported in chunks of import.users.chunk-size rows, so memory
+// does not grow with the file. For each chunk:
+// - usernames and emails already taken are looked up with two IN queries, rather than one per row;
+// - plain passwords are hashed in parallel on a bounded pool (BCrypt is slow by design, and hashing 
+//   dominates the import). Rows with a BCrypt passwordHash skip this step, which is what makes very 
+//   large migrations fast;
+// - the users and their roles are inserted with JDBC batches in a transaction of their own (see 
+//   UserImportRepository), so a failure only loses the current chunk.
+//
+// Rejected rows are reported with their line and errors, and do not stop the import.
+@Service
+public class UserImportServiceImpl implements UserImportService, DisposableBean {
+	
+	private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+	
+	// As written by BCryptPasswordEncoder: version, cost, then 53 characters of salt and hash.
+	private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+	private static final Set<String> CSV_COLUMNS = Set.of("username", "password", "passwordHash", "fullName", 
+			"email", "dateOfBirth");
+	
+	private final UserImportRepository userImportRepository;
+	private final RoleRegistry roleRegistry;
+	private final PasswordEncoder passwordEncoder;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final ExecutorService hashingPool;
+	private final int chunkSize;
+	private final int maxReportedErrors;
+
+	public UserImportServiceImpl(UserImportRepository userImportRepository, RoleRegistry roleRegistry,
+			PasswordEncoder passwordEncoder, Validator validator, ObjectMapper objectMapper,
+			@Value("${import.users.chunk-size}") int chunkSize,
+			@Value("${import.users.hashing-threads}") int hashingThreads,
+			@Value("${import.users.max-reported-errors}") int maxReportedErrors) {
+		this.userImportRepository = userImportRepository;
+		this.roleRegistry = roleRegistry;
+		this.passwordEncoder = passwordEncoder;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.chunkSize = chunkSize;
+		this.maxReportedErrors = maxReportedErrors;
+		// Hashing is CPU-bound, so platform threads are used even when virtual threads are enabled.
+		this.hashingPool = Executors.newFixedThreadPool(hashingThreads,
+				ThreadFactories.newThreadFactory("user-import-hasher-", false));
+	}
+
+	@Override
+	public UserImportResult importUsers(InputStream inputStream, ExportFormat format) throws IOException {
+		long start = System.nanoTime();
+		ImportProgress progress = new ImportProgress();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+		Map<String, Integer> columns = null;
+		List<ImportedUser> chunk = new ArrayList<>(chunkSize);
+		Set<String> chunkUsernames = new HashSet<>();
+		Set<String> chunkEmails = new HashSet<>();
+		
+		String line;
+		long lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			if (format == ExportFormat.CSV && columns == null) {
+				columns = readCsvHeader(line);
+				continue;
+			}
+			
+			progress.rows++;
+			UserImportRow row;
+			try {
+				row = format == ExportFormat.CSV ? readCsvRow(line, columns) : objectMapper.readValue(line, UserImportRow.class);
+			} catch (JsonProcessingException ex) {
+				progress.reject(lineNumber, null, List.of("Malformed row: " + ex.getOriginalMessage()));
+				continue;
+			} catch (IllegalArgumentException ex) {
+				progress.reject(lineNumber, null, List.of("Malformed row: " + ex.getMessage()));
+				continue;
+			}
+			if (row == null) {
+				progress.reject(lineNumber, null, List.of("Malformed row: not a JSON object"));
+				continue;
+			}
+			
+			List<String> errors = validate(row);
+			// Duplicates within the chunk. Those in earlier chunks are already in the database by now.
+			if (errors.isEmpty() && !chunkUsernames.add(row.getUsername().toLowerCase(Locale.ROOT))) {
+				errors.add("username: Username appears more than once in the file");
+			}
+			if (errors.isEmpty() && !chunkEmails.add(row.getEmail().toLowerCase(Locale.ROOT))) {
+				errors.add("email: Email appears more than once in the file");
+			}
+			if (!errors.isEmpty()) {
+				progress.reject(lineNumber, row.getUsername(), errors);
+				continue;
+			}
+			
+			chunk.add(new ImportedUser(lineNumber, row));
+			if (chunk.size() == chunkSize) {
+				importChunk(chunk, progress);
+				chunk.clear();
+				chunkUsernames.clear();
+				chunkEmails.clear();
+			}
+		}
+		importChunk(chunk, progress);
+		
+		logger.info("User import ({}): {} rows, {} imported, {} rejected in {} ms", format, progress.rows,
+				progress.imported, progress.failed, (System.nanoTime() - start) / 1_000_000);
+		return new UserImportResult(progress.rows, progress.imported, progress.failed, progress.errors);
+	}
+
+	@Override
+	public void destroy() {
+		hashingPool.shutdownNow();
+	}
+	
+	private void importChunk(List<ImportedUser> chunk, ImportProgress progress) {
+		List<ImportedUser> pending = chunk;
+		// A user registered between the existence check and the insert makes the whole batch fail. The 
+		// check is then repeated once, which rejects the conflicting rows and lets the others be inserted.
+		for (int attempt = 1; !pending.isEmpty(); attempt++) {
+			pending = rejectExisting(pending, progress);
+			hashPasswords(pending);
+			try {
+				userImportRepository.insertAll(pending.stream().map(ImportedUser::getUser).toList(),
+						roleRegistry.getRole(RoleName.ROLE_USER).getIdRole());
+				progress.imported += pending.size();
+				return;
+			} catch (DuplicateKeyException ex) {
+				if (attempt == 2) {
+					for (ImportedUser user : pending) {
+						progress.reject(user.getLine(), user.getUser().getUsername(), 
+								List.of("Not imported: the username or email was taken during the import"));
+					}
+					return;
+				}
+			}
+		}
+	}
+	
+	private List<ImportedUser> rejectExisting(List<ImportedUser> users, ImportProgress progress) {
+		Set<String> existingUsernames = userImportRepository.findExistingUsernames(
+				users.stream().map(user -> user.getUser().getUsername()).toList());
+		Set<String> existingEmails = userImportRepository.findExistingEmails(
+				users.stream().map(user -> user.getUser().getEmail()).toList());
+		List<ImportedUser> remaining = new ArrayList<>(users.size());
+		for (ImportedUser user : users) {
+			List<String> errors = new ArrayList<>();
+			if (existingUsernames.contains(user.getUser().getUsername().toLowerCase(Locale.ROOT))) {
+				errors.add("username: Username already exists");
+			}
+			if (existingEmails.contains(user.getUser().getEmail().toLowerCase(Locale.ROOT))) {
+				errors.add("email: Email already exists");
+			}
+			if (errors.isEmpty()) {
+				remaining.add(user);
+			} else {
+				progress.reject(user.getLine(), user.getUser().getUsername(), errors);
+			}
+		}
+		return remaining;
+	}
+	
+	// Waits for the whole chunk: at most chunk-size hashes are queued at any time.
+	private void hashPasswords(List<ImportedUser> users) {
+		CompletableFuture.allOf(users.stream()
+				.filter(ImportedUser::needsHashing)
+				.map(user -> CompletableFuture.runAsync(user::hashPassword, hashingPool))
+				.toArray(CompletableFuture[]::new))
+			.join();
+	}
+	
+	// Same rules as registration (UserDto), except for the password when a BCrypt hash is given instead.
+	private List<String> validate(UserImportRow row) {
+		List<String> errors = new ArrayList<>();
+		boolean hashed = isPresent(row.getPasswordHash());
+		if (hashed && isPresent(row.getPassword())) {
+			errors.add("password: Either password or passwordHash must be given, not both");
+		} else if (hashed && !BCRYPT_HASH.matcher(row.getPasswordHash()).matches()) {
+			errors.add("passwordHash: Password hash must be a BCrypt hash");
+		}
+		
+		LocalDate dateOfBirth = null;
+		boolean malformedDate = false;
+		if (isPresent(row.getDateOfBirth())) {
+			try {
+				dateOfBirth = LocalDate.parse(row.getDateOfBirth());
+			} catch (DateTimeParseException ex) {
+				malformedDate = true;
+				errors.add("dateOfBirth: Date of birth must be in ISO format (yyyy-MM-dd)");
+			}
+		}
+		
+		UserDto user = new UserDto(row.getUsername(), hashed ? null : row.getPassword(), row.getFullName(), 
+				row.getEmail(), dateOfBirth);
+		for (ConstraintViolation<UserDto> violation : validator.validate(user)) {
+			String field = violation.getPropertyPath().toString();
+			if ((hashed && field.equals("password")) || (malformedDate && field.equals("dateOfBirth"))) {
+				continue;
+			}
+			errors.add(field + ": " + violation.getMessage());
+		}
+		// Violations come in no particular order.
+		errors.sort(null);
+		return errors;
+	}
+	
+	private static Map<String, Integer> readCsvHeader(String line) {
+		List<String> names = parseCsvLine(line);
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			String name = names.get(i).trim();
+			if (!CSV_COLUMNS.contains(name)) {
+				throw new InvalidRequestException("Unknown CSV column '" + name + "'. Columns: " + CSV_COLUMNS);
+			}
+			columns.put(name, i);
+		}
+		if (!columns.keySet().containsAll(Set.of("username", "fullName", "email", "dateOfBirth"))
+				|| (!columns.containsKey("password") && !columns.containsKey("passwordHash"))) {
+			throw new InvalidRequestException(
+					"The CSV header must have username, fullName, email, dateOfBirth, and password and/or passwordHash");
+		}
+		return columns;
+	}
+	
+	private static UserImportRow readCsvRow(String line, Map<String, Integer> columns) {
+		List<String> fields = parseCsvLine(line);
+		if (fields.size() != columns.size()) {
+			throw new IllegalArgumentException("expected " + columns.size() + " fields, found " + fields.size());
+		}
+		return new UserImportRow(csvField(fields, columns, "username"), csvField(fields, columns, "password"),
+				csvField(fields, columns, "passwordHash"), csvField(fields, columns, "fullName"), 
+				csvField(fields, columns, "email"), csvField(fields, columns, "dateOfBirth"));
+	}
+	
+	// Empty fields are read as null, like a missing property in NDJSON.
+	private static String csvField(List<String> fields, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		if (index == null || fields.get(index).isEmpty()) {
+			return null;
+		}
+		return fields.get(index);
+	}
+	
+	// RFC 4180 fields: quoted fields may contain commas and doubled quotes, but not line breaks
+	// (no user field can have one).
+	static List<String> parseCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+	
+	private static boolean isPresent(String value) {
+		return value != null && !value.isBlank();
+	}
+	
+	// Counts and reported errors of one import.
+	private class ImportProgress {
+		
+		private long rows;
+		private long imported;
+		private long failed;
+		private final List<UserImportError> errors = new ArrayList<>();
+		
+		void reject(long line, String username, List<String> rowErrors) {
+			failed++;
+			if (errors.size() < maxReportedErrors) {
+				errors.add(new UserImportError(line, username, rowErrors));
+			}
+		}
+	}
+	
+	// A valid row, as the User to insert. Its password is hashed in place, unless it was imported already hashed.
+	private class ImportedUser {
+		
+		private final long line;
+		private final User user;
+		private boolean needsHashing;
+		
+		ImportedUser(long line, UserImportRow row) {
+			this.line = line;
+			this.needsHashing = !isPresent(row.getPasswordHash());
+			this.user = new User(row.getUsername(), needsHashing ? row.getPassword() : row.getPasswordHash(),
+					row.getFullName(), row.getEmail(), LocalDate.parse(row.getDateOfBirth()));
+			this.user.setAccountStatus(AccountStatus.ACTIVE);
+		}
+		
+		long getLine() {
+			return line;
+		}
+		
+		User getUser() {
+			return user;
+		}
+		
+		boolean needsHashing() {
+			return needsHashing;
+		}
+		
+		void hashPassword() {
+			user.setPassword(passwordEncoder.encode(user.getPassword()));
+			needsHashing = false;
+		}
+	}
+
+}
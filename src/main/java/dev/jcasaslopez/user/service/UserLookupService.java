@@ -0,0 +1,13 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.List;
+
+import dev.jcasaslopez.user.dto.UserLookupRequest;
+import dev.jcasaslopez.user.model.UserSummary;
+
+public interface UserLookupService {
+	
+	// Users matching the requested ids and usernames, each one once. Unknown ids and usernames are left out.
+	List<UserSummary> lookupUsers(UserLookupRequest request);
+
+}
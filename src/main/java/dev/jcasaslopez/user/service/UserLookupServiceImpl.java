@@ -0,0 +1,69 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.dto.UserLookupRequest;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.UserSummary;
+import dev.jcasaslopez.user.repository.UserRepository;
+
+// Resolves many users in one call, for services that render lists of users (e.g., an id per row) and 
+// would otherwise make one request per user. Users are read through the second-level cache, and the 
+// misses are loaded in chunks of lookup.users.chunk-size keys (see UserRepositoryCustomImpl).
+@Service
+public class UserLookupServiceImpl implements UserLookupService {
+
+	private final UserRepository userRepository;
+	private final int maxKeys;
+	private final int chunkSize;
+
+	public UserLookupServiceImpl(UserRepository userRepository,
+			@Value("${lookup.users.max-keys}") int maxKeys,
+			@Value("${lookup.users.chunk-size}") int chunkSize) {
+		this.userRepository = userRepository;
+		this.maxKeys = maxKeys;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public List<UserSummary> lookupUsers(UserLookupRequest request) {
+		// Duplicates are removed, so each key is only looked up once.
+		List<Integer> ids = request.getUserIds() == null ? List.of() 
+				: new ArrayList<>(new LinkedHashSet<>(request.getUserIds()));
+		List<String> usernames = request.getUsernames() == null ? List.of() 
+				: new ArrayList<>(new LinkedHashSet<>(request.getUsernames()));
+		if (ids.isEmpty() && usernames.isEmpty()) {
+			throw new InvalidRequestException("At least one user id or username is required");
+		}
+		if (ids.size() + usernames.size() > maxKeys) {
+			throw new InvalidRequestException("No more than " + maxKeys + " user ids and usernames can be looked up at once");
+		}
+		if (ids.stream().anyMatch(Objects::isNull) || usernames.stream().anyMatch(username -> username == null || username.isBlank())) {
+			throw new InvalidRequestException("User ids and usernames cannot be null or blank");
+		}
+
+		// A user requested both by id and by username is returned once.
+		Map<Integer, UserSummary> users = new LinkedHashMap<>();
+		if (!ids.isEmpty()) {
+			for (User user : userRepository.findAllByIdCached(ids, chunkSize)) {
+				users.putIfAbsent(user.getIdUser(), UserSummary.of(user));
+			}
+		}
+		if (!usernames.isEmpty()) {
+			for (User user : userRepository.findAllByNaturalUsernames(usernames, chunkSize)) {
+				users.putIfAbsent(user.getIdUser(), UserSummary.of(user));
+			}
+		}
+		return new ArrayList<>(users.values());
+	}
+
+}
@@ -0,0 +1,11 @@
+package dev.jcasaslopez.user.service;
+
+import dev.jcasaslopez.user.model.UserPage;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+
+public interface UserSearchService {
+	
+	// 'after' is the 'nextAfter' of the previous page (null for the first one). 'limit' defaults to the configured page size.
+	UserPage searchUsers(UserSearchFilter filter, String after, Integer limit);
+
+}
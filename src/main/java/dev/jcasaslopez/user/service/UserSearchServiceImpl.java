@@ -0,0 +1,70 @@
+package dev.jcasaslopez.user.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+import dev.jcasaslopez.user.model.UserPage;
+import dev.jcasaslopez.user.model.UserSearchFilter;
+import dev.jcasaslopez.user.model.UserSummary;
+import dev.jcasaslopez.user.repository.UserSummaryRepository;
+
+// Admin user listing, paginated by key (see UserSummaryRepository). One row more than the page size is
+// read to know whether there is a next page, without counting the matching users.
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+
+	private final UserSummaryRepository userSummaryRepository;
+	private final int defaultPageSize;
+	private final int maxPageSize;
+
+	public UserSearchServiceImpl(UserSummaryRepository userSummaryRepository,
+			@Value("${admin.users.page-size}") int defaultPageSize,
+			@Value("${admin.users.max-page-size}") int maxPageSize) {
+		this.userSummaryRepository = userSummaryRepository;
+		this.defaultPageSize = defaultPageSize;
+		this.maxPageSize = maxPageSize;
+	}
+
+	@Override
+	public UserPage searchUsers(UserSearchFilter filter, String after, Integer limit) {
+		if (filter.getUsernamePrefix() != null && filter.getEmailPrefix() != null) {
+			throw new InvalidRequestException("Search by username prefix or by email prefix, not both");
+		}
+		boolean pagedById = filter.getUsernamePrefix() == null && filter.getEmailPrefix() == null;
+		if (after != null && pagedById && !isUserId(after)) {
+			throw new InvalidRequestException("'after' must be the id of a user");
+		}
+		int pageSize = limit == null ? defaultPageSize : limit;
+		if (pageSize < 1 || pageSize > maxPageSize) {
+			throw new InvalidRequestException("'limit' must be between 1 and " + maxPageSize);
+		}
+
+		List<UserSummary> users = userSummaryRepository.findUsersAfter(filter, after, pageSize + 1);
+		if (users.size() <= pageSize) {
+			return new UserPage(users, null);
+		}
+		users = users.subList(0, pageSize);
+		UserSummary last = users.get(pageSize - 1);
+		String nextAfter;
+		if (filter.getUsernamePrefix() != null) {
+			nextAfter = last.getUsername();
+		} else if (filter.getEmailPrefix() != null) {
+			nextAfter = last.getEmail();
+		} else {
+			nextAfter = String.valueOf(last.getIdUser());
+		}
+		return new UserPage(users, nextAfter);
+	}
+
+	private static boolean isUserId(String value) {
+		try {
+			return Integer.parseInt(value) >= 0;
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package dev.jcasaslopez.user.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// An email body parsed once into a list of segments: fixed HTML text and variables.
+// Rendering only appends the segments to a StringBuilder, escaping the variable values,
+// so nothing is parsed or formatted per email.
+//
+// Placeholders are written as {name}. Constants (same value for every email) are replaced at
+// compile time and merged into the surrounding text; anything else must be a TemplateVariable.
+public class EmailTemplate {
+
+	private final String subject;
+	// Fixed text before each variable, plus the text after the last one: texts.length == variables.length + 1.
+	private final String[] texts;
+	private final TemplateVariable[] variables;
+	private final int fixedLength;
+
+	private EmailTemplate(String subject, String[] texts, TemplateVariable[] variables) {
+		this.subject = subject;
+		this.texts = texts;
+		this.variables = variables;
+		int length = 0;
+		for (String text : texts) {
+			length += text.length();
+		}
+		this.fixedLength = length;
+	}
+
+	// Constant values are escaped here, once.
+	public static EmailTemplate compile(String subject, String source, Map<String, String> constants) {
+		return compile(subject, source, constants, true);
+	}
+	
+	// For text written by users (e.g., an administrator's message), which may contain braces of its own:
+	// only TemplateVariable placeholders are replaced, and anything else is kept as it is.
+	public static EmailTemplate compileLenient(String subject, String source) {
+		return compile(subject, source, Map.of(), false);
+	}
+
+	private static EmailTemplate compile(String subject, String source, Map<String, String> constants, boolean strict) {
+		List<String> texts = new ArrayList<>();
+		List<TemplateVariable> variables = new ArrayList<>();
+		StringBuilder text = new StringBuilder();
+
+		int position = 0;
+		while (position < source.length()) {
+			int start = source.indexOf('{', position);
+			if (start < 0) {
+				text.append(source, position, source.length());
+				break;
+			}
+			int end = source.indexOf('}', start);
+			if (end < 0) {
+				if (strict) {
+					throw new IllegalArgumentException("Unclosed placeholder in template: " + source);
+				}
+				text.append(source, position, source.length());
+				break;
+			}
+			text.append(source, position, start);
+			String placeholder = source.substring(start + 1, end);
+			TemplateVariable variable = TemplateVariable.fromPlaceholder(placeholder);
+
+			if (constants.containsKey(placeholder)) {
+				appendEscaped(text, constants.get(placeholder));
+			} else if (variable != null) {
+				texts.add(text.toString());
+				variables.add(variable);
+				text.setLength(0);
+			} else if (strict) {
+				throw new IllegalArgumentException("Unknown placeholder {" + placeholder + "} in template: " + source);
+			} else {
+				// Keeps the opening brace and carries on right after it, in case a placeholder starts inside.
+				text.append('{');
+				end = start;
+			}
+			position = end + 1;
+		}
+		texts.add(text.toString());
+
+		return new EmailTemplate(subject, texts.toArray(new String[0]), variables.toArray(new TemplateVariable[0]));
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	// Values that are not needed by this template are ignored, and missing ones are rendered as empty.
+	public void render(StringBuilder out, String username, String token) {
+		out.ensureCapacity(out.length() + fixedLength + 64);
+		for (int i = 0; i < variables.length; i++) {
+			out.append(texts[i]);
+			appendEscaped(out, variables[i] == TemplateVariable.USERNAME ? username : token);
+		}
+		out.append(texts[variables.length]);
+	}
+
+	public boolean uses(TemplateVariable variable) {
+		for (TemplateVariable used : variables) {
+			if (used == variable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// Escapes the characters that are significant both in HTML text and in attribute values,
+	// so the same method is safe for a username in a paragraph and for a token in an href.
+	// Values usually have nothing to escape, so the text between escaped characters is appended in bulk.
+	static void appendEscaped(StringBuilder out, String value) {
+		if (value == null) {
+			return;
+		}
+		int unescapedFrom = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String replacement = switch (value.charAt(i)) {
+				case '<' -> "&lt;";
+				case '>' -> "&gt;";
+				case '&' -> "&amp;";
+				case '"' -> "&quot;";
+				case '\'' -> "&#39;";
+				default -> null;
+			};
+			if (replacement != null) {
+				out.append(value, unescapedFrom, i).append(replacement);
+				unescapedFrom = i + 1;
+			}
+		}
+		out.append(value, unescapedFrom, value.length());
+	}
+
+}
@@ -0,0 +1,30 @@
+package dev.jcasaslopez.user.template;
+
+// Values that change from one email to the next, written in the templates as {name}.
+// Values that are the same for every email (e.g., {frontendUrl}) are resolved when the template
+// is compiled instead, and do not need an entry here.
+public enum TemplateVariable {
+
+	USERNAME("username"),
+	TOKEN("token");
+
+	private final String placeholder;
+
+	private TemplateVariable(String placeholder) {
+		this.placeholder = placeholder;
+	}
+
+	public String getPlaceholder() {
+		return placeholder;
+	}
+
+	public static TemplateVariable fromPlaceholder(String placeholder) {
+		for (TemplateVariable variable : values()) {
+			if (variable.placeholder.equals(placeholder)) {
+				return variable;
+			}
+		}
+		return null;
+	}
+
+}
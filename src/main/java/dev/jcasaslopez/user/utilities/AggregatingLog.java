@@ -0,0 +1,68 @@
+package dev.jcasaslopez.user.utilities;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+// Logs repetitive events (e.g., rejected tokens) as one WARN line per interval with their count by reason,
+// instead of one line per event, so that a flood of bad requests cannot flood the logs as well.
+//
+// There is no background thread: the first event after an interval ends writes the counts since the
+// previous line, including itself. The first event ever is therefore logged immediately, and the events
+// of a burst are reported with the first event after it.
+//
+// Usage:
+// AggregatingLog<AuthOutcome> rejectedTokens = new AggregatingLog<>(logger, "Rejected tokens", AuthOutcome.class, Duration.ofMinutes(1));
+// rejectedTokens.record(AuthOutcome.MALFORMED);
+// -> WARN Rejected tokens since the last report: 1532 (malformed=1500, expired=32)
+public class AggregatingLog<E extends Enum<E>> {
+
+	private final Logger logger;
+	private final String description;
+	private final long intervalNanos;
+	private final Map<E, LongAdder> counts;
+	private final AtomicLong lastReportNanos;
+
+	public AggregatingLog(Logger logger, String description, Class<E> reasonType, Duration interval) {
+		this.logger = logger;
+		this.description = description;
+		this.intervalNanos = interval.toNanos();
+		this.counts = new EnumMap<>(reasonType);
+		for (E reason : reasonType.getEnumConstants()) {
+			counts.put(reason, new LongAdder());
+		}
+		this.lastReportNanos = new AtomicLong(System.nanoTime() - intervalNanos);
+	}
+
+	public void record(E reason) {
+		counts.get(reason).increment();
+		long now = System.nanoTime();
+		long lastReport = lastReportNanos.get();
+
+		// Only one thread wins the report; the others keep counting for the next one.
+		if (now - lastReport >= intervalNanos && lastReportNanos.compareAndSet(lastReport, now)) {
+			report();
+		}
+	}
+
+	private void report() {
+		long total = 0;
+		StringJoiner byReason = new StringJoiner(", ", "(", ")");
+		for (Map.Entry<E, LongAdder> entry : counts.entrySet()) {
+			long count = entry.getValue().sumThenReset();
+			if (count > 0) {
+				total += count;
+				byReason.add(entry.getKey().name().toLowerCase() + "=" + count);
+			}
+		}
+		if (total > 0) {
+			logger.warn("{} since the last report: {} {}", description, total, byReason);
+		}
+	}
+
+}
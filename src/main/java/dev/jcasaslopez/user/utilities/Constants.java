@@ -6,8 +6,15 @@ import java.util.Set;
 
 public class Constants {
 	public static final String LOGIN_ATTEMPTS_REDIS_KEY = "login_attempts:";
+	public static final String LOGIN_ATTEMPTS_IP_REDIS_KEY = "login_attempts_ip:";
+	public static final String LOGIN_LOCK_REDIS_KEY = "login_lock:";
+	public static final String LOGIN_LOCK_IP_REDIS_KEY = "login_lock_ip:";
 	public static final String REFRESH_TOKEN_REDIS_KEY = "refresh_token:";
 	public static final String CREATE_ACCOUNT_REDIS_KEY = "create_account:";
+	public static final String BROADCAST_JOB_REDIS_KEY = "broadcast_job:";
+	public static final String LOGIN_STATS_REDIS_KEY = "login_stats:";
+	public static final String LOGIN_STATS_IP_REDIS_KEY = "login_stats_ip:";
+	public static final String REVOKED_SESSIONS_REDIS_KEY = "revoked_sessions:";
 	
 	public static final String LOGIN_PATH = "/login";
 	public static final String LOGOUT_PATH = "/logout";
@@ -21,6 +28,15 @@ public class Constants {
 	public static final String CHANGE_PASSWORD_PATH = "/changePassword";
 	public static final String UPDATE_ACCOUNT_STATUS_PATH = "/updateAccountStatus";
 	public static final String SEND_NOTIFICATION_PATH = "/sendNotification";
+	public static final String BROADCAST_NOTIFICATION_PATH = "/broadcastNotification";
+	public static final String BROADCAST_STATUS_PATH = "/broadcastStatus";
+	public static final String EXPORT_LOGIN_ATTEMPTS_PATH = "/exportLoginAttempts";
+	public static final String LOGIN_STATS_PATH = "/loginStats";
+	public static final String LIST_USERS_PATH = "/listUsers";
+	public static final String LOOKUP_USERS_PATH = "/lookupUsers";
+	public static final String IMPORT_USERS_PATH = "/importUsers";
+	public static final String BULK_UPDATE_ACCOUNT_STATUS_PATH = "/bulkUpdateAccountStatus";
+	public static final String BULK_UPGRADE_USERS_PATH = "/bulkUpgradeUsers";
 	
 	// Public endpoints: no authentication or token required
     public static final Set<String> PUBLIC_ENDPOINTS = Set.of(
@@ -29,6 +45,14 @@ public class Constants {
         FORGOT_PASSWORD_PATH
     );
     
+    // Actuator endpoints polled by load balancers and metrics scrapers, which do not send tokens.
+    // Like public endpoints, they pass through AuthenticationFilter. They are only served on the 
+    // internal management port (management.server.port), never on the public one.
+    public static final Set<String> ACTUATOR_ENDPOINTS = Set.of(
+        "/actuator/health",
+        "/actuator/prometheus"
+    );
+    
     // Action token endpoints - REFRESH: require a valid refresh token, but not an authenticated user (SecurityContext not populated)
     public static final Set<String> ACTION_TOKEN_REFRESH_ENDPOINTS = Set.of(
         LOGOUT_PATH,
@@ -47,7 +71,16 @@ public class Constants {
         UPGRADE_USER_PATH, 
         CHANGE_PASSWORD_PATH,
         UPDATE_ACCOUNT_STATUS_PATH,
-        SEND_NOTIFICATION_PATH
+        SEND_NOTIFICATION_PATH,
+        BROADCAST_NOTIFICATION_PATH,
+        BROADCAST_STATUS_PATH,
+        EXPORT_LOGIN_ATTEMPTS_PATH,
+        LOGIN_STATS_PATH,
+        LIST_USERS_PATH,
+        LOOKUP_USERS_PATH,
+        IMPORT_USERS_PATH,
+        BULK_UPDATE_ACCOUNT_STATUS_PATH,
+        BULK_UPGRADE_USERS_PATH
     );
     
     
@@ -0,0 +1,57 @@
+package dev.jcasaslopez.user.utilities;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Counts the most frequent keys of a stream (e.g., the IP addresses of failed logins) in bounded memory,
+// with the Space-Saving algorithm: at most 'capacity' keys are tracked, and a new key replaces the one
+// with the lowest count, inheriting that count. Any key seen more than total / capacity times is
+// guaranteed to be kept, with a count that is overestimated by at most the count it inherited. Keys
+// with few occurrences may be reported with inflated counts or dropped, which is fine to find heavy
+// hitters but not to count every key.
+//
+// Updates are synchronized: they are cheap, except for the scan for the lowest count when a new key
+// arrives while full (O(capacity)).
+public class HeavyHitters {
+
+	private final int capacity;
+	// Guarded by 'this'.
+	private Map<String, Long> counts;
+
+	public HeavyHitters(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("capacity must be at least 1");
+		}
+		this.capacity = capacity;
+		this.counts = new HashMap<>();
+	}
+
+	public synchronized void add(String key, long increment) {
+		Long count = counts.get(key);
+		if (count != null) {
+			counts.put(key, count + increment);
+			return;
+		}
+		if (counts.size() < capacity) {
+			counts.put(key, increment);
+			return;
+		}
+		Map.Entry<String, Long> lowest = null;
+		for (Map.Entry<String, Long> entry : counts.entrySet()) {
+			if (lowest == null || entry.getValue() < lowest.getValue()) {
+				lowest = entry;
+			}
+		}
+		long inherited = lowest.getValue();
+		counts.remove(lowest.getKey());
+		counts.put(key, inherited + increment);
+	}
+
+	// Returns the counts since the previous call and starts again from zero.
+	public synchronized Map<String, Long> drain() {
+		Map<String, Long> drained = counts;
+		counts = new HashMap<>();
+		return drained;
+	}
+
+}
@@ -0,0 +1,31 @@
+package dev.jcasaslopez.user.utilities;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+// Thread factories for the executors created by the application. With 'spring.threads.virtual.enabled'
+// (see application-virtual-threads.properties) they create virtual threads, as Spring Boot does for
+// Tomcat. Virtual threads need Java 21: on older JVMs the setting is ignored, like Spring Boot does.
+//
+// Threads are named '<prefix><number>' either way, so thread dumps and logs read the same.
+public final class ThreadFactories {
+	
+	private ThreadFactories() {
+	}
+	
+	public static ThreadFactory newThreadFactory(String namePrefix, boolean virtualThreads) {
+		if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+			return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+		}
+		AtomicInteger threadNumber = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+}
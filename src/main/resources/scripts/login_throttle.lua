@@ -0,0 +1,54 @@
+-- Sliding-window failed login registration with exponential backoff.
+-- Runs atomically in Redis, so one round trip records the failure for both the user and the IP.
+--
+-- KEYS[1] user window (sorted set)    KEYS[2] user lock
+-- KEYS[3] IP window (sorted set)      KEYS[4] IP lock
+--
+-- ARGV[1] current time (ms)           ARGV[2] window length (ms)
+-- ARGV[3] free attempts per user      ARGV[4] free attempts per IP
+-- ARGV[5] base delay (ms)             ARGV[6] max delay (ms)
+-- ARGV[7] max entries kept per set    ARGV[8] unique member for this attempt
+--
+-- Returns { userFailures, userDelayMs, ipFailures, ipDelayMs }.
+
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local baseDelay = tonumber(ARGV[5])
+local maxDelay = tonumber(ARGV[6])
+local maxTracked = tonumber(ARGV[7])
+local member = ARGV[8]
+
+local function register(windowKey, lockKey, threshold)
+	-- Drops the failures that have slid out of the window and records the current one.
+	redis.call('ZREMRANGEBYSCORE', windowKey, '-inf', now - window)
+	redis.call('ZADD', windowKey, now, member)
+
+	-- Keeps only the most recent entries, so memory and CPU per failure stay bounded during a flood.
+	redis.call('ZREMRANGEBYRANK', windowKey, 0, -(maxTracked + 1))
+	redis.call('PEXPIRE', windowKey, window)
+
+	local failures = redis.call('ZCARD', windowKey)
+	local delay = 0
+	if failures >= threshold then
+		-- The exponent is capped so the power never overflows before being clamped to maxDelay.
+		local exponent = math.min(failures - threshold, 30)
+		delay = math.min(baseDelay * (2 ^ exponent), maxDelay)
+		delay = math.floor(delay)
+		redis.call('SET', lockKey, now + delay, 'PX', delay)
+	end
+	return { failures, delay }
+end
+
+local result = { 0, 0, 0, 0 }
+
+if KEYS[1] ~= '' then
+	local userResult = register(KEYS[1], KEYS[2], tonumber(ARGV[3]))
+	result[1] = userResult[1]
+	result[2] = userResult[2]
+end
+
+local ipResult = register(KEYS[3], KEYS[4], tonumber(ARGV[4]))
+result[3] = ipResult[1]
+result[4] = ipResult[2]
+
+return result
@@ -0,0 +1,129 @@
+package dev.jcasaslopez.user.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.jcasaslopez.user.mapper.UserMapper;
+import dev.jcasaslopez.user.repository.UserCredentialsRepository;
+import dev.jcasaslopez.user.repository.UserRepository;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+
+// Compares the ways of loading a user for authentication:
+// 1) JPA query: the derived findByUsername() query, hydrating the User entity and its roles.
+// 2) JPA natural id: findByNaturalUsername(), served from the second-level cache once warm.
+// 3) Credentials projection: UserCredentialsRepository, copied from the natural id load and used by
+//    loadUserByUsername() and authenticateUser().
+//
+// Each lookup is followed by building the UserDetails and its authorities, as Spring Security does.
+// It needs the same MySQL and Redis containers as the integration tests, and only runs on demand:
+// mvn test -Dtest=CredentialsLookupBenchmarkTest -Dbenchmark=true
+@SpringBootTest
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class CredentialsLookupBenchmarkTest {
+	
+	private static final Logger logger = LoggerFactory.getLogger(CredentialsLookupBenchmarkTest.class);
+	
+	private static final String USERNAME = "Yorch22";
+	private static final int WARMUP_ITERATIONS = 2_000;
+	private static final int MEASURED_ITERATIONS = 10_000;
+	
+	@Autowired private UserRepository userRepository;
+	@Autowired private UserCredentialsRepository userCredentialsRepository;
+	@Autowired private UserMapper userMapper;
+	@Autowired private PlatformTransactionManager transactionManager;
+	@Autowired private TestHelper testHelper;
+	
+	private TransactionTemplate readOnlyTransaction;
+	
+	@BeforeEach
+	void setUp() {
+		testHelper.createAndPersistUser(new UserTestBuilder(USERNAME, "Password123!"));
+		readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+	}
+	
+	@AfterEach
+	void cleanup() {
+	    testHelper.cleanDataBaseAndRedis();
+	}
+	
+	@Test
+	@DisplayName("Credentials projection vs JPA entity lookups")
+	public void compareCredentialLookups() {
+		// The derived query runs in a read-only transaction, like the other two paths.
+		Supplier<UserDetails> jpaQuery = () -> readOnlyTransaction.execute(status -> 
+				userMapper.userToCustomUserDetailsMapper(userRepository.findByUsername(USERNAME).orElseThrow()));
+		Supplier<UserDetails> jpaNaturalId = () -> 
+				userMapper.userToCustomUserDetailsMapper(userRepository.findByNaturalUsername(USERNAME).orElseThrow());
+		Supplier<UserDetails> credentialsProjection = () -> 
+				userMapper.credentialsToUserDetailsMapper(userCredentialsRepository.findByUsername(USERNAME).orElseThrow());
+		
+		// All three paths must return the same user.
+		UserDetails expected = jpaQuery.get();
+		assertAll(
+				() -> assertSameUser(expected, jpaNaturalId.get()),
+				() -> assertSameUser(expected, credentialsProjection.get())
+				);
+		
+		double jpaQueryMicros = measure(jpaQuery);
+		double jpaNaturalIdMicros = measure(jpaNaturalId);
+		double credentialsProjectionMicros = measure(credentialsProjection);
+		
+		logger.info("Credential lookup, average over {} calls: JPA query {} µs, JPA natural id {} µs, credentials projection {} µs",
+				MEASURED_ITERATIONS, String.format("%.1f", jpaQueryMicros), String.format("%.1f", jpaNaturalIdMicros),
+				String.format("%.1f", credentialsProjectionMicros));
+	}
+	
+	private double measure(Supplier<UserDetails> lookup) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			consume(lookup.get());
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			consume(lookup.get());
+		}
+		return (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+	}
+	
+	// Touches the authorities so lazy work is included in the measurement.
+	private void consume(UserDetails userDetails) {
+		if (userDetails.getAuthorities().isEmpty()) {
+			throw new IllegalStateException("User loaded without roles");
+		}
+	}
+	
+	private void assertSameUser(UserDetails expected, UserDetails actual) {
+		assertAll(
+				() -> assertEquals(expected.getUsername(), actual.getUsername()),
+				() -> assertEquals(expected.getPassword(), actual.getPassword()),
+				() -> assertEquals(expected.isAccountNonLocked(), actual.isAccountNonLocked()),
+				() -> assertEquals(authorityNames(expected), authorityNames(actual))
+				);
+	}
+	
+	private Set<String> authorityNames(UserDetails userDetails) {
+		return userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+	}
+
+}
@@ -0,0 +1,119 @@
+package dev.jcasaslopez.user.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import dev.jcasaslopez.user.mail.PooledJavaMailSender;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+// Compares the ways of sending emails against a local GreenMail SMTP server (with AUTH):
+// 1) JavaMailSenderImpl: one connection per email, as before PooledJavaMailSender.
+// 2) PooledJavaMailSender, one email per send() call: connections are reused.
+// 3) PooledJavaMailSender, batches of BATCH_SIZE emails per send() call, as the email outbox does.
+//
+// On localhost the handshake is cheap. Against a real server, where STARTTLS and AUTH add several
+// network round trips, the gap between 1) and the others is much larger.
+// It only runs on demand: mvn test -Dtest=EmailThroughputBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class EmailThroughputBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmailThroughputBenchmarkTest.class);
+
+	private static final int EMAILS = 500;
+	private static final int BATCH_SIZE = 20;
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+			.withPerMethodLifecycle(false);
+
+	@Test
+	@DisplayName("Measures email throughput with and without connection reuse")
+	public void compareSendStrategies() throws MessagingException {
+		greenMail.setUser("noreply@user-service.dev", "noreply", "secret");
+
+		JavaMailSenderImpl plainSender = configure(new JavaMailSenderImpl());
+		PooledJavaMailSender pooledSender = configure(new PooledJavaMailSender(4, Duration.ofMinutes(1), Duration.ofSeconds(5)));
+
+		try {
+			// Warm-up
+			sendOneByOne(plainSender, 50);
+			sendOneByOne(pooledSender, 50);
+
+			long connectionPerEmail = measure("New connection per email", () -> sendOneByOne(plainSender, EMAILS));
+			long pooled = measure("Pooled connection, one email per call", () -> sendOneByOne(pooledSender, EMAILS));
+			long batched = measure("Pooled connection, batches of " + BATCH_SIZE, () -> sendInBatches(pooledSender, EMAILS));
+
+			logger.info("Speed-up over a connection per email: pooled {}x, batched {}x",
+					String.format("%.1f", (double) connectionPerEmail / pooled),
+					String.format("%.1f", (double) connectionPerEmail / batched));
+		} finally {
+			pooledSender.destroy();
+		}
+
+		assertEquals(100 + 3 * EMAILS, greenMail.getReceivedMessages().length, "Every email should have been received");
+	}
+
+	private <T extends JavaMailSenderImpl> T configure(T sender) {
+		sender.setHost("localhost");
+		sender.setPort(ServerSetupTest.SMTP.getPort());
+		sender.setUsername("noreply");
+		sender.setPassword("secret");
+		Properties properties = new Properties();
+		properties.put("mail.smtp.auth", "true");
+		sender.setJavaMailProperties(properties);
+		return sender;
+	}
+
+	private void sendOneByOne(JavaMailSenderImpl sender, int emails) {
+		for (int i = 0; i < emails; i++) {
+			sender.send(message(sender, i));
+		}
+	}
+
+	private void sendInBatches(JavaMailSenderImpl sender, int emails) {
+		for (int i = 0; i < emails; i += BATCH_SIZE) {
+			MimeMessage[] batch = new MimeMessage[Math.min(BATCH_SIZE, emails - i)];
+			for (int j = 0; j < batch.length; j++) {
+				batch[j] = message(sender, i + j);
+			}
+			sender.send(batch);
+		}
+	}
+
+	private MimeMessage message(JavaMailSenderImpl sender, int number) {
+		try {
+			MimeMessage message = sender.createMimeMessage();
+			message.setFrom("noreply@user-service.dev");
+			message.setRecipients(MimeMessage.RecipientType.TO, "user" + number + "@gmail.com");
+			message.setSubject("Your account has been updated");
+			message.setText("<p>Hello user" + number + ", your account status has changed.</p>", "UTF-8", "html");
+			return message;
+		} catch (MessagingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private long measure(String name, Runnable run) {
+		long start = System.nanoTime();
+		run.run();
+		long elapsedNanos = System.nanoTime() - start;
+		logger.info("{}: {} emails in {} ms ({} emails/s)", name, EMAILS, elapsedNanos / 1_000_000,
+				String.format("%.0f", EMAILS / (elapsedNanos / 1e9)));
+		return elapsedNanos;
+	}
+
+}
@@ -0,0 +1,127 @@
+package dev.jcasaslopez.user.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.OutputStreamAppender;
+import dev.jcasaslopez.user.exception.InvalidRequestException;
+
+// Compares the cost of the error path of an expected business failure (e.g., a wrong old password):
+// 1) Before: an IllegalArgumentException, logged by GlobalExceptionHandler at ERROR level with its stack trace.
+// 2) After: a stackless InvalidRequestException, logged as one line (GlobalExceptionHandler.logRejection()).
+//
+// Exceptions are thrown STACK_DEPTH frames deep, roughly the depth of a controller method under Tomcat,
+// Spring Security's filters and Spring MVC, since filling in the stack trace costs per frame. Logs are
+// formatted with the application's pattern (logback.xml) and written to a stream that only counts bytes.
+//
+// It only runs on demand: mvn test -Dtest=ErrorPathBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ErrorPathBenchmarkTest {
+
+	private static final org.slf4j.Logger logger = LoggerFactory.getLogger(ErrorPathBenchmarkTest.class);
+
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int MEASURED_ITERATIONS = 100_000;
+	private static final int STACK_DEPTH = 120;
+	private static final String MESSAGE = "The provided password does not match the one in the database";
+
+	private long loggedBytes;
+
+	@Test
+	@DisplayName("Measures the cost of rejecting a request with an expected business failure")
+	public void compareErrorPaths() {
+		Logger handlerLogger = newCountingLogger();
+
+		Supplier<RuntimeException> before = () -> new IllegalArgumentException(MESSAGE);
+		Supplier<RuntimeException> after = () -> new InvalidRequestException(MESSAGE);
+		ErrorLogger logWithStackTrace = ex -> handlerLogger.error("IllegalArgumentException: {}", ex.getMessage(), ex);
+		ErrorLogger logOneLine = ex -> handlerLogger.info("Request rejected: status={} exception={} message=\"{}\"",
+				400, ex.getClass().getSimpleName(), ex.getMessage());
+
+		run(before, logWithStackTrace, WARMUP_ITERATIONS);
+		run(after, logOneLine, WARMUP_ITERATIONS);
+
+		long beforeNanos = measure("IllegalArgumentException + stack trace logged", before, logWithStackTrace);
+		long afterNanos = measure("InvalidRequestException + one-line log", after, logOneLine);
+		measure("IllegalArgumentException, not logged", before, ex -> {});
+		measure("InvalidRequestException, not logged", after, ex -> {});
+
+		logger.info("The new error path is {}x faster", String.format("%.1f", (double) beforeNanos / afterNanos));
+		assertTrue(loggedBytes > 0);
+	}
+
+	private void run(Supplier<RuntimeException> exception, ErrorLogger errorLogger, int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			try {
+				throwAtDepth(exception, STACK_DEPTH);
+			} catch (RuntimeException ex) {
+				errorLogger.log(ex);
+			}
+		}
+	}
+
+	private long measure(String name, Supplier<RuntimeException> exception, ErrorLogger errorLogger) {
+		long bytesBefore = loggedBytes;
+		long start = System.nanoTime();
+		run(exception, errorLogger, MEASURED_ITERATIONS);
+		long elapsedNanos = System.nanoTime() - start;
+		logger.info("{}: {} ns and {} bytes of log per request", name,
+				String.format("%.0f", (double) elapsedNanos / MEASURED_ITERATIONS),
+				(loggedBytes - bytesBefore) / MEASURED_ITERATIONS);
+		return elapsedNanos;
+	}
+
+	private static void throwAtDepth(Supplier<RuntimeException> exception, int depth) {
+		if (depth == 0) {
+			throw exception.get();
+		}
+		throwAtDepth(exception, depth - 1);
+	}
+
+	// A logger of its own context, so that the benchmark does not write to the console.
+	private Logger newCountingLogger() {
+		LoggerContext context = new LoggerContext();
+		context.setMDCAdapter(new LogbackMDCAdapter());
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+		encoder.start();
+
+		OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+		appender.setContext(context);
+		appender.setEncoder(encoder);
+		appender.setOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+				loggedBytes++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				loggedBytes += len;
+			}
+		});
+		appender.start();
+
+		Logger handlerLogger = context.getLogger("dev.jcasaslopez.user.handler.GlobalExceptionHandler");
+		handlerLogger.addAppender(appender);
+		return handlerLogger;
+	}
+
+	private interface ErrorLogger {
+		void log(RuntimeException ex);
+	}
+
+}
@@ -0,0 +1,208 @@
+package dev.jcasaslopez.user.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Compares Tomcat with its default pool of 200 platform threads against Tomcat on virtual threads
+// (what 'spring.threads.virtual.enabled' configures), under CONCURRENCY concurrent clients.
+//
+// It is a synthetic benchmark: a bare embedded Tomcat serving one servlet that sleeps, with a Semaphore
+// standing in for the Hikari pool. None of the application's endpoints, filters or dependencies run.
+// Each request simulates the blocking done by an endpoint of this service: calls that do not need a
+// pooled connection (Redis, which multiplexes one connection) and a MySQL query that holds one of
+// the POOL_SIZE connections, waiting up to POOL_TIMEOUT_MS for one (as Hikari does).
+// Two workloads are run: FAST, with local Redis and MySQL latencies, and SLOW, where a dependency
+// answers in tens of milliseconds (a remote Redis, a replica under load...). Both thread models are run
+// with the default pool and with the larger pool of the 'virtual-threads' profile, so that the effect of
+// the pool size is not credited to virtual threads.
+//
+// The clients are virtual threads with a keep-alive connection each, so that the client side is not
+// the bottleneck. It needs Java 21 and only runs on demand, e.g.:
+// JAVA_HOME=<jdk 21> mvn test -Pjava21 -Dtest=VirtualThreadsLoadBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadsLoadBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsLoadBenchmarkTest.class);
+
+	private static final int CONCURRENCY = 1000;
+	private static final int REQUESTS = 10_000;
+	private static final long POOL_TIMEOUT_MS = 3000;
+	private static final byte[] REQUEST = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] BODY = "{\"status\":\"OK\"}".getBytes(StandardCharsets.US_ASCII);
+
+	private static final Workload FAST = new Workload("FAST", 2, 3);
+	private static final Workload SLOW = new Workload("SLOW", 50, 3);
+
+	@Test
+	@DisplayName("Measures throughput and latency with platform and virtual request threads")
+	public void compareThreadingModes() throws Exception {
+		for (Workload workload : new Workload[] { FAST, SLOW }) {
+			// Warm-up
+			run(workload, false, 10, REQUESTS / 5);
+
+			run(workload, false, 10, REQUESTS);
+			run(workload, true, 10, REQUESTS);
+			run(workload, false, 30, REQUESTS);
+			run(workload, true, 30, REQUESTS);
+		}
+	}
+
+	private void run(Workload workload, boolean virtualThreads, int poolSize, int requests) throws Exception {
+		Semaphore connectionPool = new Semaphore(poolSize, true);
+		TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+		// Connections are kept open, so the clients measure request handling rather than TCP handshakes.
+		factory.addConnectorCustomizers(connector -> {
+			connector.setProperty("maxKeepAliveRequests", "-1");
+			connector.setProperty("acceptCount", String.valueOf(CONCURRENCY));
+		});
+		if (virtualThreads) {
+			factory.addProtocolHandlerCustomizers(protocolHandler ->
+				protocolHandler.setExecutor(new VirtualThreadTaskExecutor("tomcat-handler-")));
+		}
+		WebServer webServer = factory.getWebServer(servletContext ->
+			servletContext.addServlet("endpoint", new SimulatedEndpoint(workload, connectionPool)).addMapping("/"));
+		webServer.start();
+
+		try {
+			VirtualThreadTaskExecutor clients = new VirtualThreadTaskExecutor("client-");
+			AtomicInteger nextRequest = new AtomicInteger();
+			CountDownLatch completed = new CountDownLatch(CONCURRENCY);
+			AtomicInteger errors = new AtomicInteger();
+			long[] latencies = new long[requests];
+
+			long start = System.nanoTime();
+			for (int i = 0; i < CONCURRENCY; i++) {
+				clients.execute(() -> {
+					try (Socket socket = new Socket("localhost", webServer.getPort())) {
+						OutputStream out = socket.getOutputStream();
+						InputStream in = new BufferedInputStream(socket.getInputStream());
+						int index;
+						while ((index = nextRequest.getAndIncrement()) < requests) {
+							long sentAt = System.nanoTime();
+							out.write(REQUEST);
+							out.flush();
+							if (readResponse(in) != 200) {
+								errors.incrementAndGet();
+							}
+							latencies[index] = System.nanoTime() - sentAt;
+						}
+					} catch (IOException ex) {
+						errors.incrementAndGet();
+					} finally {
+						completed.countDown();
+					}
+				});
+			}
+			completed.await(5, TimeUnit.MINUTES);
+			long elapsed = System.nanoTime() - start;
+
+			Arrays.sort(latencies);
+			if (requests == REQUESTS) {
+				logger.info("{} workload, {} threads, pool of {}: {} requests/s, p50 {} ms, p99 {} ms, {} errors",
+						workload.name, virtualThreads ? "virtual" : "200 platform", poolSize,
+						requests * 1_000_000_000L / elapsed, TimeUnit.NANOSECONDS.toMillis(latencies[requests / 2]),
+						TimeUnit.NANOSECONDS.toMillis(latencies[requests * 99 / 100]), errors.get());
+			}
+			assertEquals(0, completed.getCount(), "Every client should have completed");
+		} finally {
+			webServer.stop();
+		}
+	}
+
+	// Reads the status line, the headers and the body (Content-Length), and returns the status code.
+	private static int readResponse(InputStream in) throws IOException {
+		StringBuilder headers = new StringBuilder();
+		while (headers.length() < 4 || !headers.substring(headers.length() - 4).equals("\r\n\r\n")) {
+			int b = in.read();
+			if (b < 0) {
+				throw new IOException("Connection closed");
+			}
+			headers.append((char) b);
+		}
+		int contentLength = 0;
+		for (String header : headers.toString().split("\r\n")) {
+			if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+				contentLength = Integer.parseInt(header.substring(15).trim());
+			}
+		}
+		in.readNBytes(contentLength);
+		return Integer.parseInt(headers.substring(9, 12));
+	}
+
+	private static class Workload {
+
+		private final String name;
+		private final long outsidePoolMillis;
+		private final long queryMillis;
+
+		Workload(String name, long outsidePoolMillis, long queryMillis) {
+			this.name = name;
+			this.outsidePoolMillis = outsidePoolMillis;
+			this.queryMillis = queryMillis;
+		}
+	}
+
+	private static class SimulatedEndpoint extends HttpServlet {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Workload workload;
+		private final transient Semaphore connectionPool;
+
+		SimulatedEndpoint(Workload workload, Semaphore connectionPool) {
+			this.workload = workload;
+			this.connectionPool = connectionPool;
+		}
+
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			try {
+				Thread.sleep(workload.outsidePoolMillis);
+				if (!connectionPool.tryAcquire(POOL_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+					response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+					return;
+				}
+				try {
+					Thread.sleep(workload.queryMillis);
+				} finally {
+					connectionPool.release();
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+				return;
+			}
+			response.setContentType("application/json");
+			response.setContentLength(BODY.length);
+			response.getOutputStream().write(BODY);
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+// The broadcast is accepted by /broadcastNotification and processed in the background, so the tests
+// wait for the email to reach the (mocked) EmailService through the outbox.
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BroadcastNotificationIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private RequestCostRecorder requestCostRecorder;
+
+	@MockBean private EmailService emailService;
+
+	private User user;
+	private String authToken;
+
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+	private static final String SUBJECT = "Scheduled maintenance";
+
+	@BeforeEach
+	void setup() throws Exception {
+		user = testHelper.createAndPersistUser(new UserTestBuilder("Yorch22", "Password123!"));
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Broadcast is accepted and the personalised email reaches every recipient")
+	void broadcastNotification_WhenSegmentValid_ShouldQueueEmails() throws Exception {
+		// Arrange
+		BroadcastRequest request = new BroadcastRequest(SUBJECT, "<p>Hi {username}, see you on Sunday.</p>",
+				null, null, List.of(user.getIdUser()));
+
+		// Act
+		requestCostRecorder.startRecording(Constants.BROADCAST_NOTIFICATION_PATH);
+		StandardResponse response = executeRequestAndGetResponse(buildBroadcastRequest(request));
+
+		// Assert
+		verify(emailService, timeout(TestHelper.EMAIL_TIMEOUT_MILLIS))
+			.sendEmail(eq(user.getEmail()), eq(SUBJECT), eq("<p>Hi Yorch22, see you on Sunday.</p>"));
+		String jobId = (String) ((Map<?, ?>) response.getDetails()).get("jobId");
+		StandardResponse statusResponse = waitForJobToFinish(jobId);
+		Map<?, ?> job = (Map<?, ?>) statusResponse.getDetails();
+		assertAll(
+				() -> assertEquals(HttpStatus.ACCEPTED, response.getStatus(), "Expected HTTP status 202"),
+				() -> assertEquals(1, ((Number) ((Map<?, ?>) response.getDetails()).get("total")).intValue(),
+						"The segment should have one recipient"),
+				() -> assertEquals(HttpStatus.OK, statusResponse.getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals("COMPLETED", job.get("status"), "The broadcast should be completed"),
+				() -> assertEquals(1, ((Number) job.get("queued")).intValue(), "One email should have been queued")
+				);
+		// Authentication, counting the segment and storing the job. The emails are queued by the background job.
+		requestCostRecorder.assertWithinBudget(Constants.BROADCAST_NOTIFICATION_PATH, 2, 2);
+	}
+
+	@Test
+	@DisplayName("Broadcast without segment criteria returns 400 BAD REQUEST")
+	void broadcastNotification_WhenNoSegment_ShouldReturn400BadRequest() throws Exception {
+		// Arrange
+		BroadcastRequest request = new BroadcastRequest(SUBJECT, "<p>Hi everyone</p>", Set.of(), null, null);
+
+		// Act
+		StandardResponse response = executeRequestAndGetResponse(buildBroadcastRequest(request));
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatus(), "Expected HTTP status 400"),
+				() -> assertTrue(response.getMessage().contains("segment criterion"), "Unexpected response message")
+				);
+	}
+
+	@Test
+	@DisplayName("Status of an unknown broadcast returns 404 NOT FOUND")
+	void broadcastStatus_WhenJobUnknown_ShouldReturn404NotFound() throws Exception {
+		// Act
+		requestCostRecorder.startRecording(Constants.BROADCAST_STATUS_PATH);
+		StandardResponse response = executeRequestAndGetResponse(buildStatusRequest("unknown-job"));
+
+		// Assert
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatus(), "Expected HTTP status 404");
+		requestCostRecorder.assertWithinBudget(Constants.BROADCAST_STATUS_PATH, 1, 1);
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private RequestBuilder buildBroadcastRequest(BroadcastRequest request) throws Exception {
+		return MockMvcRequestBuilders
+			.post(Constants.BROADCAST_NOTIFICATION_PATH)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(objectMapper.writeValueAsString(request))
+			.accept(MediaType.APPLICATION_JSON);
+	}
+
+	private RequestBuilder buildStatusRequest(String jobId) {
+		return MockMvcRequestBuilders
+			.get(Constants.BROADCAST_STATUS_PATH)
+			.param("jobId", jobId)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+			.accept(MediaType.APPLICATION_JSON);
+	}
+
+	// The email may be sent before the job writes its final status.
+	private StandardResponse waitForJobToFinish(String jobId) throws Exception {
+		long deadline = System.currentTimeMillis() + TestHelper.EMAIL_TIMEOUT_MILLIS;
+		StandardResponse response;
+		do {
+			response = executeRequestAndGetResponse(buildStatusRequest(jobId));
+			Object status = ((Map<?, ?>) response.getDetails()).get("status");
+			if (!"QUEUED".equals(status) && !"RUNNING".equals(status)) {
+				break;
+			}
+			Thread.sleep(50);
+		} while (System.currentTimeMillis() < deadline);
+		return response;
+	}
+
+	private StandardResponse executeRequestAndGetResponse(RequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+		String responseAsString = mvcResult.getResponse().getContentAsString();
+		return objectMapper.readValue(responseAsString, StandardResponse.class);
+	}
+
+}
@@ -0,0 +1,214 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.BulkUserSelection;
+import dev.jcasaslopez.user.dto.LoginResponse;
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.repository.UserRepository;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BulkUserOperationsIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private UserRepository userRepository;
+
+	@MockBean private EmailService emailService;
+
+	private User alice;
+	private User bob;
+	private User carol;
+	private User dave;
+	private String authToken;
+
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+	private static final String SUPERADMIN_USER_USERNAME = "userSuperAdmin";
+	private static final String SUPERADMIN_USER_PASSWORD = "Password789!";
+
+	@BeforeEach
+	void setup() throws Exception {
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		alice = testHelper.createAndPersistUser(new UserTestBuilder("bot_alice", USER_PASSWORD));
+		bob = testHelper.createAndPersistUser(new UserTestBuilder("bot_bob", USER_PASSWORD));
+		carol = testHelper.createAndPersistUser(new UserTestBuilder("bot_carol", USER_PASSWORD)
+				.withAccountStatus(AccountStatus.PERMANENTLY_SUSPENDED));
+		dave = testHelper.createAndPersistUser(new UserTestBuilder("dave", USER_PASSWORD)
+				.withAccountStatus(AccountStatus.BLOCKED));
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Bulk block by ids and emails skips suspended and already blocked users, and revokes the sessions of the rest")
+	void bulkUpdateAccountStatus_WhenListed_ShouldApplyRulesAndRevokeSessions() throws Exception {
+		// Arrange
+		LoginResponse aliceTokens = authTestHelper.logInWithMockMvc("bot_alice", USER_PASSWORD);
+		BulkUserSelection selection = new BulkUserSelection();
+		selection.setUserIds(List.of(alice.getIdUser(), carol.getIdUser(), dave.getIdUser(), Integer.MAX_VALUE));
+		selection.setEmails(List.of(bob.getEmail(), "nobody@test.com"));
+
+		// Act
+		MvcResult result = mockMvc.perform(buildRequest(Constants.BULK_UPDATE_ACCOUNT_STATUS_PATH, selection, authToken)
+				.param("newAccountStatus", AccountStatus.BLOCKED.name())).andReturn();
+		int refreshStatus = mockMvc.perform(MockMvcRequestBuilders.post(Constants.REFRESH_TOKEN_PATH)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + aliceTokens.getRefreshToken())).andReturn().getResponse().getStatus();
+		int accessStatus = mockMvc.perform(MockMvcRequestBuilders.delete(Constants.DELETE_ACCOUNT_PATH)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + aliceTokens.getAccessToken())).andReturn().getResponse().getStatus();
+
+		// Assert
+		JsonNode details = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(4, details.get("selected").asInt(), "Unexpected selected users"),
+				() -> assertEquals(2, details.get("updated").asInt(), "Unexpected updated users"),
+				() -> assertEquals(2, details.get("skipped").asInt(), "Unexpected skipped users"),
+				() -> assertEquals(2, details.get("notFound").asInt(), "Unexpected users not found"),
+				() -> assertEquals(AccountStatus.BLOCKED, findStatus("bot_alice"), "Alice should be blocked"),
+				() -> assertEquals(AccountStatus.BLOCKED, findStatus("bot_bob"), "Bob should be blocked"),
+				() -> assertEquals(AccountStatus.PERMANENTLY_SUSPENDED, findStatus("bot_carol"), "Carol should stay suspended"),
+				() -> assertEquals(HttpStatus.UNAUTHORIZED.value(), refreshStatus, "Alice's refresh token should be revoked"),
+				() -> assertEquals(HttpStatus.UNAUTHORIZED.value(), accessStatus, "Alice's access token should be rejected")
+				);
+		// Both emails are queued with one batch insert, so the outbox sends them together.
+		verify(emailService, timeout(TestHelper.EMAIL_TIMEOUT_MILLIS)).sendEmails(argThat(emails -> 
+				emails.stream().map(EmailMessage::getRecipient).collect(Collectors.toSet())
+					.equals(Set.of(alice.getEmail(), bob.getEmail()))));
+	}
+
+	@Test
+	@DisplayName("Bulk update by criteria only changes the users matching them")
+	void bulkUpdateAccountStatus_WhenCriteria_ShouldUpdateMatchingUsers() throws Exception {
+		// Arrange
+		BulkUserSelection selection = new BulkUserSelection();
+		selection.setUsernamePrefix("bot_");
+		selection.setAccountStatuses(Set.of(AccountStatus.ACTIVE));
+
+		// Act
+		MvcResult result = mockMvc.perform(buildRequest(Constants.BULK_UPDATE_ACCOUNT_STATUS_PATH, selection, authToken)
+				.param("newAccountStatus", AccountStatus.TEMPORARILY_BLOCKED.name())).andReturn();
+
+		// Assert
+		JsonNode details = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(2, details.get("updated").asInt(), "Only Alice and Bob match the criteria"),
+				() -> assertEquals(AccountStatus.TEMPORARILY_BLOCKED, findStatus("bot_alice"), "Unexpected status for Alice"),
+				() -> assertEquals(AccountStatus.BLOCKED, findStatus("dave"), "Dave should be unchanged"),
+				() -> assertEquals(AccountStatus.ACTIVE, findStatus(ADMIN_USER_USERNAME), "The admin should be unchanged")
+				);
+	}
+
+	@Test
+	@DisplayName("Bulk update with both a list of users and criteria returns 400 BAD REQUEST")
+	void bulkUpdateAccountStatus_WhenListAndCriteria_ShouldReturn400BadRequest() throws Exception {
+		// Arrange
+		BulkUserSelection selection = new BulkUserSelection();
+		selection.setUserIds(List.of(alice.getIdUser()));
+		selection.setUsernamePrefix("bot_");
+
+		// Act
+		MvcResult result = mockMvc.perform(buildRequest(Constants.BULK_UPDATE_ACCOUNT_STATUS_PATH, selection, authToken)
+				.param("newAccountStatus", AccountStatus.BLOCKED.name())).andReturn();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus(), "Expected HTTP status 400"),
+				() -> assertEquals(AccountStatus.ACTIVE, findStatus("bot_alice"), "Nothing should have been updated")
+				);
+	}
+
+	@Test
+	@DisplayName("Bulk upgrade requires SUPERADMIN and skips users who are already admins")
+	void bulkUpgradeUsers_WhenSuperAdmin_ShouldGrantAdminRole() throws Exception {
+		// Arrange
+		testHelper.createAndPersistUser(new UserTestBuilder(SUPERADMIN_USER_USERNAME, SUPERADMIN_USER_PASSWORD)
+				.withRole(RoleName.ROLE_SUPERADMIN));
+		String superAdminToken = authTestHelper.logInWithMockMvc(SUPERADMIN_USER_USERNAME, SUPERADMIN_USER_PASSWORD)
+				.getAccessToken();
+		BulkUserSelection selection = new BulkUserSelection();
+		selection.setEmails(List.of(alice.getEmail(), "userAdmin@test.com"));
+
+		// Act
+		MvcResult forbidden = mockMvc.perform(buildRequest(Constants.BULK_UPGRADE_USERS_PATH, selection, authToken)).andReturn();
+		MvcResult result = mockMvc.perform(buildRequest(Constants.BULK_UPGRADE_USERS_PATH, selection, superAdminToken)).andReturn();
+
+		// Assert
+		JsonNode details = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		assertAll(
+				() -> assertEquals(HttpStatus.FORBIDDEN.value(), forbidden.getResponse().getStatus(), "Expected HTTP status 403 for an ADMIN"),
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(1, details.get("updated").asInt(), "Only Alice should be upgraded"),
+				() -> assertEquals(1, details.get("skipped").asInt(), "The admin should be skipped"),
+				() -> assertTrue(findRoles("bot_alice").contains(RoleName.ROLE_ADMIN), "Alice should be ADMIN")
+				);
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MockHttpServletRequestBuilder buildRequest(String path, BulkUserSelection selection, String token) throws Exception {
+		return MockMvcRequestBuilders
+			.put(path)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(objectMapper.writeValueAsString(selection));
+	}
+
+	// Reads through the repository, as the endpoints do: changes must not be hidden by a stale cache entry.
+	private AccountStatus findStatus(String username) {
+		return userRepository.findByNaturalUsername(username).orElseThrow().getAccountStatus();
+	}
+
+	private List<RoleName> findRoles(String username) {
+		return userRepository.findByNaturalUsername(username).orElseThrow().getRoles().stream()
+				.map(Role::getRoleName).toList();
+	}
+
+}
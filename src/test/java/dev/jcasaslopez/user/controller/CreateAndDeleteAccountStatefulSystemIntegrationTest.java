@@ -35,10 +35,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.dto.UserDto;
 import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.service.RoleRegistry;
 import dev.jcasaslopez.user.service.TokenServiceImpl;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -79,6 +82,8 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 	@Autowired private ObjectMapper mapper;
 	@Autowired private TestHelper testHelper;
 	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private RoleRegistry roleRegistry;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	@MockBean private EmailService emailService;
 
 	// Static variables to share state (token, created user) between the ordered test methods.
@@ -115,6 +120,7 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 		HttpEntity<String> request = new HttpEntity<>(userJson, headers);
 
 		// Act
+		requestCostRecorder.startRecording(Constants.INITIATE_REGISTRATION_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.INITIATE_REGISTRATION_PATH, request, StandardResponse.class);
 
 		// Assert
@@ -143,6 +149,9 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 			    () -> assertEquals("Token created successfully and sent to the user to verify email", response.getBody().getMessage(), "Unexpected response message"),
 				() -> assertEquals(USERNAME, storedInRedisUser.getUsername(), "Username does not match")
 				);
+		// The pending registration is stored in Redis only; the verification email is queued in the outbox
+		// (replacing an identical pending one, or else inserted).
+		requestCostRecorder.assertWithinBudget(Constants.INITIATE_REGISTRATION_PATH, 2, 1);
 	}
 	
 	@Order(2)
@@ -154,8 +163,12 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 		HttpHeaders headers = new HttpHeaders();
 		headers.setBearerAuth(verificationToken);
 		HttpEntity<Void> request = new HttpEntity<>(headers); 
+		// The role registry is loaded once per application context. Loading it here keeps that one-off query
+		// out of the budget, which measures the cost of every registration.
+		roleRegistry.getRole(RoleName.ROLE_USER);
 	
 		// Act
+		requestCostRecorder.startRecording(Constants.REGISTRATION_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.REGISTRATION_PATH, request, StandardResponse.class);
 		Optional<User> optionalUserJPA = userRepository.findByUsername(USERNAME);
 		
@@ -171,6 +184,9 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 			    () -> assertEquals(user.getDateOfBirth(), optionalUserJPA.get().getDateOfBirth(), "Birth date does not match"),
 			    () -> assertTrue(passwordEncoder.matches(PASSWORD, optionalUserJPA.get().getPassword()), "Password was not encoded or does not match")
 			);
+		// Inserts into users and user_roles, and queuing the email in the outbox; the pending registration
+		// is read from Redis.
+		requestCostRecorder.assertWithinBudget(Constants.REGISTRATION_PATH, 4, 1);
 	}
 	
 	@Order(3)
@@ -184,6 +200,7 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 		HttpEntity<Void> request = new HttpEntity<>(headers); 
 		
 		// Act
+		requestCostRecorder.startRecording(Constants.DELETE_ACCOUNT_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.exchange(Constants.DELETE_ACCOUNT_PATH, HttpMethod.DELETE, request, StandardResponse.class);
 
 		// Assert
@@ -193,5 +210,7 @@ public class CreateAndDeleteAccountStatefulSystemIntegrationTest {
 			    () -> assertEquals("Account deleted successfully", response.getBody().getMessage(), "Unexpected response message"),
 			    () -> assertTrue(userRepository.findByUsername(user.getUsername()).isEmpty(), "User should no longer exist")
 			);
+		// Authentication, loading the user to delete and deleting its user_roles and users rows.
+		requestCostRecorder.assertWithinBudget(Constants.DELETE_ACCOUNT_PATH, 4, 0);
 	}
 }
\ No newline at end of file
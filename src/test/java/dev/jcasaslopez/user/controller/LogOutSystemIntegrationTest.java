@@ -22,6 +22,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -43,6 +44,7 @@ public class LogOutSystemIntegrationTest {
 	@Autowired private AuthenticationTestHelper authTestHelper;
 	@Autowired private TestRestTemplate testRestTemplate;
 	@Autowired private RedisTemplate<String, String> redisTemplate;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	// Immutable test constants defining the input data.
 	private static final String USERNAME = "Yorch22";
@@ -71,6 +73,7 @@ public class LogOutSystemIntegrationTest {
 		HttpEntity<String> request = new HttpEntity<>(headers);
 		
 		// Act
+		requestCostRecorder.startRecording(Constants.LOGOUT_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGOUT_PATH, request, StandardResponse.class);
 		
 		// Assert
@@ -81,5 +84,7 @@ public class LogOutSystemIntegrationTest {
 				() -> assertEquals("The user has been logged out", response.getBody().getMessage(), "Logout message mismatch"),
 				() -> assertEquals("blacklisted", redisEntryValue, "Refresh token should be blacklisted in Redis")
 				);
+		// Blacklisting the token is the only work: no query.
+		requestCostRecorder.assertWithinBudget(Constants.LOGOUT_PATH, 0, 1);
 			}
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+// Every test starts with two login attempts: a failed one of the regular user (wrong password) and
+// the successful login of the administrator that runs the export.
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoginAttemptExportIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+
+	@MockBean private EmailService emailService;
+
+	private User user;
+	private User admin;
+	private String authToken;
+
+	private static final String USER_USERNAME = "Yorch22";
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+
+	@BeforeEach
+	void setup() throws Exception {
+		user = testHelper.createAndPersistUser(new UserTestBuilder(USER_USERNAME, USER_PASSWORD));
+		admin = testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		authTestHelper.logInWithMockMvc(USER_USERNAME, "WrongPassword1!");
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("NDJSON export filtered by failure reason returns one JSON object per matching attempt")
+	void exportLoginAttempts_WhenFilteredByReason_ShouldStreamNdjson() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(buildExportRequest(authToken)
+				.param("loginFailureReason", "INCORRECT_PASSWORD")).andReturn();
+
+		// Assert
+		List<String> lines = result.getResponse().getContentAsString().lines().toList();
+		JsonNode attempt = objectMapper.readTree(lines.get(0));
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals("application/x-ndjson;charset=UTF-8", result.getResponse().getContentType(),
+						"Unexpected content type"),
+				() -> assertEquals(1, lines.size(), "Only the failed attempt should be exported"),
+				() -> assertEquals(USER_USERNAME, attempt.get("username").asText(), "Unexpected username"),
+				() -> assertEquals(user.getIdUser(), attempt.get("idUser").asInt(), "Unexpected idUser"),
+				() -> assertEquals(false, attempt.get("successful").asBoolean(), "The attempt should have failed"),
+				() -> assertEquals("INCORRECT_PASSWORD", attempt.get("loginFailureReason").asText(),
+						"Unexpected failure reason")
+				);
+	}
+
+	@Test
+	@DisplayName("CSV export filtered by username and time range returns a header and the matching attempts")
+	void exportLoginAttempts_WhenFilteredByUsernameAsCsv_ShouldStreamCsv() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(buildExportRequest(authToken)
+				.param("format", "CSV")
+				.param("username", ADMIN_USER_USERNAME)
+				.param("from", LocalDateTime.now().minusHours(1).toString())
+				.param("to", LocalDateTime.now().plusHours(1).toString())).andReturn();
+
+		// Assert
+		List<String> lines = result.getResponse().getContentAsString().lines().toList();
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals("attachment; filename=\"login-attempts.csv\"",
+						result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION), "Unexpected Content-Disposition"),
+				() -> assertEquals(2, lines.size(), "Expected the header and the administrator's login"),
+				() -> assertEquals("idLoginAttempt,timestamp,successful,ipAddress,loginFailureReason,idUser,username,attemptedUsername",
+						lines.get(0), "Unexpected header"),
+				() -> assertTrue(lines.get(1).endsWith(",true,127.0.0.1,,"
+						+ admin.getIdUser() + "," + ADMIN_USER_USERNAME + "," + ADMIN_USER_USERNAME),
+						"Unexpected row: " + lines.get(1))
+				);
+	}
+
+	@Test
+	@DisplayName("Export filtered by a username no user has returns the attempts made with it")
+	void exportLoginAttempts_WhenFilteredByUnknownUsername_ShouldReturnUserNotFoundAttempts() throws Exception {
+		// Arrange
+		authTestHelper.logInWithMockMvc("ghost", USER_PASSWORD);
+
+		// Act
+		MvcResult result = mockMvc.perform(buildExportRequest(authToken)
+				.param("username", "ghost")).andReturn();
+
+		// Assert
+		List<String> lines = result.getResponse().getContentAsString().lines().toList();
+		JsonNode attempt = objectMapper.readTree(lines.get(0));
+		assertAll(
+				() -> assertEquals(1, lines.size(), "Only the attempt with the unknown username should be exported"),
+				() -> assertEquals("USER_NOT_FOUND", attempt.get("loginFailureReason").asText(),
+						"Unexpected failure reason"),
+				() -> assertTrue(attempt.get("idUser").isNull(), "The attempt should not be linked to a user"),
+				() -> assertEquals("ghost", attempt.get("attemptedUsername").asText(), "Unexpected attempted username")
+				);
+	}
+
+	@Test
+	@DisplayName("Export with 'from' after 'to' returns 400 BAD REQUEST")
+	void exportLoginAttempts_WhenRangeInverted_ShouldReturn400BadRequest() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(buildExportRequest(authToken)
+				.param("from", "2025-02-01T00:00:00")
+				.param("to", "2025-01-01T00:00:00")).andReturn();
+		StandardResponse response = objectMapper.readValue(result.getResponse().getContentAsString(), StandardResponse.class);
+
+		// Assert
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatus(), "Expected HTTP status 400");
+	}
+
+	@Test
+	@DisplayName("Export by a user without ADMIN role returns 403 FORBIDDEN")
+	void exportLoginAttempts_WhenUserNotAdmin_ShouldReturn403Forbidden() throws Exception {
+		// Arrange
+		String userToken = authTestHelper.logInWithMockMvc(USER_USERNAME, USER_PASSWORD).getAccessToken();
+
+		// Act
+		MvcResult result = mockMvc.perform(buildExportRequest(userToken)).andReturn();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.FORBIDDEN.value(), result.getResponse().getStatus(), "Expected HTTP status 403"),
+				() -> assertEquals(null, result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION),
+						"Nothing should have been exported")
+				);
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MockHttpServletRequestBuilder buildExportRequest(String token) {
+		return MockMvcRequestBuilders
+			.get(Constants.EXPORT_LOGIN_ATTEMPTS_PATH)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+
+}
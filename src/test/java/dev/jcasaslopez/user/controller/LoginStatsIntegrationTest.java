@@ -0,0 +1,135 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.service.LoginStatsService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+// Login attempts are counted in memory and flushed to Redis periodically, so the tests flush them explicitly.
+// Counts left by previous tests are flushed and deleted before each test.
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class LoginStatsIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private LoginStatsService loginStatsService;
+
+	@MockBean private EmailService emailService;
+
+	private static final String USER_USERNAME = "Yorch22";
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+
+	@BeforeEach
+	void setup() {
+		loginStatsService.flush();
+		testHelper.cleanDataBaseAndRedis();
+		testHelper.createAndPersistUser(new UserTestBuilder(USER_USERNAME, USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Login stats count the attempts by result and reason, and rank the failing IP addresses")
+	void loginStats_AfterFailedAndSuccessfulLogins_ShouldReturnAggregates() throws Exception {
+		// Arrange
+		authTestHelper.logInWithMockMvc(USER_USERNAME, "WrongPassword1!");
+		authTestHelper.logInWithMockMvc(USER_USERNAME, "WrongPassword2!");
+		String authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+		loginStatsService.flush();
+
+		// Act
+		StandardResponse response = executeRequestAndGetResponse(buildStatsRequest(authToken));
+
+		// Assert
+		Map<?, ?> stats = (Map<?, ?>) response.getDetails();
+		List<?> topFailingIps = (List<?>) stats.get("topFailingIps");
+		assertAll(
+				() -> assertEquals(HttpStatus.OK, response.getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(3, ((Number) stats.get("attempts")).intValue(), "Unexpected number of attempts"),
+				() -> assertEquals(1, ((Number) stats.get("successful")).intValue(), "Unexpected number of successful attempts"),
+				() -> assertEquals(Map.of("INCORRECT_PASSWORD", 2), stats.get("failuresByReason"), "Unexpected failures by reason"),
+				() -> assertEquals(24, ((List<?>) stats.get("hourly")).size(), "The last 24 hours were expected by default"),
+				() -> assertEquals(List.of(Map.of("ipAddress", "127.0.0.1", "failures", 2)), topFailingIps,
+						"Unexpected failing IP addresses")
+				);
+	}
+
+	@Test
+	@DisplayName("Login stats for a user without ADMIN role return 403 FORBIDDEN")
+	void loginStats_WhenUserNotAdmin_ShouldReturn403Forbidden() throws Exception {
+		// Arrange
+		String userToken = authTestHelper.logInWithMockMvc(USER_USERNAME, USER_PASSWORD).getAccessToken();
+
+		// Act
+		StandardResponse response = executeRequestAndGetResponse(buildStatsRequest(userToken));
+
+		// Assert
+		assertEquals(HttpStatus.FORBIDDEN, response.getStatus(), "Expected HTTP status 403");
+	}
+
+	@Test
+	@DisplayName("Login stats with an invalid number of IP addresses return 400 BAD REQUEST")
+	void loginStats_WhenTopIpsInvalid_ShouldReturn400BadRequest() throws Exception {
+		// Arrange
+		String authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+
+		// Act
+		StandardResponse response = executeRequestAndGetResponse(buildStatsRequest(authToken).param("topIps", "0"));
+
+		// Assert
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatus(), "Expected HTTP status 400");
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MockHttpServletRequestBuilder buildStatsRequest(String token) {
+		return MockMvcRequestBuilders
+			.get(Constants.LOGIN_STATS_PATH)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.accept(MediaType.APPLICATION_JSON);
+	}
+
+	private StandardResponse executeRequestAndGetResponse(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(requestBuilder).andReturn();
+		return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), StandardResponse.class);
+	}
+
+}
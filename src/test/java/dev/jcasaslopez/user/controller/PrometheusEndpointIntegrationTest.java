@@ -0,0 +1,84 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+
+// Metrics export (and with it /actuator/prometheus) is disabled in tests unless @AutoConfigureObservability is present.
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PrometheusEndpointIntegrationTest {
+
+	@Autowired private TestRestTemplate testRestTemplate;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private TestHelper testHelper;
+	
+	@LocalManagementPort private int managementPort;
+
+	// Immutable test constants defining the input data.
+	private static final String USERNAME = "Yorch22";
+	private static final String PASSWORD = "Password123!";
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Scrape endpoint needs no token on the management port and exports the authentication stages of a login")
+	public void prometheus_AfterLogin_ShouldExportAuthenticationMetrics() throws Exception {
+		// Arrange
+		testHelper.createAndPersistUser(new UserTestBuilder(USERNAME, PASSWORD));
+		authTestHelper.logInWithMockMvc(USERNAME, PASSWORD);
+
+		// Act
+		// Sent to the embedded server: AuthenticationFilter matches endpoints by servlet path, which MockMvc leaves empty.
+		ResponseEntity<String> response = testRestTemplate.getForEntity(
+				"http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+		String scrape = response.getBody();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP status 200 OK without a token"),
+				() -> assertTrue(scrape.contains("auth_stage_seconds_bucket"), "auth.stage should be exported with a histogram"),
+				() -> assertTrue(scrape.matches("(?s).*auth_stage_seconds_count\\{[^}]*stage=\"password_match\"[^}]*\\} [1-9].*"),
+						"The password check of the login should have been timed"),
+				() -> assertTrue(scrape.matches("(?s).*auth_stage_seconds_count\\{[^}]*stage=\"token_sign\"[^}]*\\} [1-9].*"),
+						"The tokens issued by the login should have been timed"),
+				() -> assertTrue(scrape.matches("(?s).*auth_login_attempts_total\\{outcome=\"success\"\\} [1-9].*"),
+						"The successful login should have been counted")
+				);
+	}
+
+	@Test
+	@DisplayName("Actuator endpoints are not served on the public port")
+	public void prometheus_OnPublicPort_ShouldNotBeServed() {
+		// Act
+		ResponseEntity<String> prometheus = testRestTemplate.getForEntity("/actuator/prometheus", String.class);
+		ResponseEntity<String> health = testRestTemplate.getForEntity("/actuator/health", String.class);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.NOT_FOUND, prometheus.getStatusCode(), "Expected HTTP status 404 NOT FOUND"),
+				() -> assertEquals(HttpStatus.NOT_FOUND, health.getStatusCode(), "Expected HTTP status 404 NOT FOUND")
+				);
+	}
+
+}
@@ -23,6 +23,7 @@ import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.enums.TokenType;
 import dev.jcasaslopez.user.service.TokenService;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -39,6 +40,7 @@ public class RefreshTokenSystemIntegrationTest {
 	@Autowired private TestRestTemplate testRestTemplate;
 	@Autowired private TestHelper testHelper;
 	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	// Immutable test constants defining the input data.
 	private static final String USERNAME = "Yorch22";
@@ -65,6 +67,7 @@ public class RefreshTokenSystemIntegrationTest {
 		HttpEntity<Void> request = new HttpEntity<>(headers);
 		
 		// Act
+		requestCostRecorder.startRecording(Constants.REFRESH_TOKEN_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.REFRESH_TOKEN_PATH, request, StandardResponse.class);
 		
 		// Assert
@@ -80,6 +83,8 @@ public class RefreshTokenSystemIntegrationTest {
 		        () -> assertTokenPurpose(tokens.get(0), TokenType.REFRESH),
 		        () -> assertTokenPurpose(tokens.get(1), TokenType.ACCESS)
 		    );
+		// Blacklist check and blacklisting of the old refresh token. The claims are enough to issue the new tokens.
+		requestCostRecorder.assertWithinBudget(Constants.REFRESH_TOKEN_PATH, 0, 2);
 	}
 	
 	private void assertTokenPurpose(String token, TokenType expected) {
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -35,6 +36,7 @@ import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.service.EmailService;
 import dev.jcasaslopez.user.service.TokenService;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -57,6 +59,7 @@ public class ResetAndChangePasswordSystemIntegrationTest {
 	@Autowired private AuthenticationTestHelper authTestHelper;
 	@Autowired private UserRepository userRepository;
 	@Autowired private PasswordEncoder passwordEncoder;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	@MockBean private EmailService emailService;
 	
 	private User user;
@@ -88,15 +91,19 @@ public class ResetAndChangePasswordSystemIntegrationTest {
 	    HttpEntity<String> request = new HttpEntity<>(body, headers);
 	    	    
 	    // Act
+	    requestCostRecorder.startRecording(Constants.FORGOT_PASSWORD_PATH);
 	    ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.FORGOT_PASSWORD_PATH, request, StandardResponse.class);
 
 		/// Assert		
-	    verify(emailService, times(1)).sendEmail(anyString(), anyString(), anyString());	    
+	    verify(emailService, timeout(TestHelper.EMAIL_TIMEOUT_MILLIS).times(1)).sendEmail(anyString(), anyString(), anyString());	    
 		assertAll(
 				() -> assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP status 200 OK"),
 				() -> assertNotNull(response.getBody(), "Response body should not be null"),
 			    () -> assertEquals("Token created successfully and sent to the user to reset password", response.getBody().getMessage(), "Unexpected response message")
 				);
+		// The user is looked up by email, along with its roles; the email is queued in the outbox
+		// (replacing an identical pending one, or else inserted).
+		requestCostRecorder.assertWithinBudget(Constants.FORGOT_PASSWORD_PATH, 4, 0);
 	}
 	
 	@Test
@@ -116,6 +123,7 @@ public class ResetAndChangePasswordSystemIntegrationTest {
 	    HttpEntity<String> request = new HttpEntity<>(newPassword, headers);
 	    
 	    // Act
+	    requestCostRecorder.startRecording(Constants.RESET_PASSWORD_PATH);
 	    ResponseEntity<StandardResponse> response = testRestTemplate.exchange(Constants.RESET_PASSWORD_PATH, HttpMethod.PUT, request, StandardResponse.class);
 	    // Refresh the 'user' variable with the persisted user from the database, which now has the updated password.
 	    user = userRepository.findByUsername(USERNAME).get();
@@ -127,6 +135,8 @@ public class ResetAndChangePasswordSystemIntegrationTest {
 				() -> assertEquals("Password reset successfully", response.getBody().getMessage(), "Unexpected response message"),
 				() -> assertTrue(passwordEncoder.matches(newPassword, user.getPassword()), "Passwords should match")
 				);
+		// Loading the user and updating its password; queuing the email in the outbox.
+		requestCostRecorder.assertWithinBudget(Constants.RESET_PASSWORD_PATH, 4, 0);
 	}
 	
 	@Test
@@ -146,18 +156,22 @@ public class ResetAndChangePasswordSystemIntegrationTest {
 	    HttpEntity<Map<String, String>> request = new HttpEntity<>(passwords, headers);
 
 	    // Act
+	    requestCostRecorder.startRecording(Constants.CHANGE_PASSWORD_PATH);
 	    ResponseEntity<StandardResponse> response = testRestTemplate.exchange(Constants.CHANGE_PASSWORD_PATH, HttpMethod.PUT, request, StandardResponse.class);
 	    // Refresh the 'user' variable with the persisted user from the database, which now has the updated password.
 	    user = userRepository.findByUsername(USERNAME).get();
 
 		// Assert
-	    verify(emailService, times(1)).sendEmail(anyString(), anyString(), anyString());	    
+	    verify(emailService, timeout(TestHelper.EMAIL_TIMEOUT_MILLIS).times(1)).sendEmail(anyString(), anyString(), anyString());	    
 	    assertAll(
 		        () -> assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected status 200 OK"),
 		        () -> assertNotNull(response.getBody(), "Response body should not be null"),
 		        () -> assertEquals("Password changed successfully", response.getBody().getMessage(), "Unexpected response message"),
 		        () -> assertTrue(passwordEncoder.matches(newPassword, user.getPassword()), "Passwords should match")
 		    );
+		// Authentication (which also provides the current password hash) and the password update;
+		// queuing the email in the outbox.
+		requestCostRecorder.assertWithinBudget(Constants.CHANGE_PASSWORD_PATH, 4, 0);
 	}
 
 }
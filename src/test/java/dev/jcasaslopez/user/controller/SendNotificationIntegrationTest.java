@@ -35,6 +35,7 @@ import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.service.EmailService;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -56,6 +57,7 @@ public class SendNotificationIntegrationTest {
 	@Autowired private MockMvc mockMvc;
 	@Autowired private TestHelper testHelper;
 	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	// Allows verification that the 'sendEmail' method was invoked, without actually sending it.
 	@MockBean  private EmailService emailService;
@@ -91,6 +93,7 @@ public class SendNotificationIntegrationTest {
 	    RequestBuilder requestBuilder = buildRequest(payload, authToken);
 
 	    // Act
+	    requestCostRecorder.startRecording(Constants.SEND_NOTIFICATION_PATH);
 	    StandardResponse response = executeRequestAndGetResponse(requestBuilder);
 	    EmailArguments emailArgs = captureEmailArguments();
 
@@ -104,6 +107,8 @@ public class SendNotificationIntegrationTest {
 	        () -> assertNotNull(response.getMessage(), "Response message should not be null"),
 	        () -> assertEquals("Notification sent successfully", response.getMessage(), "Unexpected response message")
 	    );
+	    // Authentication only: the recipient is loaded when the email is sent, after the response.
+	    requestCostRecorder.assertWithinBudget(Constants.SEND_NOTIFICATION_PATH, 1, 0);
 	}
 	
 	@Test
@@ -30,6 +30,7 @@ import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -48,6 +49,7 @@ public class UpdateAccountStatusSystemIntegrationTest {
 	@Autowired private TestHelper testHelper; 
 	@Autowired private AuthenticationTestHelper authTestHelper;
 	@Autowired private TestRestTemplate testRestTemplate;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	private User user;
 	private String authToken;
@@ -81,6 +83,7 @@ public class UpdateAccountStatusSystemIntegrationTest {
 		AccountStatus newAccountStatus = AccountStatus.TEMPORARILY_BLOCKED;
 
 		// Act
+		requestCostRecorder.startRecording(Constants.UPDATE_ACCOUNT_STATUS_PATH);
 		ResponseEntity<StandardResponse> response = updateAccountStatus(authToken, user, newAccountStatus);
 	    user = reloadUser();
 
@@ -91,6 +94,30 @@ public class UpdateAccountStatusSystemIntegrationTest {
 				() -> assertTrue(response.getBody().getMessage().contains("status successfully updated"), "Unexpected response message"),
 				() -> assertTrue(user.getAccountStatus() == newAccountStatus, "Account has unexpected status after the test")
 			);
+		// Authentication, the target user and its roles, the status update and queuing the email in the
+		// outbox; the session revocation.
+		requestCostRecorder.assertWithinBudget(Constants.UPDATE_ACCOUNT_STATUS_PATH, 6, 1);
+	}
+	
+	@Test
+	@DisplayName("Blocking an account revokes its sessions, as the bulk update does")
+	public void updateAccountStatus_WhenBlocked_ShouldRevokeSessions() throws Exception{
+		// Arrange
+		String refreshToken = authTestHelper.logInWithTestRestTemplate("Yorch22", "Password123!").getRefreshToken();
+
+		// Act
+		ResponseEntity<StandardResponse> response = updateAccountStatus(authToken, user, AccountStatus.BLOCKED);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(refreshToken);
+		ResponseEntity<StandardResponse> refreshResponse = testRestTemplate.exchange(Constants.REFRESH_TOKEN_PATH, 
+				HttpMethod.POST, new HttpEntity<>(headers), StandardResponse.class);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.OK, response.getBody().getStatus(), "HTTP status should be 200 OK"),
+				() -> assertEquals(HttpStatus.UNAUTHORIZED, refreshResponse.getStatusCode(), 
+						"The refresh token issued before the block should be revoked")
+				);
 	}
 	
 	@Test
@@ -101,6 +128,7 @@ public class UpdateAccountStatusSystemIntegrationTest {
 		AccountStatus newAccountStatus = AccountStatus.ACTIVE;
 
 		// Act
+		requestCostRecorder.startRecording(Constants.UPDATE_ACCOUNT_STATUS_PATH);
 		ResponseEntity<StandardResponse> response = updateAccountStatus(authToken, user, newAccountStatus);
 	    user = reloadUser();
 
@@ -110,6 +138,7 @@ public class UpdateAccountStatusSystemIntegrationTest {
 				() -> assertNotNull(response.getBody(), "Response body should not be null"),
 				() -> assertEquals("The account already has the specified status", response.getBody().getMessage(), "Unexpected response message")
 				);
+		requestCostRecorder.assertWithinBudget(Constants.UPDATE_ACCOUNT_STATUS_PATH, 3, 0);
 	}
 	
 	@Test
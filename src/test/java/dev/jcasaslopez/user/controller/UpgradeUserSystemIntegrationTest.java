@@ -28,7 +28,9 @@ import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.repository.RoleRepository;
 import dev.jcasaslopez.user.repository.UserRepository;
+import dev.jcasaslopez.user.service.RoleRegistry;
 import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -48,6 +50,8 @@ public class UpgradeUserSystemIntegrationTest {
 	@Autowired private TestHelper testHelper; 
 	@Autowired private AuthenticationTestHelper authTestHelper;
 	@Autowired private TestRestTemplate testRestTemplate;
+	@Autowired private RoleRegistry roleRegistry;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	private User user;
 	private String authToken;
@@ -67,6 +71,10 @@ public class UpgradeUserSystemIntegrationTest {
 		testHelper.createAndPersistUser(builderAdminUser);	
 		
 		authToken = authTestHelper.logInWithTestRestTemplate(SUPER_ADMIN_USER_USERNAME, SUPER_ADMIN_USER_PASSWORD).getAccessToken();
+		
+		// The role registry is loaded once per application context. Loading it here keeps that one-off query
+		// out of the budgets, which measure the cost of every upgrade.
+		roleRegistry.getRole(RoleName.ROLE_ADMIN);
 	}
 	
 	@AfterEach
@@ -78,6 +86,7 @@ public class UpgradeUserSystemIntegrationTest {
 	@DisplayName("SuperAdmin upgrades user successfully")
 	public void upgradeUser_WhenSuperAdminUpgrades_ShouldReturn200OK() throws Exception {
 		// Act
+		requestCostRecorder.startRecording(Constants.UPGRADE_USER_PATH);
 		ResponseEntity<StandardResponse> response = upgradeUser(authToken, user);
 	    user = reloadUser();
 		
@@ -89,6 +98,8 @@ public class UpgradeUserSystemIntegrationTest {
 			    () -> assertTrue(user.getRoles().contains(roleRepository.findByRoleName(RoleName.ROLE_ADMIN).get()), 
 			    		user.getUsername() + " should have the role admin")
 			);
+		// Authentication, the target user and its roles, and the user_roles insert. The admin role comes from the registry.
+		requestCostRecorder.assertWithinBudget(Constants.UPGRADE_USER_PATH, 4, 0);
 	}
 	
 	@Test
@@ -98,6 +109,7 @@ public class UpgradeUserSystemIntegrationTest {
 		// First, we upgrade the user to admin.
 		upgradeUser(authToken, user);		
 		// Then, we try to upgrade it again. The result of this call is the real test subject.
+		requestCostRecorder.startRecording(Constants.UPGRADE_USER_PATH);
 		ResponseEntity<StandardResponse> response = upgradeUser(authToken, user);
 		user = reloadUser();
 
@@ -107,6 +119,7 @@ public class UpgradeUserSystemIntegrationTest {
 	        () -> assertNotNull(response.getBody(), "Response should contain error message"),
 	        () -> assertEquals("User is already ADMIN", response.getBody().getMessage(), "Unexpected error message")
 	    );
+	    requestCostRecorder.assertWithinBudget(Constants.UPGRADE_USER_PATH, 3, 0);
 	}
 	
 	// ************** HELPER METHODS **************
@@ -0,0 +1,145 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.repository.UserRepository;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserImportIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+	@Autowired private UserRepository userRepository;
+	@Autowired private PasswordEncoder passwordEncoder;
+
+	@MockBean private EmailService emailService;
+
+	private String authToken;
+
+	private static final String USER_USERNAME = "Yorch22";
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+
+	@BeforeEach
+	void setup() throws Exception {
+		testHelper.createAndPersistUser(new UserTestBuilder(USER_USERNAME, USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("CSV import creates active users that can log in, and skips users that already exist")
+	void importUsers_WhenCsv_ShouldCreateUsersThatCanLogIn() throws Exception {
+		// Arrange
+		String csv = """
+				username,password,fullName,email,dateOfBirth
+				john_doe,Secure@123,John Doe,john@example.com,1990-05-20
+				Yorch22,Secure@123,Someone Else,someone@example.com,1990-05-20
+				""";
+
+		// Act
+		MvcResult result = performImport(csv, "CSV", authToken);
+
+		// Assert
+		JsonNode details = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		User imported = userRepository.findByUsername("john_doe").orElseThrow();
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(1, details.get("imported").asInt(), "Only john_doe should have been imported"),
+				() -> assertEquals(3, details.get("errors").get(0).get("line").asInt(), "The existing user is on line 3"),
+				() -> assertEquals(AccountStatus.ACTIVE, imported.getAccountStatus(), "The user should be active"),
+				() -> assertEquals(RoleName.ROLE_USER, imported.getRoles().iterator().next().getRoleName(),
+						"The user should have the USER role"),
+				() -> assertNotNull(authTestHelper.logInWithMockMvc("john_doe", "Secure@123").getAccessToken(),
+						"The imported user should be able to log in")
+				);
+	}
+
+	@Test
+	@DisplayName("NDJSON import keeps BCrypt password hashes, so users log in with their previous password")
+	void importUsers_WhenPasswordHash_ShouldKeepIt() throws Exception {
+		// Arrange
+		String ndjson = "{\"username\":\"jane_doe\",\"passwordHash\":\"" + passwordEncoder.encode("Legacy@123")
+				+ "\",\"fullName\":\"Jane Doe\",\"email\":\"jane@example.com\",\"dateOfBirth\":\"1991-06-21\"}\n";
+
+		// Act
+		MvcResult result = performImport(ndjson, "NDJSON", authToken);
+
+		// Assert
+		JsonNode details = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		assertAll(
+				() -> assertEquals(1, details.get("imported").asInt(), "jane_doe should have been imported"),
+				() -> assertTrue(details.get("errors").isEmpty(), "No row should have been rejected"),
+				() -> assertNotNull(authTestHelper.logInWithMockMvc("jane_doe", "Legacy@123").getAccessToken(),
+						"The imported user should be able to log in with the legacy password")
+				);
+	}
+
+	@Test
+	@DisplayName("Import by a user without ADMIN role returns 403 FORBIDDEN and imports nothing")
+	void importUsers_WhenUserNotAdmin_ShouldReturn403Forbidden() throws Exception {
+		// Arrange
+		String userToken = authTestHelper.logInWithMockMvc(USER_USERNAME, USER_PASSWORD).getAccessToken();
+		String csv = "username,password,fullName,email,dateOfBirth\njohn_doe,Secure@123,John Doe,john@example.com,1990-05-20\n";
+
+		// Act
+		MvcResult result = performImport(csv, "CSV", userToken);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(HttpStatus.FORBIDDEN.value(), result.getResponse().getStatus(), "Expected HTTP status 403"),
+				() -> assertTrue(userRepository.findByUsername("john_doe").isEmpty(), "No user should have been imported")
+				);
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MvcResult performImport(String content, String format, String token) throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders
+				.post(Constants.IMPORT_USERS_PATH)
+				.param("format", format)
+				.content(content)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andReturn();
+	}
+
+}
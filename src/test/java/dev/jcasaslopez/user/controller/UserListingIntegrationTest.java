@@ -0,0 +1,193 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+// Every test starts with five users: the administrator that runs the listing, three active users
+// (alice1, alice2, bob) and a blocked one (carol).
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserListingIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+
+	@MockBean private EmailService emailService;
+
+	private String authToken;
+
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+
+	@BeforeEach
+	void setup() throws Exception {
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		testHelper.createAndPersistUser(new UserTestBuilder("alice1", USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder("alice2", USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder("bob", USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder("carol", USER_PASSWORD).withAccountStatus(AccountStatus.BLOCKED));
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Following 'nextAfter' lists every user once, in id order, with their roles")
+	void listUsers_WhenPaging_ShouldListEveryUserOnce() throws Exception {
+		// Arrange
+		List<String> usernames = new ArrayList<>();
+		List<Integer> ids = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		String after = null;
+		JsonNode admin = null;
+
+		// Act
+		do {
+			MockHttpServletRequestBuilder request = buildListRequest(authToken).param("limit", "2");
+			if (after != null) {
+				request.param("after", after);
+			}
+			JsonNode page = readDetails(mockMvc.perform(request).andReturn());
+			pageSizes.add(page.get("users").size());
+			for (JsonNode user : page.get("users")) {
+				usernames.add(user.get("username").asText());
+				ids.add(user.get("idUser").asInt());
+				if (ADMIN_USER_USERNAME.equals(user.get("username").asText())) {
+					admin = user;
+				}
+			}
+			after = page.get("nextAfter").isNull() ? null : page.get("nextAfter").asText();
+		} while (after != null);
+
+		// Assert
+		JsonNode listedAdmin = admin;
+		assertAll(
+				() -> assertEquals(List.of(ADMIN_USER_USERNAME, "alice1", "alice2", "bob", "carol"), usernames,
+						"Every user should be listed once, in id order"),
+				() -> assertEquals(ids.stream().sorted().toList(), ids, "Users should be sorted by id"),
+				() -> assertEquals(List.of(2, 2, 1), pageSizes, "Unexpected page sizes"),
+				() -> assertEquals(2, listedAdmin.get("roles").size(), "The administrator should have two roles"),
+				() -> assertEquals("userAdmin@test.com", listedAdmin.get("email").asText(), "Unexpected email")
+				);
+	}
+
+	@Test
+	@DisplayName("Listing filtered by account status and role returns only the matching users")
+	void listUsers_WhenFilteredByStatusAndRole_ShouldReturnMatchingUsers() throws Exception {
+		// Act
+		JsonNode blocked = readDetails(mockMvc.perform(buildListRequest(authToken)
+				.param("accountStatus", "BLOCKED")).andReturn());
+		JsonNode admins = readDetails(mockMvc.perform(buildListRequest(authToken)
+				.param("accountStatus", "ACTIVE")
+				.param("role", "ROLE_ADMIN", "ROLE_SUPERADMIN")).andReturn());
+
+		// Assert
+		assertAll(
+				() -> assertEquals(1, blocked.get("users").size(), "Only carol is blocked"),
+				() -> assertEquals("carol", blocked.get("users").get(0).get("username").asText(), "Unexpected user"),
+				() -> assertEquals("BLOCKED", blocked.get("users").get(0).get("accountStatus").asText(), "Unexpected status"),
+				() -> assertEquals(1, admins.get("users").size(), "Only the administrator has an admin role"),
+				() -> assertTrue(admins.get("nextAfter").isNull(), "There should be no next page")
+				);
+	}
+
+	@Test
+	@DisplayName("Username prefix search pages by username and matches wildcards literally")
+	void listUsers_WhenSearchingByUsernamePrefix_ShouldPageByUsername() throws Exception {
+		// Act
+		JsonNode firstPage = readDetails(mockMvc.perform(buildListRequest(authToken)
+				.param("usernamePrefix", "ali")
+				.param("limit", "1")).andReturn());
+		JsonNode secondPage = readDetails(mockMvc.perform(buildListRequest(authToken)
+				.param("usernamePrefix", "ali")
+				.param("limit", "1")
+				.param("after", firstPage.get("nextAfter").asText())).andReturn());
+		JsonNode wildcard = readDetails(mockMvc.perform(buildListRequest(authToken)
+				.param("usernamePrefix", "%")).andReturn());
+
+		// Assert
+		assertAll(
+				() -> assertEquals("alice1", firstPage.get("users").get(0).get("username").asText(), "Unexpected first user"),
+				() -> assertEquals("alice1", firstPage.get("nextAfter").asText(), "The key should be the last username"),
+				() -> assertEquals("alice2", secondPage.get("users").get(0).get("username").asText(), "Unexpected second user"),
+				() -> assertTrue(secondPage.get("nextAfter").isNull(), "There should be no third page"),
+				() -> assertEquals(0, wildcard.get("users").size(), "'%' should not match every username")
+				);
+	}
+
+	@Test
+	@DisplayName("Searching by username and email prefix at once returns 400 BAD REQUEST")
+	void listUsers_WhenBothPrefixes_ShouldReturn400BadRequest() throws Exception {
+		// Act
+		MvcResult result = mockMvc.perform(buildListRequest(authToken)
+				.param("usernamePrefix", "ali")
+				.param("emailPrefix", "ali")).andReturn();
+
+		// Assert
+		assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus(), "Expected HTTP status 400");
+	}
+
+	@Test
+	@DisplayName("Listing by a user without ADMIN role returns 403 FORBIDDEN")
+	void listUsers_WhenUserNotAdmin_ShouldReturn403Forbidden() throws Exception {
+		// Arrange
+		String userToken = authTestHelper.logInWithMockMvc("bob", USER_PASSWORD).getAccessToken();
+
+		// Act
+		MvcResult result = mockMvc.perform(buildListRequest(userToken)).andReturn();
+
+		// Assert
+		assertEquals(HttpStatus.FORBIDDEN.value(), result.getResponse().getStatus(), "Expected HTTP status 403");
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MockHttpServletRequestBuilder buildListRequest(String token) {
+		return MockMvcRequestBuilders
+			.get(Constants.LIST_USERS_PATH)
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+	}
+
+	private JsonNode readDetails(MvcResult result) throws Exception {
+		assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200");
+		return objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+	}
+
+}
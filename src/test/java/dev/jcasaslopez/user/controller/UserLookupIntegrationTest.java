@@ -0,0 +1,166 @@
+package dev.jcasaslopez.user.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.dto.UserLookupRequest;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.service.EmailService;
+import dev.jcasaslopez.user.testhelper.AuthenticationTestHelper;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class UserLookupIntegrationTest {
+
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private MockMvc mockMvc;
+	@Autowired private TestHelper testHelper;
+	@Autowired private AuthenticationTestHelper authTestHelper;
+
+	@MockBean private EmailService emailService;
+
+	private User alice;
+	private User bob;
+	private String authToken;
+
+	private static final String USER_PASSWORD = "Password123!";
+	private static final String ADMIN_USER_USERNAME = "userAdmin";
+	private static final String ADMIN_USER_PASSWORD = "Password456!";
+
+	@BeforeEach
+	void setup() throws Exception {
+		testHelper.createAndPersistUser(new UserTestBuilder(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).withRole(RoleName.ROLE_ADMIN));
+		alice = testHelper.createAndPersistUser(new UserTestBuilder("alice", USER_PASSWORD));
+		bob = testHelper.createAndPersistUser(new UserTestBuilder("bob", USER_PASSWORD));
+		testHelper.createAndPersistUser(new UserTestBuilder("carol", USER_PASSWORD));
+		authToken = authTestHelper.logInWithMockMvc(ADMIN_USER_USERNAME, ADMIN_USER_PASSWORD).getAccessToken();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Lookup by ids and usernames returns each matching user once and leaves unknown ones out")
+	void lookupUsers_WhenIdsAndUsernames_ShouldReturnMatchingUsersOnce() throws Exception {
+		// Arrange
+		UserLookupRequest request = new UserLookupRequest(
+				List.of(alice.getIdUser(), bob.getIdUser(), alice.getIdUser(), Integer.MAX_VALUE),
+				List.of("bob", "carol", "nobody"));
+
+		// Act
+		MvcResult result = performLookup(request, authToken);
+
+		// Assert
+		JsonNode users = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		List<String> usernames = new ArrayList<>();
+		users.forEach(user -> usernames.add(user.get("username").asText()));
+		JsonNode first = users.get(0);
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(List.of("alice", "bob", "carol"), usernames, "Unexpected users"),
+				() -> assertEquals(alice.getIdUser(), first.get("idUser").asInt(), "Unexpected idUser"),
+				() -> assertEquals("alice@test.com", first.get("email").asText(), "Unexpected email"),
+				() -> assertEquals("ROLE_USER", first.get("roles").get(0).asText(), "Unexpected roles"),
+				() -> assertEquals(null, first.get("password"), "The password should not be returned")
+				);
+	}
+
+	@Test
+	@DisplayName("Lookup by username ignores case, as the database does")
+	void lookupUsers_WhenUsernameCaseDiffers_ShouldReturnUser() throws Exception {
+		// Arrange
+		UserLookupRequest request = new UserLookupRequest(null, List.of("BOB", "Carol", "bob"));
+
+		// Act
+		MvcResult result = performLookup(request, authToken);
+
+		// Assert
+		JsonNode users = objectMapper.readTree(result.getResponse().getContentAsString()).get("details");
+		List<String> usernames = new ArrayList<>();
+		users.forEach(user -> usernames.add(user.get("username").asText()));
+		assertAll(
+				() -> assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus(), "Expected HTTP status 200"),
+				() -> assertEquals(List.of("bob", "carol"), usernames, "Unexpected users")
+				);
+	}
+
+	@Test
+	@DisplayName("Lookup without ids or usernames returns 400 BAD REQUEST")
+	void lookupUsers_WhenEmpty_ShouldReturn400BadRequest() throws Exception {
+		// Act
+		MvcResult result = performLookup(new UserLookupRequest(List.of(), null), authToken);
+
+		// Assert
+		assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus(), "Expected HTTP status 400");
+	}
+
+	@Test
+	@DisplayName("Lookup of more keys than allowed returns 400 BAD REQUEST")
+	void lookupUsers_WhenTooManyKeys_ShouldReturn400BadRequest() throws Exception {
+		// Arrange
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 1; i <= 1001; i++) {
+			ids.add(i);
+		}
+
+		// Act
+		MvcResult result = performLookup(new UserLookupRequest(ids, Collections.emptyList()), authToken);
+
+		// Assert
+		assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus(), "Expected HTTP status 400");
+	}
+
+	@Test
+	@DisplayName("Lookup by a user without ADMIN role returns 403 FORBIDDEN")
+	void lookupUsers_WhenUserNotAdmin_ShouldReturn403Forbidden() throws Exception {
+		// Arrange
+		String userToken = authTestHelper.logInWithMockMvc("bob", USER_PASSWORD).getAccessToken();
+
+		// Act
+		MvcResult result = performLookup(new UserLookupRequest(List.of(alice.getIdUser()), null), userToken);
+
+		// Assert
+		assertEquals(HttpStatus.FORBIDDEN.value(), result.getResponse().getStatus(), "Expected HTTP status 403");
+	}
+
+
+	// ************** HELPER METHODS **************
+
+	private MvcResult performLookup(UserLookupRequest request, String token) throws Exception {
+		return mockMvc.perform(MockMvcRequestBuilders
+				.post(Constants.LOOKUP_USERS_PATH)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andReturn();
+	}
+
+}
@@ -0,0 +1,108 @@
+package dev.jcasaslopez.user.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadWriteRoutingDataSourceTest {
+	
+	@Mock DataSource primary;
+	@Mock DataSource firstReplica;
+	@Mock DataSource secondReplica;
+	
+	private ReadWriteRoutingDataSource routingDataSource;
+	
+	@BeforeEach
+	void setUp() {
+		routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(firstReplica, secondReplica));
+	}
+	
+	@AfterEach
+	void clearTransactionState() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+	
+	// The data source a connection requested right now would come from.
+	private DataSource route() {
+		return routingDataSource.getResolvedDataSources().get(routingDataSource.determineCurrentLookupKey());
+	}
+	
+	@Test
+	@DisplayName("Read-write transactions and code outside a transaction go to the primary")
+	public void route_WhenNotReadOnly_ShouldReturnPrimary() {
+		// Act
+		DataSource target = route();
+		
+		// Assert
+		assertEquals(primary, target, "Non read-only work should go to the primary");
+	}
+	
+	@Test
+	@DisplayName("Read-only transactions are spread across the replicas")
+	public void route_WhenReadOnly_ShouldAlternateReplicas() {
+		// Arrange
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		
+		// Act
+		DataSource firstTarget = route();
+		DataSource secondTarget = route();
+		DataSource thirdTarget = route();
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(firstReplica, firstTarget, "First read should go to the first replica"),
+				() -> assertEquals(secondReplica, secondTarget, "Second read should go to the second replica"),
+				() -> assertEquals(firstReplica, thirdTarget, "Third read should go back to the first replica")
+				);
+	}
+	
+	@Test
+	@DisplayName("Reads recently written through ReplicaLagGuard go to the primary")
+	public void read_WhenKeyRecentlyWritten_ShouldUsePrimary() {
+		// Arrange
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(60_000);
+		replicaLagGuard.recordWrite("Yorch22");
+		
+		// Act
+		DataSource writtenUserTarget = replicaLagGuard.read("Yorch22", this::route);
+		DataSource otherUserTarget = replicaLagGuard.read("Ana", this::route);
+		DataSource afterPinTarget = route();
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(primary, writtenUserTarget, "A recently written user should be read from the primary"),
+				() -> assertEquals(firstReplica, otherUserTarget, "Other users should still be read from a replica"),
+				() -> assertEquals(secondReplica, afterPinTarget, "The primary pin should not outlive the read")
+				);
+	}
+	
+	@Test
+	@DisplayName("Once the maximum lag has passed, reads go back to the replicas")
+	public void read_WhenMaxLagElapsed_ShouldUseReplica() {
+		// Arrange
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(0);
+		replicaLagGuard.recordWrite("Yorch22");
+		
+		// Act
+		DataSource target = replicaLagGuard.read("Yorch22", this::route);
+		
+		// Assert
+		assertEquals(firstReplica, target, "The user should be read from a replica");
+	}
+
+}
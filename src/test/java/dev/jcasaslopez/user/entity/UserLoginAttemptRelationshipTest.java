@@ -14,8 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import dev.jcasaslopez.user.datasource.ReplicaLagGuard;
 import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.LoginFailureReason;
 import dev.jcasaslopez.user.enums.RoleName;
@@ -30,6 +32,7 @@ import jakarta.persistence.EntityManager;
 // These tests focus solely on the repository layer and therefore only require beans related to it (@DataJpaTest).
 
 @DataJpaTest
+@Import(ReplicaLagGuard.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class UserLoginAttemptRelationshipTest {
 	
@@ -15,8 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import dev.jcasaslopez.user.datasource.ReplicaLagGuard;
 import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.repository.RoleRepository;
@@ -29,6 +31,7 @@ import jakarta.persistence.EntityManager;
 // These tests focus solely on the repository layer and therefore only require beans related to it (@DataJpaTest).
 
 @DataJpaTest
+@Import(ReplicaLagGuard.class)
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class UserRoleRelationshipTest {
 	
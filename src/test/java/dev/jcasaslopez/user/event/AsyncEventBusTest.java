@@ -0,0 +1,217 @@
+package dev.jcasaslopez.user.event;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import dev.jcasaslopez.user.enums.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncEventBusTest {
+
+	@Mock PlatformTransactionManager transactionManager;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private AsyncEventBus asyncEventBus;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		asyncEventBus.destroy();
+	}
+
+	private AsyncEventBus newAsyncEventBus(AsyncEventListener<?> listener, int queueCapacity) {
+		return new AsyncEventBus(List.of(listener), transactionManager, meterRegistry, 1, queueCapacity, 100, 5, false);
+	}
+
+	@Test
+	@DisplayName("Events are handled on a bus thread, and only by the listeners of their type")
+	public void onAsyncEvent_ShouldHandleEventOnBusThread() throws InterruptedException {
+		// Arrange
+		RecordingListener listener = new RecordingListener(OverflowPolicy.CALLER_RUNS, null);
+		asyncEventBus = newAsyncEventBus(listener, 10);
+
+		// Act
+		asyncEventBus.onAsyncEvent(new OtherEvent());
+		asyncEventBus.onAsyncEvent(new TestEvent("first"));
+
+		// Assert
+		assertTrue(listener.handled.await(5, TimeUnit.SECONDS), "The event should have been handled");
+		assertAll(
+				() -> assertEquals(List.of("first"), listener.events, "Only TestEvents should be handled"),
+				() -> assertTrue(listener.threads.get(0).startsWith("events-RecordingListener-"),
+						"The event should be handled on a bus thread")
+				);
+	}
+
+	@Test
+	@DisplayName("A failing listener is measured and keeps handling the next events")
+	public void onAsyncEvent_WhenListenerFails_ShouldKeepHandlingEvents() throws InterruptedException {
+		// Arrange
+		RecordingListener listener = new RecordingListener(OverflowPolicy.CALLER_RUNS, null);
+		listener.failOn = "broken";
+		asyncEventBus = newAsyncEventBus(listener, 10);
+
+		// Act
+		asyncEventBus.onAsyncEvent(new TestEvent("broken"));
+		asyncEventBus.onAsyncEvent(new TestEvent("second"));
+
+		// Assert
+		assertTrue(listener.handled.await(5, TimeUnit.SECONDS), "The second event should have been handled");
+		assertEquals(1, meterRegistry.get("events.async.handled").tag("outcome", "failure").timer().count(),
+				"The failure should be measured");
+	}
+
+	@Test
+	@DisplayName("With DROP_NEWEST, events that find the queue full are dropped")
+	public void onAsyncEvent_WhenQueueFullAndDropNewest_ShouldDropEvent() throws InterruptedException {
+		// Arrange
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(OverflowPolicy.DROP_NEWEST, release);
+		asyncEventBus = newAsyncEventBus(listener, 1);
+
+		// Act
+		fillQueue(listener);
+		asyncEventBus.onAsyncEvent(new TestEvent("dropped"));
+		release.countDown();
+		asyncEventBus.destroy();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(List.of("running", "queued"), listener.events, "The last event should be dropped"),
+				() -> assertEquals(1, meterRegistry.get("events.async.overflow").counter().count(),
+						"The overflow should be counted")
+				);
+	}
+
+	@Test
+	@DisplayName("With DROP_OLDEST, events that find the queue full take the place of the oldest queued one")
+	public void onAsyncEvent_WhenQueueFullAndDropOldest_ShouldReplaceOldestEvent() throws InterruptedException {
+		// Arrange
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(OverflowPolicy.DROP_OLDEST, release);
+		asyncEventBus = newAsyncEventBus(listener, 1);
+
+		// Act
+		fillQueue(listener);
+		asyncEventBus.onAsyncEvent(new TestEvent("newest"));
+		release.countDown();
+		asyncEventBus.destroy();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(List.of("running", "newest"), listener.events, "The queued event should be dropped"),
+				() -> assertEquals(1, meterRegistry.get("events.async.overflow").counter().count(),
+						"The overflow should be counted")
+				);
+	}
+
+	@Test
+	@DisplayName("With CALLER_RUNS, events that find the queue full are handled by the publisher in a new transaction")
+	public void onAsyncEvent_WhenQueueFullAndCallerRuns_ShouldHandleOnPublisherThread() throws InterruptedException {
+		// Arrange
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingListener listener = new RecordingListener(OverflowPolicy.CALLER_RUNS, release);
+		asyncEventBus = newAsyncEventBus(listener, 1);
+
+		// Act
+		fillQueue(listener);
+		listener.release = null;
+		asyncEventBus.onAsyncEvent(new TestEvent("overflow"));
+		release.countDown();
+		asyncEventBus.destroy();
+
+		// Assert
+		verify(transactionManager).getTransaction(argThat(definition ->
+				definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+		assertAll(
+				() -> assertEquals(List.of("overflow", "running", "queued"), listener.events,
+						"The overflowing event should be handled right away, and the others after it"),
+				() -> assertTrue(listener.threads.contains(Thread.currentThread().getName()),
+						"The overflowing event should be handled on the publisher thread")
+				);
+	}
+
+	// One event is being handled (blocked until 'release') and another one fills the queue of capacity 1.
+	private void fillQueue(RecordingListener listener) throws InterruptedException {
+		asyncEventBus.onAsyncEvent(new TestEvent("running"));
+		assertTrue(listener.started.await(5, TimeUnit.SECONDS), "The first event should have started");
+		asyncEventBus.onAsyncEvent(new TestEvent("queued"));
+	}
+
+
+	// ************** TEST EVENTS AND LISTENER **************
+
+	private static class TestEvent implements AsyncEvent {
+		private final String name;
+
+		TestEvent(String name) {
+			this.name = name;
+		}
+	}
+
+	private static class OtherEvent implements AsyncEvent {
+	}
+
+	private static class RecordingListener implements AsyncEventListener<TestEvent> {
+
+		private final OverflowPolicy overflowPolicy;
+		private final List<String> events = new CopyOnWriteArrayList<>();
+		private final List<String> threads = new CopyOnWriteArrayList<>();
+		private final CountDownLatch started = new CountDownLatch(1);
+		private final CountDownLatch handled = new CountDownLatch(1);
+		private volatile CountDownLatch release;
+		private volatile String failOn;
+
+		RecordingListener(OverflowPolicy overflowPolicy, CountDownLatch release) {
+			this.overflowPolicy = overflowPolicy;
+			this.release = release;
+		}
+
+		@Override
+		public Class<TestEvent> getEventType() {
+			return TestEvent.class;
+		}
+
+		@Override
+		public void onEvent(TestEvent event) {
+			CountDownLatch currentRelease = release;
+			started.countDown();
+			if (currentRelease != null) {
+				try {
+					currentRelease.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (event.name.equals(failOn)) {
+				throw new IllegalStateException("Listener failure");
+			}
+			events.add(event.name);
+			threads.add(Thread.currentThread().getName());
+			handled.countDown();
+		}
+
+		@Override
+		public OverflowPolicy getOverflowPolicy() {
+			return overflowPolicy;
+		}
+	}
+
+}
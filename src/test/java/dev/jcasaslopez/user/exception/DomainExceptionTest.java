@@ -0,0 +1,39 @@
+package dev.jcasaslopez.user.exception;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+public class DomainExceptionTest {
+
+	@Test
+	@DisplayName("Expected business failures are created without a stack trace")
+	void domainExceptions_ShouldHaveNoStackTrace() {
+		// Act
+		RuntimeException accountStatus = new UserAccountStatusException("The account already has the specified status");
+		RuntimeException invalidRequest = new InvalidRequestException("Invalid password");
+		RuntimeException userNotFound = new UserNotFoundException("User not found in the database");
+
+		// Assert
+		assertAll(
+				() -> assertEquals(0, accountStatus.getStackTrace().length, "UserAccountStatusException has a stack trace"),
+				() -> assertEquals(0, invalidRequest.getStackTrace().length, "InvalidRequestException has a stack trace"),
+				() -> assertEquals(0, userNotFound.getStackTrace().length, "UserNotFoundException has a stack trace"),
+				() -> assertEquals("Invalid password", invalidRequest.getMessage(), "Message should be kept")
+				);
+	}
+
+	@Test
+	@DisplayName("Stackless exceptions keep the types that callers and Spring Security catch")
+	void stacklessExceptions_ShouldKeepTheirSupertypes() {
+		assertAll(
+				() -> assertInstanceOf(IllegalArgumentException.class, new InvalidRequestException("Invalid password")),
+				() -> assertInstanceOf(UsernameNotFoundException.class, new UserNotFoundException("User not found"))
+				);
+	}
+
+}
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.util.concurrent.TimeUnit;
@@ -39,18 +41,18 @@ import dev.jcasaslopez.user.utilities.Constants;
 // Account lockout mechanism REMINDER
 
 // Scenario 1: Redis lock ACTIVE
-// - Account status: TEMPORARILY_BLOCKED  
-// - Redis entry: PRESENT with TTL
-// - Expected: 403 Forbidden
+// - Account status: any
+// - Redis lock entry: PRESENT with TTL
+// - Expected: 429 Too Many Requests (rejected before loading the user)
 
 // Scenario 2: Redis lock EXPIRED + Account blocked  
 // - Account status: TEMPORARILY_BLOCKED
-// - Redis entry: ABSENT (TTL expired)
+// - Redis lock entry: ABSENT (TTL expired)
 // - Expected: Auto-reactivate to ACTIVE + login success
 
 // Scenario 3: No lock ever existed
 // - Account status: ACTIVE
-// - Redis entry: ABSENT
+// - Redis lock entry: ABSENT
 // - Expected: Normal login
 
 // @AutoConfigureMockMvc is needed because AuthenticationTestHelper requires MockMvc bean,
@@ -96,7 +98,7 @@ public class UsernamePasswordAuthFilterSystemIntegrationTest {
 						
 		// Email is sent when account status changes
 		ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
-		verify(emailService).sendEmail(anyString(), anyString(), bodyCaptor.capture());
+		verify(emailService, timeout(TestHelper.EMAIL_TIMEOUT_MILLIS)).sendEmail(anyString(), anyString(), bodyCaptor.capture());
 		String emailBody = bodyCaptor.getValue();
 		
 		AccountStatus finalAccountStatus = userAccountService.findUser(USERNAME).getAccountStatus();
@@ -111,15 +113,16 @@ public class UsernamePasswordAuthFilterSystemIntegrationTest {
 		);
 	}
 	
-	// The user's account has been set to "TEMPORARILY BLOCKED", but there is a Redis entry: we are in scenario 1 
+	// The user's account has been set to "TEMPORARILY BLOCKED", but there is a Redis lock entry: we are in scenario 1 
 	// (see comment at the beginning of the class).
 	@Test
-	@DisplayName("If the Redis entry is present should return 403 FORBIDDEN")
-	void WhenLockTimeoutIsNotOver_ShoulddReturn403Forbidden() {
+	@DisplayName("If the Redis lock entry is present should return 429 TOO MANY REQUESTS")
+	void WhenLockTimeoutIsNotOver_ShouldReturn429TooManyRequests() {
 		// Arrange
-    	String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + USERNAME;
-    	String maxNumberFailedAttemptsAsString = String.valueOf(maxNumberFailedAttempts);
-		redisTemplate.opsForValue().set(redisKey, maxNumberFailedAttemptsAsString, 5, TimeUnit.MINUTES);
+		// Lock entries store the instant the lock expires (epoch millis).
+    	String redisKey = Constants.LOGIN_LOCK_REDIS_KEY + USERNAME;
+    	String lockedUntil = String.valueOf(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5));
+		redisTemplate.opsForValue().set(redisKey, lockedUntil, 5, TimeUnit.MINUTES);
 			
 		// Act
 		ResponseEntity<StandardResponse> response = attemptLogin(USERNAME, PASSWORD);
@@ -128,15 +131,16 @@ public class UsernamePasswordAuthFilterSystemIntegrationTest {
 		assertAll(
 				() -> assertEquals(AccountStatus.TEMPORARILY_BLOCKED, userAccountService.findUser(USERNAME).getAccountStatus(), 
 						"User account status shoud be TEMPORARILY_BLOCKED"),
-				() -> assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode(), "HTTP response status should be 403 FORBIDDEN"),
-				() -> assertEquals("Your account is locked due to too many failed login attempts. It will be reactivated automatically in a few hours",
-						response.getBody().getMessage(), "Unexpected HTTP response message")
+				() -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode(), "HTTP response status should be 429 TOO MANY REQUESTS"),
+				() -> assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "Retry-After header should be present"),
+				() -> assertTrue(response.getBody().getMessage().startsWith("Too many failed login attempts"),
+						"Unexpected HTTP response message")
 				);
 	}
 	
 	@Test
-	@DisplayName("After maximum number of failed logins, account gets locked")
-	void afterThreeFailedLogins_AccountGetsLocked() {
+	@DisplayName("After maximum number of failed logins, further attempts are delayed but the account is not blocked")
+	void afterMaxFailedLogins_LoginGetsDelayed() {
 	    // Arrange 
 		// Delete the user created in the set-up, and persist a new one with an ACTIVE account
 		testHelper.cleanDataBaseAndRedis();
@@ -146,25 +150,24 @@ public class UsernamePasswordAuthFilterSystemIntegrationTest {
 		String wrongPassword = "Jorge66!";
 		
 		// Perform (maxNumberFailedAttempts - 1) failed login attempts (just below the threshold)
-	    for (int i = 0; i <= maxNumberFailedAttempts - 1; i++) {
-	        // These failed attempts should increment the Redis counter but not trigger lockout yet
+	    for (int i = 0; i < maxNumberFailedAttempts - 1; i++) {
+	        // These failed attempts are recorded in the sliding window but do not trigger any delay yet
 	    	attemptLogin(USERNAME, wrongPassword);
 	    }
 	    
-	    // Act - last failed attempt (should trigger account lockout)
+	    // Act 
+	    // Last failed attempt (should trigger the first delay), followed by a login with the right password 
+	    // inside the delay (should be rejected).
 		ResponseEntity<StandardResponse> responseToLastLoginWithWrongPassword = attemptLogin(USERNAME, wrongPassword);
+		ResponseEntity<StandardResponse> responseToLoginInsideDelay = attemptLogin(USERNAME, PASSWORD);
 		AccountStatus finalAccountStatus = userAccountService.findUser(USERNAME).getAccountStatus();
-		
-		// Email is sent when account status changes
-		ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
-		verify(emailService).sendEmail(anyString(), anyString(), bodyCaptor.capture());
-		String emailBody = bodyCaptor.getValue();
 
 	    // Assert
 	    assertAll(
-	        () -> assertEquals(HttpStatus.FORBIDDEN, responseToLastLoginWithWrongPassword.getStatusCode(), "Last failed attempt should return 403 FORBIDDEN"),
-	        () -> assertEquals(AccountStatus.TEMPORARILY_BLOCKED, finalAccountStatus, "Account status should be TEMPORARILY_BLOCKED after max failed attempts"),
-	        () -> assertTrue(emailBody.contains("Your account has been temporarily blocked due to too many login failed attempts"), "Email body does not contain expected content")
+	        () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseToLastLoginWithWrongPassword.getStatusCode(), "Last failed attempt should return 429 TOO MANY REQUESTS"),
+	        () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseToLoginInsideDelay.getStatusCode(), "Login inside the delay should return 429 TOO MANY REQUESTS"),
+	        () -> assertEquals(AccountStatus.ACTIVE, finalAccountStatus, "Account status should remain ACTIVE"),
+	        () -> verify(emailService, never()).sendEmail(anyString(), anyString(), anyString())
 	    );
 	}
 	
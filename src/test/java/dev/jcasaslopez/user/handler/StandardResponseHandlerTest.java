@@ -0,0 +1,91 @@
+package dev.jcasaslopez.user.handler;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public class StandardResponseHandlerTest {
+
+	// Configured as Spring Boot configures the application's ObjectMapper.
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	private final StandardResponseHandler standardResponseHandler = new StandardResponseHandler(objectMapper);
+
+	@Test
+	@DisplayName("Fixed-message responses are written from their template with the current timestamp")
+	public void handleResponse_WhenFixedMessage_ShouldSpliceTimestamp() throws Exception {
+		// Arrange
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		// Act
+		standardResponseHandler.handleResponse(response, 401, StandardResponseHandler.INVALID_TOKEN_MESSAGE, null);
+		Map<String, Object> body = objectMapper.readValue(response.getContentAsByteArray(), new TypeReference<>() {});
+		LocalDateTime timestamp = LocalDateTime.parse((String) body.get("timestamp"));
+
+		// Assert
+		assertAll(
+				() -> assertEquals(401, response.getStatus(), "Unexpected status"),
+				() -> assertEquals("application/json;charset=UTF-8", response.getContentType(), "Unexpected content type"),
+				() -> assertEquals(response.getContentAsByteArray().length, response.getContentLength(), "Wrong Content-Length"),
+				() -> assertEquals(StandardResponseHandler.INVALID_TOKEN_MESSAGE, body.get("message"), "Unexpected message"),
+				() -> assertNull(body.get("details"), "Details should be null"),
+				() -> assertEquals("UNAUTHORIZED", body.get("status"), "Unexpected status in body"),
+				() -> assertTrue(Duration.between(timestamp, LocalDateTime.now()).toSeconds() < 5, "Timestamp is not current")
+				);
+	}
+
+	@Test
+	@DisplayName("Templates produce the same JSON as serializing the whole response")
+	public void handleResponse_TemplateAndSerializedResponses_ShouldHaveSameFormat() throws Exception {
+		// Arrange
+		MockHttpServletResponse templateResponse = new MockHttpServletResponse();
+		MockHttpServletResponse serializedResponse = new MockHttpServletResponse();
+
+		// Act
+		standardResponseHandler.handleResponse(templateResponse, 401, StandardResponseHandler.BAD_CREDENTIALS_MESSAGE, null);
+		// Same message with another status: not a template.
+		standardResponseHandler.handleResponse(serializedResponse, 403, StandardResponseHandler.BAD_CREDENTIALS_MESSAGE, null);
+		String template = templateResponse.getContentAsString().replaceAll("\"timestamp\":\"[^\"]+\"", "");
+		String serialized = serializedResponse.getContentAsString().replaceAll("\"timestamp\":\"[^\"]+\"", "")
+				.replace("FORBIDDEN", "UNAUTHORIZED");
+
+		// Assert
+		assertEquals(serialized, template, "Template differs from the serialized response");
+	}
+
+	@Test
+	@DisplayName("Responses with details are serialized")
+	public void handleResponse_WhenDetails_ShouldSerializeThem() throws Exception {
+		// Arrange
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		// Act
+		standardResponseHandler.handleResponse(response, 201, "New refresh and access tokens sent successfully",
+				List.of("refresh", "access"));
+		Map<String, Object> body = objectMapper.readValue(response.getContentAsByteArray(), new TypeReference<>() {});
+
+		// Assert
+		assertAll(
+				() -> assertEquals(201, response.getStatus(), "Unexpected status"),
+				() -> assertEquals(response.getContentAsByteArray().length, response.getContentLength(), "Wrong Content-Length"),
+				() -> assertEquals(List.of("refresh", "access"), body.get("details"), "Unexpected details"),
+				() -> assertEquals("CREATED", body.get("status"), "Unexpected status in body")
+				);
+	}
+
+}
@@ -0,0 +1,114 @@
+package dev.jcasaslopez.user.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.enums.TokenType;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class JfrEventsTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName("Events are recorded with their fields, and usernames only as a hash")
+	public void complete_ShouldRecordFieldsAndHashUsername() throws Exception {
+		// Arrange
+		Path file = tempDir.resolve("events.jfr");
+
+		// Act
+		try (Recording recording = new Recording()) {
+			recording.enable(TokenEvent.class).withThreshold(Duration.ZERO);
+			recording.enable(LoginAttemptEvent.class).withThreshold(Duration.ZERO);
+			recording.start();
+
+			TokenEvent tokenEvent = new TokenEvent();
+			tokenEvent.begin();
+			tokenEvent.complete(TokenEvent.SIGN, TokenType.REFRESH, AuthOutcome.SUCCESS, "Yorch22");
+			LoginAttemptEvent loginAttemptEvent = new LoginAttemptEvent();
+			loginAttemptEvent.begin();
+			loginAttemptEvent.complete(false, LoginFailureReason.INCORRECT_PASSWORD, AuthOutcome.SUCCESS, "Yorch22");
+
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		RecordedEvent token = events.stream()
+				.filter(e -> e.getEventType().getName().equals("dev.jcasaslopez.user.Token")).findFirst().orElseThrow();
+		RecordedEvent loginAttempt = events.stream()
+				.filter(e -> e.getEventType().getName().equals("dev.jcasaslopez.user.LoginAttempt")).findFirst().orElseThrow();
+
+		// Assert
+		assertAll(
+				() -> assertEquals("sign", token.getString("operation"), "Unexpected operation"),
+				() -> assertEquals("refresh", token.getString("tokenType"), "Unexpected token type"),
+				() -> assertEquals("success", token.getString("outcome"), "Unexpected outcome"),
+				() -> assertEquals(16, token.getString("usernameHash").length(), "Hash should have 8 bytes in hex"),
+				() -> assertNotEquals("Yorch22", token.getString("usernameHash"), "Username should not be recorded"),
+				() -> assertEquals(token.getString("usernameHash"), loginAttempt.getString("usernameHash"),
+						"Events of the same user should share the hash"),
+				() -> assertFalse(loginAttempt.getBoolean("successful"), "Login should be unsuccessful"),
+				() -> assertEquals("incorrect_password", loginAttempt.getString("failureReason"), "Unexpected failure reason")
+				);
+	}
+
+	@Test
+	@DisplayName("Events below their threshold are not committed, so their fields are not even computed")
+	public void complete_WhenBelowThreshold_ShouldNotCommit() throws Exception {
+		// Arrange
+		Path file = tempDir.resolve("threshold.jfr");
+
+		// Act
+		try (Recording recording = new Recording()) {
+			recording.enable(EmailSendEvent.class).withThreshold(Duration.ofHours(1));
+			recording.start();
+			EmailSendEvent event = new EmailSendEvent();
+			event.begin();
+			event.complete(1, 0);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		// Assert
+		assertTrue(RecordingFile.readAllEvents(file).stream()
+				.noneMatch(e -> e.getEventType().getName().equals("dev.jcasaslopez.user.EmailSend")),
+				"No EmailSend event should have been recorded");
+	}
+
+	@Test
+	@DisplayName("The bundled JFR settings enable every event of the service")
+	public void userServiceJfc_ShouldEnableServiceEvents() throws Exception {
+		// Act
+		Configuration configuration = Configuration.create(Path.of("src/main/jfr/user-service.jfc"));
+		Map<String, String> settings = configuration.getSettings();
+
+		// Assert
+		assertAll(
+				() -> assertEquals("true", settings.get("dev.jcasaslopez.user.Token#enabled"), "Token events disabled"),
+				() -> assertEquals("true", settings.get("dev.jcasaslopez.user.Authentication#enabled"), "Authentication events disabled"),
+				() -> assertEquals("true", settings.get("dev.jcasaslopez.user.LoginAttempt#enabled"), "LoginAttempt events disabled"),
+				() -> assertEquals("true", settings.get("dev.jcasaslopez.user.EmailSend#enabled"), "EmailSend events disabled"),
+				() -> assertNull(settings.get("jdk.GarbageCollection#enabled"), "GC settings should come from 'default'")
+				);
+	}
+
+}
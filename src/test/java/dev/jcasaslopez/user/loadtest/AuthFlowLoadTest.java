@@ -0,0 +1,273 @@
+package dev.jcasaslopez.user.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import dev.jcasaslopez.user.dto.LoginResponse;
+import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.utilities.Constants;
+
+// Load test of the whole authentication lifecycle. Every virtual user goes through the real flow:
+// initiate registration -> read the verification email -> create the account -> log in -> call a
+// protected endpoint (change password) -> refresh the tokens -> log out.
+//
+// The application runs in-process against the same local MySQL and Redis as the integration tests
+// (application-test.properties), and emails go through the real outbox to an in-process GreenMail
+// SMTP server, without the provider's rate limit.
+//
+// Journeys start at a fixed rate (open model), whether or not the previous ones have finished, so that
+// a slow server shows up as growing latencies rather than as a slower client. Journey latencies are
+// measured from their scheduled start. At most 'loadtest.max-in-flight' journeys run at a time: arrivals
+// beyond that are counted as errors ('not started') instead of being queued.
+//
+// The report logs, per stage: successes, errors, error rate, throughput and p50/p90/p99/max latencies.
+// It only runs on demand, e.g.:
+// mvn test -Dtest=AuthFlowLoadTest -Dloadtest=true -Dloadtest.rps=50 -Dloadtest.duration-seconds=60
+
+// @AutoConfigureMockMvc is needed because AuthenticationTestHelper requires MockMvc bean,
+// which is not available by default in @SpringBootTest with RANDOM_PORT configuration.
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.jpa.show-sql=false",
+		"logging.level.dev.jcasaslopez=WARN",
+		"logging.level.dev.jcasaslopez.user.loadtest=INFO",
+		"notification.outbox.poll-interval-ms=50",
+		"mail.rate.per-second=100000",
+		"mail.rate.burst=100000"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class AuthFlowLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuthFlowLoadTest.class);
+
+	// Journeys started per second (each one makes 6 requests), for how long, and how many at a time.
+	private static final int RPS = Integer.getInteger("loadtest.rps", 20);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+	private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 200);
+	private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+	private static final long EMAIL_TIMEOUT_MILLIS = 30_000;
+
+	private static final String PASSWORD = "Password123!";
+	private static final String NEW_PASSWORD = "Password456!";
+	// Usernames must be unique across runs and at most 20 characters long.
+	private static final String RUN_ID = UUID.randomUUID().toString().substring(0, 4);
+
+	private static final String INITIATE_REGISTRATION = "POST " + Constants.INITIATE_REGISTRATION_PATH;
+	private static final String EMAIL_DELIVERY = "verification email delivery";
+	private static final String REGISTRATION = "POST " + Constants.REGISTRATION_PATH;
+	private static final String LOGIN = "POST " + Constants.LOGIN_PATH;
+	private static final String CHANGE_PASSWORD = "PUT " + Constants.CHANGE_PASSWORD_PATH;
+	private static final String REFRESH_TOKEN = "POST " + Constants.REFRESH_TOKEN_PATH;
+	private static final String LOGOUT = "POST " + Constants.LOGOUT_PATH;
+	private static final String JOURNEY = "journey (from scheduled start)";
+	private static final String NOT_STARTED = "journey not started (saturated)";
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+			.withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication())
+			.withPerMethodLifecycle(false);
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", () -> ServerSetupTest.SMTP.getPort());
+		registry.add("spring.mail.username", () -> "");
+		registry.add("spring.mail.password", () -> "");
+		registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+		registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+	}
+
+	@Autowired private TestRestTemplate testRestTemplate;
+	@Autowired private ObjectMapper objectMapper;
+	@Autowired private TestHelper testHelper;
+
+	private final LoadTestStats stats = new LoadTestStats();
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Runs registration, login, refresh and logout journeys at the target rate")
+	public void runAuthenticationJourneys() throws InterruptedException {
+		VerificationInbox inbox = new VerificationInbox(greenMail);
+		ExecutorService virtualUsers = Executors.newFixedThreadPool(MAX_IN_FLIGHT);
+		ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+		Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+		AtomicLong journeysStarted = new AtomicLong();
+		long periodNanos = TimeUnit.SECONDS.toNanos(1) / RPS;
+		long totalJourneys = (long) RPS * DURATION_SECONDS;
+
+		logger.info("Starting {} journeys per second for {} seconds (at most {} at a time)", RPS, DURATION_SECONDS, MAX_IN_FLIGHT);
+		stats.start();
+		long start = System.nanoTime();
+		arrivals.scheduleAtFixedRate(() -> {
+			long number = journeysStarted.getAndIncrement();
+			if (number >= totalJourneys) {
+				arrivals.shutdown();
+				return;
+			}
+			long scheduledStart = start + number * periodNanos;
+			if (!inFlight.tryAcquire()) {
+				stats.record(NOT_STARTED, 0, false);
+				return;
+			}
+			virtualUsers.execute(() -> {
+				try {
+					runJourney(number, scheduledStart, inbox);
+				} finally {
+					inFlight.release();
+				}
+			});
+		}, 0, periodNanos, TimeUnit.NANOSECONDS);
+
+		arrivals.awaitTermination(DURATION_SECONDS + 60, TimeUnit.SECONDS);
+		virtualUsers.shutdown();
+		virtualUsers.awaitTermination(5, TimeUnit.MINUTES);
+		stats.stop();
+		logger.info("Load test report ({} journeys per second for {} seconds):{}", RPS, DURATION_SECONDS, stats.report());
+
+		long completed = stats.getSuccessCount(JOURNEY);
+		long failed = stats.getErrorCount(JOURNEY) + stats.getErrorCount(NOT_STARTED);
+		assertAll(
+				() -> assertTrue(completed > 0, "No journey completed"),
+				() -> assertTrue(failed <= MAX_ERROR_RATE * (completed + failed),
+						"Error rate above " + MAX_ERROR_RATE + ": " + failed + " of " + (completed + failed) + " journeys failed")
+				);
+	}
+
+	// A failed stage ends the journey, since the next stages depend on its result.
+	private void runJourney(long number, long scheduledStart, VerificationInbox inbox) {
+		String username = "lt" + RUN_ID + "u" + number;
+		String email = username + "@loadtest.dev";
+		try {
+			stage(INITIATE_REGISTRATION, () -> testRestTemplate.postForEntity(Constants.INITIATE_REGISTRATION_PATH,
+					new HttpEntity<>(Map.of("username", username, "password", PASSWORD, "fullName", "Load Test",
+							"email", email, "dateOfBirth", "1990-01-01"), jsonHeaders(null)), StandardResponse.class));
+
+			long emailWaitStart = System.nanoTime();
+			Optional<String> verificationToken = inbox.awaitToken(email, EMAIL_TIMEOUT_MILLIS);
+			stats.record(EMAIL_DELIVERY, System.nanoTime() - emailWaitStart, verificationToken.isPresent());
+			if (verificationToken.isEmpty()) {
+				throw new StageFailedException(EMAIL_DELIVERY);
+			}
+
+			stage(REGISTRATION, () -> testRestTemplate.postForEntity(Constants.REGISTRATION_PATH,
+					new HttpEntity<>(bearerHeaders(verificationToken.get())), StandardResponse.class));
+
+			MultiValueMap<String, String> loginForm = new LinkedMultiValueMap<>();
+			loginForm.add("username", username);
+			loginForm.add("password", PASSWORD);
+			HttpHeaders loginHeaders = new HttpHeaders();
+			loginHeaders.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+			loginHeaders.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+			StandardResponse loginResponse = stage(LOGIN, () -> testRestTemplate.postForEntity(Constants.LOGIN_PATH,
+					new HttpEntity<>(loginForm, loginHeaders), StandardResponse.class));
+			LoginResponse tokens = objectMapper.convertValue(loginResponse.getDetails(), LoginResponse.class);
+
+			stage(CHANGE_PASSWORD, () -> testRestTemplate.exchange(Constants.CHANGE_PASSWORD_PATH, HttpMethod.PUT,
+					new HttpEntity<>(Map.of("oldPassword", PASSWORD, "newPassword", NEW_PASSWORD),
+							jsonHeaders(tokens.getAccessToken())), StandardResponse.class));
+
+			StandardResponse refreshResponse = stage(REFRESH_TOKEN, () -> testRestTemplate.postForEntity(
+					Constants.REFRESH_TOKEN_PATH, new HttpEntity<>(bearerHeaders(tokens.getRefreshToken())),
+					StandardResponse.class));
+			// The details are the new refresh and access tokens, in that order.
+			List<?> newTokens = (List<?>) refreshResponse.getDetails();
+
+			stage(LOGOUT, () -> testRestTemplate.postForEntity(Constants.LOGOUT_PATH,
+					new HttpEntity<>(bearerHeaders((String) newTokens.get(0))), StandardResponse.class));
+
+			stats.record(JOURNEY, System.nanoTime() - scheduledStart, true);
+		} catch (StageFailedException ex) {
+			stats.record(JOURNEY, System.nanoTime() - scheduledStart, false);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			stats.record(JOURNEY, System.nanoTime() - scheduledStart, false);
+		}
+	}
+
+	// Times a request and records its outcome: any status other than 2xx, or no response, is an error.
+	private StandardResponse stage(String stage, Supplier<ResponseEntity<StandardResponse>> request) {
+		long start = System.nanoTime();
+		try {
+			ResponseEntity<StandardResponse> response = request.get();
+			boolean success = response.getStatusCode().is2xxSuccessful();
+			stats.record(stage, System.nanoTime() - start, success);
+			if (!success) {
+				logger.debug("{} failed with {}", stage, response.getStatusCode());
+				throw new StageFailedException(stage);
+			}
+			return response.getBody();
+		} catch (RestClientException ex) {
+			stats.record(stage, System.nanoTime() - start, false);
+			logger.debug("{} failed: {}", stage, ex.getMessage());
+			throw new StageFailedException(stage);
+		}
+	}
+
+	private static HttpHeaders bearerHeaders(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return headers;
+	}
+
+	private static HttpHeaders jsonHeaders(String token) {
+		HttpHeaders headers = token == null ? new HttpHeaders() : bearerHeaders(token);
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return headers;
+	}
+
+	private static class StageFailedException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		StageFailedException(String stage) {
+			super(stage + " failed", null, false, false);
+		}
+	}
+
+}
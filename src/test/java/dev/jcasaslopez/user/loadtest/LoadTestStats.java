@@ -0,0 +1,74 @@
+package dev.jcasaslopez.user.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Collects the latency and outcome of every stage of the load test (one entry per endpoint, plus the
+// email delivery and the whole journey) and summarises them: throughput, error rate and percentiles.
+// Every sample is kept, which is fine for the tens of thousands of requests of a load test run.
+public class LoadTestStats {
+
+	private final Map<String, Stage> stages = new LinkedHashMap<>();
+	private long startNanos;
+	private long endNanos;
+
+	public synchronized void start() {
+		startNanos = System.nanoTime();
+	}
+
+	public synchronized void stop() {
+		endNanos = System.nanoTime();
+	}
+
+	public synchronized void record(String stage, long elapsedNanos, boolean success) {
+		Stage stats = stages.computeIfAbsent(stage, name -> new Stage());
+		if (success) {
+			stats.latencies.add(elapsedNanos);
+		} else {
+			stats.errors++;
+		}
+	}
+
+	public synchronized long getSuccessCount(String stage) {
+		Stage stats = stages.get(stage);
+		return stats == null ? 0 : stats.latencies.size();
+	}
+
+	public synchronized long getErrorCount(String stage) {
+		Stage stats = stages.get(stage);
+		return stats == null ? 0 : stats.errors;
+	}
+
+	// Percentiles only include successful samples: a fast error must not make a stage look faster.
+	public synchronized String report() {
+		double seconds = Math.max(1, endNanos - startNanos) / 1_000_000_000d;
+		StringBuilder report = new StringBuilder(String.format("%n%-32s %8s %8s %7s %9s %8s %8s %8s %8s",
+				"Stage", "OK", "Errors", "Error%", "OK/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+			Stage stats = entry.getValue();
+			long[] sorted = stats.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			long total = sorted.length + stats.errors;
+			report.append(String.format("%n%-32s %8d %8d %7.2f %9.1f %8d %8d %8d %8d", entry.getKey(),
+					sorted.length, stats.errors, total == 0 ? 0 : 100d * stats.errors / total, sorted.length / seconds,
+					percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1)));
+		}
+		return report.toString();
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+	}
+
+	private static class Stage {
+		private final List<Long> latencies = new ArrayList<>();
+		private long errors;
+	}
+
+}
@@ -0,0 +1,86 @@
+package dev.jcasaslopez.user.loadtest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.icegreen.greenmail.base.GreenMailOperations;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+
+// Reads the emails received by the local GreenMail SMTP server and keeps the token of the last email
+// sent to every recipient, so that virtual users can wait for their verification link as a real user
+// would. Messages are indexed incrementally: each scan only decodes the ones received since the last.
+public class VerificationInbox {
+
+	// Same pattern as TestHelper: "token=header.payload.signature".
+	private static final Pattern TOKEN_PATTERN = Pattern.compile("token=([\\w-]+\\.[\\w-]+\\.[\\w-]+)");
+	private static final long SCAN_INTERVAL_MILLIS = 20;
+
+	private final GreenMailOperations greenMail;
+	private final Map<String, String> tokensByRecipient = new ConcurrentHashMap<>();
+	private int scannedMessages;
+	private long lastScanNanos;
+
+	public VerificationInbox(GreenMailOperations greenMail) {
+		this.greenMail = greenMail;
+	}
+
+	// Waits up to 'timeoutMillis' for an email with a token to reach 'recipient', and takes its token.
+	public Optional<String> awaitToken(String recipient, long timeoutMillis) throws InterruptedException {
+		long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+		while (true) {
+			String token = tokensByRecipient.remove(recipient);
+			if (token != null) {
+				return Optional.of(token);
+			}
+			if (System.nanoTime() > deadline) {
+				return Optional.empty();
+			}
+			scanNewMessages();
+			Thread.sleep(SCAN_INTERVAL_MILLIS);
+		}
+	}
+
+	private synchronized void scanNewMessages() {
+		if (System.nanoTime() - lastScanNanos < SCAN_INTERVAL_MILLIS * 1_000_000) {
+			return;
+		}
+		lastScanNanos = System.nanoTime();
+		MimeMessage[] messages = greenMail.getReceivedMessages();
+		for (int i = scannedMessages; i < messages.length; i++) {
+			try {
+				Matcher matcher = TOKEN_PATTERN.matcher(textOf(messages[i]));
+				if (matcher.find()) {
+					for (Address recipient : messages[i].getAllRecipients()) {
+						tokensByRecipient.put(recipient.toString(), matcher.group(1));
+					}
+				}
+			} catch (MessagingException | IOException ex) {
+				throw new IllegalStateException("Cannot read the email received: " + ex.getMessage(), ex);
+			}
+		}
+		scannedMessages = messages.length;
+	}
+
+	// Decoded text of the message: emails are multipart and their HTML is quoted-printable encoded.
+	private static String textOf(Part part) throws MessagingException, IOException {
+		Object content = part.getContent();
+		if (content instanceof Multipart multipart) {
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < multipart.getCount(); i++) {
+				text.append(textOf(multipart.getBodyPart(i)));
+			}
+			return text.toString();
+		}
+		return content instanceof String ? (String) content : "";
+	}
+
+}
@@ -0,0 +1,191 @@
+package dev.jcasaslopez.user.mail;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+// Runs against an in-process GreenMail SMTP server.
+public class PooledJavaMailSenderTest {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private final AtomicInteger openedConnections = new AtomicInteger();
+	private PooledJavaMailSender mailSender;
+
+	@AfterEach
+	void closeMailSender() {
+		if (mailSender != null) {
+			mailSender.destroy();
+		}
+	}
+
+	// Counts the connections opened, i.e., the SMTP handshakes.
+	private PooledJavaMailSender createMailSender(int maxConnections) {
+		PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections, Duration.ofMinutes(1), Duration.ofSeconds(5)) {
+			@Override
+			protected Transport connectTransport() throws MessagingException {
+				openedConnections.incrementAndGet();
+				return super.connectTransport();
+			}
+		};
+		sender.setHost("localhost");
+		sender.setPort(ServerSetupTest.SMTP.getPort());
+		mailSender = sender;
+		return sender;
+	}
+
+	private MimeMessage message(PooledJavaMailSender sender, int number) throws MessagingException {
+		MimeMessage message = sender.createMimeMessage();
+		message.setFrom("noreply@user-service.dev");
+		message.setRecipients(MimeMessage.RecipientType.TO, "user" + number + "@gmail.com");
+		message.setSubject("Email " + number);
+		message.setText("Body " + number);
+		return message;
+	}
+
+	@Test
+	@DisplayName("Interrupted while waiting for a connection, the messages fail and the interrupt flag is kept")
+	public void send_WhenInterrupted_ShouldFailAndKeepInterruptFlag() throws MessagingException {
+		// Arrange
+		PooledJavaMailSender sender = createMailSender(1);
+		MimeMessage message = message(sender, 0);
+		Thread.currentThread().interrupt();
+
+		// Act
+		MailSendException exception = assertThrows(MailSendException.class, () -> sender.send(message));
+		boolean interrupted = Thread.interrupted();
+
+		// Assert
+		assertAll(
+				() -> assertTrue(interrupted, "The interrupt flag should have been restored"),
+				() -> assertEquals(1, exception.getFailedMessages().size(), "The message should be reported as failed"),
+				() -> assertEquals(0, greenMail.getReceivedMessages().length, "No email should have been sent"),
+				() -> assertEquals(1, sender.getAvailablePermits(), "No connection should have been taken")
+				);
+	}
+
+	@Test
+	@DisplayName("Consecutive sends reuse the same connection")
+	public void send_WhenCalledRepeatedly_ShouldReuseConnection() throws MessagingException {
+		// Arrange
+		PooledJavaMailSender sender = createMailSender(2);
+
+		// Act
+		for (int i = 0; i < 3; i++) {
+			sender.send(message(sender, i));
+		}
+
+		// Assert
+		assertAll(
+				() -> assertEquals(3, greenMail.getReceivedMessages().length, "All emails should have been received"),
+				() -> assertEquals(1, openedConnections.get(), "Only one connection should have been opened"),
+				() -> assertEquals(1, sender.getIdleConnections(), "The connection should be back in the pool")
+				);
+	}
+
+	@Test
+	@DisplayName("A batch is sent over a single connection")
+	public void send_WhenBatch_ShouldUseOneConnection() throws MessagingException {
+		// Arrange
+		PooledJavaMailSender sender = createMailSender(2);
+		MimeMessage[] batch = new MimeMessage[5];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = message(sender, i);
+		}
+
+		// Act
+		sender.send(batch);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(5, greenMail.getReceivedMessages().length, "All emails should have been received"),
+				() -> assertEquals(1, openedConnections.get(), "Only one connection should have been opened")
+				);
+	}
+
+	@Test
+	@DisplayName("Concurrent senders never open more connections than the limit")
+	public void send_WhenConcurrent_ShouldRespectMaxConnections() throws Exception {
+		// Arrange
+		PooledJavaMailSender sender = createMailSender(2);
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+		List<Future<?>> results = new ArrayList<>();
+
+		// Act
+		for (int i = 0; i < 30; i++) {
+			MimeMessage message = message(sender, i);
+			results.add(executor.submit(() -> sender.send(message)));
+		}
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(30, greenMail.getReceivedMessages().length, "All emails should have been received"),
+				() -> assertTrue(openedConnections.get() <= 2, "No more than 2 connections should have been opened"),
+				() -> assertEquals(2, sender.getAvailablePermits(), "Every connection should have been released")
+				);
+	}
+
+	@Test
+	@DisplayName("Idle connections are closed by the eviction task")
+	public void evictIdleTransports_WhenIdleTimeoutExpired_ShouldCloseConnections() throws MessagingException {
+		// Arrange
+		PooledJavaMailSender sender = new PooledJavaMailSender(2, Duration.ZERO, Duration.ofSeconds(5));
+		sender.setHost("localhost");
+		sender.setPort(ServerSetupTest.SMTP.getPort());
+		mailSender = sender;
+		sender.send(message(sender, 1));
+
+		// Act
+		sender.evictIdleTransports();
+
+		// Assert
+		assertEquals(0, sender.getIdleConnections(), "The idle connection should have been closed");
+	}
+
+	@Test
+	@DisplayName("A connection closed by the server is replaced transparently")
+	public void send_WhenServerDroppedConnection_ShouldReconnect() throws MessagingException {
+		// Arrange
+		PooledJavaMailSender sender = createMailSender(2);
+		sender.send(message(sender, 1));
+		// Restarting the server drops every open connection.
+		greenMail.reset();
+
+		// Act
+		sender.send(message(sender, 2));
+
+		// Assert
+		assertAll(
+				() -> assertEquals(1, greenMail.getReceivedMessages().length, "The email should have been received"),
+				() -> assertEquals(2, openedConnections.get(), "A new connection should have been opened")
+				);
+	}
+
+}
@@ -0,0 +1,76 @@
+package dev.jcasaslopez.user.mail;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SendRateLimiterTest {
+	
+	private static final int BURST = 20;
+	
+	private final AtomicLong clock = new AtomicLong();
+	private SendRateLimiter sendRateLimiter;
+	
+	@BeforeEach
+	void setUp() {
+		sendRateLimiter = new SendRateLimiter(10, BURST, clock::get);
+	}
+	
+	@Test
+	@DisplayName("A full bucket grants up to the burst at once, and then nothing until it refills")
+	public void tryAcquire_WhenBurstUsed_ShouldWaitForRefill() {
+		// Act
+		int first = sendRateLimiter.tryAcquire(50, 0);
+		int second = sendRateLimiter.tryAcquire(50, 0);
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+		int afterHalfSecond = sendRateLimiter.tryAcquire(50, 0);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(BURST, first, "The whole burst should be granted"),
+				() -> assertEquals(0, second, "The bucket should be empty"),
+				() -> assertEquals(5, afterHalfSecond, "Half a second at 10 per second refills 5 tokens")
+				);
+	}
+	
+	@Test
+	@DisplayName("Callers with a reserve cannot take the last tokens, callers without one can")
+	public void tryAcquire_WithReserve_ShouldLeaveReservedTokens() {
+		// Act
+		int lowPriority = sendRateLimiter.tryAcquire(50, 5);
+		int lowPriorityAgain = sendRateLimiter.tryAcquire(50, 5);
+		int highPriority = sendRateLimiter.tryAcquire(50, 0);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(BURST - 5, lowPriority, "The reserve should be left in the bucket"),
+				() -> assertEquals(0, lowPriorityAgain, "Only the reserve should be left"),
+				() -> assertEquals(5, highPriority, "The reserve should be available without a reserve")
+				);
+	}
+	
+	@Test
+	@DisplayName("Released tokens go back to the bucket, never beyond the burst")
+	public void release_ShouldReturnTokensUpToBurst() {
+		// Arrange
+		sendRateLimiter.tryAcquire(8, 0);
+		
+		// Act
+		sendRateLimiter.release(3);
+		double afterRelease = sendRateLimiter.getAvailableTokens();
+		sendRateLimiter.release(100);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(BURST - 5, afterRelease, "Released tokens should be available again"),
+				() -> assertEquals(BURST, sendRateLimiter.getAvailableTokens(), "The bucket should not exceed the burst")
+				);
+	}
+
+}
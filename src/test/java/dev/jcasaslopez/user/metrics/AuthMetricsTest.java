@@ -0,0 +1,109 @@
+package dev.jcasaslopez.user.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AuthMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AuthMetrics authMetrics = new AuthMetrics(meterRegistry);
+
+	@Test
+	@DisplayName("Every stage and outcome is registered at startup, before anything is recorded")
+	public void constructor_ShouldRegisterEveryStageAndOutcome() {
+		for (AuthStage stage : AuthStage.values()) {
+			for (AuthOutcome outcome : stage.outcomes()) {
+				Timer timer = findTimer(stage, outcome);
+				assertNotNull(timer, stage + "/" + outcome + " should be registered");
+				assertEquals(0, timer.count(), stage + "/" + outcome + " should not have samples yet");
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Stages are recorded in the timer of their outcome")
+	public void record_ShouldRecordInTheTimerOfTheOutcome() {
+		// Act
+		authMetrics.record(AuthStage.TOKEN_PARSE, AuthOutcome.EXPIRED, System.nanoTime());
+		authMetrics.record(AuthStage.TOKEN_PARSE, AuthOutcome.EXPIRED, System.nanoTime());
+		authMetrics.record(AuthStage.TOKEN_PARSE, AuthOutcome.SUCCESS, System.nanoTime());
+
+		// Assert
+		assertAll(
+				() -> assertEquals(2, findTimer(AuthStage.TOKEN_PARSE, AuthOutcome.EXPIRED).count()),
+				() -> assertEquals(1, findTimer(AuthStage.TOKEN_PARSE, AuthOutcome.SUCCESS).count()),
+				() -> assertEquals(0, findTimer(AuthStage.TOKEN_PARSE, AuthOutcome.MALFORMED).count())
+				);
+	}
+
+	@Test
+	@DisplayName("An outcome the stage does not report is ignored, without failing the caller")
+	public void record_WhenOutcomeNotDeclaredByStage_ShouldIgnoreIt() {
+		// Act
+		assertDoesNotThrow(() -> authMetrics.record(AuthStage.TOKEN_SIGN, AuthOutcome.BLACKLISTED, System.nanoTime()));
+		assertDoesNotThrow(() -> authMetrics.record(AuthStage.TOKEN_SIGN, AuthOutcome.BLACKLISTED, System.nanoTime()));
+
+		// Assert
+		assertNull(findTimer(AuthStage.TOKEN_SIGN, AuthOutcome.BLACKLISTED), "No timer should be registered");
+	}
+
+	@Test
+	@DisplayName("Login attempts are counted by result")
+	public void countLoginAttempt_ShouldCountByResult() {
+		// Act
+		authMetrics.countLoginAttempt(null);
+		authMetrics.countLoginAttempt(LoginFailureReason.INCORRECT_PASSWORD);
+		authMetrics.countLoginAttempt(LoginFailureReason.INCORRECT_PASSWORD);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(1, meterRegistry.get("auth.login.attempts").tag("outcome", "success").counter().count()),
+				() -> assertEquals(2, meterRegistry.get("auth.login.attempts").tag("outcome", "incorrect_password")
+						.counter().count()),
+				() -> assertEquals(0, meterRegistry.get("auth.login.attempts").tag("outcome", "account_locked")
+						.counter().count())
+				);
+	}
+
+	@Test
+	@DisplayName("TimedPasswordEncoder times password checks by result, and not encoding")
+	public void timedPasswordEncoder_ShouldTimeMatchesByResult() {
+		// Arrange
+		// Minimum BCrypt strength, to keep the test fast.
+		TimedPasswordEncoder passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), authMetrics);
+		String hash = passwordEncoder.encode("Password123!");
+
+		// Act
+		boolean matches = passwordEncoder.matches("Password123!", hash);
+		boolean wrongPasswordMatches = passwordEncoder.matches("Password456!", hash);
+
+		// Assert
+		assertAll(
+				() -> assertTrue(matches, "The right password should match"),
+				() -> assertFalse(wrongPasswordMatches, "A wrong password should not match"),
+				() -> assertEquals(1, findTimer(AuthStage.PASSWORD_MATCH, AuthOutcome.SUCCESS).count()),
+				() -> assertEquals(1, findTimer(AuthStage.PASSWORD_MATCH, AuthOutcome.MISMATCH).count())
+				);
+	}
+
+	private Timer findTimer(AuthStage stage, AuthOutcome outcome) {
+		return meterRegistry.find("auth.stage").tag("stage", stage.tagValue()).tag("outcome", outcome.tagValue()).timer();
+	}
+
+}
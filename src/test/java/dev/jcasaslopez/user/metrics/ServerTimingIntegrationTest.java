@@ -0,0 +1,84 @@
+package dev.jcasaslopez.user.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import dev.jcasaslopez.user.dto.StandardResponse;
+import dev.jcasaslopez.user.testhelper.TestHelper;
+import dev.jcasaslopez.user.testhelper.UserTestBuilder;
+import dev.jcasaslopez.user.utilities.Constants;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "http.server-timing.enabled=true")
+public class ServerTimingIntegrationTest {
+
+	@Autowired private TestRestTemplate testRestTemplate;
+	@Autowired private TestHelper testHelper;
+
+	// Immutable test constants defining the input data.
+	private static final String USERNAME = "Yorch22";
+	private static final String PASSWORD = "Password123!";
+
+	@AfterEach
+	void cleanUp() {
+		testHelper.cleanDataBaseAndRedis();
+	}
+
+	@Test
+	@DisplayName("Login response breaks its time down by stage in the Server-Timing header")
+	public void login_WhenServerTimingEnabled_ShouldReturnServerTimingHeader() {
+		// Arrange
+		testHelper.createAndPersistUser(new UserTestBuilder(USERNAME, PASSWORD));
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+		HttpEntity<String> request = new HttpEntity<>("username=" + USERNAME + "&password=" + PASSWORD, headers);
+
+		// Act
+		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
+
+		// Assert
+		String serverTiming = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING_HEADER);
+		assertNotNull(serverTiming, "The response should have a Server-Timing header");
+		assertAll(
+				() -> assertEquals(HttpStatus.OK, response.getStatusCode(), "Expected HTTP status 200 OK"),
+				() -> assertTrue(serverTiming.matches(".*\\bdb;desc=\"\\d+ queries\";dur=[\\d.]+.*"), "Missing db: " + serverTiming),
+				() -> assertTrue(serverTiming.matches(".*\\bredis;desc=\"\\d+ commands\";dur=[\\d.]+.*"), "Missing redis: " + serverTiming),
+				() -> assertTrue(serverTiming.matches(".*\\bhash;dur=[\\d.]+.*"), "Missing hash: " + serverTiming),
+				() -> assertTrue(serverTiming.matches(".*\\bsign;dur=[\\d.]+.*"), "Missing sign: " + serverTiming),
+				() -> assertTrue(serverTiming.matches(".*\\bserialize;dur=[\\d.]+.*"), "Missing serialize: " + serverTiming),
+				() -> assertTrue(serverTiming.matches(".*\\btotal;dur=[\\d.]+$"), "Missing total: " + serverTiming)
+				);
+	}
+
+	@Test
+	@DisplayName("Rejected requests also carry the Server-Timing header")
+	public void protectedEndpoint_WhenNoToken_ShouldReturnServerTimingHeader() {
+		// Act
+		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.SEND_NOTIFICATION_PATH,
+				new HttpEntity<>(new HttpHeaders()), StandardResponse.class);
+
+		// Assert
+		String serverTiming = response.getHeaders().getFirst(ServerTimingFilter.SERVER_TIMING_HEADER);
+		assertAll(
+				() -> assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode(), "Expected HTTP status 401"),
+				() -> assertNotNull(serverTiming, "The response should have a Server-Timing header"),
+				() -> assertTrue(serverTiming.startsWith("token;dur="), "The header check should be timed: " + serverTiming)
+				);
+	}
+
+}
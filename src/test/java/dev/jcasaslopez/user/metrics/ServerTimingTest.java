@@ -0,0 +1,53 @@
+package dev.jcasaslopez.user.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ServerTimingTest {
+
+	@AfterEach
+	void clear() {
+		ServerTiming.clear();
+	}
+
+	@Test
+	@DisplayName("Durations of the same metric are added up, and counted when they have a unit")
+	public void toHeaderValue_ShouldAddUpDurationsByMetric() {
+		// Arrange
+		ServerTiming serverTiming = ServerTiming.start();
+
+		// Act
+		serverTiming.add("db", "queries", 1_500_000);
+		serverTiming.add("hash", null, 70_000_000);
+		serverTiming.add("db", "queries", 250_000);
+		String header = serverTiming.toHeaderValue();
+
+		// Assert
+		assertTrue(header.startsWith("db;desc=\"2 queries\";dur=1.75, hash;dur=70.00, total;dur="),
+				"Unexpected header: " + header);
+	}
+
+	@Test
+	@DisplayName("Stages are only recorded while a request is being timed on the thread")
+	public void record_ShouldOnlyRecordWhileRequestIsTimed() {
+		// Without a timed request, recording does nothing.
+		ServerTiming.record("serialize", System.nanoTime());
+		assertNull(ServerTiming.current());
+
+		ServerTiming serverTiming = ServerTiming.start();
+		ServerTiming.record("serialize", System.nanoTime());
+		assertSame(serverTiming, ServerTiming.current());
+		assertTrue(serverTiming.toHeaderValue().startsWith("serialize;dur="));
+
+		ServerTiming.clear();
+		assertNull(ServerTiming.current());
+		assertEquals(1, serverTiming.toHeaderValue().split(", ").length - 1, "Only one stage should have been recorded");
+	}
+
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 
@@ -19,7 +20,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -47,9 +47,6 @@ import dev.jcasaslopez.user.utilities.Constants;
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class AuthFailureHandlerSystemIntegrationTest {
 	
-	@Value ("${auth.maxFailedAttempts}") int maxNumberFailedAttempts;
-	@Value ("${security.auth.account-lock-duration-seconds}") int accountLockDuration;
-
 	@Autowired private TestRestTemplate testRestTemplate;
 	@Autowired private TestHelper testHelper;
 	@MockBean LoginAttemptService loginAttemptService;
@@ -85,7 +82,7 @@ public class AuthFailureHandlerSystemIntegrationTest {
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
 
 		// Assert
-		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any());
+		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any(), any());
 		assertAll(
 			    () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(),  "Response HTTP status should be 400 BAD REQUEST"),
 			    () -> assertEquals("Username and password are required", response.getBody().getMessage(), "Unexpected response message"),
@@ -108,7 +105,7 @@ public class AuthFailureHandlerSystemIntegrationTest {
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
 
 		// Assert
-		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any());
+		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any(), any());
 		assertAll(
 			    () -> assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode(),  "Response HTTP status should be 401 UNAUTHORIZED"),
 			    () -> assertEquals("Bad credentials", response.getBody().getMessage(), "Unexpected response message"),
@@ -131,7 +128,7 @@ public class AuthFailureHandlerSystemIntegrationTest {
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
 
 		// Assert
-		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any());
+		verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any(), any());
 		assertAll(
 			    () -> assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode(),  "Response HTTP status should be 401 UNAUTHORIZED"),
 			    () -> assertEquals("Bad credentials", response.getBody().getMessage(), "Unexpected response message"),
@@ -145,7 +142,7 @@ public class AuthFailureHandlerSystemIntegrationTest {
 	@DisplayName("When account is locked, it should return 403 FORBIDDEN with appropriate message")
 	@MethodSource("provideLockedAccountScenarios")
 	void customAuthenticationFailureHandler_WhenAccountLocked_ShouldReturn403(AccountStatus accountStatus, 
-	        String expectedMessage, boolean needsRedisEntry) {  
+	        String expectedMessage) {  
 	    // Arrange		
 	    ArgumentCaptor<Boolean> attemptSuccessfulCaptor = ArgumentCaptor.forClass(Boolean.class);
 	    ArgumentCaptor<LoginFailureReason> loginFailureReasonCaptor = ArgumentCaptor.forClass(LoginFailureReason.class);
@@ -155,21 +152,13 @@ public class AuthFailureHandlerSystemIntegrationTest {
 	    UserTestBuilder builder = new UserTestBuilder(USERNAME, PASSWORD).withAccountStatus(accountStatus);
 	    testHelper.createAndPersistUser(builder);
 	    
-	    // When the account is 'temporarily blocked', the custom UsernamePasswordAuthFilter switches the 
-	    // account back to 'active' if there is no Redis entry for the username, so we have to upload one.
-	    if (needsRedisEntry) {
-	    	String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + USERNAME;
-	    	String maxNumberFailedAttemptsAsString = String.valueOf(maxNumberFailedAttempts);
-	    	redisTemplate.opsForValue().set(redisKey, maxNumberFailedAttemptsAsString, accountLockDuration, TimeUnit.SECONDS);
-	    }
-	    
 	    HttpEntity<String> request = configHttpRequest(USERNAME, PASSWORD);
 
 	    // Act
 	    ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
 
 	    // Assert
-	    verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any());
+	    verify(loginAttemptService).recordAttempt(attemptSuccessfulCaptor.capture(), anyString(), loginFailureReasonCaptor.capture(), any(), any());
 	    
 	    assertAll(
 	        () -> assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode(), "Response HTTP status should be 403 FORBIDDEN"),
@@ -182,23 +171,65 @@ public class AuthFailureHandlerSystemIntegrationTest {
 
 	private static Stream<Arguments> provideLockedAccountScenarios() {
 	    return Stream.of(
-	        Arguments.of(AccountStatus.TEMPORARILY_BLOCKED,
-	            "Your account is locked due to too many failed login attempts. It will be reactivated automatically in a few hours",
-	            true  
-	        ),
 	        Arguments.of(
 	            AccountStatus.BLOCKED,
-	            "Your account has been locked by an administrator. Please contact support if you believe this is a mistake",
-	            false  
+	            "Your account has been locked by an administrator. Please contact support if you believe this is a mistake"
 	        ),
 	        Arguments.of(
 	            AccountStatus.PERMANENTLY_SUSPENDED,
-	            "Your account is permanently suspended",
-	            false  
+	            "Your account is permanently suspended"
 	        )
 	    );
 	}
 	
+	// When the username is inside its backoff delay, the custom UsernamePasswordAuthFilter rejects the login 
+	// before loading the user, whatever the account status is.
+	@Test
+	@DisplayName("When login is throttled, it should return 429 TOO MANY REQUESTS with Retry-After header")
+	void customAuthenticationFailureHandler_WhenLoginThrottled_ShouldReturn429() {
+	    // Arrange		
+	    ArgumentCaptor<LoginFailureReason> loginFailureReasonCaptor = ArgumentCaptor.forClass(LoginFailureReason.class);
+	    
+	    String redisKey = Constants.LOGIN_LOCK_REDIS_KEY + USERNAME;
+	    String lockedUntil = String.valueOf(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5));
+	    redisTemplate.opsForValue().set(redisKey, lockedUntil, 5, TimeUnit.MINUTES);
+	    
+	    HttpEntity<String> request = configHttpRequest(USERNAME, PASSWORD);
+
+	    // Act
+	    ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
+
+	    // Assert
+	    verify(loginAttemptService).recordAttempt(anyBoolean(), anyString(), loginFailureReasonCaptor.capture(), any(), any());
+	    
+	    assertAll(
+	        () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode(), "Response HTTP status should be 429 TOO MANY REQUESTS"),
+	        () -> assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "Retry-After header should be present"),
+	        () -> assertEquals(LoginFailureReason.THROTTLED, loginFailureReasonCaptor.getValue(), "Unexpected login failure reason")
+	    );
+	}
+	
+	// The test client connects from the loopback address, which Tomcat trusts as a proxy, so the IP address
+	// recorded and throttled is the one in X-Forwarded-For.
+	@Test
+	@DisplayName("Behind a trusted proxy, the login attempt is recorded with the client IP address")
+	void customAuthenticationFailureHandler_WhenForwardedByTrustedProxy_ShouldRecordClientIp() {
+		// Arrange
+		ArgumentCaptor<String> ipAddressCaptor = ArgumentCaptor.forClass(String.class);
+		
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+		headers.add("X-Forwarded-For", "203.0.113.7");
+		HttpEntity<String> request = new HttpEntity<>("username=" + USERNAME + "&password=" + WRONG_PASSWORD, headers);
+
+		// Act
+		testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
+
+		// Assert
+		verify(loginAttemptService).recordAttempt(anyBoolean(), ipAddressCaptor.capture(), any(), any(), any());
+		assertEquals("203.0.113.7", ipAddressCaptor.getValue(), "The client IP address should have been recorded");
+	}
+	
 	private HttpEntity<String> configHttpRequest(String username, String password){
 		HttpHeaders headers = new HttpHeaders();
 		headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);		
@@ -31,6 +31,7 @@ import dev.jcasaslopez.user.dto.StandardResponse;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.mapper.UserMapper;
 import dev.jcasaslopez.user.service.TokenService;
+import dev.jcasaslopez.user.testhelper.RequestCostRecorder;
 import dev.jcasaslopez.user.testhelper.TestHelper;
 import dev.jcasaslopez.user.testhelper.UserTestBuilder;
 import dev.jcasaslopez.user.utilities.Constants;
@@ -50,6 +51,7 @@ public class AuthSuccessHandlerSystemIntegrationTest {
 	@Autowired private TokenService tokenService;
 	@Autowired private ObjectMapper objectMapper;
 	@Autowired private TestHelper testHelper;
+	@Autowired private RequestCostRecorder requestCostRecorder;
 	
 	// Static variable to share state between tests.
 	private static User user;
@@ -82,6 +84,7 @@ public class AuthSuccessHandlerSystemIntegrationTest {
 		HttpEntity<String> request = configHttpRequest();
 		
 		// Act
+		requestCostRecorder.startRecording(Constants.LOGIN_PATH);
 		ResponseEntity<StandardResponse> response = testRestTemplate.postForEntity(Constants.LOGIN_PATH, request, StandardResponse.class);
 		
 		// Assert
@@ -102,6 +105,10 @@ public class AuthSuccessHandlerSystemIntegrationTest {
 		        );
 		    }
 		);
+		// Queries: the user (not cached yet, so this one goes to the database) and the login_attempts insert.
+		// The credentials checked by the authentication provider and the user returned by the success handler
+		// come from the second-level cache. Redis: lock check and reset.
+		requestCostRecorder.assertWithinBudget(Constants.LOGIN_PATH, 2, 2);
 	}
 	
 	private HttpEntity<String> configHttpRequest(){
@@ -1,8 +1,17 @@
 package dev.jcasaslopez.user.service;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +20,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.LoginThrottleStatus;
 import dev.jcasaslopez.user.utilities.Constants;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,38 +31,91 @@ public class AccountLockingServiceTest {
 	
 	@Mock StringRedisTemplate redisTemplate;
 	@Mock ValueOperations<String, String> valueOperations; 
+	@SuppressWarnings("rawtypes")
+	@Mock RedisScript<List> loginThrottleScript;
+	@Mock AuthMetrics authMetrics;
 	@InjectMocks AccountLockingServiceImpl accountLockingServiceImpl;
 	
 	private final String USERNAME = "Yorch22";
-	private String redisKey = Constants.LOGIN_ATTEMPTS_REDIS_KEY + USERNAME;
+	private final String IP_ADDRESS = "127.0.0.1";
+	private final List<String> lockKeys = Arrays.asList(Constants.LOGIN_LOCK_REDIS_KEY + USERNAME, 
+			Constants.LOGIN_LOCK_IP_REDIS_KEY + IP_ADDRESS);
+	
+	@Test
+	@DisplayName("When there are no lock entries in Redis, getRemainingLockSeconds() returns 0")
+	public void getRemainingLockSeconds_WhenNoLockEntries_Returns0() {
+		// Arrange
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.multiGet(lockKeys)).thenReturn(Arrays.asList(null, null));
+        
+		// Act
+        long remainingSeconds = accountLockingServiceImpl.getRemainingLockSeconds(USERNAME, IP_ADDRESS);
+		
+		// Assert
+        assertEquals(0, remainingSeconds, "Remaining lock time should be 0");
+	}
 	
 	@Test
-	@DisplayName("When Redis entry is null, getLoginAttemptsRedisEntry() returns 0")
-	public void getLoginAttemptsRedisEntry_WhenNoRedisEntry_Returns0() {
+	@DisplayName("When user and IP are locked, getRemainingLockSeconds() returns the longest remaining delay")
+	public void getRemainingLockSeconds_WhenLockEntriesPresent_ReturnsLongestDelay() {
 		// Arrange
-		when(redisTemplate.hasKey(redisKey)).thenReturn(false);
+		long now = System.currentTimeMillis();
+		String userLockedUntil = String.valueOf(now + 3_500);
+		String ipLockedUntil = String.valueOf(now + 60_000);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.multiGet(lockKeys)).thenReturn(Arrays.asList(userLockedUntil, ipLockedUntil));
         
 		// Act
-        int numberOfAttempts = accountLockingServiceImpl.getLoginAttemptsRedisEntry(USERNAME);
+        long remainingSeconds = accountLockingServiceImpl.getRemainingLockSeconds(USERNAME, IP_ADDRESS);
 		
 		// Assert
-        assertEquals(0, numberOfAttempts, "Number of login attempts should be 0");
+        assertTrue(remainingSeconds > 58 && remainingSeconds <= 60, "Remaining lock time should be the IP one (60 seconds)");
 	}
 	
 	@Test
-	@DisplayName("When Redis entry is not null, getLoginAttemptsRedisEntry() returns number of failed login attempts")
-	public void getLoginAttemptsRedisEntry_WhenRedisEntryPresent_ReturnsNumberOfFailedLoginAttempts() {
+	@DisplayName("When the lock has already expired, getRemainingLockSeconds() returns 0")
+	public void getRemainingLockSeconds_WhenLockExpired_Returns0() {
 		// Arrange
-        when(redisTemplate.hasKey(redisKey)).thenReturn(true);
-        // Mock also the intermediate object valueOperations.
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(redisKey)).thenReturn("2");
+		String lockedUntil = String.valueOf(System.currentTimeMillis() - 1_000);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+		when(valueOperations.multiGet(lockKeys)).thenReturn(Arrays.asList(lockedUntil, null));
         
 		// Act
-        int numberOfAttempts = accountLockingServiceImpl.getLoginAttemptsRedisEntry(USERNAME);
+        long remainingSeconds = accountLockingServiceImpl.getRemainingLockSeconds(USERNAME, IP_ADDRESS);
+		
+		// Assert
+        assertEquals(0, remainingSeconds, "Remaining lock time should be 0");
+	}
+	
+	@Test
+	@DisplayName("registerFailedAttempt() returns the failures and the longest delay computed by the Lua script")
+	public void registerFailedAttempt_WhenScriptReturnsDelays_ReturnsThrottleStatus() {
+		// Arrange
+		// Script result: { userFailures, userDelayMs, ipFailures, ipDelayMs }
+		when(redisTemplate.execute(eq(loginThrottleScript), anyList(), any(Object[].class)))
+			.thenReturn(Arrays.asList(5L, 8_000L, 5L, 0L));
+        
+		// Act
+		LoginThrottleStatus status = accountLockingServiceImpl.registerFailedAttempt(USERNAME, IP_ADDRESS);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(5, status.getUserFailures(), "Unexpected number of user failures"),
+				() -> assertEquals(5, status.getIpFailures(), "Unexpected number of IP failures"),
+				() -> assertEquals(8, status.getDelayInSeconds(), "Delay should be 8 seconds"),
+				() -> assertTrue(status.isThrottled(), "Login should be throttled")
+				);
+	}
+	
+	@Test
+	@DisplayName("resetFailedAttempts() deletes the user entries but keeps the IP ones")
+	public void resetFailedAttempts_DeletesOnlyUserEntries() {
+		// Act
+		accountLockingServiceImpl.resetFailedAttempts(USERNAME);
 		
 		// Assert
-        assertEquals(2, numberOfAttempts, "Number of login attempts should be 2");
+		verify(redisTemplate).delete(Arrays.asList(Constants.LOGIN_ATTEMPTS_REDIS_KEY + USERNAME, 
+				Constants.LOGIN_LOCK_REDIS_KEY + USERNAME));
 	}
 
 }
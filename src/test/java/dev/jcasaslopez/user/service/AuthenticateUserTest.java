@@ -3,11 +3,13 @@ package dev.jcasaslopez.user.service;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,16 +22,20 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
-import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.mapper.UserMapper;
-import dev.jcasaslopez.user.repository.UserRepository;
-import dev.jcasaslopez.user.security.CustomUserDetails;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.UserCredentials;
+import dev.jcasaslopez.user.repository.UserCredentialsRepository;
+import dev.jcasaslopez.user.security.CredentialsUserDetails;
 
 @ExtendWith(MockitoExtension.class)
 public class AuthenticateUserTest {
 	
-	@Mock UserRepository userRepository;
+	@Mock UserCredentialsRepository userCredentialsRepository;
 	@Mock UserMapper userMapper;
+	@Mock AuthMetrics authMetrics;
 	@InjectMocks AuthenticationServiceImpl authenticationService;
 	
 	// Immutable test constants defining the input data.
@@ -45,11 +51,11 @@ public class AuthenticateUserTest {
 	@DisplayName("It authenticates the user if found in the DB")
 	void authenticaUser_WhenUserFoundInDatabase_ShouldAuthenticateUser() {
 		// Arrange
-		User user = new User();
-        CustomUserDetails userDetails = new CustomUserDetails(user); 
+		UserCredentials credentials = new UserCredentials(1, USERNAME, "hash", AccountStatus.ACTIVE, Set.of(RoleName.ROLE_USER));
+        CredentialsUserDetails userDetails = new CredentialsUserDetails(credentials); 
         
-        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(userMapper.userToCustomUserDetailsMapper(user)).thenReturn(userDetails);
+        when(userCredentialsRepository.findByUsername(USERNAME)).thenReturn(Optional.of(credentials));
+        when(userMapper.credentialsToUserDetailsMapper(credentials)).thenReturn(userDetails);
 		
 		// Act
         authenticationService.authenticateUser(TOKEN, USERNAME);
@@ -68,10 +74,24 @@ public class AuthenticateUserTest {
 	@DisplayName("It should throw an exception if the user is not found in the DB")
 	void authenticaUser_WhenUserNotFoundInDatabase_ShouldThrowException() {
 		// Arrange
-		when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.empty());
+		when(userCredentialsRepository.findByUsername(USERNAME)).thenReturn(Optional.empty());
 
 		// Act & Assert
 		assertThrows(UsernameNotFoundException.class, () -> authenticationService.authenticateUser(TOKEN, USERNAME));
 		       
 	}
+	
+	@Test
+	@DisplayName("It does not authenticate a user blocked by an administrator")
+	void authenticaUser_WhenAccountBlocked_ShouldNotAuthenticateUser() {
+		// Arrange
+		UserCredentials credentials = new UserCredentials(1, USERNAME, "hash", AccountStatus.BLOCKED, Set.of(RoleName.ROLE_USER));
+		when(userCredentialsRepository.findByUsername(USERNAME)).thenReturn(Optional.of(credentials));
+
+		// Act
+		authenticationService.authenticateUser(TOKEN, USERNAME);
+
+		// Assert
+		assertNull(SecurityContextHolder.getContext().getAuthentication(), "Authentication should not be set");
+	}
 }
\ No newline at end of file
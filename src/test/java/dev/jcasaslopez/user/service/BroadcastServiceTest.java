@@ -0,0 +1,185 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import dev.jcasaslopez.user.dto.BroadcastRequest;
+import dev.jcasaslopez.user.enums.BroadcastStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.exception.MalformedMessageException;
+import dev.jcasaslopez.user.model.BroadcastJob;
+import dev.jcasaslopez.user.model.BroadcastRecipient;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.repository.BroadcastRecipientRepository;
+import dev.jcasaslopez.user.template.EmailTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class BroadcastServiceTest {
+
+	@Mock BroadcastRecipientRepository broadcastRecipientRepository;
+	@Mock EmailOutboxService emailOutboxService;
+	@Mock StringRedisTemplate redisTemplate;
+	@Mock HashOperations<String, Object, Object> hashOperations;
+
+	private BroadcastServiceImpl broadcastService;
+
+	private static final int PAGE_SIZE = 2;
+	private static final String JOB_ID = "job-1";
+	private static final String REDIS_KEY = "broadcast_job:" + JOB_ID;
+	private static final long HEARTBEAT_SECONDS = 10;
+
+	@BeforeEach
+	void setUp() {
+		broadcastService = new BroadcastServiceImpl(broadcastRecipientRepository, emailOutboxService, redisTemplate,
+				PAGE_SIZE, 1000, 1, 24, HEARTBEAT_SECONDS, false);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		broadcastService.destroy();
+	}
+
+	private BroadcastRequest adminsRequest() {
+		return new BroadcastRequest("News", "<p>Hi {username}</p>", Set.of(RoleName.ROLE_ADMIN), null, null);
+	}
+
+	@Test
+	@DisplayName("A broadcast without segment criteria is rejected")
+	public void startBroadcast_WhenNoSegment_ShouldThrow() {
+		// Arrange
+		BroadcastRequest request = new BroadcastRequest("News", "<p>Hi</p>", Set.of(), null, List.of());
+
+		// Act & Assert
+		assertThrows(MalformedMessageException.class, () -> broadcastService.startBroadcast(request));
+		verify(broadcastRecipientRepository, never()).countRecipients(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Recipients are read with keyset pagination and queued with personalised bodies")
+	@SuppressWarnings("unchecked")
+	public void runBroadcast_WhenRecipientsFound_ShouldQueueEveryPageAndComplete() {
+		// Arrange
+		BroadcastRequest request = adminsRequest();
+		EmailTemplate message = EmailTemplate.compileLenient(request.getSubject(), request.getMessage());
+		when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+		when(broadcastRecipientRepository.findRecipientsAfter(request.getRoles(), null, null, 0, PAGE_SIZE))
+			.thenReturn(List.of(new BroadcastRecipient(3, "Yorch22", "yorch@gmail.com"),
+					new BroadcastRecipient(7, "Ana", "ana@gmail.com")));
+		when(broadcastRecipientRepository.findRecipientsAfter(request.getRoles(), null, null, 7, PAGE_SIZE))
+			.thenReturn(List.of(new BroadcastRecipient(9, "Luis", "luis@gmail.com")));
+
+		// Act
+		broadcastService.runBroadcast(JOB_ID, request, message);
+
+		// Assert
+		ArgumentCaptor<List<EmailMessage>> emailsCaptor = ArgumentCaptor.forClass(List.class);
+		verify(emailOutboxService, times(2)).enqueueAll(emailsCaptor.capture(),
+				eq(NotificationType.BROADCAST));
+		List<EmailMessage> firstPage = emailsCaptor.getAllValues().get(0);
+		ArgumentCaptor<Map<String, String>> fieldsCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(hashOperations).putAll(eq(REDIS_KEY), fieldsCaptor.capture());
+		assertAll(
+				() -> assertEquals(2, firstPage.size(), "The first page should be queued in one batch"),
+				() -> assertEquals("yorch@gmail.com", firstPage.get(0).getRecipient(), "Unexpected recipient"),
+				() -> assertEquals("<p>Hi Yorch22</p>", firstPage.get(0).getBody(), "The body should be personalised"),
+				() -> assertEquals("News", firstPage.get(1).getSubject(), "Unexpected subject"),
+				() -> assertEquals(1, emailsCaptor.getAllValues().get(1).size(), "The second page has one recipient"),
+				() -> assertEquals(BroadcastStatus.COMPLETED.name(), fieldsCaptor.getValue().get("status"),
+						"The job should be completed")
+				);
+		verify(hashOperations).increment(REDIS_KEY, "queued", 2L);
+		verify(hashOperations).increment(REDIS_KEY, "queued", 1L);
+	}
+
+	@Test
+	@DisplayName("A failure while reading recipients marks the job as FAILED")
+	@SuppressWarnings("unchecked")
+	public void runBroadcast_WhenQueryFails_ShouldMarkFailed() {
+		// Arrange
+		BroadcastRequest request = adminsRequest();
+		EmailTemplate message = EmailTemplate.compileLenient(request.getSubject(), request.getMessage());
+		when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+		when(broadcastRecipientRepository.findRecipientsAfter(any(), any(), any(), anyInt(), anyInt()))
+			.thenThrow(new QueryTimeoutException("Query timed out"));
+
+		// Act
+		broadcastService.runBroadcast(JOB_ID, request, message);
+
+		// Assert
+		ArgumentCaptor<Map<String, String>> fieldsCaptor = ArgumentCaptor.forClass(Map.class);
+		verify(hashOperations).putAll(eq(REDIS_KEY), fieldsCaptor.capture());
+		verify(emailOutboxService, never()).enqueueAll(anyList(), eq(NotificationType.BROADCAST));
+		verify(hashOperations, never()).increment(anyString(), anyString(), anyLong());
+		assertAll(
+				() -> assertEquals(BroadcastStatus.FAILED.name(), fieldsCaptor.getValue().get("status"),
+						"The job should be failed"),
+				() -> assertEquals("Query timed out", fieldsCaptor.getValue().get("error"), "Unexpected error")
+				);
+	}
+	
+	@Test
+	@DisplayName("A running job whose instance stopped sending heartbeats is reported as ABANDONED")
+	public void getBroadcastJob_WhenHeartbeatStale_ShouldReportAbandoned() {
+		// Arrange
+		when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+		when(hashOperations.entries(REDIS_KEY)).thenReturn(jobFields(LocalDateTime.now().minusMinutes(5)));
+
+		// Act
+		BroadcastJob job = broadcastService.getBroadcastJob(JOB_ID);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(BroadcastStatus.ABANDONED, job.getStatus(), "The job should be abandoned"),
+				() -> assertEquals(20, job.getQueued(), "The progress should be kept")
+				);
+	}
+	
+	@Test
+	@DisplayName("A running job with a recent heartbeat is reported as RUNNING")
+	public void getBroadcastJob_WhenHeartbeatRecent_ShouldReportRunning() {
+		// Arrange
+		when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+		when(hashOperations.entries(REDIS_KEY)).thenReturn(jobFields(LocalDateTime.now().minusSeconds(HEARTBEAT_SECONDS)));
+
+		// Act
+		BroadcastJob job = broadcastService.getBroadcastJob(JOB_ID);
+
+		// Assert
+		assertEquals(BroadcastStatus.RUNNING, job.getStatus(), "The job should still be running");
+	}
+	
+	private Map<Object, Object> jobFields(LocalDateTime heartbeatAt) {
+		return Map.of("status", BroadcastStatus.RUNNING.name(), "total", "100", "queued", "20",
+				"createdAt", heartbeatAt.minusMinutes(1).toString(), "heartbeatAt", heartbeatAt.toString());
+	}
+
+}
@@ -0,0 +1,321 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import dev.jcasaslopez.user.entity.OutboxEmail;
+import dev.jcasaslopez.user.enums.EmailPriority;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.enums.OutboxStatus;
+import dev.jcasaslopez.user.event.EmailQueuedEvent;
+import dev.jcasaslopez.user.mail.SendRateLimiter;
+import dev.jcasaslopez.user.model.EmailMessage;
+import dev.jcasaslopez.user.model.OutboxLaneStats;
+import dev.jcasaslopez.user.repository.OutboxEmailRepository;
+import jakarta.mail.Address;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxServiceTest {
+	
+	@Mock OutboxEmailRepository outboxEmailRepository;
+	@Mock EmailService emailService;
+	@Mock ApplicationEventPublisher eventPublisher;
+	@Mock PlatformTransactionManager transactionManager;
+	
+	private SimpleMeterRegistry meterRegistry;
+	private EmailOutboxServiceImpl emailOutboxService;
+	
+	private static final int MAX_ATTEMPTS = 3;
+	private static final long RETRY_BASE_DELAY_SECONDS = 30;
+	private static final int HIGH_PRIORITY_RESERVE = 5;
+	
+	@BeforeEach
+	void setUp() {
+		emailOutboxService = newEmailOutboxService(new SendRateLimiter(1000, 100));
+	}
+	
+	private EmailOutboxServiceImpl newEmailOutboxService(SendRateLimiter sendRateLimiter) {
+		meterRegistry = new SimpleMeterRegistry();
+		return new EmailOutboxServiceImpl(outboxEmailRepository, emailService, eventPublisher, transactionManager, 
+				sendRateLimiter, meterRegistry, 20, MAX_ATTEMPTS, 120, RETRY_BASE_DELAY_SECONDS, 3600, 7, 
+				HIGH_PRIORITY_RESERVE, 60);
+	}
+	
+	private OutboxEmail pendingEmail(int previousAttempts) {
+		return pendingEmail(1L, "jc90@gmail.com", previousAttempts);
+	}
+	
+	private OutboxEmail pendingEmail(long idEmail, String recipient, int previousAttempts) {
+		return pendingEmail(idEmail, recipient, previousAttempts, NotificationType.CREATE_ACCOUNT);
+	}
+	
+	private OutboxEmail pendingEmail(long idEmail, String recipient, int previousAttempts, NotificationType notificationType) {
+		OutboxEmail email = new OutboxEmail(recipient, "Subject", "<p>Body</p>", 
+				notificationType, LocalDateTime.now());
+		email.setIdEmail(idEmail);
+		email.setAttempts(previousAttempts);
+		return email;
+	}
+	
+	@Test
+	@DisplayName("Claimed emails are sent and marked as sent")
+	public void dispatchDueEmails_WhenSendSucceeds_ShouldMarkSent() {
+		// Arrange
+		OutboxEmail email = pendingEmail(0);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		
+		// Act
+		int dispatched = emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(emailService).sendEmail("jc90@gmail.com", "Subject", "<p>Body</p>");
+		verify(outboxEmailRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+		assertAll(
+				() -> assertEquals(1, dispatched, "One email should have been dispatched"),
+				() -> assertEquals(1, email.getAttempts(), "Claiming the email should count an attempt"),
+				() -> assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now()), "Claiming the email should lease it")
+				);
+	}
+	
+	@Test
+	@DisplayName("When sending fails before the last attempt, the email is rescheduled with backoff")
+	public void dispatchDueEmails_WhenSendFailsBelowMaxAttempts_ShouldRetryLater() {
+		// Arrange
+		OutboxEmail email = pendingEmail(1);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		doThrow(new MailSendException("SMTP unavailable")).when(emailService).sendEmail(anyString(), anyString(), anyString());
+		ArgumentCaptor<LocalDateTime> nextAttemptCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+		
+		// Act
+		LocalDateTime before = LocalDateTime.now();
+		emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		// Second attempt: the delay is twice the base delay.
+		verify(outboxEmailRepository).markFailedAttempt(eq(1L), eq(OutboxStatus.PENDING), nextAttemptCaptor.capture(), 
+				eq("SMTP unavailable"));
+		verify(outboxEmailRepository, never()).markSent(any(), any(LocalDateTime.class));
+		assertTrue(!nextAttemptCaptor.getValue().isBefore(before.plusSeconds(2 * RETRY_BASE_DELAY_SECONDS)), 
+				"Next attempt should be delayed by the backoff");
+	}
+	
+	@Test
+	@DisplayName("When the last attempt fails, the email is marked as failed")
+	public void dispatchDueEmails_WhenLastAttemptFails_ShouldMarkFailed() {
+		// Arrange
+		OutboxEmail email = pendingEmail(MAX_ATTEMPTS - 1);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		doThrow(new MailSendException("SMTP unavailable")).when(emailService).sendEmail(anyString(), anyString(), anyString());
+		
+		// Act
+		emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository).markFailedAttempt(eq(1L), eq(OutboxStatus.FAILED), any(LocalDateTime.class), 
+				eq("SMTP unavailable"));
+	}
+	
+	@Test
+	@DisplayName("When the message cannot be built, the email is marked as failed without retrying")
+	public void dispatchDueEmails_WhenMessageCannotBeBuilt_ShouldNotRetry() {
+		// Arrange
+		OutboxEmail email = pendingEmail(0);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		doThrow(new MailPreparationException("Invalid address")).when(emailService).sendEmail(anyString(), anyString(), anyString());
+		
+		// Act
+		emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository).markFailedAttempt(eq(1L), eq(OutboxStatus.FAILED), any(LocalDateTime.class), 
+				eq("Invalid address"));
+	}
+	
+	@Test
+	@DisplayName("When the server rejects every recipient for good, the email is marked as failed without retrying")
+	public void dispatchDueEmails_WhenRecipientRejected_ShouldNotRetry() throws Exception {
+		// Arrange
+		OutboxEmail email = pendingEmail(0);
+		Address[] rejected = { new InternetAddress("nobody@example.com") };
+		SendFailedException rejection = new SendFailedException("550 Mailbox unknown", null, null, null, rejected);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		doThrow(new MailSendException(Map.of(new Object(), rejection))).when(emailService).sendEmail(anyString(), anyString(), anyString());
+		
+		// Act
+		emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository).markFailedAttempt(eq(1L), eq(OutboxStatus.FAILED), any(LocalDateTime.class), anyString());
+	}
+	
+	@Test
+	@DisplayName("When the server defers a recipient, the email is retried later")
+	public void dispatchDueEmails_WhenRecipientDeferred_ShouldRetryLater() throws Exception {
+		// Arrange
+		OutboxEmail email = pendingEmail(0);
+		Address[] deferred = { new InternetAddress("busy@example.com") };
+		SendFailedException deferral = new SendFailedException("451 Try again later", null, null, deferred, null);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+		doThrow(new MailSendException(deferral.getMessage(), deferral)).when(emailService).sendEmail(anyString(), anyString(), anyString());
+		
+		// Act
+		emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository).markFailedAttempt(eq(1L), eq(OutboxStatus.PENDING), any(LocalDateTime.class), anyString());
+	}
+	
+	@Test
+	@DisplayName("Several claimed emails are sent as one batch, and only the failed ones are retried")
+	public void dispatchDueEmails_WhenBatchPartiallyFails_ShouldMarkEachEmail() {
+		// Arrange
+		OutboxEmail sentEmail = pendingEmail(1L, "jc90@gmail.com", 0);
+		OutboxEmail failedEmail = pendingEmail(2L, "yorch22@gmail.com", 0);
+		when(outboxEmailRepository.findDueForUpdate(anyInt(), any(LocalDateTime.class), anyInt()))
+				.thenReturn(List.of(sentEmail, failedEmail));
+		when(emailService.sendEmails(anyList())).thenAnswer(invocation -> {
+			List<EmailMessage> messages = invocation.getArgument(0);
+			return Map.of(messages.get(1), new MailSendException("Mailbox unavailable"));
+		});
+		
+		// Act
+		int dispatched = emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+		verify(outboxEmailRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+		verify(outboxEmailRepository).markFailedAttempt(eq(2L), eq(OutboxStatus.PENDING), any(LocalDateTime.class), 
+				eq("Mailbox unavailable"));
+		assertEquals(2, dispatched, "Both emails should have been dispatched");
+	}
+	
+	@Test
+	@DisplayName("Lanes are served in priority order: a lower lane is only claimed when the higher ones are empty")
+	public void dispatchDueEmails_WhenHighLaneEmpty_ShouldClaimNextLane() {
+		// Arrange
+		OutboxEmail email = pendingEmail(1L, "jc90@gmail.com", 0, NotificationType.CHANGE_PASSWORD);
+		when(outboxEmailRepository.findDueForUpdate(eq(EmailPriority.HIGH.ordinal()), any(LocalDateTime.class), anyInt()))
+				.thenReturn(List.of());
+		when(outboxEmailRepository.findDueForUpdate(eq(EmailPriority.NORMAL.ordinal()), any(LocalDateTime.class), anyInt()))
+				.thenReturn(List.of(email));
+		
+		// Act
+		int dispatched = emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository, never()).findDueForUpdate(eq(EmailPriority.LOW.ordinal()), 
+				any(LocalDateTime.class), anyInt());
+		verify(emailService).sendEmail("jc90@gmail.com", "Subject", "<p>Body</p>");
+		assertAll(
+				() -> assertEquals(1, dispatched, "One email should have been dispatched"),
+				() -> assertEquals(1, meterRegistry.get("email.outbox.sent").tag("priority", "NORMAL").counter().count(), 
+						"The email should be counted in its lane")
+				);
+	}
+	
+	@Test
+	@DisplayName("When only the reserved tokens are left, only the HIGH lane is claimed")
+	public void dispatchDueEmails_WhenOnlyReserveLeft_ShouldServeHighLaneOnly() {
+		// Arrange
+		emailOutboxService = newEmailOutboxService(new SendRateLimiter(0.001, HIGH_PRIORITY_RESERVE));
+		when(outboxEmailRepository.findDueForUpdate(eq(EmailPriority.HIGH.ordinal()), any(LocalDateTime.class), anyInt()))
+				.thenReturn(List.of());
+		
+		// Act
+		int dispatched = emailOutboxService.dispatchDueEmails();
+		
+		// Assert
+		verify(outboxEmailRepository).findDueForUpdate(eq(EmailPriority.HIGH.ordinal()), any(LocalDateTime.class), 
+				eq(HIGH_PRIORITY_RESERVE));
+		verify(outboxEmailRepository, never()).findDueForUpdate(eq(EmailPriority.NORMAL.ordinal()), 
+				any(LocalDateTime.class), anyInt());
+		verify(outboxEmailRepository, never()).findDueForUpdate(eq(EmailPriority.LOW.ordinal()), 
+				any(LocalDateTime.class), anyInt());
+		assertEquals(0, dispatched, "No email should have been dispatched");
+	}
+	
+	@Test
+	@DisplayName("An email identical to one still pending replaces it instead of being queued")
+	public void enqueue_WhenIdenticalEmailPending_ShouldReplaceIt() {
+		// Arrange
+		when(outboxEmailRepository.replacePending(eq("jc90@gmail.com"), eq("FORGOT_PASSWORD"), any(LocalDateTime.class), 
+				eq("Subject"), eq("<p>New link</p>"))).thenReturn(1);
+		
+		// Act
+		emailOutboxService.enqueue("jc90@gmail.com", "Subject", "<p>New link</p>", NotificationType.FORGOT_PASSWORD);
+		
+		// Assert
+		verify(outboxEmailRepository, never()).save(any(OutboxEmail.class));
+		verify(eventPublisher, never()).publishEvent(any(EmailQueuedEvent.class));
+		assertEquals(1, meterRegistry.get("email.outbox.coalesced").counter().count(), "The email should be counted as coalesced");
+	}
+	
+	@Test
+	@DisplayName("Without an identical pending email, the email is queued in its lane")
+	public void enqueue_WhenNoIdenticalEmailPending_ShouldQueueIt() {
+		// Arrange
+		when(outboxEmailRepository.replacePending(anyString(), anyString(), any(LocalDateTime.class), anyString(), 
+				anyString())).thenReturn(0);
+		when(outboxEmailRepository.save(any(OutboxEmail.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		ArgumentCaptor<OutboxEmail> emailCaptor = ArgumentCaptor.forClass(OutboxEmail.class);
+		
+		// Act
+		emailOutboxService.enqueue("jc90@gmail.com", "Subject", "<p>Link</p>", NotificationType.FORGOT_PASSWORD);
+		
+		// Assert
+		verify(outboxEmailRepository).save(emailCaptor.capture());
+		verify(eventPublisher).publishEvent(any(EmailQueuedEvent.class));
+		assertEquals(EmailPriority.HIGH, emailCaptor.getValue().getPriority(), "Password resets should go to the HIGH lane");
+	}
+	
+	@Test
+	@DisplayName("Queue depth and lag gauges are updated per lane")
+	public void refreshQueueMetrics_ShouldUpdateGauges() {
+		// Arrange
+		when(outboxEmailRepository.findPendingStatsByPriority()).thenReturn(
+				List.of(new OutboxLaneStats(EmailPriority.LOW, 1200, LocalDateTime.now().minusSeconds(90))));
+		
+		// Act
+		emailOutboxService.refreshQueueMetrics();
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(1200, meterRegistry.get("email.outbox.pending").tag("priority", "LOW").gauge().value(), 
+						"Unexpected LOW lane depth"),
+				() -> assertTrue(meterRegistry.get("email.outbox.lag").tag("priority", "LOW").gauge().value() >= 90, 
+						"Unexpected LOW lane lag"),
+				() -> assertEquals(0, meterRegistry.get("email.outbox.pending").tag("priority", "HIGH").gauge().value(), 
+						"The HIGH lane should be empty")
+				);
+	}
+
+}
@@ -0,0 +1,115 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.jcasaslopez.user.enums.AccountStatus;
+import dev.jcasaslopez.user.enums.NotificationType;
+import dev.jcasaslopez.user.template.EmailTemplate;
+
+public class EmailTemplateRegistryTest {
+
+	private final EmailTemplateRegistryImpl emailTemplateRegistry =
+			new EmailTemplateRegistryImpl("http://localhost:4200", List.of("en", "es"), 900);
+
+	private String render(NotificationType notificationType, AccountStatus accountStatus, Locale locale,
+			String username, String token) {
+		EmailTemplate template = emailTemplateRegistry.getTemplate(notificationType, accountStatus, locale);
+		return emailTemplateRegistry.render(template, username, token);
+	}
+
+	@Test
+	@DisplayName("Renders greeting, body and farewell")
+	public void render_WhenNoToken_ShouldRenderWholeEmail() {
+		// Act
+		String body = render(NotificationType.CREATE_ACCOUNT, null, Locale.ENGLISH, "Yorch22", null);
+
+		// Assert
+		assertEquals("""
+				<p>Hi Yorch22,</p>
+				<p>Your account has been created successfully.</p>
+				<p>Best regards,<br>
+				The Team</p>
+				""", body);
+	}
+
+	@Test
+	@DisplayName("Renders the frontend URL and the token in the link")
+	public void render_WhenTokenEmail_ShouldIncludeLink() {
+		// Act
+		String body = render(NotificationType.VERIFY_EMAIL, null, Locale.ENGLISH, "Yorch22", "aaa.bbb.ccc");
+
+		// Assert
+		assertTrue(body.contains("<a href=\"http://localhost:4200/verifyEmail?token=aaa.bbb.ccc\">"),
+				"The link should include the frontend URL and the token");
+	}
+
+	@Test
+	@DisplayName("Variable values are HTML-escaped")
+	public void render_WhenValueHasHtml_ShouldEscapeIt() {
+		// Act
+		String body = render(NotificationType.FORGOT_PASSWORD, null, Locale.ENGLISH, "<b>Yorch</b>", "a\"onclick='x'");
+
+		// Assert
+		assertAll(
+				() -> assertTrue(body.contains("Hi &lt;b&gt;Yorch&lt;/b&gt;,"), "The username should be escaped"),
+				() -> assertTrue(body.contains("token=a&quot;onclick=&#39;x&#39;\""), "The token should be escaped"),
+				() -> assertFalse(body.contains("<b>"), "No HTML should be injected")
+				);
+	}
+
+	@Test
+	@DisplayName("UPDATE_ACCOUNT_STATUS has a different body for each status")
+	public void getTemplate_WhenAccountStatusUpdate_ShouldDependOnStatus() {
+		// Act
+		String blocked = render(NotificationType.UPDATE_ACCOUNT_STATUS, AccountStatus.BLOCKED, Locale.ENGLISH, "Yorch22", null);
+		String active = render(NotificationType.UPDATE_ACCOUNT_STATUS, AccountStatus.ACTIVE, Locale.ENGLISH, "Yorch22", null);
+		String temporarilyBlocked = render(NotificationType.UPDATE_ACCOUNT_STATUS, AccountStatus.TEMPORARILY_BLOCKED, 
+				Locale.ENGLISH, "Yorch22", null);
+
+		// Assert
+		assertAll(
+				() -> assertTrue(blocked.contains("<p>Your account has been blocked by the administration."),
+						"The BLOCKED text should be rendered"),
+				() -> assertTrue(active.contains("<p>Your account is active again.</p>"), "The ACTIVE text should be rendered"),
+				() -> assertTrue(temporarilyBlocked.contains("at most 15 minutes after the last failed attempt"),
+						"The TEMPORARILY_BLOCKED text should state the longest lock"),
+				() -> assertEquals("Change in account status", emailTemplateRegistry
+						.getTemplate(NotificationType.UPDATE_ACCOUNT_STATUS, AccountStatus.ACTIVE, Locale.ENGLISH).getSubject())
+				);
+	}
+
+	@Test
+	@DisplayName("Regional locales use their language, and unknown locales the default one")
+	public void getTemplate_WhenLocaleVariant_ShouldResolveLocale() {
+		// Act
+		EmailTemplate spanish = emailTemplateRegistry.getTemplate(NotificationType.CREATE_ACCOUNT, null, Locale.forLanguageTag("es-ES"));
+		EmailTemplate french = emailTemplateRegistry.getTemplate(NotificationType.CREATE_ACCOUNT, null, Locale.FRENCH);
+
+		// Assert
+		assertAll(
+				() -> assertEquals("¡Bienvenido a la plataforma!", spanish.getSubject(), "The Spanish template should be used"),
+				() -> assertEquals("Welcome to the platform!", french.getSubject(), "The default template should be used"),
+				() -> assertEquals(Locale.ENGLISH, emailTemplateRegistry.getDefaultLocale())
+				);
+	}
+
+	@Test
+	@DisplayName("Unknown placeholders are rejected when the template is compiled")
+	public void compile_WhenUnknownPlaceholder_ShouldThrowIllegalArgumentException() {
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class,
+				() -> EmailTemplate.compile("Subject", "<p>Hi {nickname}</p>", Map.of()));
+	}
+
+}
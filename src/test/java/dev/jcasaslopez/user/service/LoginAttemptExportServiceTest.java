@@ -0,0 +1,118 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.enums.LoginFailureReason;
+import dev.jcasaslopez.user.model.LoginAttemptExportFilter;
+import dev.jcasaslopez.user.model.LoginAttemptRecord;
+import dev.jcasaslopez.user.repository.LoginAttemptExportRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class LoginAttemptExportServiceTest {
+
+	@Mock LoginAttemptExportRepository loginAttemptExportRepository;
+	LoginAttemptExportServiceImpl loginAttemptExportService;
+
+	private static final LoginAttemptExportFilter NO_FILTER = new LoginAttemptExportFilter(null, null, null, null, null);
+	private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 3, 1, 10, 15);
+
+	@BeforeEach
+	void setUp() {
+		loginAttemptExportService = new LoginAttemptExportServiceImpl(loginAttemptExportRepository, new ObjectMapper());
+	}
+
+	@Test
+	@DisplayName("CSV export quotes fields with commas or quotes and leaves null fields empty")
+	void exportLoginAttempts_WhenCsv_ShouldEscapeFields() throws Exception {
+		// Arrange
+		givenAttempts(
+				new LoginAttemptRecord(1, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null, "ghost"),
+				new LoginAttemptRecord(2, TIMESTAMP, true, "10.0.0.2", null, 7, "ja\"ck,son", "ja\"ck,son"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// Act
+		long rows = loginAttemptExportService.exportLoginAttempts(NO_FILTER, ExportFormat.CSV, output);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(2, rows, "Unexpected number of rows"),
+				() -> assertEquals(LoginAttemptExportServiceImpl.CSV_HEADER + "\r\n"
+						+ "1,2025-03-01T10:15:00,false,10.0.0.1,USER_NOT_FOUND,,,ghost\r\n"
+						+ "2,2025-03-01T10:15:00,true,10.0.0.2,,7,\"ja\"\"ck,son\",\"ja\"\"ck,son\"\r\n",
+						output.toString(StandardCharsets.UTF_8), "Unexpected CSV")
+				);
+	}
+
+	@Test
+	@DisplayName("CSV export prefixes fields that a spreadsheet would take for a formula with an apostrophe")
+	void exportLoginAttempts_WhenCsvFieldLooksLikeFormula_ShouldPrefixApostrophe() throws Exception {
+		// Arrange
+		givenAttempts(
+				new LoginAttemptRecord(1, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null,
+						"=HYPERLINK(\"http://evil\",\"x\")"),
+				new LoginAttemptRecord(2, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null, "+1"),
+				new LoginAttemptRecord(3, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null, "-1"),
+				new LoginAttemptRecord(4, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null, "@SUM(A1)"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// Act
+		loginAttemptExportService.exportLoginAttempts(NO_FILTER, ExportFormat.CSV, output);
+
+		// Assert
+		assertEquals(LoginAttemptExportServiceImpl.CSV_HEADER + "\r\n"
+				+ "1,2025-03-01T10:15:00,false,10.0.0.1,USER_NOT_FOUND,,,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\"\r\n"
+				+ "2,2025-03-01T10:15:00,false,10.0.0.1,USER_NOT_FOUND,,,'+1\r\n"
+				+ "3,2025-03-01T10:15:00,false,10.0.0.1,USER_NOT_FOUND,,,'-1\r\n"
+				+ "4,2025-03-01T10:15:00,false,10.0.0.1,USER_NOT_FOUND,,,'@SUM(A1)\r\n",
+				output.toString(StandardCharsets.UTF_8), "Unexpected CSV");
+	}
+
+	@Test
+	@DisplayName("NDJSON export writes one JSON object per line, with explicit nulls")
+	void exportLoginAttempts_WhenNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+		// Arrange
+		givenAttempts(
+				new LoginAttemptRecord(1, TIMESTAMP, false, "10.0.0.1", LoginFailureReason.USER_NOT_FOUND, null, null, "ghost"),
+				new LoginAttemptRecord(2, TIMESTAMP, true, "10.0.0.2", null, 7, "jackson", "jackson"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		// Act
+		loginAttemptExportService.exportLoginAttempts(NO_FILTER, ExportFormat.NDJSON, output);
+
+		// Assert
+		assertEquals("""
+				{"idLoginAttempt":1,"timestamp":"2025-03-01T10:15:00","successful":false,"ipAddress":"10.0.0.1","loginFailureReason":"USER_NOT_FOUND","idUser":null,"username":null,"attemptedUsername":"ghost"}
+				{"idLoginAttempt":2,"timestamp":"2025-03-01T10:15:00","successful":true,"ipAddress":"10.0.0.2","loginFailureReason":null,"idUser":7,"username":"jackson","attemptedUsername":"jackson"}
+				""", output.toString(StandardCharsets.UTF_8), "Unexpected NDJSON");
+	}
+
+	// The mocked repository hands the attempts to the row callback, as the cursor would.
+	@SuppressWarnings("unchecked")
+	private void givenAttempts(LoginAttemptRecord... attempts) {
+		when(loginAttemptExportRepository.forEachLoginAttempt(any(), any())).thenAnswer(invocation -> {
+			Consumer<LoginAttemptRecord> action = invocation.getArgument(1, Consumer.class);
+			List.of(attempts).forEach(action);
+			return (long) attempts.length;
+		});
+	}
+
+}
@@ -0,0 +1,59 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.repository.RoleRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class RoleRegistryTest {
+	
+	@Mock RoleRepository roleRepository;
+	@InjectMocks RoleRegistryImpl roleRegistry;
+	
+	@Test
+	@DisplayName("Roles are loaded from the database only once")
+	public void getRole_WhenCalledSeveralTimes_ShouldQueryDatabaseOnce() {
+		// Arrange
+		when(roleRepository.findAll()).thenReturn(List.of(new Role(RoleName.ROLE_USER), new Role(RoleName.ROLE_ADMIN)));
+		
+		// Act
+		Role userRole = roleRegistry.getRole(RoleName.ROLE_USER);
+		Role adminRole = roleRegistry.getRole(RoleName.ROLE_ADMIN);
+		Role adminRoleAgain = roleRegistry.getRole(RoleName.ROLE_ADMIN);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(RoleName.ROLE_USER, userRole.getRoleName(), "ROLE_USER should be returned"),
+				() -> assertEquals(RoleName.ROLE_ADMIN, adminRole.getRoleName(), "ROLE_ADMIN should be returned"),
+				() -> assertEquals(adminRole, adminRoleAgain, "The same role should be returned on every call")
+				);
+		verify(roleRepository, times(1)).findAll();
+	}
+	
+	@Test
+	@DisplayName("When the role does not exist, it should throw IllegalStateException")
+	public void getRole_WhenRoleNotInDatabase_ShouldThrowIllegalStateException() {
+		// Arrange
+		when(roleRepository.findAll()).thenReturn(List.of(new Role(RoleName.ROLE_USER)));
+		
+		// Act & Assert
+		assertThrows(IllegalStateException.class, () -> roleRegistry.getRole(RoleName.ROLE_SUPERADMIN));
+	}
+
+}
@@ -0,0 +1,132 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Base64;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import dev.jcasaslopez.user.enums.AuthOutcome;
+import dev.jcasaslopez.user.enums.AuthStage;
+import dev.jcasaslopez.user.enums.TokenType;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.TokensLifetimes;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenStructureCheckTest {
+
+	@Mock StringRedisTemplate redisTemplate;
+	@Mock UserAccountService accountService;
+	@Mock AuthMetrics authMetrics;
+	TokenServiceImpl tokenService;
+
+	private static final String SECRET_KEY = Base64.getEncoder().encodeToString(new byte[64]);
+	private static final String USERNAME = "Yorch";
+
+	@BeforeEach
+	void setUp() {
+		TokensLifetimes tokensLifetimes = new TokensLifetimes(Map.of(TokenType.VERIFICATION, 15));
+		tokenService = new TokenServiceImpl(tokensLifetimes, redisTemplate, SECRET_KEY, accountService, authMetrics);
+	}
+
+	@Test
+	@DisplayName("Tokens issued by the service pass the structural check")
+	void getValidClaims_WhenTokenIssuedByService_ShouldReturnClaims() {
+		// Arrange
+		String token = tokenService.createVerificationToken(USERNAME);
+
+		// Act
+		var claims = tokenService.getValidClaims(token);
+
+		// Assert
+		assertAll(
+				() -> assertTrue(claims.isPresent(), "Claims should be present"),
+				() -> assertEquals(USERNAME, claims.get().getSubject(), "Unexpected subject")
+				);
+		verify(authMetrics).record(eq(AuthStage.TOKEN_PARSE), eq(AuthOutcome.SUCCESS), anyLong());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"garbage",
+			"a.b.c",
+			"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9",
+			"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9..aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+			"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9.e30=.aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+			"eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzI1NiJ9.e30.e30.aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa",
+			"eyJhbGciOiJub25lIn0.e30."
+	})
+	@DisplayName("Junk tokens are rejected as malformed before they are parsed")
+	void getValidClaims_WhenTokenIsJunk_ShouldRejectAsMalformed(String token) {
+		// Act
+		var claims = tokenService.getValidClaims(token);
+
+		// Assert
+		assertTrue(claims.isEmpty(), "Junk token should be rejected");
+		verify(authMetrics).record(eq(AuthStage.TOKEN_PARSE), eq(AuthOutcome.MALFORMED), anyLong());
+	}
+
+	@Test
+	@DisplayName("Tokens longer than the size cap are rejected")
+	void getValidClaims_WhenTokenTooLong_ShouldRejectAsMalformed() {
+		// Arrange
+		String token = tokenService.createVerificationToken("x".repeat(2000));
+
+		// Act
+		var claims = tokenService.getValidClaims(token);
+
+		// Assert
+		assertTrue(claims.isEmpty(), "Oversized token should be rejected");
+		verify(authMetrics).record(eq(AuthStage.TOKEN_PARSE), eq(AuthOutcome.MALFORMED), anyLong());
+	}
+
+	@Test
+	@DisplayName("Well-formed tokens signed with another key still reach signature verification")
+	void getValidClaims_WhenSignedWithAnotherKey_ShouldRejectAsInvalidSignature() {
+		// Arrange
+		byte[] otherKey = new byte[64];
+		otherKey[0] = 1;
+		String token = Jwts.builder().header().type("JWT").and().subject(USERNAME)
+				.signWith(Keys.hmacShaKeyFor(otherKey), Jwts.SIG.HS256).compact();
+
+		// Act
+		var claims = tokenService.getValidClaims(token);
+
+		// Assert
+		assertTrue(claims.isEmpty(), "Token signed with another key should be rejected");
+		verify(authMetrics).record(eq(AuthStage.TOKEN_PARSE), eq(AuthOutcome.INVALID_SIGNATURE), anyLong());
+	}
+
+	@Test
+	@DisplayName("parseClaims() keeps throwing JwtException for missing and junk tokens")
+	void parseClaims_WhenTokenIsMissingOrJunk_ShouldThrowJwtException() {
+		// Act & Assert
+		JwtException missing = assertThrows(JwtException.class, () -> tokenService.parseClaims(" "));
+		JwtException junk = assertThrows(JwtException.class, () -> tokenService.parseClaims("garbage"));
+		assertAll(
+				() -> assertEquals("Token is missing or empty", missing.getMessage(), "Unexpected message"),
+				() -> assertEquals("Malformed token", junk.getMessage(), "Unexpected message")
+				);
+		verify(authMetrics, times(1)).record(eq(AuthStage.TOKEN_PARSE), eq(AuthOutcome.MISSING), anyLong());
+	}
+
+}
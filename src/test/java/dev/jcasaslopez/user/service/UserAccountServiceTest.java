@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,7 +25,9 @@ import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.enums.AccountStatus;
 import dev.jcasaslopez.user.enums.RoleName;
 import dev.jcasaslopez.user.mapper.UserMapper;
-import dev.jcasaslopez.user.repository.RoleRepository;
+import dev.jcasaslopez.user.metrics.AuthMetrics;
+import dev.jcasaslopez.user.model.UserCredentials;
+import dev.jcasaslopez.user.repository.UserCredentialsRepository;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.security.CustomUserDetails;
 
@@ -32,7 +35,9 @@ import dev.jcasaslopez.user.security.CustomUserDetails;
 public class UserAccountServiceTest {
 	
 	@Mock UserRepository userRepository;
-	@Mock RoleRepository roleRepository;
+	@Mock UserCredentialsRepository userCredentialsRepository;
+	@Mock RoleRegistry roleRegistry;
+	@Mock AuthMetrics authMetrics;
 	@InjectMocks UserAccountServiceImpl userAccountServiceImpl;
 	@InjectMocks UserMapper userMapper;
 	
@@ -48,7 +53,7 @@ public class UserAccountServiceTest {
 	public void findUser_WhenUserOptionalEmpty_ShouldThrowUsernameNotFoundException() {
 		// Arrange
 		String username = "Yorch22";
-		when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+		when(userRepository.findByNaturalUsername(username)).thenReturn(Optional.empty());
 
 		// Act & Assert
 		assertThrows(UsernameNotFoundException.class, () -> {userAccountServiceImpl.findUser(username);
@@ -62,7 +67,7 @@ public class UserAccountServiceTest {
 		String username = "Yorch22";
 		User user = new User(username, "Password123!", "Jorge Garcia", "jc90@gmail.com", LocalDate.of(1990, 5, 15));
 		
-		when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
+		when(userRepository.findByNaturalUsername(username)).thenReturn(Optional.of(user));
 
 		// Act 
 		User returnedUser = userAccountServiceImpl.findUser(username);
@@ -111,6 +116,37 @@ public class UserAccountServiceTest {
 				);		
 	}
 	
+	@Test
+	@DisplayName("Credentials - When user does not exist, it should throw UsernameNotFoundException")
+	public void findUserCredentials_WhenNotFound_ShouldThrowUsernameNotFoundException() {
+		// Arrange
+		String username = "Yorch22";
+		when(userCredentialsRepository.findByUsername(username)).thenReturn(Optional.empty());
+
+		// Act & Assert
+		assertThrows(UsernameNotFoundException.class, () -> userAccountServiceImpl.findUserCredentials(username));
+	}
+	
+	@Test
+	@DisplayName("Credentials - When user exists, it should return its credentials")
+	public void findUserCredentials_WhenFound_ShouldReturnCredentials() {
+		// Arrange
+		String username = "Yorch22";
+		UserCredentials credentials = new UserCredentials(1, username, "hash", AccountStatus.ACTIVE, Set.of(RoleName.ROLE_USER));
+		when(userCredentialsRepository.findByUsername(username)).thenReturn(Optional.of(credentials));
+
+		// Act
+		UserCredentials returnedCredentials = userAccountServiceImpl.findUserCredentials(username);
+		
+		// Assert
+		assertAll(
+				() -> assertEquals(username, returnedCredentials.getUsername()),
+				() -> assertEquals("hash", returnedCredentials.getPasswordHash()),
+				() -> assertEquals(AccountStatus.ACTIVE, returnedCredentials.getAccountStatus()),
+				() -> assertEquals(Set.of(RoleName.ROLE_USER), returnedCredentials.getRoles())
+				);
+	}
+	
 	@Test
 	@DisplayName("When user is CustomUserDetails, it should create a user with ROLE_USER and ACTIVE account")
 	public void createUser_WhenUserIsCustomUserDetails_ShouldCreateUserCorrectly() {
@@ -118,7 +154,7 @@ public class UserAccountServiceTest {
 		User user = new User("Yorch22", "Password123!", "Jorge Garcia", "jc90@gmail.com", LocalDate.of(1990, 5, 15));
 		CustomUserDetails customUser = userMapper.userToCustomUserDetailsMapper(user);
 		ArgumentCaptor<User> captorUser = ArgumentCaptor.forClass(User.class);
-		when(roleRepository.findByRoleName(RoleName.ROLE_USER)).thenReturn(Optional.of(new Role(RoleName.ROLE_USER)));
+		when(roleRegistry.getRole(RoleName.ROLE_USER)).thenReturn(new Role(RoleName.ROLE_USER));
 		
 		// Act
 		userAccountServiceImpl.createUser(customUser);
@@ -0,0 +1,132 @@
+package dev.jcasaslopez.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.jcasaslopez.user.entity.Role;
+import dev.jcasaslopez.user.entity.User;
+import dev.jcasaslopez.user.enums.ExportFormat;
+import dev.jcasaslopez.user.enums.RoleName;
+import dev.jcasaslopez.user.model.UserImportResult;
+import dev.jcasaslopez.user.repository.UserImportRepository;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceTest {
+
+	@Mock UserImportRepository userImportRepository;
+	@Mock RoleRegistry roleRegistry;
+	UserImportServiceImpl userImportService;
+
+	// Minimum cost, to keep the test fast.
+	private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+	private static final String HEADER = "username,password,passwordHash,fullName,email,dateOfBirth";
+
+	@BeforeEach
+	void setUp() {
+		Role userRole = new Role(RoleName.ROLE_USER);
+		userRole.setIdRole(1);
+		when(roleRegistry.getRole(RoleName.ROLE_USER)).thenReturn(userRole);
+		when(userImportRepository.findExistingEmails(any())).thenReturn(Set.of());
+		userImportService = new UserImportServiceImpl(userImportRepository, roleRegistry, passwordEncoder,
+				Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 2, 2, 100);
+	}
+
+	@AfterEach
+	void tearDown() {
+		userImportService.destroy();
+	}
+
+	@Test
+	@DisplayName("CSV import inserts valid rows in chunks, hashing plain passwords and keeping BCrypt hashes")
+	void importUsers_WhenCsv_ShouldInsertValidRowsInChunks() throws Exception {
+		// Arrange
+		when(userImportRepository.findExistingUsernames(any())).thenReturn(Set.of());
+		String hash = passwordEncoder.encode("Legacy@123");
+		String csv = HEADER + "\n"
+				+ "john_doe,Secure@123,,John Doe,john@example.com,1990-05-20\n"
+				+ "jane_doe,,\"" + hash + "\",\"Doe, Jane\",jane@example.com,1991-06-21\n"
+				+ "jim_doe,Secure@123,,Jim Doe,jim@example.com,1992-07-22\n";
+
+		// Act
+		UserImportResult result = importUsers(csv, ExportFormat.CSV);
+
+		// Assert
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<User>> chunks = ArgumentCaptor.forClass(List.class);
+		verify(userImportRepository, times(2)).insertAll(chunks.capture(), anyInt());
+		User john = chunks.getAllValues().get(0).get(0);
+		User jane = chunks.getAllValues().get(0).get(1);
+		assertAll(
+				() -> assertEquals(3, result.getImported(), "Every row should have been imported"),
+				() -> assertEquals(2, chunks.getAllValues().get(0).size(), "The first chunk should have 2 users"),
+				() -> assertEquals(1, chunks.getAllValues().get(1).size(), "The second chunk should have 1 user"),
+				() -> assertTrue(passwordEncoder.matches("Secure@123", john.getPassword()), "The password should have been hashed"),
+				() -> assertEquals(hash, jane.getPassword(), "The BCrypt hash should have been kept as is"),
+				() -> assertEquals("Doe, Jane", jane.getFullName(), "Quoted fields should be unquoted")
+				);
+	}
+
+	@Test
+	@DisplayName("NDJSON import reports malformed, invalid, duplicated and existing rows with their line")
+	void importUsers_WhenInvalidRows_ShouldReportThem() throws Exception {
+		// Arrange
+		when(userImportRepository.findExistingUsernames(any())).thenReturn(Set.of("taken_user"));
+		String ndjson = """
+				{"username":"john_doe","password":"Secure@123","fullName":"John Doe","email":"john@example.com","dateOfBirth":"1990-05-20"}
+				{"username":"bad"
+				{"username":"jane_doe","password":"weak","fullName":"Jane Doe","email":"jane@example.com","dateOfBirth":"20-05-1990"}
+				{"username":"JOHN_DOE","password":"Secure@123","fullName":"John Doe","email":"john2@example.com","dateOfBirth":"1990-05-20"}
+				{"username":"taken_user","passwordHash":"not-a-hash","fullName":"Taken","email":"taken@example.com","dateOfBirth":"1990-05-20"}
+				{"username":"Taken_User","password":"Secure@123","fullName":"Taken","email":"taken@example.com","dateOfBirth":"1990-05-20"}
+				""";
+
+		// Act
+		UserImportResult result = importUsers(ndjson, ExportFormat.NDJSON);
+
+		// Assert
+		assertAll(
+				() -> assertEquals(6, result.getRows(), "Unexpected number of rows"),
+				() -> assertEquals(1, result.getImported(), "Only john_doe should have been imported"),
+				() -> assertEquals(5, result.getFailed(), "Unexpected number of rejected rows"),
+				() -> assertEquals(2, result.getErrors().get(0).getLine(), "The malformed row is on line 2"),
+				() -> assertEquals(List.of("dateOfBirth: Date of birth must be in ISO format (yyyy-MM-dd)",
+						"password: Password must have at least 8 characters, including one upper-case letter, one lower-case letter, a number and a symbol"),
+						result.getErrors().get(1).getErrors(), "Unexpected errors for jane_doe"),
+				() -> assertEquals(List.of("username: Username appears more than once in the file"),
+						result.getErrors().get(2).getErrors(), "Unexpected errors for JOHN_DOE"),
+				() -> assertEquals(List.of("passwordHash: Password hash must be a BCrypt hash"),
+						result.getErrors().get(3).getErrors(), "Unexpected errors for the invalid hash"),
+				() -> assertEquals(List.of("username: Username already exists"),
+						result.getErrors().get(4).getErrors(), "Unexpected errors for Taken_User")
+				);
+	}
+
+	private UserImportResult importUsers(String content, ExportFormat format) throws Exception {
+		return userImportService.importUsers(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+	}
+
+}
@@ -0,0 +1,41 @@
+package dev.jcasaslopez.user.testhelper;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// SQL statements and Redis commands executed while handling one request (see RequestCostRecorder).
+public class RequestCost {
+
+	private final List<String> queries = new CopyOnWriteArrayList<>();
+	private final List<String> redisCommands = new CopyOnWriteArrayList<>();
+
+	void addQuery(String sql) {
+		queries.add(sql);
+	}
+
+	void addRedisCommand(String command) {
+		redisCommands.add(command);
+	}
+
+	public int getQueryCount() {
+		return queries.size();
+	}
+
+	public int getRedisCommandCount() {
+		return redisCommands.size();
+	}
+
+	public List<String> getQueries() {
+		return queries;
+	}
+
+	public List<String> getRedisCommands() {
+		return redisCommands;
+	}
+
+	@Override
+	public String toString() {
+		return queries.size() + " queries " + queries + ", " + redisCommands.size() + " Redis commands " + redisCommands;
+	}
+
+}
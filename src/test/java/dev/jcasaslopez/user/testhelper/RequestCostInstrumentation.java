@@ -0,0 +1,48 @@
+package dev.jcasaslopez.user.testhelper;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import dev.jcasaslopez.user.datasource.StatementInterceptingDataSource;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+
+// Reports to RequestCostRecorder every SQL statement run through the application's data source and
+// every command sent to Redis:
+// - The 'dataSource' bean (the one JPA and the JDBC templates use, whether or not replicas are enabled)
+//   is wrapped in a StatementInterceptingDataSource, and every statement it reports is counted.
+//   A batch counts as one statement, since it is sent in one round trip.
+// - A CommandListener is added to the Lettuce client. It is called on the thread that sends the command.
+@Component
+public class RequestCostInstrumentation implements BeanPostProcessor {
+
+	private final ObjectProvider<RequestCostRecorder> requestCostRecorder;
+
+	public RequestCostInstrumentation(ObjectProvider<RequestCostRecorder> requestCostRecorder) {
+		this.requestCostRecorder = requestCostRecorder;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+			return new StatementInterceptingDataSource(dataSource, (sql, batch, nanos) -> 
+					requestCostRecorder.getObject().onQuery(batch ? "batch: " + sql : sql));
+		}
+		if (bean instanceof LettuceConnectionFactory connectionFactory) {
+			// The client is created on start, before any connection is opened.
+			connectionFactory.start();
+			connectionFactory.getRequiredNativeClient().addListener(new CommandListener() {
+				@Override
+				public void commandStarted(CommandStartedEvent event) {
+					requestCostRecorder.getObject().onRedisCommand(event.getCommand().getType().toString());
+				}
+			});
+		}
+		return bean;
+	}
+
+}
@@ -0,0 +1,111 @@
+package dev.jcasaslopez.user.testhelper;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Counts the SQL statements and Redis commands executed by a request, so that endpoint tests can
+// assert a budget for them and catch regressions such as repeated lookups of the same user.
+//
+// Runs before every other filter (Spring Security included) and works both with MockMvc and with
+// requests sent to the embedded server. Only the work done on the request thread is counted: emails,
+// async events and other background work are not part of the request's cost.
+// Statements and commands are reported by RequestCostInstrumentation.
+//
+// Usage:
+// requestCostRecorder.startRecording(Constants.LOGIN_PATH);
+// (send the request)
+// requestCostRecorder.assertWithinBudget(Constants.LOGIN_PATH, 2, 2);
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCostRecorder extends OncePerRequestFilter {
+
+	// The client may get the response before the filter has finished recording it.
+	private static final long RECORD_TIMEOUT_MILLIS = 2000;
+
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+	private final ThreadLocal<RequestCost> currentCost = new ThreadLocal<>();
+	private final Map<String, RequestCost> recordingPaths = new ConcurrentHashMap<>();
+	private final Map<String, RequestCost> recordedCosts = new ConcurrentHashMap<>();
+
+	// Records the cost of the next request to 'path' (without the context path).
+	public void startRecording(String path) {
+		recordedCosts.remove(path);
+		recordingPaths.put(path, new RequestCost());
+	}
+
+	public RequestCost getRecordedCost(String path) {
+		long deadline = System.currentTimeMillis() + RECORD_TIMEOUT_MILLIS;
+		RequestCost cost = recordedCosts.get(path);
+		while (cost == null && System.currentTimeMillis() < deadline) {
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+			cost = recordedCosts.get(path);
+		}
+		assertNotNull(cost, "No request to " + path + " was recorded");
+		return cost;
+	}
+
+	public void assertWithinBudget(String path, int maxQueries, int maxRedisCommands) {
+		RequestCost cost = getRecordedCost(path);
+		assertAll(
+				() -> assertTrue(cost.getQueryCount() <= maxQueries, path + " should run at most " + maxQueries
+						+ " queries, but ran " + cost.getQueryCount() + ": " + cost.getQueries()),
+				() -> assertTrue(cost.getRedisCommandCount() <= maxRedisCommands, path + " should send at most "
+						+ maxRedisCommands + " Redis commands, but sent " + cost.getRedisCommandCount() + ": "
+						+ cost.getRedisCommands())
+				);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String path = urlPathHelper.getPathWithinApplication(request);
+		RequestCost cost = recordingPaths.remove(path);
+		if (cost == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		currentCost.set(cost);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			currentCost.remove();
+			recordedCosts.put(path, cost);
+		}
+	}
+
+	void onQuery(String sql) {
+		RequestCost cost = currentCost.get();
+		if (cost != null) {
+			cost.addQuery(sql);
+		}
+	}
+
+	void onRedisCommand(String command) {
+		RequestCost cost = currentCost.get();
+		if (cost != null) {
+			cost.addRedisCommand(command);
+		}
+	}
+
+}
@@ -2,6 +2,7 @@ package dev.jcasaslopez.user.testhelper;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import java.util.HashSet;
@@ -24,6 +25,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import dev.jcasaslopez.user.entity.Role;
 import dev.jcasaslopez.user.entity.User;
 import dev.jcasaslopez.user.repository.LoginAttemptRepository;
+import dev.jcasaslopez.user.repository.OutboxEmailRepository;
 import dev.jcasaslopez.user.repository.RoleRepository;
 import dev.jcasaslopez.user.repository.UserRepository;
 import dev.jcasaslopez.user.service.EmailService;
@@ -32,10 +34,15 @@ import dev.jcasaslopez.user.service.TokenServiceImpl;
 @Component
 public class TestHelper {
 	
+	// Notification emails are sent asynchronously by the outbox workers, so verifications on the 
+	// EmailService mock have to wait for them.
+	public static final long EMAIL_TIMEOUT_MILLIS = 5000;
+	
 	@Autowired private TokenServiceImpl tokenService;
 	@Autowired private UserRepository userRepository;
 	@Autowired private RoleRepository roleRepository;
 	@Autowired private LoginAttemptRepository loginAttemptRepository;
+	@Autowired private OutboxEmailRepository outboxEmailRepository;
 	@Autowired private RedisTemplate<String, String> redisTemplate;
 	@Autowired private ObjectMapper mapper;
 	@Autowired private PasswordEncoder passwordEncoder;
@@ -79,6 +86,7 @@ public class TestHelper {
 	
 	public void cleanDataBaseAndRedis() {
 		loginAttemptRepository.deleteAll();
+		outboxEmailRepository.deleteAll();
         userRepository.deleteAll();
         redisTemplate.getConnectionFactory().getConnection().flushAll();
 	}
@@ -94,7 +102,7 @@ public class TestHelper {
 		ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
 
 		// Verify that sendEmail was called and capture the arguments. We only care about the body content
-		verify(emailService).sendEmail(anyString(), anyString(), bodyCaptor.capture());
+		verify(emailService, timeout(EMAIL_TIMEOUT_MILLIS)).sendEmail(anyString(), anyString(), bodyCaptor.capture());
 
 		String emailBody = bodyCaptor.getValue();
 
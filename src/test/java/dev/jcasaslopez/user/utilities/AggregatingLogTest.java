@@ -0,0 +1,62 @@
+package dev.jcasaslopez.user.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import dev.jcasaslopez.user.enums.AuthOutcome;
+
+public class AggregatingLogTest {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger(AggregatingLogTest.class);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+	@BeforeEach
+	void attachAppender() {
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void detachAppender() {
+		logger.detachAppender(appender);
+	}
+
+	@Test
+	@DisplayName("A flood of events is logged as one line per interval with counts by reason")
+	void record_WhenFlooded_ShouldLogOneLinePerInterval() throws InterruptedException {
+		// Arrange
+		AggregatingLog<AuthOutcome> log = new AggregatingLog<>(logger, "Rejected tokens", AuthOutcome.class,
+				Duration.ofMillis(200));
+
+		// Act
+		log.record(AuthOutcome.MALFORMED);
+		for (int i = 0; i < 1000; i++) {
+			log.record(AuthOutcome.MALFORMED);
+		}
+		log.record(AuthOutcome.EXPIRED);
+		Thread.sleep(250);
+		log.record(AuthOutcome.MALFORMED);
+		List<String> lines = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(2, lines.size(), "Unexpected lines: " + lines),
+				() -> assertEquals("Rejected tokens since the last report: 1 (malformed=1)", lines.get(0), "Unexpected first line"),
+				() -> assertEquals("Rejected tokens since the last report: 1002 (expired=1, malformed=1001)", lines.get(1),
+						"Unexpected second line")
+				);
+	}
+
+}
@@ -0,0 +1,57 @@
+package dev.jcasaslopez.user.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HeavyHittersTest {
+
+	@Test
+	@DisplayName("Frequent keys are kept with their exact count while rare keys flood the sketch")
+	void add_WhenFloodedWithRareKeys_ShouldKeepHeavyHitters() {
+		// Arrange
+		HeavyHitters heavyHitters = new HeavyHitters(10);
+
+		// Act
+		for (int i = 0; i < 10_000; i++) {
+			heavyHitters.add("10.0.0.1", 1);
+			if (i % 2 == 0) {
+				heavyHitters.add("10.0.0.2", 1);
+			}
+			heavyHitters.add("192.168." + (i / 256 % 256) + "." + (i % 256), 1);
+		}
+		Map<String, Long> counts = heavyHitters.drain();
+
+		// Assert
+		assertAll(
+				() -> assertTrue(counts.size() <= 10, "No more keys than the capacity should be tracked"),
+				() -> assertEquals(10_000L, counts.get("10.0.0.1"), "Unexpected count of the first heavy hitter"),
+				() -> assertEquals(5_000L, counts.get("10.0.0.2"), "Unexpected count of the second heavy hitter")
+				);
+	}
+
+	@Test
+	@DisplayName("drain() returns the counts since the previous drain")
+	void drain_ShouldStartAgainFromZero() {
+		// Arrange
+		HeavyHitters heavyHitters = new HeavyHitters(10);
+		heavyHitters.add("10.0.0.1", 3);
+		heavyHitters.drain();
+
+		// Act
+		heavyHitters.add("10.0.0.1", 2);
+		Map<String, Long> counts = heavyHitters.drain();
+
+		// Assert
+		assertAll(
+				() -> assertEquals(Map.of("10.0.0.1", 2L), counts, "Only the count after the first drain was expected"),
+				() -> assertTrue(heavyHitters.drain().isEmpty(), "The sketch should be empty after draining")
+				);
+	}
+
+}